@@ -17,9 +17,9 @@ import com.smartbear.readyapi4j.teststeps.propertytransfer.PropertyTransferSourc
 import com.smartbear.readyapi4j.teststeps.propertytransfer.PropertyTransferTargetBuilder;
 import com.smartbear.readyapi4j.teststeps.propertytransfer.PropertyTransferTestStepBuilder;
 import com.smartbear.readyapi4j.teststeps.request.HttpRequestStepBuilder;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.util.*;
 
 import static com.smartbear.readyapi4j.properties.Properties.property;
@@ -53,6 +53,18 @@ public class TestRecipeBuilder {
         return new TestRecipe(testCase);
     }
 
+    /**
+     * Creates a TestRecipe object from an existing JSON recipe, parsing it while it is read
+     *
+     * @param jsonReader reader for the json recipe
+     * @return the created TestRecipe
+     * @throws IOException if there was an error reading or during deserialization
+     */
+    public static TestRecipe createFrom(Reader jsonReader) throws IOException {
+        TestCase testCase = getObjectMapper().readValue(jsonReader, TestCase.class);
+        return new TestRecipe(testCase);
+    }
+
     /**
      * Builds a recipe for the specified TestStep builders
      *
@@ -207,9 +219,7 @@ public class TestRecipeBuilder {
             PropertyTransferTestStepBuilder propertyTransferTestStepBuilder = new PropertyTransferTestStepBuilder();
             extractors.forEach(extractor -> {
                 // Base the extractorId on the property if the path is empty, otherwise on the path
-                String extractorId = extractorData
-                        .addExtractorOperator(StringUtils.isEmpty(extractor.getPath()) ?
-                                extractor.getProperty() : extractor.getPath(), extractor.getOperator());
+                String extractorId = extractorData.addExtractor(extractor);
                 withProperty(extractorId, "");
                 propertyTransferTestStepBuilder
                         .addTransfer(PropertyTransferBuilder
@@ -81,24 +81,20 @@ public class Assertions {
         return new NotContainsAssertionBuilder(token);
     }
 
-    public static GroovyScriptAssertionBuilder contentType(String contentType) {
-        return new DefaultGroovyScriptAssertionBuilder(
-                "assert messageExchange.responseHeaders[\"Content-Type\"].contains( \"" + contentType + "\")");
+    public static HeaderAssertionBuilder contentType(String contentType) {
+        return new DefaultHeaderAssertionBuilder("Content-Type", HeaderAssertion.Mode.VALUE, contentType);
     }
 
-    public static GroovyScriptAssertionBuilder headerExists(String header) {
-        return new DefaultGroovyScriptAssertionBuilder(
-                "assert messageExchange.responseHeaders.containsKey(\"" + header + "\")");
+    public static HeaderAssertionBuilder headerExists(String header) {
+        return new DefaultHeaderAssertionBuilder(header, HeaderAssertion.Mode.EXISTS, null);
     }
 
-    public static GroovyScriptAssertionBuilder headerValue(String header, String value) {
-        return new DefaultGroovyScriptAssertionBuilder(
-                "assert messageExchange.responseHeaders[\"" + header + "\"].contains( \"" + value + "\")");
+    public static HeaderAssertionBuilder headerValue(String header, String value) {
+        return new DefaultHeaderAssertionBuilder(header, HeaderAssertion.Mode.VALUE, value);
     }
 
-    public static GroovyScriptAssertionBuilder headerMatches(String header, String regex) {
-        return new DefaultGroovyScriptAssertionBuilder(
-                "assert messageExchange.responseHeaders[\"" + header + "\"].matches( \"" + regex + "\")");
+    public static HeaderAssertionBuilder headerMatches(String header, String regex) {
+        return new DefaultHeaderAssertionBuilder(header, HeaderAssertion.Mode.MATCHES, regex);
     }
 
 
@@ -0,0 +1,40 @@
+package com.smartbear.readyapi4j.assertions;
+
+import java.util.regex.PatternSyntaxException;
+
+import static com.smartbear.readyapi4j.support.Validations.validateNotEmpty;
+
+public class DefaultHeaderAssertionBuilder implements HeaderAssertionBuilder {
+    private final String header;
+    private final HeaderAssertion.Mode mode;
+    private final String expectedValue;
+    private String name;
+
+    public DefaultHeaderAssertionBuilder(String header, HeaderAssertion.Mode mode, String expectedValue) {
+        this.header = header;
+        this.mode = mode;
+        this.expectedValue = expectedValue;
+    }
+
+    @Override
+    public DefaultHeaderAssertionBuilder named(String name) {
+        this.name = name;
+        return this;
+    }
+
+    @Override
+    public HeaderAssertion build() {
+        validateNotEmpty(header, "Missing header name. Header name is a mandatory parameter for header assertions");
+        if (mode != HeaderAssertion.Mode.EXISTS) {
+            validateNotEmpty(expectedValue, "Missing expected value. Expected value is a mandatory parameter for header value assertions");
+        }
+        HeaderAssertion assertion;
+        try {
+            assertion = new HeaderAssertion(header, mode, expectedValue);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regular expression for header " + header + ": " + expectedValue, e);
+        }
+        assertion.setName(name);
+        return assertion;
+    }
+}
@@ -0,0 +1,110 @@
+package com.smartbear.readyapi4j.assertions;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.smartbear.readyapi4j.client.model.GroovyScriptAssertion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A response header assertion. It is sent to TestEngine as the equivalent Script Assertion, while the local engine
+ * evaluates it natively with {@link #evaluate(Map)} instead of compiling the script.
+ */
+public class HeaderAssertion extends GroovyScriptAssertion {
+
+    public enum Mode {
+        /**
+         * The header is present
+         */
+        EXISTS,
+        /**
+         * One of the values of the header equals the expected value
+         */
+        VALUE,
+        /**
+         * One of the values of the header matches the expected regular expression
+         */
+        MATCHES
+    }
+
+    private final String header;
+    private final Mode mode;
+    private final String expectedValue;
+    private final Pattern pattern;
+
+    HeaderAssertion(String header, Mode mode, String expectedValue) {
+        this.header = header;
+        this.mode = mode;
+        this.expectedValue = expectedValue;
+        this.pattern = mode == Mode.MATCHES ? Pattern.compile(expectedValue) : null;
+        setType(AssertionNames.GROOVY_SCRIPT);
+        setScript(createScript(header, mode, expectedValue));
+    }
+
+    @JsonIgnore
+    public String getHeader() {
+        return header;
+    }
+
+    @JsonIgnore
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the expected value or regular expression, null for {@link Mode#EXISTS}
+     */
+    @JsonIgnore
+    public String getExpectedValue() {
+        return expectedValue;
+    }
+
+    /**
+     * Evaluates the assertion against response headers. Header names are matched ignoring case.
+     *
+     * @param responseHeaders the response headers, each with its list of values
+     * @return null if the assertion passed, otherwise a description of the failure
+     */
+    public String evaluate(Map<String, ? extends List<String>> responseHeaders) {
+        List<String> values = null;
+        if (responseHeaders != null) {
+            for (Map.Entry<String, ? extends List<String>> entry : responseHeaders.entrySet()) {
+                if (header.equalsIgnoreCase(entry.getKey())) {
+                    values = entry.getValue();
+                    break;
+                }
+            }
+        }
+        if (values == null) {
+            return "Missing response header [" + header + "]";
+        }
+        switch (mode) {
+            case VALUE:
+                return values.contains(expectedValue) ? null :
+                        "Response header [" + header + "] has values " + values + ", expected [" + expectedValue + "]";
+            case MATCHES:
+                for (String value : values) {
+                    if (value != null && pattern.matcher(value).matches()) {
+                        return null;
+                    }
+                }
+                return "Response header [" + header + "] has values " + values + ", none of them matches [" +
+                        expectedValue + "]";
+            default:
+                return null;
+        }
+    }
+
+    private static String createScript(String header, Mode mode, String expectedValue) {
+        switch (mode) {
+            case VALUE:
+                return "assert messageExchange.responseHeaders[\"" + header + "\"].contains( \"" + expectedValue + "\")";
+            case MATCHES:
+                return "assert messageExchange.responseHeaders[\"" + header + "\"].any { it ==~ /" +
+                        expectedValue.replace("/", "\\/") + "/ }";
+            default:
+                return "assert messageExchange.responseHeaders.containsKey(\"" + header + "\")";
+        }
+    }
+}
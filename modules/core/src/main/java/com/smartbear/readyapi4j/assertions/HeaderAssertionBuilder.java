@@ -0,0 +1,7 @@
+package com.smartbear.readyapi4j.assertions;
+
+public interface HeaderAssertionBuilder extends GroovyScriptAssertionBuilder {
+    HeaderAssertionBuilder named(String assertionName);
+
+    HeaderAssertion build();
+}
@@ -0,0 +1,15 @@
+package com.smartbear.readyapi4j.attachments;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The source of the content of an attachment that is read when the recipe is serialized, instead of being held
+ * in memory by the recipe. The content is read each time the recipe is serialized, so every call must return a
+ * new stream with the same, unencoded content.
+ */
+@FunctionalInterface
+public interface AttachmentContent {
+
+    InputStream openStream() throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.smartbear.readyapi4j.attachments;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Writes attachment content the way Jackson writes the byte[] content of a RequestAttachment, i.e. the Base64
+ * encoded content encoded again by the generator, streaming it from its source instead of reading it into memory.
+ * <p>
+ * If the serialization attribute {@link #OMIT_FILE_CONTENT} is true, the content of files is written as null, for
+ * executors that attach the files themselves.
+ */
+public class AttachmentContentSerializer extends StdSerializer<AttachmentContent> {
+    public static final String OMIT_FILE_CONTENT = "readyapi4j.attachments.omitFileContent";
+
+    public AttachmentContentSerializer() {
+        super(AttachmentContent.class);
+    }
+
+    @Override
+    public void serialize(AttachmentContent value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value instanceof FileAttachmentContent && Boolean.TRUE.equals(provider.getAttribute(OMIT_FILE_CONTENT))) {
+            gen.writeNull();
+            return;
+        }
+        if (value instanceof StreamingRequestAttachment.EncodedContent) {
+            gen.writeBinary(((StreamingRequestAttachment.EncodedContent) value).getEncodedContent());
+            return;
+        }
+        try (InputStream encodedContent = new Base64EncodingInputStream(value.openStream())) {
+            gen.writeBinary(encodedContent, -1);
+        }
+    }
+}
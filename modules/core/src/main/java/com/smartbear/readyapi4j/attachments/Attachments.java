@@ -1,5 +1,6 @@
 package com.smartbear.readyapi4j.attachments;
 
+import com.google.common.io.ByteStreams;
 import com.smartbear.readyapi4j.execution.RecipeExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +10,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.Base64;
 
 /**
@@ -20,18 +23,20 @@ public class Attachments {
     private static Logger logger = LoggerFactory.getLogger(Attachments.class);
 
     public static RequestAttachmentBuilder file(File file, String contentType) {
-        RequestAttachmentBuilder builder;
-        try {
-            builder = RequestAttachmentBuilder
-                    .getInstance()
-                    .withName(file.getName())
-                    .withContent(Base64.getEncoder().encode(Files.readAllBytes(file.toPath())))
-                    .withContentId(file.getName())
-                    .withContentType(contentType);
-        } catch (IOException ex) {
-            throw new RecipeExecutionException("Could not add file attachment: " + file.getName(), ex);
+        if (!Files.isRegularFile(file.toPath()) || !Files.isReadable(file.toPath())) {
+            throw new RecipeExecutionException("Could not add file attachment: " + file.getName(),
+                    new NoSuchFileException(file.getPath()));
         }
-        return builder;
+        return RequestAttachmentBuilder
+                .getInstance()
+                .withName(file.getName())
+                .withContentFrom(file.toPath())
+                .withContentId(file.getName())
+                .withContentType(contentType);
+    }
+
+    public static RequestAttachmentBuilder file(Path path, String contentType) {
+        return file(path.toFile(), contentType);
     }
 
     public static RequestAttachmentBuilder file(File file) {
@@ -48,9 +53,8 @@ public class Attachments {
 
     public static RequestAttachmentBuilder stream(InputStream inputStream, String contentType) {
         try {
-            byte[] data = new byte[inputStream.available()];
-            int readBytes = inputStream.read(data);
-            if (readBytes > 0) {
+            byte[] data = ByteStreams.toByteArray(inputStream);
+            if (data.length > 0) {
                 return byteArray(data, contentType);
             } else {
                 throw new IOException("Could not read inputStream");
@@ -60,6 +64,17 @@ public class Attachments {
         }
     }
 
+    /**
+     * Adds an attachment with content that is read from the source each time the recipe is serialized, e.g.
+     * <code>stream(() -&gt; new FileInputStream(file), "application/zip")</code>
+     */
+    public static RequestAttachmentBuilder stream(AttachmentContent contentSource, String contentType) {
+        return RequestAttachmentBuilder
+                .getInstance()
+                .withContentFrom(contentSource)
+                .withContentType(contentType);
+    }
+
     public static RequestAttachmentBuilder byteArray(byte[] bytes, String contentType) {
         if (bytes != null && contentType != null) {
             return RequestAttachmentBuilder
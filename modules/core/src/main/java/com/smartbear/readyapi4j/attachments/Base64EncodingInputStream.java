@@ -0,0 +1,85 @@
+package com.smartbear.readyapi4j.attachments;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Stream of the Base64 encoding of another stream, encoded a chunk at a time. The chunks are a multiple of three
+ * bytes, so that the concatenated encoded chunks are the encoding of the whole content.
+ */
+class Base64EncodingInputStream extends InputStream {
+    private static final int CHUNK_SIZE = 3 * 4096;
+
+    private final InputStream in;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private final byte[] encoded = new byte[CHUNK_SIZE / 3 * 4];
+    private int encodedLength;
+    private int position;
+    private boolean endOfStream;
+
+    Base64EncodingInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return encoded[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(len, encodedLength - position);
+        System.arraycopy(encoded, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return encodedLength - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean fill() throws IOException {
+        while (position == encodedLength) {
+            if (endOfStream) {
+                return false;
+            }
+            int count = readChunk();
+            if (count < CHUNK_SIZE) {
+                endOfStream = true;
+            }
+            encodedLength = count == CHUNK_SIZE ? Base64.getEncoder().encode(chunk, encoded) :
+                    Base64.getEncoder().encode(Arrays.copyOf(chunk, count), encoded);
+            position = 0;
+        }
+        return true;
+    }
+
+    private int readChunk() throws IOException {
+        int count = 0;
+        while (count < CHUNK_SIZE) {
+            int read = in.read(chunk, count, CHUNK_SIZE - count);
+            if (read < 0) {
+                break;
+            }
+            count += read;
+        }
+        return count;
+    }
+}
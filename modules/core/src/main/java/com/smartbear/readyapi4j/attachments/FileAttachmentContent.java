@@ -0,0 +1,32 @@
+package com.smartbear.readyapi4j.attachments;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Attachment content read from a file. The local engine attaches the file itself to the request instead of
+ * serializing its content.
+ */
+public class FileAttachmentContent implements AttachmentContent {
+    private final Path path;
+
+    public FileAttachmentContent(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
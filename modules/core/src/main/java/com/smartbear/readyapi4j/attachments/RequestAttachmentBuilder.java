@@ -2,15 +2,20 @@ package com.smartbear.readyapi4j.attachments;
 
 import com.smartbear.readyapi4j.client.model.RequestAttachment;
 
+import java.nio.file.Path;
+
 /**
  * Builder class for RequestAttachment objects
  */
 
 public class RequestAttachmentBuilder {
-    private final RequestAttachment requestAttachment;
+    private String contentType;
+    private String name;
+    private String contentId;
+    private byte[] content;
+    private AttachmentContent contentSource;
 
     private RequestAttachmentBuilder() {
-        requestAttachment = new RequestAttachment();
     }
 
     public static RequestAttachmentBuilder getInstance() {
@@ -19,26 +24,56 @@ public class RequestAttachmentBuilder {
 
 
     public RequestAttachmentBuilder withContentType(String contentType) {
-        requestAttachment.setContentType(contentType);
+        this.contentType = contentType;
         return this;
     }
 
     public RequestAttachmentBuilder withName(String name) {
-        requestAttachment.setName(name);
+        this.name = name;
         return this;
     }
 
     public RequestAttachmentBuilder withContentId(String contentId) {
-        requestAttachment.setContentId(contentId);
+        this.contentId = contentId;
         return this;
     }
 
+    /**
+     * @param content the Base64 encoded content
+     */
     public RequestAttachmentBuilder withContent(byte[] content) {
-        requestAttachment.setContent(content);
+        this.content = content;
+        this.contentSource = null;
+        return this;
+    }
+
+    /**
+     * Reads the content from the file when the recipe is serialized, the local engine attaches the file itself
+     */
+    public RequestAttachmentBuilder withContentFrom(Path path) {
+        return withContentFrom(new FileAttachmentContent(path));
+    }
+
+    /**
+     * Reads the content from the source, unencoded, when the recipe is serialized
+     */
+    public RequestAttachmentBuilder withContentFrom(AttachmentContent contentSource) {
+        this.contentSource = contentSource;
+        this.content = null;
         return this;
     }
 
     public RequestAttachment build() {
+        RequestAttachment requestAttachment;
+        if (contentSource != null) {
+            requestAttachment = new StreamingRequestAttachment(contentSource);
+        } else {
+            requestAttachment = new RequestAttachment();
+            requestAttachment.setContent(content);
+        }
+        requestAttachment.setContentType(contentType);
+        requestAttachment.setName(name);
+        requestAttachment.setContentId(contentId);
         return requestAttachment;
     }
 
@@ -0,0 +1,90 @@
+package com.smartbear.readyapi4j.attachments;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.io.ByteStreams;
+import com.smartbear.readyapi4j.client.model.RequestAttachment;
+import com.smartbear.readyapi4j.execution.RecipeExecutionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+
+/**
+ * RequestAttachment with content that is read from its source when the recipe is serialized. The serialized form
+ * is the same as for a RequestAttachment with the content in memory. Setting the content replaces the source, and
+ * the attachment then behaves like a RequestAttachment with the content in memory.
+ */
+public class StreamingRequestAttachment extends RequestAttachment {
+    private AttachmentContent contentSource;
+
+    StreamingRequestAttachment(AttachmentContent contentSource) {
+        this.contentSource = contentSource;
+    }
+
+    /**
+     * @return the source of the content, an in-memory source once the content has been set, or null if it was set
+     * to null
+     */
+    @JsonProperty("content")
+    @JsonSerialize(using = AttachmentContentSerializer.class)
+    public AttachmentContent getContentSource() {
+        return contentSource;
+    }
+
+    /**
+     * Reads the whole content into memory, use {@link #getContentSource()} to stream it.
+     *
+     * @return the Base64 encoded content, like {@link RequestAttachment#getContent()}
+     */
+    @Override
+    @JsonIgnore
+    public byte[] getContent() {
+        if (contentSource == null || contentSource instanceof EncodedContent) {
+            return super.getContent();
+        }
+        try (InputStream inputStream = contentSource.openStream()) {
+            return Base64.getEncoder().encode(ByteStreams.toByteArray(inputStream));
+        } catch (IOException e) {
+            throw new RecipeExecutionException("Could not read attachment content: " + contentSource, e);
+        }
+    }
+
+    /**
+     * Replaces the source of the content with the specified content, which is kept in memory from now on
+     *
+     * @param content the Base64 encoded content, like for {@link RequestAttachment#setContent(byte[])}
+     */
+    @Override
+    public void setContent(byte[] content) {
+        super.setContent(content);
+        contentSource = content == null ? null : new EncodedContent(content);
+    }
+
+    /**
+     * Content set in memory, which is already Base64 encoded and written as it is
+     */
+    static class EncodedContent implements AttachmentContent {
+        private final byte[] encodedContent;
+
+        EncodedContent(byte[] encodedContent) {
+            this.encodedContent = encodedContent;
+        }
+
+        byte[] getEncodedContent() {
+            return encodedContent;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return Base64.getDecoder().wrap(new ByteArrayInputStream(encodedContent));
+        }
+
+        @Override
+        public String toString() {
+            return "in-memory content";
+        }
+    }
+}
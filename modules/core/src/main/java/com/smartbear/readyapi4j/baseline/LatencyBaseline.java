@@ -0,0 +1,207 @@
+package com.smartbear.readyapi4j.baseline;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency percentiles of test steps from previous runs, stored in an append-only text file with one line per
+ * test step and run. The baseline of a step is the median of each percentile over its most recent runs, so a
+ * single slow or fast run doesn't move it much.
+ * <p>
+ * The file is rewritten with only the retained runs once it has grown to twice their size.
+ */
+public class LatencyBaseline {
+
+    public static final int DEFAULT_WINDOW = 10;
+    public static final int DEFAULT_MINIMUM_RUNS = 3;
+
+    private static final String HEADER = "# ReadyAPI latency baseline: run, test step, samples, p50, p95, p99";
+    private static final char SEPARATOR = '\t';
+
+    private final File baselineFile;
+    private final int window;
+    private final Map<String, Deque<Entry>> entries = new TreeMap<>();
+    private int storedLines;
+
+    private LatencyBaseline(File baselineFile, int window) {
+        this.baselineFile = baselineFile;
+        this.window = window;
+    }
+
+    public static LatencyBaseline load(File baselineFile) throws IOException {
+        return load(baselineFile, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Loads the baseline from the specified file, a missing file results in an empty baseline
+     *
+     * @param window the number of most recent runs the baseline of a test step is computed from
+     */
+    public static LatencyBaseline load(File baselineFile, int window) throws IOException {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1, was " + window);
+        }
+        LatencyBaseline baseline = new LatencyBaseline(baselineFile, window);
+        if (baselineFile.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(baselineFile),
+                    StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Entry entry = Entry.parse(line);
+                    if (entry != null) {
+                        baseline.storedLines++;
+                        baseline.retain(entry);
+                    }
+                }
+            }
+        }
+        return baseline;
+    }
+
+    private void retain(Entry entry) {
+        Deque<Entry> runs = entries.computeIfAbsent(entry.key, key -> new ArrayDeque<>());
+        runs.addLast(entry);
+        if (runs.size() > window) {
+            runs.removeFirst();
+        }
+    }
+
+    /**
+     * @return the baseline of the specified test step or null if it has run fewer than minimumRuns times
+     */
+    public LatencyPercentiles getBaseline(String key, int minimumRuns) {
+        Deque<Entry> runs = entries.get(key);
+        if (runs == null || runs.size() < Math.max(minimumRuns, 1)) {
+            return null;
+        }
+        int count = 0;
+        long[] p50 = new long[runs.size()];
+        long[] p95 = new long[runs.size()];
+        long[] p99 = new long[runs.size()];
+        int index = 0;
+        for (Entry run : runs) {
+            count += run.percentiles.getCount();
+            p50[index] = run.percentiles.getP50();
+            p95[index] = run.percentiles.getP95();
+            p99[index] = run.percentiles.getP99();
+            index++;
+        }
+        return new LatencyPercentiles(count, median(p50), median(p95), median(p99));
+    }
+
+    private static long median(long[] values) {
+        Arrays.sort(values);
+        return values[(values.length - 1) / 2];
+    }
+
+    /**
+     * Compares the current run against the baseline, test steps without a baseline are left out
+     */
+    public List<LatencyComparison> compare(Map<String, LatencyPercentiles> currentRun, LatencyTolerance tolerance,
+                                           int minimumRuns) {
+        List<LatencyComparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, LatencyPercentiles> step : new TreeMap<>(currentRun).entrySet()) {
+            LatencyPercentiles baseline = getBaseline(step.getKey(), minimumRuns);
+            if (baseline != null) {
+                comparisons.add(new LatencyComparison(step.getKey(), baseline, step.getValue(), tolerance));
+            }
+        }
+        return Collections.unmodifiableList(comparisons);
+    }
+
+    /**
+     * Adds a run to the baseline and appends it to the file
+     */
+    public synchronized void append(Map<String, LatencyPercentiles> run) throws IOException {
+        String runId = String.valueOf(System.currentTimeMillis());
+        List<Entry> newEntries = new ArrayList<>();
+        for (Map.Entry<String, LatencyPercentiles> step : new TreeMap<>(run).entrySet()) {
+            newEntries.add(new Entry(runId, step.getKey(), step.getValue()));
+        }
+
+        File parent = baselineFile.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent);
+        }
+
+        newEntries.forEach(this::retain);
+        int retainedLines = entries.values().stream().mapToInt(Deque::size).sum();
+        if (storedLines + newEntries.size() > 2 * retainedLines) {
+            try (Writer writer = openWriter(false)) {
+                writer.write(HEADER + "\n");
+                for (Deque<Entry> runs : entries.values()) {
+                    for (Entry entry : runs) {
+                        writer.write(entry.format());
+                    }
+                }
+            }
+            storedLines = retainedLines;
+        } else {
+            boolean newFile = baselineFile.length() == 0;
+            try (Writer writer = openWriter(true)) {
+                if (newFile) {
+                    writer.write(HEADER + "\n");
+                }
+                for (Entry entry : newEntries) {
+                    writer.write(entry.format());
+                }
+            }
+            storedLines += newEntries.size();
+        }
+    }
+
+    private Writer openWriter(boolean append) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(baselineFile, append),
+                StandardCharsets.UTF_8));
+    }
+
+    private static class Entry {
+        private final String runId;
+        private final String key;
+        private final LatencyPercentiles percentiles;
+
+        Entry(String runId, String key, LatencyPercentiles percentiles) {
+            this.runId = runId;
+            this.key = key;
+            this.percentiles = percentiles;
+        }
+
+        static Entry parse(String line) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                return null;
+            }
+            String[] fields = line.split(String.valueOf(SEPARATOR));
+            if (fields.length != 6) {
+                return null;
+            }
+            try {
+                return new Entry(fields[0], fields[1], new LatencyPercentiles(Integer.parseInt(fields[2]),
+                        Long.parseLong(fields[3]), Long.parseLong(fields[4]), Long.parseLong(fields[5])));
+            } catch (NumberFormatException e) {
+                // ignore corrupt lines, the step falls back to its other runs
+                return null;
+            }
+        }
+
+        String format() {
+            return runId + SEPARATOR + key + SEPARATOR + percentiles.getCount() + SEPARATOR + percentiles.getP50() +
+                    SEPARATOR + percentiles.getP95() + SEPARATOR + percentiles.getP99() + "\n";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.smartbear.readyapi4j.baseline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of comparing the latencies of a test step in the current run against its baseline
+ */
+public class LatencyComparison {
+
+    private final String key;
+    private final LatencyPercentiles baseline;
+    private final LatencyPercentiles current;
+    private final List<String> regressions;
+
+    LatencyComparison(String key, LatencyPercentiles baseline, LatencyPercentiles current, LatencyTolerance tolerance) {
+        this.key = key;
+        this.baseline = baseline;
+        this.current = current;
+        this.regressions = new ArrayList<>();
+        checkPercentile("p50", baseline.getP50(), current.getP50(), tolerance.getP50Tolerance(), tolerance);
+        checkPercentile("p95", baseline.getP95(), current.getP95(), tolerance.getP95Tolerance(), tolerance);
+        checkPercentile("p99", baseline.getP99(), current.getP99(), tolerance.getP99Tolerance(), tolerance);
+    }
+
+    private void checkPercentile(String name, long baseline, long current, double allowed, LatencyTolerance tolerance) {
+        if (tolerance.isRegression(baseline, current, allowed)) {
+            regressions.add(String.format("%s %dms exceeds baseline %dms by more than %d%%", name, current, baseline,
+                    Math.round(allowed * 100)));
+        }
+    }
+
+    /**
+     * @return the test step, formatted as project/test suite/test case/test step
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public LatencyPercentiles getBaseline() {
+        return baseline;
+    }
+
+    public LatencyPercentiles getCurrent() {
+        return current;
+    }
+
+    public boolean isRegression() {
+        return !regressions.isEmpty();
+    }
+
+    /**
+     * @return a description of each regressed percentile, empty if the step is within tolerance
+     */
+    public List<String> getRegressions() {
+        return regressions;
+    }
+}
@@ -0,0 +1,60 @@
+package com.smartbear.readyapi4j.baseline;
+
+import java.util.Arrays;
+
+/**
+ * Latency distribution of a test step, summarized as nearest-rank percentiles in milliseconds
+ */
+public class LatencyPercentiles {
+
+    private final int count;
+    private final long p50;
+    private final long p95;
+    private final long p99;
+
+    public LatencyPercentiles(int count, long p50, long p95, long p99) {
+        this.count = count;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    /**
+     * @param samples the latencies in milliseconds, at least one
+     */
+    public static LatencyPercentiles of(long[] samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return new LatencyPercentiles(sorted.length, percentile(sorted, 50), percentile(sorted, 95),
+                percentile(sorted, 99));
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP95() {
+        return p95;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    @Override
+    public String toString() {
+        return "p50=" + p50 + "ms, p95=" + p95 + "ms, p99=" + p99 + "ms (" + count + " samples)";
+    }
+}
@@ -0,0 +1,98 @@
+package com.smartbear.readyapi4j.baseline;
+
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.ExecutionListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ExecutionListener that collects the latency of every test step of finished executions, to compare them against
+ * a {@link LatencyBaseline} and append them to it. Steps are keyed by project, test suite, test case and test
+ * step name, so steps run several times (in loops or by several executions) form one distribution. Recipes often
+ * reuse these names, so callers that know which recipe a report belongs to should pass it to
+ * {@link #record(TestJobReport, String)} to keep the steps of different recipes apart.
+ */
+public class LatencyRecorder implements ExecutionListener {
+
+    private final Map<String, Queue<Long>> samples = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionFinished(Execution execution) {
+        record(execution.getCurrentReport());
+    }
+
+    /**
+     * Records the test step latencies of the specified report, safe to call concurrently
+     */
+    public void record(TestJobReport report) {
+        record(report, null);
+    }
+
+    /**
+     * Records the test step latencies of the specified report, safe to call concurrently
+     *
+     * @param source the recipe or project file the report belongs to, added in front of the key, or null
+     */
+    public void record(TestJobReport report, String source) {
+        if (report == null || report.getTestSuiteResultReports() == null) {
+            return;
+        }
+        for (TestSuiteResultReport testSuite : report.getTestSuiteResultReports()) {
+            for (TestCaseResultReport testCase : testSuite.getTestCaseResultReports()) {
+                for (TestStepResultReport testStep : testCase.getTestStepResultReports()) {
+                    if (testStep.getTotalTestStepTime() != null) {
+                        String key = createKey(report.getProjectName(), testSuite.getTestSuiteName(),
+                                testCase.getTestCaseName(), testStep.getTestStepName());
+                        if (source != null) {
+                            key = createKey(source) + "/" + key;
+                        }
+                        samples.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>())
+                                .add(testStep.getTotalTestStepTime());
+                    }
+                }
+            }
+        }
+    }
+
+    private static String createKey(String... names) {
+        StringBuilder key = new StringBuilder();
+        for (String name : names) {
+            if (key.length() > 0) {
+                key.append('/');
+            }
+            // the baseline file is line and tab separated
+            key.append(name == null ? "" : name.replaceAll("[\\t\\r\\n]", " "));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the percentiles of every recorded test step
+     */
+    public Map<String, LatencyPercentiles> getPercentiles() {
+        Map<String, LatencyPercentiles> percentiles = new HashMap<>();
+        for (Map.Entry<String, Queue<Long>> step : samples.entrySet()) {
+            long[] latencies = step.getValue().stream().mapToLong(Long::longValue).toArray();
+            if (latencies.length > 0) {
+                percentiles.put(step.getKey(), LatencyPercentiles.of(latencies));
+            }
+        }
+        return percentiles;
+    }
+
+    /**
+     * Compares the recorded test steps against the baseline
+     */
+    public List<LatencyComparison> compareWith(LatencyBaseline baseline, LatencyTolerance tolerance, int minimumRuns) {
+        return baseline.compare(getPercentiles(), tolerance, minimumRuns);
+    }
+}
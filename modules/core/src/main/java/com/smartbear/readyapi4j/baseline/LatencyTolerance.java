@@ -0,0 +1,60 @@
+package com.smartbear.readyapi4j.baseline;
+
+/**
+ * How much slower than the baseline a test step may get before it counts as a regression. A percentile regresses
+ * when it exceeds the baseline by more than its relative tolerance and by at least the minimum delta, so fast
+ * steps don't fail on a few milliseconds of jitter.
+ */
+public class LatencyTolerance {
+
+    private double p50Tolerance = 0.2;
+    private double p95Tolerance = 0.2;
+    private double p99Tolerance = 0.5;
+    private long minimumDelta = 50;
+
+    /**
+     * @param tolerance the allowed slowdown of the median, 0.2 allows 20%
+     */
+    public LatencyTolerance withP50Tolerance(double tolerance) {
+        this.p50Tolerance = tolerance;
+        return this;
+    }
+
+    public LatencyTolerance withP95Tolerance(double tolerance) {
+        this.p95Tolerance = tolerance;
+        return this;
+    }
+
+    public LatencyTolerance withP99Tolerance(double tolerance) {
+        this.p99Tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * @param minimumDelta the slowdown in milliseconds below which a percentile never regresses
+     */
+    public LatencyTolerance withMinimumDelta(long minimumDelta) {
+        this.minimumDelta = minimumDelta;
+        return this;
+    }
+
+    public double getP50Tolerance() {
+        return p50Tolerance;
+    }
+
+    public double getP95Tolerance() {
+        return p95Tolerance;
+    }
+
+    public double getP99Tolerance() {
+        return p99Tolerance;
+    }
+
+    public long getMinimumDelta() {
+        return minimumDelta;
+    }
+
+    boolean isRegression(long baseline, long current, double tolerance) {
+        return current - baseline >= minimumDelta && current > baseline * (1 + tolerance);
+    }
+}
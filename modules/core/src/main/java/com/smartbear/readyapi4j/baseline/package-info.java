@@ -0,0 +1,4 @@
+/**
+ * Latency baselines and regression detection for recipe executions.
+ */
+package com.smartbear.readyapi4j.baseline;
@@ -4,52 +4,49 @@ import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
 import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
 
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Utility class to execute the data extractions after recipe execution.
  */
 public class DataExtractors {
     public static void runDataExtractors(TestJobReport executionStatus, List<ExtractorData> extractorDataList) {
-        List<String> extractorDataIdList = extractorDataList
-                .stream()
-                .map(ExtractorData::getExtractorDataId)
-                .collect(Collectors.toList());
-        Optional<TestCaseResultReport> resultReport = executionStatus
-                .getTestSuiteResultReports()
-                .stream()
-                .map(TestSuiteResultReport::getTestCaseResultReports)
-                .flatMap(Collection::stream)
-                .filter(testCaseResultReport ->
-                            testCaseResultReport.getProperties() != null &&
-                            extractorDataIdList.contains(testCaseResultReport.getProperties().get(ExtractorData.EXTRACTOR_DATA_KEY)))
-                .findAny();
+        if (executionStatus.getTestSuiteResultReports() == null || extractorDataList.isEmpty()) {
+            return;
+        }
+        Map<String, ExtractorData> extractorDataById = new HashMap<>();
+        for (ExtractorData extractorData : extractorDataList) {
+            extractorDataById.putIfAbsent(extractorData.getExtractorDataId(), extractorData);
+        }
 
-        resultReport.ifPresent(testCaseResultReport -> {
-            Map<String, String> properties = testCaseResultReport.getProperties();
-            runExtractorFunctions(extractorDataList, properties);
+        for (TestSuiteResultReport testSuiteResultReport : executionStatus.getTestSuiteResultReports()) {
+            if (testSuiteResultReport.getTestCaseResultReports() == null) {
+                continue;
+            }
+            for (TestCaseResultReport testCaseResultReport : testSuiteResultReport.getTestCaseResultReports()) {
+                Map<String, String> properties = testCaseResultReport.getProperties();
+                ExtractorData extractorData = properties == null ? null :
+                        extractorDataById.get(properties.get(ExtractorData.EXTRACTOR_DATA_KEY));
+                if (extractorData != null) {
+                    runExtractorFunctions(extractorData, properties);
 
-            // After run, remove all unnecessary properties
-            properties.entrySet().removeIf(entry -> entry.getKey().contains(properties.get(ExtractorData.EXTRACTOR_DATA_KEY)));
-            properties.remove(ExtractorData.EXTRACTOR_DATA_KEY);
-        });
+                    // After run, remove all unnecessary properties
+                    properties.keySet().removeAll(extractorData.getExtractorIds());
+                    properties.remove(ExtractorData.EXTRACTOR_DATA_KEY);
+                    return;
+                }
+            }
+        }
     }
 
-
-    private static void runExtractorFunctions(List<ExtractorData> extractorDataList, Map<String, String> properties) {
-        Optional<ExtractorData> extractorData = extractorDataList
-                .stream()
-                .filter(ed -> ed.getExtractorDataId().equals(properties.get(ExtractorData.EXTRACTOR_DATA_KEY)))
-                .findAny();
-        extractorData.ifPresent(extractorData1 -> properties.forEach((key, value) -> {
-            ExtractorOperator operator = extractorData1.getExtractorOperator(key);
-            if (operator != null) {
-                operator.extractValue(value);
+    private static void runExtractorFunctions(ExtractorData extractorData, Map<String, String> properties) {
+        for (String extractorId : extractorData.getExtractorIds()) {
+            String value = properties.get(extractorId);
+            if (value != null) {
+                extractorData.getExtractorOperator(extractorId).extractValue(value);
             }
-        }));
+        }
     }
 }
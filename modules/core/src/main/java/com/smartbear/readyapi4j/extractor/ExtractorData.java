@@ -1,7 +1,11 @@
 package com.smartbear.readyapi4j.extractor;
 
-import java.util.HashMap;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -24,8 +28,14 @@ public class ExtractorData {
      */
     private Map<String, ExtractorOperator> extractorOperatorMap;
 
+    /**
+     * Map of ExtractorIds to the Extractors they were added for, if added with {@link #addExtractor(Extractor)}
+     */
+    private Map<String, Extractor> extractorMap;
+
     public ExtractorData() {
-        extractorOperatorMap = new HashMap<>();
+        extractorOperatorMap = new LinkedHashMap<>();
+        extractorMap = new LinkedHashMap<>();
         extractorDataId = UUID.randomUUID().toString();
     }
 
@@ -52,7 +62,35 @@ public class ExtractorData {
         return extractorId;
     }
 
+    /**
+     * Adds the operator of an extractor, like {@link #addExtractorOperator(String, ExtractorOperator)}, and keeps
+     * the extractor so that executors can evaluate it themselves. The extractor property is the path of the
+     * extractor, or its property if it has no path.
+     *
+     * @return the new ExtractorId
+     */
+    public String addExtractor(Extractor extractor) {
+        String extractorProperty = StringUtils.isEmpty(extractor.getPath()) ? extractor.getProperty() : extractor.getPath();
+        String extractorId = addExtractorOperator(extractorProperty, extractor.getOperator());
+        extractorMap.put(extractorId, extractor);
+        return extractorId;
+    }
+
     public ExtractorOperator getExtractorOperator(String extractorId) {
         return extractorOperatorMap.get(extractorId);
     }
+
+    /**
+     * @return the Extractor added for the ExtractorId, or null if it was added as an operator only
+     */
+    public Extractor getExtractor(String extractorId) {
+        return extractorMap.get(extractorId);
+    }
+
+    /**
+     * @return the ExtractorIds of all added operators, in the order they were added
+     */
+    public Set<String> getExtractorIds() {
+        return Collections.unmodifiableSet(extractorOperatorMap.keySet());
+    }
 }
\ No newline at end of file
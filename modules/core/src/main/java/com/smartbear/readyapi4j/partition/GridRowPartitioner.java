@@ -0,0 +1,62 @@
+package com.smartbear.readyapi4j.partition;
+
+import com.smartbear.readyapi4j.client.model.DataSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits grid data sources. Other data sources are read by the engine that runs them, so their rows can't be split
+ * on the client - a partitioner that reads them, like the one of the local module, turns their rows into grids.
+ */
+public class GridRowPartitioner implements RowPartitioner {
+
+    @Override
+    public List<DataSource> split(DataSource dataSource, int partitions) {
+        if (dataSource.getGrid() == null) {
+            throw new IllegalArgumentException("Only the rows of grid data sources can be split by " +
+                    getClass().getSimpleName());
+        }
+        return splitGrid(dataSource.getGrid(), dataSource.getProperties(), partitions);
+    }
+
+    /**
+     * Splits the columns of a grid into consecutive ranges of rows of about the same size
+     */
+    public static List<DataSource> splitGrid(Map<String, List<String>> grid, List<String> properties, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be at least 1, was " + partitions);
+        }
+        int rowCount = 0;
+        for (List<String> column : grid.values()) {
+            rowCount = Math.max(rowCount, column == null ? 0 : column.size());
+        }
+
+        int partitionCount = Math.max(1, Math.min(partitions, rowCount));
+        List<DataSource> dataSources = new ArrayList<>(partitionCount);
+        int from = 0;
+        for (int partition = 0; partition < partitionCount; partition++) {
+            int to = from + rowCount / partitionCount + (partition < rowCount % partitionCount ? 1 : 0);
+            Map<String, List<String>> partitionGrid = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> column : grid.entrySet()) {
+                partitionGrid.put(column.getKey(), slice(column.getValue(), from, to));
+            }
+            DataSource dataSource = new DataSource();
+            dataSource.setGrid(partitionGrid);
+            dataSource.setProperties(properties);
+            dataSources.add(dataSource);
+            from = to;
+        }
+        return dataSources;
+    }
+
+    private static List<String> slice(List<String> column, int from, int to) {
+        if (column == null || from >= column.size()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(column.subList(from, Math.min(to, column.size())));
+    }
+}
@@ -0,0 +1,115 @@
+package com.smartbear.readyapi4j.partition;
+
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The executions of the partitions of a recipe, merged into a single execution. Reports and results contain the
+ * partitions in row order.
+ */
+public class PartitionedExecution implements Execution {
+    private final String id = UUID.randomUUID().toString();
+    private final List<Execution> executions;
+    private final long timeTaken;
+
+    PartitionedExecution(List<Execution> executions, long timeTaken) {
+        this.executions = Collections.unmodifiableList(new ArrayList<>(executions));
+        this.timeTaken = timeTaken;
+    }
+
+    /**
+     * @return the executions of the partitions, in row order
+     */
+    public List<Execution> getPartitionExecutions() {
+        return executions;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return FAILED if any partition failed, otherwise CANCELED if any partition was canceled, otherwise the status
+     * of the first partition that hasn't finished, or FINISHED
+     */
+    @Override
+    public TestJobReport.StatusEnum getCurrentStatus() {
+        List<TestJobReport.StatusEnum> statuses = new ArrayList<>();
+        for (Execution execution : executions) {
+            statuses.add(execution.getCurrentStatus());
+        }
+        return mergeStatuses(statuses);
+    }
+
+    /**
+     * @return a report with the test suite results of all partitions and the total time of the partitioned run
+     */
+    @Override
+    public TestJobReport getCurrentReport() {
+        TestJobReport report = new TestJobReport();
+        report.setTestjobId(id);
+        report.setStatus(getCurrentStatus());
+        report.setTotalTime(timeTaken);
+        List<TestSuiteResultReport> testSuiteResultReports = new ArrayList<>();
+        for (Execution execution : executions) {
+            TestJobReport partitionReport = execution.getCurrentReport();
+            if (partitionReport == null) {
+                continue;
+            }
+            if (report.getProjectName() == null) {
+                report.setProjectName(partitionReport.getProjectName());
+            }
+            if (partitionReport.getTestSuiteResultReports() != null) {
+                testSuiteResultReports.addAll(partitionReport.getTestSuiteResultReports());
+            }
+        }
+        report.setTestSuiteResultReports(testSuiteResultReports);
+        return report;
+    }
+
+    @Override
+    public RecipeExecutionResult getExecutionResult() {
+        List<RecipeExecutionResult> results = new ArrayList<>();
+        for (Execution execution : executions) {
+            results.add(execution.getExecutionResult());
+        }
+        return new PartitionedExecutionResult(id, results, timeTaken);
+    }
+
+    @Override
+    public List<String> getErrorMessages() {
+        List<String> errorMessages = new ArrayList<>();
+        for (Execution execution : executions) {
+            errorMessages.addAll(execution.getErrorMessages());
+        }
+        return errorMessages;
+    }
+
+    @Override
+    public void cancelExecution() {
+        executions.forEach(Execution::cancelExecution);
+    }
+
+    static TestJobReport.StatusEnum mergeStatuses(List<TestJobReport.StatusEnum> statuses) {
+        if (statuses.contains(TestJobReport.StatusEnum.FAILED)) {
+            return TestJobReport.StatusEnum.FAILED;
+        }
+        if (statuses.contains(TestJobReport.StatusEnum.CANCELED)) {
+            return TestJobReport.StatusEnum.CANCELED;
+        }
+        for (TestJobReport.StatusEnum status : statuses) {
+            if (status != TestJobReport.StatusEnum.FINISHED) {
+                return status;
+            }
+        }
+        return TestJobReport.StatusEnum.FINISHED;
+    }
+}
@@ -0,0 +1,115 @@
+package com.smartbear.readyapi4j.partition;
+
+import com.google.common.collect.Lists;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The test step results of the partitions of a recipe, in row order
+ */
+class PartitionedExecutionResult implements RecipeExecutionResult {
+    private final String executionId;
+    private final List<RecipeExecutionResult> partitionResults;
+    private final List<TestStepResult> results = new ArrayList<>();
+    private final long timeTaken;
+
+    PartitionedExecutionResult(String executionId, List<RecipeExecutionResult> partitionResults, long timeTaken) {
+        this.executionId = executionId;
+        this.partitionResults = partitionResults;
+        this.timeTaken = timeTaken;
+        for (RecipeExecutionResult partitionResult : partitionResults) {
+            if (partitionResult != null) {
+                results.addAll(partitionResult.getTestStepResults());
+            }
+        }
+    }
+
+    /**
+     * @return the wall clock time of the partitioned run, not the sum of the partitions
+     */
+    @Override
+    public long getTimeTaken() {
+        return timeTaken;
+    }
+
+    @Override
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    @Override
+    public TestJobReport.StatusEnum getStatus() {
+        List<TestJobReport.StatusEnum> statuses = new ArrayList<>();
+        for (RecipeExecutionResult partitionResult : partitionResults) {
+            statuses.add(partitionResult == null ? null : partitionResult.getStatus());
+        }
+        return PartitionedExecution.mergeStatuses(statuses);
+    }
+
+    @Override
+    public List<String> getErrorMessages() {
+        List<String> errorMessages = new ArrayList<>();
+        for (RecipeExecutionResult partitionResult : partitionResults) {
+            if (partitionResult != null) {
+                errorMessages.addAll(partitionResult.getErrorMessages());
+            }
+        }
+        return errorMessages;
+    }
+
+    @Override
+    public int getResultCount() {
+        return results.size();
+    }
+
+    @Override
+    public TestStepResult getTestStepResult(int index) {
+        return results.get(index);
+    }
+
+    @Override
+    public Optional<TestStepResult> getFirstTestStepResult(String testStepName) {
+        return results.stream().filter(result -> result.getTestStepName().equalsIgnoreCase(testStepName)).findFirst();
+    }
+
+    @Override
+    public Optional<TestStepResult> getLastTestStepResult(String testStepName) {
+        return Lists.reverse(results).stream()
+                .filter(result -> result.getTestStepName().equalsIgnoreCase(testStepName))
+                .findFirst();
+    }
+
+    @Override
+    public List<TestStepResult> getTestStepResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    @Override
+    public List<TestStepResult> getTestStepResults(String testStepName) {
+        return results.stream()
+                .filter(result -> result.getTestStepName().equalsIgnoreCase(testStepName))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TestStepResult> getFailedTestStepsResults() {
+        return results.stream()
+                .filter(result -> result.getAssertionStatus() == TestStepResultReport.AssertionStatusEnum.FAIL)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TestStepResult> getFailedTestStepsResults(String testStepName) {
+        return getFailedTestStepsResults().stream()
+                .filter(result -> result.getTestStepName().equalsIgnoreCase(testStepName))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,181 @@
+package com.smartbear.readyapi4j.partition;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.DataSource;
+import com.smartbear.readyapi4j.client.model.DataSourceTestStep;
+import com.smartbear.readyapi4j.client.model.TestCase;
+import com.smartbear.readyapi4j.client.model.TestStep;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.RecipeExecutionException;
+import com.smartbear.readyapi4j.execution.RecipeExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a data-driven recipe as several concurrent executions, each with a consecutive range of the rows of the
+ * first DataSource test step of the recipe, and merges their results in row order. Only use it for recipes whose
+ * rows don't depend on each other - test steps before and after the DataSource step run once per partition.
+ * <p>
+ * Partitions are spread over the specified recipe executors, e.g. several TestEngine instances, and each partition
+ * is executed synchronously on a thread of its own:
+ * <pre>
+ * PartitionedExecution execution = new PartitionedRecipeExecutor(executor)
+ *         .withPartitions(8)
+ *         .executeRecipe(recipe);
+ * </pre>
+ * The partitions share the test steps of the recipe, except for the DataSource step, and its extractor data: the
+ * operators of extractors are called once per partition, possibly concurrently, so they must be thread-safe and
+ * should collect values rather than keep only the last one.
+ */
+public class PartitionedRecipeExecutor {
+    /**
+     * Copies the properties of test cases and DataSource steps but not their test steps or data source, so steps
+     * with types of their own, like streaming attachments, are shared rather than turned into plain model objects
+     */
+    private static final ObjectMapper shallowCopyMapper = new ObjectMapper()
+            .addMixIn(TestCase.class, WithoutTestStepsMixin.class)
+            .addMixIn(DataSourceTestStep.class, WithoutTestStepsAndDataSourceMixin.class)
+            .registerModule(new Jdk8Module())
+            .registerModule(new JavaTimeModule());
+
+    private final List<RecipeExecutor> recipeExecutors;
+    private int partitions;
+    private RowPartitioner rowPartitioner = new GridRowPartitioner();
+    private ExecutorService executorService;
+
+    /**
+     * @param recipeExecutors the executors to run the partitions with, partitions are assigned to them in turn
+     */
+    public PartitionedRecipeExecutor(RecipeExecutor... recipeExecutors) {
+        if (recipeExecutors.length == 0) {
+            throw new IllegalArgumentException("At least one recipe executor is required");
+        }
+        this.recipeExecutors = Collections.unmodifiableList(Arrays.asList(recipeExecutors));
+        this.partitions = recipeExecutors.length > 1 ? recipeExecutors.length :
+                Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @param partitions the maximum number of partitions, by default the number of recipe executors or, with a
+     *                   single executor, the number of processors
+     */
+    public PartitionedRecipeExecutor withPartitions(int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be at least 1, was " + partitions);
+        }
+        this.partitions = partitions;
+        return this;
+    }
+
+    /**
+     * @param rowPartitioner splits the rows of the data source, by default only grid data sources can be split
+     */
+    public PartitionedRecipeExecutor withRowPartitioner(RowPartitioner rowPartitioner) {
+        this.rowPartitioner = rowPartitioner;
+        return this;
+    }
+
+    /**
+     * @param executorService runs the partitions, it is not shut down by the partitioned executor
+     */
+    public PartitionedRecipeExecutor withExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    /**
+     * Executes the partitions of the recipe and waits for all of them to finish. A recipe without a DataSource
+     * test step is executed as a single partition.
+     *
+     * @throws RecipeExecutionException if a partition couldn't be executed, the other partitions are canceled
+     */
+    public PartitionedExecution executeRecipe(TestRecipe recipe) throws InterruptedException {
+        List<TestRecipe> partitionRecipes = createPartitionRecipes(recipe);
+        ExecutorService executor = executorService == null ?
+                Executors.newFixedThreadPool(partitionRecipes.size()) : executorService;
+        List<Future<Execution>> futures = new ArrayList<>();
+        try {
+            long startTime = System.currentTimeMillis();
+            for (int i = 0; i < partitionRecipes.size(); i++) {
+                RecipeExecutor recipeExecutor = recipeExecutors.get(i % recipeExecutors.size());
+                TestRecipe partitionRecipe = partitionRecipes.get(i);
+                futures.add(executor.submit(() -> recipeExecutor.executeRecipe(partitionRecipe)));
+            }
+
+            List<Execution> executions = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    executions.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    throw new RecipeExecutionException("Failed to execute partition " + (i + 1) + " of " +
+                            futures.size(), e.getCause());
+                }
+            }
+            return new PartitionedExecution(executions, System.currentTimeMillis() - startTime);
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } finally {
+            if (executor != executorService) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * @return copies of the recipe, each with a range of the rows of its first DataSource test step and the other
+     * test steps of the recipe
+     */
+    List<TestRecipe> createPartitionRecipes(TestRecipe recipe) {
+        List<TestStep> testSteps = recipe.getTestCase().getTestSteps();
+        int dataSourceIndex = -1;
+        for (int i = 0; testSteps != null && i < testSteps.size(); i++) {
+            if (testSteps.get(i) instanceof DataSourceTestStep) {
+                dataSourceIndex = i;
+                break;
+            }
+        }
+        if (dataSourceIndex < 0) {
+            return Collections.singletonList(recipe);
+        }
+
+        DataSource dataSource = ((DataSourceTestStep) testSteps.get(dataSourceIndex)).getDataSource();
+        List<TestRecipe> partitionRecipes = new ArrayList<>();
+        for (DataSource partitionDataSource : rowPartitioner.split(dataSource, partitions)) {
+            partitionRecipes.add(copyWithDataSource(recipe, dataSourceIndex, partitionDataSource));
+        }
+        return partitionRecipes;
+    }
+
+    private static TestRecipe copyWithDataSource(TestRecipe recipe, int dataSourceIndex, DataSource dataSource) {
+        TestCase testCase = shallowCopyMapper.convertValue(recipe.getTestCase(), TestCase.class);
+        List<TestStep> testSteps = new ArrayList<>(recipe.getTestCase().getTestSteps());
+        DataSourceTestStep originalStep = (DataSourceTestStep) testSteps.get(dataSourceIndex);
+        DataSourceTestStep dataSourceStep = shallowCopyMapper.convertValue(originalStep, DataSourceTestStep.class);
+        dataSourceStep.setTestSteps(originalStep.getTestSteps());
+        dataSourceStep.setDataSource(dataSource);
+        testSteps.set(dataSourceIndex, dataSourceStep);
+        testCase.setTestSteps(testSteps);
+        return new TestRecipe(testCase, recipe.getExtractorData());
+    }
+
+    @JsonIgnoreProperties({"testSteps"})
+    private abstract static class WithoutTestStepsMixin {
+    }
+
+    @JsonIgnoreProperties({"testSteps", "dataSource"})
+    private abstract static class WithoutTestStepsAndDataSourceMixin {
+    }
+}
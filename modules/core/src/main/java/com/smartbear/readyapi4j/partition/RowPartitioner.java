@@ -0,0 +1,20 @@
+package com.smartbear.readyapi4j.partition;
+
+import com.smartbear.readyapi4j.client.model.DataSource;
+
+import java.util.List;
+
+/**
+ * Splits the rows of a data source into consecutive ranges that can be executed independently
+ */
+public interface RowPartitioner {
+
+    /**
+     * @param dataSource the data source to split
+     * @param partitions the maximum number of partitions
+     * @return data sources with consecutive ranges of the rows, in row order - fewer than the number of partitions
+     * if there are fewer rows
+     * @throws IllegalArgumentException if the rows of this type of data source can't be split
+     */
+    List<DataSource> split(DataSource dataSource, int partitions);
+}
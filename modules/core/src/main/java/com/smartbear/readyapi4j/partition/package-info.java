@@ -0,0 +1,5 @@
+/**
+ * Partitioned execution of data-driven recipes, splitting the rows of a DataSource test step over concurrent
+ * executions.
+ */
+package com.smartbear.readyapi4j.partition;
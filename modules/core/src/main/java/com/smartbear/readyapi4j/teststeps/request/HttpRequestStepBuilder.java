@@ -211,6 +211,11 @@ abstract public class HttpRequestStepBuilder<RequestBuilderType extends HttpRequ
         return (RequestBuilderType) this;
     }
 
+    public RequestBuilderType assertHeaderMatches(String header, String regex) {
+        addAssertion(Assertions.headerMatches(header, regex));
+        return (RequestBuilderType) this;
+    }
+
     public RequestBuilderType withExtractors(Extractor... argExtractors) {
         if (testStep.getName() == null) {
             throw new IllegalStateException("Test step name is required when using data extractors.");
@@ -1,17 +1,22 @@
 package com.smartbear.readyapi4j;
 
 import com.smartbear.readyapi4j.assertions.AssertionNames;
+import com.smartbear.readyapi4j.assertions.HeaderAssertion;
 import com.smartbear.readyapi4j.client.model.*;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
 import static com.smartbear.readyapi4j.assertions.Assertions.*;
 import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
 import static com.smartbear.readyapi4j.teststeps.TestSteps.restRequest;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 public class RestRequestStepWithAssertionRecipeTest {
@@ -200,4 +205,42 @@ public class RestRequestStepWithAssertionRecipeTest {
         assertThat(assertion.getExpectedContent(), is("Stockholm"));
         assertThat(assertion.isAllowWildcards(), is(true));
     }
+
+    @Test
+    public void buildsRestRequestStepRecipeWithHeaderAssertions() throws Exception {
+        TestRecipe recipe = newTestRecipe(
+                GET(URI)
+                        .assertContentType("application/json")
+                        .assertHeaderExists("ETag")
+                        .assertHeaderMatches("Cache-Control", "max-age=\\d+")
+        )
+                .buildTestRecipe();
+
+        List<Assertion> assertions = ((RestTestRequestStep) recipe.getTestCase().getTestSteps().get(0)).getAssertions();
+        HeaderAssertion contentType = (HeaderAssertion) assertions.get(0);
+        assertThat(contentType.getType(), is(AssertionNames.GROOVY_SCRIPT));
+        assertThat(contentType.getHeader(), is("Content-Type"));
+        assertThat(contentType.getMode(), is(HeaderAssertion.Mode.VALUE));
+        assertThat(contentType.getScript(), is("assert messageExchange.responseHeaders[\"Content-Type\"].contains( \"application/json\")"));
+        assertThat(((HeaderAssertion) assertions.get(1)).getMode(), is(HeaderAssertion.Mode.EXISTS));
+        assertThat(((HeaderAssertion) assertions.get(2)).getExpectedValue(), is("max-age=\\d+"));
+    }
+
+    @Test
+    public void evaluatesHeaderAssertionsIgnoringHeaderNameCase() throws Exception {
+        Map<String, List<String>> headers = Collections.singletonMap("content-type",
+                Arrays.asList("text/plain", "application/json"));
+
+        assertThat(contentType("application/json").build().evaluate(headers), is(nullValue()));
+        assertThat(contentType("text/xml").build().evaluate(headers), is(notNullValue()));
+        assertThat(headerExists("Content-Type").build().evaluate(headers), is(nullValue()));
+        assertThat(headerExists("ETag").build().evaluate(headers), is(notNullValue()));
+        assertThat(headerMatches("Content-Type", "application/.*").build().evaluate(headers), is(nullValue()));
+        assertThat(headerMatches("Content-Type", "image/.*").build().evaluate(headers), is(notNullValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidHeaderRegularExpression() throws Exception {
+        headerMatches("Content-Type", "application/(json").build();
+    }
 }
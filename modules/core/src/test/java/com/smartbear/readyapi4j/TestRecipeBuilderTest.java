@@ -5,6 +5,7 @@ import com.smartbear.readyapi4j.teststeps.TestStepTypes;
 import com.smartbear.readyapi4j.teststeps.propertytransfer.PathLanguage;
 import org.junit.Test;
 
+import java.io.StringReader;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.List;
@@ -35,6 +36,17 @@ public class TestRecipeBuilderTest {
         assertThat(recipe.length(), not(0));
     }
 
+    @Test
+    public void createsRecipeFromReader() throws Exception {
+        String recipeText = "{\"name\": \"ReaderRecipe\", \"testSteps\": [" +
+                "{\"type\": \"REST Request\", \"name\": \"Geocode\"}]}";
+
+        TestRecipe recipe = TestRecipeBuilder.createFrom(new StringReader(recipeText));
+
+        assertThat(recipe.getName(), is("ReaderRecipe"));
+        assertThat(recipe.getTestCase().getTestSteps().get(0).getName(), is("Geocode"));
+    }
+
     @Test
     public void buildRecipeWithTestCaseProperty() {
         TestRecipe recipe = newTestRecipe().withProperty("test", "test").buildTestRecipe();
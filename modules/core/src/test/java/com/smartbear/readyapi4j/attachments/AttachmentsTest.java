@@ -0,0 +1,142 @@
+package com.smartbear.readyapi4j.attachments;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import com.smartbear.readyapi4j.client.model.RequestAttachment;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class AttachmentsTest {
+    private static final byte[] CONTENT = randomBytes(50_000);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = createObjectMapper();
+
+    /**
+     * Configured like the mapper that serializes recipes for TestEngine in ApiClientWrapper
+     */
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withCreatorVisibility(JsonAutoDetect.Visibility.NONE));
+        return mapper;
+    }
+
+    @Test
+    public void serializesFileAttachmentLikeContentInMemory() throws Exception {
+        File file = temporaryFolder.newFile("content.bin");
+        Files.write(file.toPath(), CONTENT);
+
+        RequestAttachment fileAttachment = Attachments.file(file, "application/octet-stream").build();
+        RequestAttachment inMemoryAttachment = Attachments.byteArray(CONTENT, "application/octet-stream")
+                .withName("content.bin")
+                .withContentId("content.bin")
+                .build();
+
+        assertThat(fileAttachment, instanceOf(StreamingRequestAttachment.class));
+        assertThat(objectMapper.valueToTree(fileAttachment), is((JsonNode) objectMapper.valueToTree(inMemoryAttachment)));
+        assertThat(objectMapper.writeValueAsString(fileAttachment), is(objectMapper.writeValueAsString(inMemoryAttachment)));
+        assertThat(Base64.getDecoder().decode(fileAttachment.getContent()), is(CONTENT));
+    }
+
+    @Test
+    public void omitsFileContentIfRequested() throws Exception {
+        File file = temporaryFolder.newFile("content.bin");
+        Files.write(file.toPath(), CONTENT);
+
+        JsonNode attachmentNode = objectMapper.readTree(objectMapper.writer()
+                .withAttribute(AttachmentContentSerializer.OMIT_FILE_CONTENT, Boolean.TRUE)
+                .writeValueAsString(Attachments.file(file).build()));
+
+        assertThat(attachmentNode.get("content").isNull(), is(true));
+        assertThat(attachmentNode.get("name").asText(), is("content.bin"));
+    }
+
+    @Test
+    public void readsContentSourceWhenSerialized() throws Exception {
+        AtomicInteger opened = new AtomicInteger();
+        RequestAttachment attachment = Attachments.stream(() -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(CONTENT);
+        }, "application/octet-stream").build();
+        assertThat(opened.get(), is(0));
+
+        JsonNode attachmentNode = objectMapper.valueToTree(attachment);
+
+        assertThat(opened.get(), is(1));
+        assertThat(Base64.getDecoder().decode(attachmentNode.get("content").binaryValue()), is(CONTENT));
+    }
+
+    @Test
+    public void settingContentReplacesFileWithContentInMemory() throws Exception {
+        File file = temporaryFolder.newFile("content.bin");
+        Files.write(file.toPath(), CONTENT);
+        byte[] replacement = randomBytes(100);
+        RequestAttachment fileAttachment = Attachments.file(file, "application/octet-stream").build();
+        RequestAttachment inMemoryAttachment = Attachments.byteArray(replacement, "application/octet-stream")
+                .withName("content.bin")
+                .withContentId("content.bin")
+                .build();
+
+        fileAttachment.setContent(Base64.getEncoder().encode(replacement));
+
+        assertThat(((StreamingRequestAttachment) fileAttachment).getContentSource(),
+                not(instanceOf(FileAttachmentContent.class)));
+        assertThat(Base64.getDecoder().decode(fileAttachment.getContent()), is(replacement));
+        assertThat(ByteStreams.toByteArray(((StreamingRequestAttachment) fileAttachment).getContentSource()
+                .openStream()), is(replacement));
+        assertThat(objectMapper.writer()
+                        .withAttribute(AttachmentContentSerializer.OMIT_FILE_CONTENT, Boolean.TRUE)
+                        .writeValueAsString(fileAttachment),
+                is(objectMapper.writeValueAsString(inMemoryAttachment)));
+    }
+
+    @Test
+    public void readsWholeStreamNotOnlyAvailableBytes() {
+        SequenceInputStream inputStream = new SequenceInputStream(
+                new ByteArrayInputStream(CONTENT, 0, 1000), new ByteArrayInputStream(CONTENT, 1000, CONTENT.length - 1000));
+
+        RequestAttachment attachment = Attachments.stream(inputStream, "application/octet-stream").build();
+
+        assertThat(Base64.getDecoder().decode(attachment.getContent()), is(CONTENT));
+    }
+
+    @Test
+    public void encodesStreamLikeBase64Encoder() throws Exception {
+        for (int length : new int[]{0, 1, 2, 3, 3 * 4096, 3 * 4096 + 1, 3 * 4096 * 2 + 2}) {
+            byte[] content = randomBytes(length);
+            Base64EncodingInputStream encodingStream = new Base64EncodingInputStream(new ByteArrayInputStream(content));
+
+            assertThat(ByteStreams.toByteArray(encodingStream), is(Base64.getEncoder().encode(content)));
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,104 @@
+package com.smartbear.readyapi4j.baseline;
+
+import com.google.common.collect.ImmutableMap;
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyBaselineTest {
+    private static final String STEP = "Project/Suite/Case/Step";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void computesNearestRankPercentiles() {
+        long[] samples = new long[100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[samples.length - 1 - i] = i + 1;
+        }
+
+        LatencyPercentiles percentiles = LatencyPercentiles.of(samples);
+
+        assertEquals(100, percentiles.getCount());
+        assertEquals(50, percentiles.getP50());
+        assertEquals(95, percentiles.getP95());
+        assertEquals(99, percentiles.getP99());
+    }
+
+    @Test
+    public void baselineIsMedianOfRetainedRuns() throws Exception {
+        File baselineFile = new File(temporaryFolder.getRoot(), "baseline.txt");
+        LatencyBaseline baseline = LatencyBaseline.load(baselineFile, 3);
+        for (long p50 : new long[]{1000, 100, 120, 110}) {
+            baseline.append(ImmutableMap.of(STEP, new LatencyPercentiles(10, p50, p50 * 2, p50 * 3)));
+        }
+
+        LatencyPercentiles reloaded = LatencyBaseline.load(baselineFile, 3).getBaseline(STEP, 3);
+
+        assertEquals(110, reloaded.getP50());
+        assertEquals(220, reloaded.getP95());
+        assertNull(LatencyBaseline.load(baselineFile, 3).getBaseline(STEP, 4));
+    }
+
+    @Test
+    public void recorderKeepsStepsOfDifferentRecipesApart() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(report(100), "recipes/users.json");
+        recorder.record(report(300), "recipes/orders.json");
+        recorder.record(report(500));
+
+        Map<String, LatencyPercentiles> percentiles = recorder.getPercentiles();
+
+        assertEquals(3, percentiles.size());
+        assertEquals(100, percentiles.get("recipes/users.json/" + STEP).getP50());
+        assertEquals(300, percentiles.get("recipes/orders.json/" + STEP).getP50());
+        assertEquals(500, percentiles.get(STEP).getP50());
+    }
+
+    @Test
+    public void detectsRegressionsBeyondTolerance() throws Exception {
+        LatencyBaseline baseline = LatencyBaseline.load(new File(temporaryFolder.getRoot(), "baseline.txt"));
+        baseline.append(ImmutableMap.of(STEP, new LatencyPercentiles(10, 200, 300, 400)));
+        LatencyTolerance tolerance = new LatencyTolerance().withMinimumDelta(50);
+
+        List<LatencyComparison> slower = baseline.compare(
+                ImmutableMap.of(STEP, new LatencyPercentiles(10, 200, 400, 400)), tolerance, 1);
+        List<LatencyComparison> jitter = baseline.compare(
+                ImmutableMap.of(STEP, new LatencyPercentiles(10, 245, 300, 400)), tolerance, 1);
+
+        assertTrue(slower.get(0).isRegression());
+        assertEquals(1, slower.get(0).getRegressions().size());
+        assertFalse(jitter.get(0).isRegression());
+    }
+
+    private static TestJobReport report(long stepTime) {
+        TestStepResultReport testStep = new TestStepResultReport();
+        testStep.setTestStepName("Step");
+        testStep.setTotalTestStepTime(stepTime);
+        TestCaseResultReport testCase = new TestCaseResultReport();
+        testCase.setTestCaseName("Case");
+        testCase.setTestStepResultReports(Collections.singletonList(testStep));
+        TestSuiteResultReport testSuite = new TestSuiteResultReport();
+        testSuite.setTestSuiteName("Suite");
+        testSuite.setTestCaseResultReports(Collections.singletonList(testCase));
+        TestJobReport report = new TestJobReport();
+        report.setProjectName("Project");
+        report.setTestSuiteResultReports(Collections.singletonList(testSuite));
+        return report;
+    }
+}
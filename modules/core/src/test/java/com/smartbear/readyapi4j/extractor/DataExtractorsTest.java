@@ -0,0 +1,51 @@
+package com.smartbear.readyapi4j.extractor;
+
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DataExtractorsTest {
+
+    @Test
+    public void runsOperatorsOfMatchingExtractorDataAndRemovesTheirProperties() {
+        List<String> extracted = new ArrayList<>();
+        ExtractorData otherData = new ExtractorData();
+        otherData.addExtractorOperator("city", value -> extracted.add("other " + value));
+        ExtractorData extractorData = new ExtractorData();
+        String cityId = extractorData.addExtractor(new Extractor("Response", "$.city", value -> extracted.add("city " + value)));
+        String endpointId = extractorData.addExtractor(new Extractor("Endpoint", value -> extracted.add("endpoint " + value)));
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(ExtractorData.EXTRACTOR_DATA_KEY, extractorData.getExtractorDataId());
+        properties.put(cityId, "Oslo");
+        properties.put(endpointId, "http://localhost");
+        properties.put("unrelated", "value");
+
+        DataExtractors.runDataExtractors(reportWithProperties(properties), Arrays.asList(otherData, extractorData));
+
+        assertThat(extracted, is(Arrays.asList("city Oslo", "endpoint http://localhost")));
+        assertThat(properties, is(Collections.singletonMap("unrelated", "value")));
+        assertThat(extractorData.getExtractor(cityId).getPath(), is("$.city"));
+    }
+
+    private static TestJobReport reportWithProperties(Map<String, String> properties) {
+        TestCaseResultReport testCaseResultReport = new TestCaseResultReport();
+        testCaseResultReport.setProperties(properties);
+        TestSuiteResultReport testSuiteResultReport = new TestSuiteResultReport();
+        testSuiteResultReport.setTestCaseResultReports(Collections.singletonList(testCaseResultReport));
+        TestJobReport report = new TestJobReport();
+        report.setTestSuiteResultReports(Collections.singletonList(testSuiteResultReport));
+        return report;
+    }
+}
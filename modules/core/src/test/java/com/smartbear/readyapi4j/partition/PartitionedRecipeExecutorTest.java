@@ -0,0 +1,132 @@
+package com.smartbear.readyapi4j.partition;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.DataSource;
+import com.smartbear.readyapi4j.client.model.DataSourceTestStep;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStep;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.RecipeExecutor;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+import com.smartbear.readyapi4j.teststeps.TestStepTypes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.groovyScriptStep;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PartitionedRecipeExecutorTest {
+
+    @Test
+    public void splitsGridIntoConsecutiveRangesOfAboutTheSameSize() {
+        Map<String, List<String>> grid = new LinkedHashMap<>();
+        grid.put("id", Arrays.asList("1", "2", "3", "4", "5"));
+        grid.put("name", Arrays.asList("a", "b"));
+
+        List<DataSource> partitions = GridRowPartitioner.splitGrid(grid, null, 2);
+
+        assertEquals(2, partitions.size());
+        assertEquals(Arrays.asList("1", "2", "3"), partitions.get(0).getGrid().get("id"));
+        assertEquals(Arrays.asList("a", "b"), partitions.get(0).getGrid().get("name"));
+        assertEquals(Arrays.asList("4", "5"), partitions.get(1).getGrid().get("id"));
+        assertEquals(Collections.emptyList(), partitions.get(1).getGrid().get("name"));
+        assertEquals(1, GridRowPartitioner.splitGrid(grid, null, 8).get(4).getGrid().get("id").size());
+    }
+
+    @Test
+    public void mergesResultsOfPartitionsInRowOrder() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            ids.add(String.valueOf(i));
+        }
+        TestRecipe recipe = newTestRecipe(() -> gridDataSourceStep(ids)).buildTestRecipe();
+        RecipeExecutor recipeExecutor = mock(RecipeExecutor.class);
+        when(recipeExecutor.executeRecipe(any(TestRecipe.class))).thenAnswer(invocation ->
+                executionOfRows((TestRecipe) invocation.getArguments()[0]));
+
+        PartitionedExecution execution = new PartitionedRecipeExecutor(recipeExecutor)
+                .withPartitions(3)
+                .executeRecipe(recipe);
+
+        assertEquals(3, execution.getPartitionExecutions().size());
+        assertEquals(TestJobReport.StatusEnum.FINISHED, execution.getCurrentStatus());
+        assertEquals(ids, execution.getExecutionResult().getTestStepResults().stream()
+                .map(TestStepResult::getTestStepName)
+                .collect(Collectors.toList()));
+        assertEquals(ids, ((DataSourceTestStep) recipe.getTestCase().getTestSteps().get(0))
+                .getDataSource().getGrid().get("id"));
+    }
+
+    @Test
+    public void partitionsShareAllTestStepsButTheDataSourceStep() {
+        TestStep setupStep = groovyScriptStep("log.info 'setup'").build();
+        DataSourceTestStep dataSourceStep = gridDataSourceStep(Arrays.asList("1", "2", "3", "4"));
+        TestRecipe recipe = newTestRecipe(() -> setupStep, () -> dataSourceStep).named("Rows").buildTestRecipe();
+
+        List<TestRecipe> partitionRecipes = new PartitionedRecipeExecutor(mock(RecipeExecutor.class))
+                .withPartitions(2)
+                .createPartitionRecipes(recipe);
+
+        assertEquals(2, partitionRecipes.size());
+        for (TestRecipe partitionRecipe : partitionRecipes) {
+            List<TestStep> testSteps = partitionRecipe.getTestCase().getTestSteps();
+            assertEquals("Rows", partitionRecipe.getTestCase().getName());
+            assertSame(setupStep, testSteps.get(0));
+            assertNotSame(dataSourceStep, testSteps.get(1));
+            assertEquals("Ids", testSteps.get(1).getName());
+            assertSame(dataSourceStep.getTestSteps(), ((DataSourceTestStep) testSteps.get(1)).getTestSteps());
+            assertSame(recipe.getExtractorData(), partitionRecipe.getExtractorData());
+        }
+        assertEquals(Arrays.asList("3", "4"), ((DataSourceTestStep) partitionRecipes.get(1).getTestCase()
+                .getTestSteps().get(1)).getDataSource().getGrid().get("id"));
+    }
+
+    private static DataSourceTestStep gridDataSourceStep(List<String> ids) {
+        DataSource dataSource = new DataSource();
+        dataSource.setGrid(Collections.singletonMap("id", ids));
+        DataSourceTestStep dataSourceStep = new DataSourceTestStep();
+        dataSourceStep.setType(TestStepTypes.DATA_SOURCE.getName());
+        dataSourceStep.setName("Ids");
+        dataSourceStep.setDataSource(dataSource);
+        dataSourceStep.setTestSteps(Collections.singletonList(groovyScriptStep("log.info 'row'").build()));
+        return dataSourceStep;
+    }
+
+    /**
+     * Creates an execution with one test step result per row, named after the row
+     */
+    private static Execution executionOfRows(TestRecipe recipe) throws InterruptedException {
+        List<String> rows = ((DataSourceTestStep) recipe.getTestCase().getTestSteps().get(0))
+                .getDataSource().getGrid().get("id");
+        // finish later partitions first
+        Thread.sleep(100 - Integer.parseInt(rows.get(0)) * 5);
+
+        List<TestStepResult> results = new ArrayList<>();
+        for (String row : rows) {
+            TestStepResult result = mock(TestStepResult.class);
+            when(result.getTestStepName()).thenReturn(row);
+            results.add(result);
+        }
+        RecipeExecutionResult executionResult = mock(RecipeExecutionResult.class);
+        when(executionResult.getTestStepResults()).thenReturn(results);
+        when(executionResult.getStatus()).thenReturn(TestJobReport.StatusEnum.FINISHED);
+        Execution execution = mock(Execution.class);
+        when(execution.getExecutionResult()).thenReturn(executionResult);
+        when(execution.getCurrentStatus()).thenReturn(TestJobReport.StatusEnum.FINISHED);
+        return execution;
+    }
+}
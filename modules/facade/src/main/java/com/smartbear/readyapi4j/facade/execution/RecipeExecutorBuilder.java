@@ -3,6 +3,7 @@ package com.smartbear.readyapi4j.facade.execution;
 import com.smartbear.readyapi4j.execution.ExecutionListener;
 import com.smartbear.readyapi4j.execution.RecipeExecutor;
 import com.smartbear.readyapi4j.execution.RecipeFilter;
+import com.smartbear.readyapi4j.local.execution.LocalExecutionThreads;
 import com.smartbear.readyapi4j.local.execution.SoapUIRecipeExecutor;
 import com.smartbear.readyapi4j.support.ExecutionLogger;
 import com.smartbear.readyapi4j.support.RecipeLogger;
@@ -40,6 +41,7 @@ public class RecipeExecutorBuilder {
 
     private List<RecipeFilter> filters = new ArrayList<>();
     private List<ExecutionListener> listeners = new ArrayList<>();
+    private LocalExecutionThreads localExecutionThreads;
 
     /**
      * @param filter RecipeFilter to add to the resulting executor
@@ -49,6 +51,14 @@ public class RecipeExecutorBuilder {
         return this;
     }
 
+    /**
+     * @param localExecutionThreads threads to run recipes on if a local executor is built, e.g. virtual threads
+     */
+    public RecipeExecutorBuilder withLocalExecutionThreads(LocalExecutionThreads localExecutionThreads) {
+        this.localExecutionThreads = localExecutionThreads;
+        return this;
+    }
+
     /**
      * @param listener ExecutionListener to add to the resulting executor
      */
@@ -152,7 +162,8 @@ public class RecipeExecutorBuilder {
      * @return a local RecipeExecutor - ignores any TestEngine related configurations
      */
     public RecipeExecutor buildLocal() {
-        RecipeExecutor executor = new SoapUIRecipeExecutor();
+        SoapUIRecipeExecutor executor = new SoapUIRecipeExecutor();
+        executor.setExecutionThreads(localExecutionThreads);
         return addFilters(executor);
     }
 
@@ -165,6 +176,18 @@ public class RecipeExecutorBuilder {
      * @throws MalformedURLException if the specified endpoint is not a valid URL
      */
     public RecipeExecutor buildRemote(String endpoint) throws MalformedURLException {
+        return buildRemote(buildClient(endpoint));
+    }
+
+    /**
+     * Builds a TestEngine client with the same credentials as {@link #buildRemote(String)}, for callers that
+     * share the client with other executors
+     *
+     * @param endpoint the remote endpoint to use
+     * @return a client with the configured or env/system property credentials
+     * @throws MalformedURLException if the specified endpoint is not a valid URL
+     */
+    public TestEngineClient buildClient(String endpoint) throws MalformedURLException {
         Map<String, String> env = System.getenv();
 
         URL url = new URL(endpoint);
@@ -177,8 +200,18 @@ public class RecipeExecutorBuilder {
                 env.getOrDefault(TESTENGINE_PASSWORD_PROPERTY, System.getProperty(TESTENGINE_PASSWORD_PROPERTY));
 
         testServerClient.setCredentials(user, password);
-        RecipeExecutor executor = testServerClient.createRecipeExecutor();
-        return addFilters(executor);
+        return testServerClient;
+    }
+
+    /**
+     * Builds a remote executor for an already configured client, so that the client and its connections can be
+     * shared with other executors, for example a ProjectExecutor
+     *
+     * @param testEngineClient the client to use, including its credentials
+     * @return a remote RecipeExecutor
+     */
+    public RecipeExecutor buildRemote(TestEngineClient testEngineClient) {
+        return addFilters(testEngineClient.createRecipeExecutor());
     }
 
     /**
@@ -18,33 +18,46 @@ package com.smartbear.readyapi4j.junitreport;
 
 import com.smartbear.readyapi.junit.Properties;
 import com.smartbear.readyapi.junit.*;
+import com.smartbear.readyapi4j.baseline.LatencyComparison;
 import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
 import com.smartbear.readyapi4j.client.model.TestStepResultReport;
 import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
 import org.apache.xmlbeans.XmlOptions;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 import static com.smartbear.readyapi4j.client.model.TestStepResultReport.AssertionStatusEnum.FAIL;
 
 /**
- * Wrapper for a number of Test runs
+ * Wrapper for a number of Test runs. Test cases can be added from any number of threads: the record* methods
+ * only queue an immutable record and update the counters, the queued records are added to the document
+ * when the report is finished.
  */
 
 public class JUnitReport {
     private final Map properties;
-    private TestsuiteDocument testsuiteDoc;
-    private int noofTestCases;
-    private int noofFailures;
-    private int noofErrors;
-    private double totalTime;
-    private StringBuilder systemOut;
-    private StringBuilder systemErr;
-
-    private boolean includeTestProperties;
+    private final TestsuiteDocument testsuiteDoc;
+    private final Queue<TestCaseRecord> pendingTestCases = new ConcurrentLinkedQueue<>();
+    private final LongAdder noofTestCases = new LongAdder();
+    private final LongAdder noofFailures = new LongAdder();
+    private final LongAdder noofErrors = new LongAdder();
+    private final LongAdder noofSkipped = new LongAdder();
+    private final DoubleAdder totalTime = new DoubleAdder();
+    private final StringBuffer systemOut;
+    private final StringBuffer systemErr;
+
+    private volatile boolean includeTestProperties;
+    private volatile boolean testStepGranularity;
+    private volatile boolean includeHarTimings;
     private final ErrorLog errorLog;
 
     public JUnitReport(Map properties) {
@@ -52,38 +65,72 @@ public class JUnitReport {
     }
 
     public JUnitReport(Map properties, ErrorLog errorLog) {
+        this(properties, errorLog, name -> true);
+    }
+
+    /**
+     * @param systemPropertyFilter only system properties whose names match the filter are added to the report
+     */
+    public JUnitReport(Map properties, ErrorLog errorLog, Predicate<String> systemPropertyFilter) {
         this.properties = properties;
         this.errorLog = errorLog;
-        systemOut = new StringBuilder();
-        systemErr = new StringBuilder();
+        systemOut = new StringBuffer();
+        systemErr = new StringBuffer();
 
         testsuiteDoc = TestsuiteDocument.Factory.newInstance();
         Testsuite testsuite = testsuiteDoc.addNewTestsuite();
-        setSystemProperties(testsuite.addNewProperties());
+        setSystemProperties(testsuite.addNewProperties(), systemPropertyFilter);
     }
 
     public void setIncludeTestProperties(boolean includeTestProperties) {
         this.includeTestProperties = includeTestProperties;
     }
 
+    /**
+     * Adds one test case per executed test step instead of one per recipe. Steps are grouped by their test case
+     * through the package attribute, and failed assertions fail the step they belong to.
+     */
+    public void setTestStepGranularity(boolean testStepGranularity) {
+        this.testStepGranularity = testStepGranularity;
+    }
+
+    /**
+     * Adds the HAR timing phases of each step as test case properties when using test step granularity and
+     * {@link #handleExecution(Execution, String)}. For TestEngine executions this fetches the transaction log of
+     * every step.
+     */
+    public void setIncludeHarTimings(boolean includeHarTimings) {
+        this.includeHarTimings = includeHarTimings;
+    }
+
     public void setTotalTime(double time) {
-        testsuiteDoc.getTestsuite().setTime(Double.toString(Math.round(time * 1000) / 1000d));
+        synchronized (testsuiteDoc) {
+            testsuiteDoc.getTestsuite().setTime(Double.toString(Math.round(time * 1000) / 1000d));
+        }
     }
 
     public void setTestSuiteName(String name) {
-        testsuiteDoc.getTestsuite().setName(name);
+        synchronized (testsuiteDoc) {
+            testsuiteDoc.getTestsuite().setName(name);
+        }
     }
 
     public void setPackage(String pkg) {
-        testsuiteDoc.getTestsuite().setPackage(pkg);
+        synchronized (testsuiteDoc) {
+            testsuiteDoc.getTestsuite().setPackage(pkg);
+        }
     }
 
     public void setNoofErrorsInTestSuite(int errors) {
-        testsuiteDoc.getTestsuite().setErrors(errors);
+        synchronized (testsuiteDoc) {
+            testsuiteDoc.getTestsuite().setErrors(errors);
+        }
     }
 
     public void setNoofFailuresInTestSuite(int failures) {
-        testsuiteDoc.getTestsuite().setFailures(failures);
+        synchronized (testsuiteDoc) {
+            testsuiteDoc.getTestsuite().setFailures(failures);
+        }
     }
 
     public void systemOut(String systemout) {
@@ -95,72 +142,167 @@ public class JUnitReport {
     }
 
     public void setSystemOut(String systemout) {
-        testsuiteDoc.getTestsuite().setSystemOut(systemout);
+        synchronized (testsuiteDoc) {
+            testsuiteDoc.getTestsuite().setSystemOut(systemout);
+        }
     }
 
     public void setSystemErr(String systemerr) {
-        testsuiteDoc.getTestsuite().setSystemErr(systemerr);
+        synchronized (testsuiteDoc) {
+            testsuiteDoc.getTestsuite().setSystemErr(systemerr);
+        }
+    }
+
+    /**
+     * Queues a passed test case, safe to call concurrently without blocking
+     */
+    public void recordTestCase(String name, double time, Map<String, String> testProperties) {
+        record(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.PASSED, null, null));
+    }
+
+    /**
+     * Queues a failed test case, safe to call concurrently without blocking
+     */
+    public void recordTestCaseWithFailure(String name, double time, String failure, String stacktrace, Map<String, String> testProperties) {
+        record(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.FAILURE, failure, stacktrace));
     }
 
+    /**
+     * Queues a test case with an error, safe to call concurrently without blocking
+     */
+    public void recordTestCaseWithError(String name, double time, String error, String stacktrace, Map<String, String> testProperties) {
+        record(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.ERROR, error, stacktrace));
+    }
+
+    /**
+     * Adds a passed test case to the document right away - prefer {@link #recordTestCase(String, double, Map)}
+     * for concurrent producers, since this has to lock the document
+     */
     public Testcase addTestCase(String name, double time, Map<String, String> testProperties) {
-        Testcase testcase = testsuiteDoc.getTestsuite().addNewTestcase();
-        testcase.setName(name);
-        testcase.setTime(String.valueOf(time / 1000));
-        noofTestCases++;
-        totalTime += time;
+        return add(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.PASSED, null, null));
+    }
+
+    /**
+     * Adds a test case that was not run, e.g. because its result was taken from a previous build
+     *
+     * @param time the duration of the run the result was taken from, if any
+     */
+    public Testcase addSkippedTestCase(String name, double time, String message, Map<String, String> testProperties) {
+        return add(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.SKIPPED, message, null));
+    }
+
+    public Testcase addTestCaseWithFailure(String name, double time, String failure, String stacktrace, Map<String, String> testProperties) {
+        return add(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.FAILURE, failure, stacktrace));
+    }
+
+    public Testcase addTestCaseWithError(String name, double time, String error, String stacktrace, Map<String, String> testProperties) {
+        return add(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.ERROR, error, stacktrace));
+    }
 
-        setTestProperties(testProperties, testcase);
+    /**
+     * Queues the latency regression section, one test case per compared test step in the package
+     * "latency-baseline", failed if the step regressed, and appends the compared percentiles to the system-out
+     *
+     * @param failOnRegression false to add regressed steps as skipped test cases instead of failures
+     */
+    public void recordLatencyComparisons(List<LatencyComparison> comparisons, boolean failOnRegression) {
+        for (TestCaseRecord record : LatencyRecords.create(comparisons, failOnRegression)) {
+            record(record);
+        }
+        systemOut(LatencyRecords.summary(comparisons));
+    }
+
+    private void record(TestCaseRecord record) {
+        pendingTestCases.add(record);
+        count(record);
+    }
 
+    private Testcase add(TestCaseRecord record) {
+        Testcase testcase;
+        synchronized (testsuiteDoc) {
+            // keep the order in which the test cases were reported
+            drainPendingTestCases();
+            testcase = appendTestCase(record);
+        }
+        count(record);
         return testcase;
     }
 
-    private void setTestProperties(Map<String, String> testProperties, Testcase testcase) {
-        if (!this.includeTestProperties) {
+    private void count(TestCaseRecord record) {
+        noofTestCases.increment();
+        if (record.getOutcome() == TestCaseRecord.Outcome.SKIPPED) {
+            // the test case didn't take any time in this run
+            noofSkipped.increment();
             return;
         }
+        totalTime.add(record.getTime());
+        if (record.getOutcome() == TestCaseRecord.Outcome.FAILURE) {
+            noofFailures.increment();
+        } else if (record.getOutcome() == TestCaseRecord.Outcome.ERROR) {
+            noofErrors.increment();
+        }
+    }
 
-        Properties properties = testcase.addNewProperties();
-        setProperties(properties, testProperties);
+    /**
+     * Only called by the thread holding the document lock
+     */
+    private void drainPendingTestCases() {
+        TestCaseRecord record;
+        while ((record = pendingTestCases.poll()) != null) {
+            appendTestCase(record);
+        }
     }
 
-    public Testcase addTestCaseWithFailure(String name, double time, String failure, String stacktrace, Map<String, String> testProperties) {
+    private Testcase appendTestCase(TestCaseRecord record) {
         Testcase testcase = testsuiteDoc.getTestsuite().addNewTestcase();
-        testcase.setName(name);
-        testcase.setTime(String.valueOf(time / 1000));
-        FailureDocument.Failure fail = testcase.addNewFailure();
-        fail.setType(failure);
-        fail.setMessage(failure);
-        fail.setStringValue(stacktrace);
-        noofTestCases++;
-        noofFailures++;
-        totalTime += time;
-
-        setTestProperties(testProperties, testcase);
+        testcase.setName(record.getName());
+        testcase.setTime(String.valueOf(record.getTime() / 1000));
+        if (record.getPackageName() != null) {
+            testcase.setPackage(record.getPackageName());
+        }
+        if (record.getOutcome() == TestCaseRecord.Outcome.SKIPPED) {
+            SkippedDocument.Skipped skipped = testcase.addNewSkipped();
+            skipped.setMessage(record.getMessage());
+        } else if (record.getOutcome() == TestCaseRecord.Outcome.FAILURE) {
+            FailureDocument.Failure fail = testcase.addNewFailure();
+            fail.setType(record.getMessage());
+            fail.setMessage(record.getMessage());
+            fail.setStringValue(record.getStacktrace());
+        } else if (record.getOutcome() == TestCaseRecord.Outcome.ERROR) {
+            ErrorDocument.Error err = testcase.addNewError();
+            err.setType(record.getMessage());
+            err.setMessage(record.getMessage());
+            err.setStringValue(record.getStacktrace());
+        }
+
+        setTestProperties(record, testcase);
 
         return testcase;
     }
 
-    public Testcase addTestCaseWithError(String name, double time, String error, String stacktrace, Map<String, String> testProperties) {
-        Testcase testcase = testsuiteDoc.getTestsuite().addNewTestcase();
-        testcase.setName(name);
-        testcase.setTime(String.valueOf(time / 1000));
-        ErrorDocument.Error err = testcase.addNewError();
-        err.setType(error);
-        err.setMessage(error);
-        err.setStringValue(stacktrace);
-        noofTestCases++;
-        noofErrors++;
-        totalTime += time;
-
-        setTestProperties(testProperties, testcase);
+    private void setTestProperties(TestCaseRecord record, Testcase testcase) {
+        if (!this.includeTestProperties && record.getTimings().isEmpty()) {
+            return;
+        }
 
-        return testcase;
+        Properties properties = testcase.addNewProperties();
+        if (this.includeTestProperties) {
+            setProperties(properties, record.getProperties());
+        }
+        for (Map.Entry<String, Long> timing : record.getTimings().entrySet()) {
+            Property prop = properties.addNewProperty();
+            prop.setName(TestStepRecords.TIMING_PROPERTY_PREFIX + timing.getKey());
+            prop.setValue(String.valueOf(timing.getValue()));
+        }
     }
 
-    private void setSystemProperties(Properties properties) {
+    private void setSystemProperties(Properties properties, Predicate<String> systemPropertyFilter) {
         Set<?> keys = System.getProperties().keySet();
         for (Object keyO : keys) {
             String key = keyO.toString();
+            if (!systemPropertyFilter.test(key)) {
+                continue;
+            }
             String value = System.getProperty(key);
             Property prop = properties.addNewProperty();
             prop.setName(key);
@@ -178,40 +320,89 @@ public class JUnitReport {
 
     @SuppressWarnings("unchecked")
     public void save(File file) throws IOException {
-        finishReport();
-
         @SuppressWarnings("rawtypes")
         Map prefixes = new HashMap();
         prefixes.put("", "http://smartbear.com/readyapi/junit");
 
-        testsuiteDoc.save(file, new XmlOptions().setSaveOuter().setCharacterEncoding("utf-8").setUseDefaultNamespace()
-                .setSaveImplicitNamespaces(prefixes));
+        synchronized (testsuiteDoc) {
+            finishReport();
+            testsuiteDoc.save(file, new XmlOptions().setSaveOuter().setCharacterEncoding("utf-8").setUseDefaultNamespace()
+                    .setSaveImplicitNamespaces(prefixes));
+        }
     }
 
+    /**
+     * Adds all queued test cases and collected system-out/system-err to the document and updates the suite counters
+     */
     public TestsuiteDocument finishReport() {
-        testsuiteDoc.getTestsuite().setTests(noofTestCases);
-        testsuiteDoc.getTestsuite().setFailures(noofFailures);
-        testsuiteDoc.getTestsuite().setErrors(noofErrors);
-        testsuiteDoc.getTestsuite().setTime(String.valueOf(totalTime / 1000));
+        synchronized (testsuiteDoc) {
+            drainPendingTestCases();
+            if (systemOut.length() > 0) {
+                testsuiteDoc.getTestsuite().setSystemOut(systemOut.toString());
+            }
+            if (systemErr.length() > 0) {
+                testsuiteDoc.getTestsuite().setSystemErr(systemErr.toString());
+            }
+            testsuiteDoc.getTestsuite().setTests(noofTestCases.intValue());
+            testsuiteDoc.getTestsuite().setFailures(noofFailures.intValue());
+            testsuiteDoc.getTestsuite().setErrors(noofErrors.intValue());
+            testsuiteDoc.getTestsuite().setSkipped(noofSkipped.intValue());
+            testsuiteDoc.getTestsuite().setTime(String.valueOf(totalTime.sum() / 1000));
+        }
 
         return testsuiteDoc;
     }
 
+    /**
+     * Records test cases for the specified execution, including HAR timings if enabled. Safe to call concurrently.
+     */
+    public void handleExecution(Execution execution, String recipeFileName) throws TestFailureException {
+        if (testStepGranularity) {
+            handleTestSteps(execution.getCurrentReport(), recipeFileName,
+                    includeHarTimings ? execution.getExecutionResult() : null);
+        } else {
+            handleResponse(execution.getCurrentReport(), recipeFileName);
+        }
+    }
+
+    /**
+     * Records test cases for the specified result, safe to call concurrently
+     */
     public void handleResponse(TestJobReport result, String recipeFileName) throws TestFailureException {
+        if (testStepGranularity) {
+            handleTestSteps(result, recipeFileName, null);
+            return;
+        }
 
         if (result.getStatus() == TestJobReport.StatusEnum.FAILED) {
 
-            String message = logErrorsToConsole(result);
-            addTestCaseWithFailure(recipeFileName, result.getTotalTime(),
+            String message = logFailedAssertionMessages(result, errorLog);
+            recordTestCaseWithFailure(recipeFileName, result.getTotalTime(),
                     message, "<missing stacktrace>", new HashMap<String, String>(properties));
 
             throw new TestFailureException("Recipe failed, recipe file: " + recipeFileName);
         } else {
-            addTestCase(recipeFileName, result.getTotalTime(), new HashMap<String, String>(properties));
+            recordTestCase(recipeFileName, result.getTotalTime(), new HashMap<String, String>(properties));
+        }
+    }
+
+    private void handleTestSteps(TestJobReport result, String recipeFileName, RecipeExecutionResult executionResult) {
+        for (TestCaseRecord record : TestStepRecords.create(result, recipeFileName, executionResult,
+                includeTestProperties ? properties : null)) {
+            record(record);
+        }
+        if (result.getStatus() == TestJobReport.StatusEnum.FAILED) {
+            logFailedAssertionMessages(result, errorLog);
+            throw new TestFailureException("Recipe failed, recipe file: " + recipeFileName);
         }
     }
 
-    private String logErrorsToConsole(TestJobReport result) {
+    /**
+     * Logs the messages of all failed assertions in the result
+     *
+     * @return the messages, formatted for a failure element
+     */
+    static String logFailedAssertionMessages(TestJobReport result, ErrorLog errorLog) {
 
         List<String> messages = new ArrayList<>();
 
@@ -235,7 +426,7 @@ public class JUnitReport {
         void logError(String message);
     }
 
-    private static class SystemErrErrorLog implements ErrorLog {
+    static class SystemErrErrorLog implements ErrorLog {
         @Override
         public void logError(String message) {
             System.err.println(message);
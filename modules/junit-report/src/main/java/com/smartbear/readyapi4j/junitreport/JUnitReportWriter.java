@@ -0,0 +1,436 @@
+/*
+ * Copyright 2004-2015 SmartBear Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartbear.readyapi4j.junitreport;
+
+import com.smartbear.readyapi4j.baseline.LatencyComparison;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Streaming alternative to {@link JUnitReport} for large runs - test cases are written to disk as they are added
+ * instead of being kept in memory. Since the suite counters are attributes of the root element, test cases are
+ * first written to a temporary file next to the report, which is copied into the report behind the final
+ * header when the writer is closed. The result conforms to the same schema as the reports saved by JUnitReport.
+ * <p>
+ * Test cases can be added from any number of threads. Each one is queued as an immutable record and written by
+ * whichever thread currently holds the write lock - producers never wait for each other, only for close().
+ */
+
+public class JUnitReportWriter implements Closeable {
+    private static final String NAMESPACE = "http://smartbear.com/readyapi/junit";
+    private static final String ENCODING = "UTF-8";
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final File reportFile;
+    private final File testCasesFile;
+    private final OutputStream testCasesStream;
+    private final XMLStreamWriter testCasesWriter;
+    private final Map properties;
+    private final JUnitReport.ErrorLog errorLog;
+
+    private final Queue<TestCaseRecord> pendingTestCases = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // held shared while a record is added and exclusively while the writer is closed, so no record can be
+    // queued after close() has written the suite counters
+    private final ReadWriteLock addLock = new ReentrantReadWriteLock();
+
+    private volatile Predicate<String> systemPropertyFilter = name -> true;
+    private volatile boolean includeTestProperties;
+    private volatile boolean testStepGranularity;
+    private volatile boolean includeHarTimings;
+    private volatile String testSuiteName;
+    private volatile String testSuitePackage;
+    private final StringBuffer systemOut = new StringBuffer();
+    private final StringBuffer systemErr = new StringBuffer();
+
+    private final LongAdder noofTestCases = new LongAdder();
+    private final LongAdder noofFailures = new LongAdder();
+    private final LongAdder noofErrors = new LongAdder();
+    private final LongAdder noofSkipped = new LongAdder();
+    private final DoubleAdder totalTime = new DoubleAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param reportFile the file to write the report to, created when the writer is closed
+     * @param properties properties added to each test case if test properties are included
+     */
+    public JUnitReportWriter(File reportFile, Map properties) throws IOException {
+        this(reportFile, properties, new JUnitReport.SystemErrErrorLog());
+    }
+
+    public JUnitReportWriter(File reportFile, Map properties, JUnitReport.ErrorLog errorLog) throws IOException {
+        this.reportFile = reportFile;
+        this.properties = properties == null ? Collections.emptyMap() : properties;
+        this.errorLog = errorLog;
+
+        File directory = reportFile.getAbsoluteFile().getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create report directory: " + directory);
+        }
+        testCasesFile = new File(directory, reportFile.getName() + ".part");
+        testCasesStream = new BufferedOutputStream(new FileOutputStream(testCasesFile), 64 * 1024);
+        try {
+            testCasesWriter = OUTPUT_FACTORY.createXMLStreamWriter(testCasesStream, ENCODING);
+        } catch (XMLStreamException e) {
+            testCasesStream.close();
+            throw new IOException("Failed to create report writer", e);
+        }
+    }
+
+    /**
+     * Limits the system properties written to the report to the ones whose names match the filter, all
+     * system properties are written by default
+     */
+    public JUnitReportWriter withSystemPropertyFilter(Predicate<String> systemPropertyFilter) {
+        this.systemPropertyFilter = systemPropertyFilter;
+        return this;
+    }
+
+    public void setIncludeTestProperties(boolean includeTestProperties) {
+        this.includeTestProperties = includeTestProperties;
+    }
+
+    /**
+     * @see JUnitReport#setTestStepGranularity(boolean)
+     */
+    public void setTestStepGranularity(boolean testStepGranularity) {
+        this.testStepGranularity = testStepGranularity;
+    }
+
+    /**
+     * @see JUnitReport#setIncludeHarTimings(boolean)
+     */
+    public void setIncludeHarTimings(boolean includeHarTimings) {
+        this.includeHarTimings = includeHarTimings;
+    }
+
+    public void setTestSuiteName(String name) {
+        this.testSuiteName = name;
+    }
+
+    public void setPackage(String pkg) {
+        this.testSuitePackage = pkg;
+    }
+
+    public void systemOut(String systemout) {
+        systemOut.append(systemout);
+    }
+
+    public void systemErr(String systemerr) {
+        systemErr.append(systemerr);
+    }
+
+    public void addTestCase(String name, double time, Map<String, String> testProperties) throws IOException {
+        add(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.PASSED, null, null));
+    }
+
+    /**
+     * @see JUnitReport#addSkippedTestCase(String, double, String, Map)
+     */
+    public void addSkippedTestCase(String name, double time, String message, Map<String, String> testProperties)
+            throws IOException {
+        add(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.SKIPPED, message, null));
+    }
+
+    public void addTestCaseWithFailure(String name, double time, String failure, String stacktrace,
+                                       Map<String, String> testProperties) throws IOException {
+        add(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.FAILURE, failure, stacktrace));
+    }
+
+    public void addTestCaseWithError(String name, double time, String error, String stacktrace,
+                                     Map<String, String> testProperties) throws IOException {
+        add(new TestCaseRecord(name, time, testProperties, TestCaseRecord.Outcome.ERROR, error, stacktrace));
+    }
+
+    /**
+     * Adds the latency regression section, same as {@link JUnitReport#recordLatencyComparisons(List, boolean)}
+     */
+    public void addLatencyComparisons(List<LatencyComparison> comparisons, boolean failOnRegression)
+            throws IOException {
+        for (TestCaseRecord record : LatencyRecords.create(comparisons, failOnRegression)) {
+            add(record);
+        }
+        systemOut(LatencyRecords.summary(comparisons));
+    }
+
+    private void add(TestCaseRecord record) throws IOException {
+        addLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Report has already been written to " + reportFile);
+            }
+            pendingTestCases.add(record);
+            noofTestCases.increment();
+            if (record.getOutcome() == TestCaseRecord.Outcome.SKIPPED) {
+                noofSkipped.increment();
+            } else {
+                totalTime.add(record.getTime());
+            }
+            if (record.getOutcome() == TestCaseRecord.Outcome.FAILURE) {
+                noofFailures.increment();
+            } else if (record.getOutcome() == TestCaseRecord.Outcome.ERROR) {
+                noofErrors.increment();
+            }
+        } finally {
+            addLock.readLock().unlock();
+        }
+        drainPendingTestCases();
+    }
+
+    /**
+     * Writes queued records if no other thread is doing so already. Checks the queue again after releasing the
+     * lock, since records might have been queued after the last poll of the thread that held it.
+     */
+    private void drainPendingTestCases() throws IOException {
+        while (!pendingTestCases.isEmpty() && writeLock.tryLock()) {
+            try {
+                if (closed) {
+                    return;
+                }
+                writePendingTestCases();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds test cases for the specified execution, same as {@link JUnitReport#handleExecution(Execution, String)}
+     */
+    public void handleExecution(Execution execution, String recipeFileName) throws IOException, TestFailureException {
+        if (testStepGranularity) {
+            handleTestSteps(execution.getCurrentReport(), recipeFileName,
+                    includeHarTimings ? execution.getExecutionResult() : null);
+        } else {
+            handleResponse(execution.getCurrentReport(), recipeFileName);
+        }
+    }
+
+    /**
+     * Adds test cases for the specified result, same as {@link JUnitReport#handleResponse(TestJobReport, String)}
+     */
+    public void handleResponse(TestJobReport result, String recipeFileName) throws IOException, TestFailureException {
+        if (testStepGranularity) {
+            handleTestSteps(result, recipeFileName, null);
+            return;
+        }
+
+        if (result.getStatus() == TestJobReport.StatusEnum.FAILED) {
+            String message = JUnitReport.logFailedAssertionMessages(result, errorLog);
+            addTestCaseWithFailure(recipeFileName, result.getTotalTime(),
+                    message, "<missing stacktrace>", new HashMap<String, String>(properties));
+
+            throw new TestFailureException("Recipe failed, recipe file: " + recipeFileName);
+        } else {
+            addTestCase(recipeFileName, result.getTotalTime(), new HashMap<String, String>(properties));
+        }
+    }
+
+    private void handleTestSteps(TestJobReport result, String recipeFileName, RecipeExecutionResult executionResult)
+            throws IOException {
+        for (TestCaseRecord record : TestStepRecords.create(result, recipeFileName, executionResult,
+                includeTestProperties ? properties : null)) {
+            add(record);
+        }
+        if (result.getStatus() == TestJobReport.StatusEnum.FAILED) {
+            JUnitReport.logFailedAssertionMessages(result, errorLog);
+            throw new TestFailureException("Recipe failed, recipe file: " + recipeFileName);
+        }
+    }
+
+    /**
+     * Writes buffered test cases to the temporary file
+     */
+    public void flush() throws IOException {
+        writeLock.lock();
+        try {
+            writePendingTestCases();
+            testCasesWriter.flush();
+            testCasesStream.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write report", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writePendingTestCases() throws IOException {
+        TestCaseRecord record;
+        while ((record = pendingTestCases.poll()) != null) {
+            writeTestCase(record);
+        }
+    }
+
+    /**
+     * Writes the complete report and removes the temporary file
+     */
+    @Override
+    public void close() throws IOException {
+        addLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            addLock.writeLock().unlock();
+        }
+
+        writeLock.lock();
+        try {
+            writeReport();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeReport() throws IOException {
+        try {
+            writePendingTestCases();
+            testCasesWriter.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write report", e);
+        } finally {
+            testCasesStream.close();
+        }
+
+        try (OutputStream reportStream = new BufferedOutputStream(new FileOutputStream(reportFile), 64 * 1024)) {
+            XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(reportStream, ENCODING);
+            writer.writeStartDocument(ENCODING, "1.0");
+            writer.setDefaultNamespace(NAMESPACE);
+            writer.writeStartElement(NAMESPACE, "testsuite");
+            writer.writeDefaultNamespace(NAMESPACE);
+            writer.writeAttribute("errors", String.valueOf(noofErrors.intValue()));
+            writer.writeAttribute("failures", String.valueOf(noofFailures.intValue()));
+            writer.writeAttribute("skipped", String.valueOf(noofSkipped.intValue()));
+            if (testSuiteName != null) {
+                writer.writeAttribute("name", testSuiteName);
+            }
+            writer.writeAttribute("tests", String.valueOf(noofTestCases.intValue()));
+            writer.writeAttribute("time", String.valueOf(totalTime.sum() / 1000));
+            if (testSuitePackage != null) {
+                writer.writeAttribute("package", testSuitePackage);
+            }
+            writeSystemProperties(writer);
+
+            // test cases were written without namespace declarations, they inherit the default namespace
+            writer.flush();
+            Files.copy(testCasesFile.toPath(), reportStream);
+
+            writeTextElement(writer, "system-out", systemOut.toString());
+            writeTextElement(writer, "system-err", systemErr.toString());
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write report to " + reportFile, e);
+        } finally {
+            Files.deleteIfExists(testCasesFile.toPath());
+        }
+    }
+
+    /**
+     * Only called by the thread holding the write lock
+     */
+    private void writeTestCase(TestCaseRecord record) throws IOException {
+        try {
+            testCasesWriter.writeStartElement("testcase");
+            testCasesWriter.writeAttribute("name", record.getName());
+            testCasesWriter.writeAttribute("time", String.valueOf(record.getTime() / 1000));
+            if (record.getPackageName() != null) {
+                testCasesWriter.writeAttribute("package", record.getPackageName());
+            }
+            if (includeTestProperties || !record.getTimings().isEmpty()) {
+                testCasesWriter.writeStartElement("properties");
+                if (includeTestProperties) {
+                    for (Map.Entry<String, String> property : record.getProperties().entrySet()) {
+                        writeProperty(testCasesWriter, property.getKey(), property.getValue());
+                    }
+                }
+                for (Map.Entry<String, Long> timing : record.getTimings().entrySet()) {
+                    writeProperty(testCasesWriter, TestStepRecords.TIMING_PROPERTY_PREFIX + timing.getKey(),
+                            String.valueOf(timing.getValue()));
+                }
+                testCasesWriter.writeEndElement();
+            }
+            if (record.getOutcome() == TestCaseRecord.Outcome.SKIPPED) {
+                testCasesWriter.writeEmptyElement("skipped");
+                testCasesWriter.writeAttribute("message", String.valueOf(record.getMessage()));
+            } else if (record.getOutcome() != TestCaseRecord.Outcome.PASSED) {
+                testCasesWriter.writeStartElement(record.getOutcome() == TestCaseRecord.Outcome.FAILURE ? "failure" : "error");
+                testCasesWriter.writeAttribute("type", String.valueOf(record.getMessage()));
+                testCasesWriter.writeAttribute("message", String.valueOf(record.getMessage()));
+                testCasesWriter.writeCharacters(String.valueOf(record.getStacktrace()));
+                testCasesWriter.writeEndElement();
+            }
+            testCasesWriter.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write test case " + record.getName(), e);
+        }
+    }
+
+    private void writeSystemProperties(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(NAMESPACE, "properties");
+        // copy the names first, system properties may be modified concurrently
+        Set<String> names = new TreeSet<>(System.getProperties().stringPropertyNames());
+        for (String name : names) {
+            String value = System.getProperty(name);
+            if (value != null && systemPropertyFilter.test(name)) {
+                writeProperty(writer, name, value);
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    private static void writeProperty(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        writer.writeEmptyElement("property");
+        writer.writeAttribute("name", name);
+        writer.writeAttribute("value", String.valueOf(value));
+    }
+
+    private static void writeTextElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        writer.writeStartElement(NAMESPACE, name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2004-2015 SmartBear Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartbear.readyapi4j.junitreport;
+
+import com.smartbear.readyapi4j.baseline.LatencyComparison;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the latency regression section of a report: one test case per compared test step, which fails if the
+ * step got slower than its baseline allows. The test cases take no time of their own, the compared percentiles are
+ * in the failure messages and in {@link #summary(List)}, since test case properties are optional in a report.
+ */
+
+class LatencyRecords {
+    static final String PACKAGE_NAME = "latency-baseline";
+
+    private LatencyRecords() {
+    }
+
+    /**
+     * @param failOnRegression false to report regressions as skipped test cases, so they don't fail the report
+     */
+    static List<TestCaseRecord> create(List<LatencyComparison> comparisons, boolean failOnRegression) {
+        List<TestCaseRecord> records = new ArrayList<>();
+        for (LatencyComparison comparison : comparisons) {
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("latency.baseline", comparison.getBaseline().toString());
+            properties.put("latency.current", comparison.getCurrent().toString());
+            if (!comparison.isRegression()) {
+                records.add(new TestCaseRecord(comparison.getKey(), PACKAGE_NAME, 0, properties,
+                        TestCaseRecord.Outcome.PASSED, null, null, Collections.emptyMap()));
+            } else if (failOnRegression) {
+                records.add(new TestCaseRecord(comparison.getKey(), PACKAGE_NAME, 0, properties,
+                        TestCaseRecord.Outcome.FAILURE, regressionMessage(comparison), "<missing stacktrace>",
+                        Collections.emptyMap()));
+            } else {
+                records.add(new TestCaseRecord(comparison.getKey(), PACKAGE_NAME, 0, properties,
+                        TestCaseRecord.Outcome.SKIPPED, "Latency regression not enforced: " + regressionMessage(comparison),
+                        null, Collections.emptyMap()));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * @return one line per compared test step with its baseline and current percentiles, for the system-out of a
+     * report
+     */
+    static String summary(List<LatencyComparison> comparisons) {
+        StringBuilder summary = new StringBuilder();
+        for (LatencyComparison comparison : comparisons) {
+            summary.append(comparison.getKey()).append(": ").append(percentiles(comparison))
+                    .append(System.lineSeparator());
+        }
+        return summary.toString();
+    }
+
+    private static String regressionMessage(LatencyComparison comparison) {
+        return String.join("; ", comparison.getRegressions()) + " (" + percentiles(comparison) + ")";
+    }
+
+    private static String percentiles(LatencyComparison comparison) {
+        return "baseline " + comparison.getBaseline() + ", current " + comparison.getCurrent();
+    }
+}
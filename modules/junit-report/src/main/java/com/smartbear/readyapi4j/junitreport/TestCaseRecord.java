@@ -0,0 +1,99 @@
+/*
+ * Copyright 2004-2015 SmartBear Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartbear.readyapi4j.junitreport;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable result of a single test case, queued by producers until it is written to a report
+ */
+
+class TestCaseRecord {
+    enum Outcome {
+        PASSED,
+        SKIPPED,
+        FAILURE,
+        ERROR
+    }
+
+    private final String name;
+    private final String packageName;
+    private final double time;
+    private final Map<String, String> properties;
+    private final Outcome outcome;
+    private final String message;
+    private final String stacktrace;
+    private final Map<String, Long> timings;
+
+    TestCaseRecord(String name, double time, Map<String, String> properties, Outcome outcome, String message,
+                   String stacktrace) {
+        this(name, null, time, properties, outcome, message, stacktrace, Collections.emptyMap());
+    }
+
+    TestCaseRecord(String name, String packageName, double time, Map<String, String> properties, Outcome outcome,
+                   String message, String stacktrace, Map<String, Long> timings) {
+        this.name = name;
+        this.packageName = packageName;
+        this.time = time;
+        this.properties = properties == null ? Collections.emptyMap() :
+                Collections.unmodifiableMap(new LinkedHashMap<>(properties));
+        this.outcome = outcome;
+        this.message = message;
+        this.stacktrace = stacktrace;
+        this.timings = timings;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return the package of the test case or null, used to group test step results by test case
+     */
+    String getPackageName() {
+        return packageName;
+    }
+
+    double getTime() {
+        return time;
+    }
+
+    Map<String, String> getProperties() {
+        return properties;
+    }
+
+    Outcome getOutcome() {
+        return outcome;
+    }
+
+    String getMessage() {
+        return message;
+    }
+
+    String getStacktrace() {
+        return stacktrace;
+    }
+
+    /**
+     * @return the HAR timing phases of a test step in milliseconds, empty if not available
+     */
+    Map<String, Long> getTimings() {
+        return timings;
+    }
+}
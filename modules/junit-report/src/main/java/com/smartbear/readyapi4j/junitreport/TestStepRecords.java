@@ -0,0 +1,115 @@
+/*
+ * Copyright 2004-2015 SmartBear Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartbear.readyapi4j.junitreport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.smartbear.readyapi4j.client.model.TestStepResultReport.AssertionStatusEnum.FAIL;
+
+/**
+ * Creates one test case record per test step of a job report, grouped by test case through the package name
+ */
+
+class TestStepRecords {
+    static final String TIMING_PROPERTY_PREFIX = "har.timings.";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private TestStepRecords() {
+    }
+
+    /**
+     * Creates a record per test step. A failed job without a failed test step, e.g. one that timed out or failed
+     * before its first step, gets an error record for the recipe so that the report doesn't show it as passed.
+     *
+     * @param executionResult the result to read HAR timings from, or null to leave them out
+     * @param properties      the test properties of every record, or null to leave them out
+     */
+    static List<TestCaseRecord> create(TestJobReport report, String recipeFileName,
+                                       RecipeExecutionResult executionResult, Map<String, String> properties) {
+        List<TestCaseRecord> records = new ArrayList<>();
+        boolean stepFailed = false;
+        int stepIndex = 0;
+        for (TestSuiteResultReport testSuite : nullToEmpty(report.getTestSuiteResultReports())) {
+            for (TestCaseResultReport testCase : nullToEmpty(testSuite.getTestCaseResultReports())) {
+                String packageName = testCase.getTestCaseName() == null ? recipeFileName :
+                        recipeFileName + "." + testCase.getTestCaseName();
+                for (TestStepResultReport testStep : nullToEmpty(testCase.getTestStepResultReports())) {
+                    long time = testStep.getTotalTestStepTime() == null ? 0 : testStep.getTotalTestStepTime();
+                    Map<String, Long> timings = getTimings(executionResult, stepIndex++);
+                    if (testStep.getAssertionStatus() == FAIL) {
+                        stepFailed = true;
+                        records.add(new TestCaseRecord(testStep.getTestStepName(), packageName, time, properties,
+                                TestCaseRecord.Outcome.FAILURE, Arrays.toString(testStep.getMessages().toArray()),
+                                "<missing stacktrace>", timings));
+                    } else {
+                        records.add(new TestCaseRecord(testStep.getTestStepName(), packageName, time, properties,
+                                TestCaseRecord.Outcome.PASSED, null, null, timings));
+                    }
+                }
+            }
+        }
+        if (report.getStatus() == TestJobReport.StatusEnum.FAILED && !stepFailed) {
+            long time = report.getTotalTime() == null ? 0 : report.getTotalTime();
+            records.add(new TestCaseRecord(recipeFileName, recipeFileName, time, properties,
+                    TestCaseRecord.Outcome.ERROR, "Recipe failed without a failed test step, e.g. it timed out " +
+                    "or a test step couldn't be run", "<missing stacktrace>", Collections.emptyMap()));
+        }
+        return records;
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    /**
+     * Reads the non-negative timing phases of the HAR entry of a test step, -1 marks a phase that doesn't apply
+     */
+    private static Map<String, Long> getTimings(RecipeExecutionResult executionResult, int stepIndex) {
+        if (executionResult == null || stepIndex >= executionResult.getResultCount()) {
+            return Collections.emptyMap();
+        }
+        TestStepResult testStepResult = executionResult.getTestStepResult(stepIndex);
+        HarEntry harEntry = testStepResult == null ? null : testStepResult.getHarEntry();
+        if (harEntry == null || harEntry.getTimings() == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        Map<?, ?> phases = OBJECT_MAPPER.convertValue(harEntry.getTimings(), Map.class);
+        for (Map.Entry<?, ?> phase : phases.entrySet()) {
+            if (phase.getValue() instanceof Number && ((Number) phase.getValue()).longValue() >= 0) {
+                timings.put(String.valueOf(phase.getKey()), ((Number) phase.getValue()).longValue());
+            }
+        }
+        return timings;
+    }
+}
@@ -0,0 +1,261 @@
+package com.smartbear.readyapi4j.junitreport;
+
+import com.smartbear.readyapi.junit.Testcase;
+import com.smartbear.readyapi.junit.Testsuite;
+import com.smartbear.readyapi.junit.TestsuiteDocument;
+import com.smartbear.readyapi4j.baseline.LatencyBaseline;
+import com.smartbear.readyapi4j.baseline.LatencyComparison;
+import com.smartbear.readyapi4j.baseline.LatencyPercentiles;
+import com.smartbear.readyapi4j.baseline.LatencyTolerance;
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.SchemaFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class JUnitReportWriterTest {
+    private static final Map<String, String> TEST_PROPERTIES = Collections.singletonMap("apitest.host", "localhost");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void writesReportConformingToSchema() throws Exception {
+        File reportFile = new File(temporaryFolder.getRoot(), "reports/recipe-report.xml");
+        try (JUnitReportWriter writer = new JUnitReportWriter(reportFile, TEST_PROPERTIES)
+                .withSystemPropertyFilter(name -> name.startsWith("java."))) {
+            writer.setIncludeTestProperties(true);
+            writer.setTestSuiteName("suite & <name>");
+            writer.addTestCase("passed.json", 1500, TEST_PROPERTIES);
+            writer.addTestCaseWithFailure("failed.json", 250, "Assertion failed: \"status\" <> 200", "<missing stacktrace>",
+                    TEST_PROPERTIES);
+            writer.addTestCaseWithError("error.json", 10, "Connection refused", "java.net.ConnectException", null);
+            writer.addSkippedTestCase("cached.json", 0, "cached: unchanged since the last passing build", TEST_PROPERTIES);
+            writer.systemOut("out");
+        }
+
+        validate(reportFile);
+        assertThat(new File(reportFile.getParentFile(), "recipe-report.xml.part").exists(), is(false));
+
+        Testsuite testsuite = TestsuiteDocument.Factory.parse(reportFile).getTestsuite();
+        assertThat(testsuite.getName(), is("suite & <name>"));
+        assertThat(testsuite.getTests(), is(4));
+        assertThat(testsuite.getFailures(), is(1));
+        assertThat(testsuite.getErrors(), is(1));
+        assertThat(testsuite.getSkipped(), is(1));
+        assertThat(testsuite.getTime(), is("1.76"));
+        assertThat(testsuite.getSystemOut(), is("out"));
+
+        Testcase[] testcases = testsuite.getTestcaseArray();
+        assertThat(testcases[0].getName(), is("passed.json"));
+        assertThat(testcases[0].getProperties().getPropertyArray(0).getValue(), is("localhost"));
+        assertThat(testcases[1].getFailure().getMessage(), is("Assertion failed: \"status\" <> 200"));
+        assertThat(testcases[2].getError().getStringValue(), is("java.net.ConnectException"));
+        assertThat(testcases[3].getSkipped().getMessage(), is("cached: unchanged since the last passing build"));
+    }
+
+    @Test
+    public void writesOneTestCasePerTestStep() throws Exception {
+        File reportFile = temporaryFolder.newFile("recipe-report.xml");
+        JUnitReportWriter writer = new JUnitReportWriter(reportFile, TEST_PROPERTIES, message -> {
+        }).withSystemPropertyFilter(name -> false);
+        writer.setTestStepGranularity(true);
+        try {
+            writer.handleResponse(jobReport(TestJobReport.StatusEnum.FAILED,
+                    step("GET /users", 120, TestStepResultReport.AssertionStatusEnum.PASS),
+                    step("POST /users", 80, TestStepResultReport.AssertionStatusEnum.FAIL, "Status 500")), "users.json");
+            fail("Expected the failed step to fail the recipe");
+        } catch (TestFailureException e) {
+            assertThat(e.getMessage(), is("Recipe failed, recipe file: users.json"));
+        }
+        writer.close();
+
+        validate(reportFile);
+        Testsuite testsuite = TestsuiteDocument.Factory.parse(reportFile).getTestsuite();
+        assertThat(testsuite.getTests(), is(2));
+        assertThat(testsuite.getFailures(), is(1));
+        Testcase[] testcases = testsuite.getTestcaseArray();
+        assertThat(testcases[0].getName(), is("GET /users"));
+        assertThat(testcases[0].getPackage(), is("users.json.Users"));
+        assertThat(testcases[0].getFailure() == null, is(true));
+        assertThat(testcases[1].getName(), is("POST /users"));
+        assertThat(testcases[1].getFailure().getMessage(), is("[Status 500]"));
+    }
+
+    @Test
+    public void reportsFailedRecipeWithoutFailedTestStepAsError() throws Exception {
+        File reportFile = temporaryFolder.newFile("recipe-report.xml");
+        JUnitReportWriter writer = new JUnitReportWriter(reportFile, TEST_PROPERTIES, message -> {
+        }).withSystemPropertyFilter(name -> false);
+        writer.setTestStepGranularity(true);
+        try {
+            writer.handleResponse(jobReport(TestJobReport.StatusEnum.FAILED,
+                    step("GET /users", 120, TestStepResultReport.AssertionStatusEnum.PASS)), "users.json");
+            fail("Expected the failed job to fail the recipe");
+        } catch (TestFailureException e) {
+            assertThat(e.getMessage(), is("Recipe failed, recipe file: users.json"));
+        }
+        try {
+            TestJobReport timedOut = new TestJobReport();
+            timedOut.setStatus(TestJobReport.StatusEnum.FAILED);
+            writer.handleResponse(timedOut, "orders.json");
+            fail("Expected the failed job to fail the recipe");
+        } catch (TestFailureException e) {
+            assertThat(e.getMessage(), is("Recipe failed, recipe file: orders.json"));
+        }
+        writer.close();
+
+        validate(reportFile);
+        Testsuite testsuite = TestsuiteDocument.Factory.parse(reportFile).getTestsuite();
+        assertThat(testsuite.getTests(), is(3));
+        assertThat(testsuite.getErrors(), is(2));
+        Testcase[] testcases = testsuite.getTestcaseArray();
+        assertThat(testcases[0].getError() == null, is(true));
+        assertThat(testcases[0].getProperties() == null, is(true));
+        assertThat(testcases[1].getName(), is("users.json"));
+        assertThat(testcases[1].getError() == null, is(false));
+        assertThat(testcases[2].getName(), is("orders.json"));
+        assertThat(testcases[2].getError() == null, is(false));
+    }
+
+    @Test
+    public void inMemoryReportConformsToSchema() throws Exception {
+        File reportFile = temporaryFolder.newFile("recipe-report.xml");
+        JUnitReport report = new JUnitReport(TEST_PROPERTIES, message -> {
+        }, name -> name.startsWith("java."));
+        report.setIncludeTestProperties(true);
+        report.addTestCase("passed.json", 1500, TEST_PROPERTIES);
+        report.addSkippedTestCase("cached.json", 0, "cached", TEST_PROPERTIES);
+        report.recordTestCaseWithFailure("failed.json", 250, "failure", "<missing stacktrace>", TEST_PROPERTIES);
+        // required by the schema, JUnitReport only writes them if they are set
+        report.setSystemOut("");
+        report.setSystemErr("");
+        report.save(reportFile);
+
+        validate(reportFile);
+    }
+
+    @Test
+    public void keepsEveryTestCaseAddedBeforeClose() throws Exception {
+        File reportFile = temporaryFolder.newFile("recipe-report.xml");
+        JUnitReportWriter writer = new JUnitReportWriter(reportFile, null).withSystemPropertyFilter(name -> false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch started = new CountDownLatch(4);
+        List<Future<List<String>>> producers = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < 4; thread++) {
+                String prefix = "thread-" + thread + "-";
+                producers.add(executor.submit(() -> {
+                    List<String> added = new ArrayList<>();
+                    started.countDown();
+                    for (int i = 0; ; i++) {
+                        try {
+                            writer.addTestCase(prefix + i, 1, null);
+                        } catch (IllegalStateException e) {
+                            return added;
+                        }
+                        added.add(prefix + i);
+                    }
+                }));
+            }
+            started.await();
+            writer.close();
+
+            Set<String> added = new HashSet<>();
+            for (Future<List<String>> producer : producers) {
+                added.addAll(producer.get(10, TimeUnit.SECONDS));
+            }
+
+            Testsuite testsuite = TestsuiteDocument.Factory.parse(reportFile).getTestsuite();
+            Set<String> written = new HashSet<>();
+            for (Testcase testcase : testsuite.getTestcaseArray()) {
+                written.add(testcase.getName());
+            }
+            assertThat(written, is(added));
+            assertThat(testsuite.getTests(), is(added.size()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void reportsUnenforcedLatencyRegressionsAsSkippedWithTheirPercentiles() throws Exception {
+        LatencyBaseline baseline = LatencyBaseline.load(temporaryFolder.newFile("baseline.jsonl"));
+        Map<String, LatencyPercentiles> run = new HashMap<>();
+        run.put("fast", new LatencyPercentiles(10, 100, 100, 100));
+        run.put("slow", new LatencyPercentiles(10, 100, 100, 100));
+        baseline.append(run);
+        run.put("slow", new LatencyPercentiles(10, 500, 500, 500));
+        List<LatencyComparison> comparisons = baseline.compare(run, new LatencyTolerance(), 1);
+
+        File reportFile = temporaryFolder.newFile("recipe-report.xml");
+        try (JUnitReportWriter writer = new JUnitReportWriter(reportFile, null).withSystemPropertyFilter(name -> false)) {
+            writer.addLatencyComparisons(comparisons, false);
+        }
+
+        validate(reportFile);
+        Testsuite testsuite = TestsuiteDocument.Factory.parse(reportFile).getTestsuite();
+        assertThat(testsuite.getTests(), is(2));
+        assertThat(testsuite.getFailures(), is(0));
+        assertThat(testsuite.getSkipped(), is(1));
+        assertThat(testsuite.getTime(), is("0.0"));
+        assertThat(testsuite.getTestcaseArray(0).getName(), is("fast"));
+        assertThat(testsuite.getTestcaseArray(0).getSkipped() == null, is(true));
+        assertThat(testsuite.getTestcaseArray(1).getSkipped().getMessage().startsWith(
+                "Latency regression not enforced: p50 500ms exceeds baseline 100ms"), is(true));
+        assertThat(testsuite.getSystemOut().contains("slow: baseline p50=100ms"), is(true));
+    }
+
+    private static TestJobReport jobReport(TestJobReport.StatusEnum status, TestStepResultReport... steps) {
+        TestCaseResultReport testCase = new TestCaseResultReport();
+        testCase.setTestCaseName("Users");
+        testCase.setTestStepResultReports(Arrays.asList(steps));
+        TestSuiteResultReport testSuite = new TestSuiteResultReport();
+        testSuite.setTestCaseResultReports(Collections.singletonList(testCase));
+        TestJobReport report = new TestJobReport();
+        report.setStatus(status);
+        report.setTestSuiteResultReports(Collections.singletonList(testSuite));
+        return report;
+    }
+
+    private static TestStepResultReport step(String name, long time, TestStepResultReport.AssertionStatusEnum status,
+                                             String... messages) {
+        TestStepResultReport step = new TestStepResultReport();
+        step.setTestStepName(name);
+        step.setTotalTestStepTime(time);
+        step.setAssertionStatus(status);
+        step.setMessages(Arrays.asList(messages));
+        return step;
+    }
+
+    private static void validate(File reportFile) throws Exception {
+        SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                .newSchema(JUnitReportWriterTest.class.getResource("/report.xsd"))
+                .newValidator()
+                .validate(new StreamSource(reportFile));
+    }
+}
@@ -0,0 +1,113 @@
+package com.smartbear.readyapi4j.local.assertions;
+
+import com.eviware.soapui.impl.wsdl.WsdlProject;
+import com.eviware.soapui.impl.wsdl.testcase.WsdlTestCase;
+import com.eviware.soapui.impl.wsdl.teststeps.assertions.TestAssertionRegistry;
+import com.eviware.soapui.impl.wsdl.teststeps.assertions.basic.GroovyScriptAssertion;
+import com.eviware.soapui.model.testsuite.Assertable;
+import com.eviware.soapui.model.testsuite.TestAssertion;
+import com.smartbear.readyapi4j.assertions.HeaderAssertion;
+import com.smartbear.readyapi4j.client.model.Assertion;
+import com.smartbear.readyapi4j.client.model.RequestTestStepBase;
+import com.smartbear.readyapi4j.client.model.TestStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Replaces the SoapUI assertions that the recipe parser creates for some recipe assertions with assertions the
+ * local engine evaluates natively:
+ * <ul>
+ * <li>{@link HeaderAssertion}s with {@link NativeHeaderAssertion}s, if the script of the Script Assertion is the
+ * one generated for the header assertion</li>
+ * <li>JSONPath assertions with {@link NativeJsonPathAssertion}s and XPath and XQuery assertions with
+ * {@link NativeXPathAssertion}s, if the SoapUI assertion has the class name of the recipe assertion</li>
+ * </ul>
+ * Any other assertion, or one that doesn't match its recipe assertion, is left as it is.
+ */
+public class LocalAssertions {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalAssertions.class);
+
+    static {
+        TestAssertionRegistry registry = TestAssertionRegistry.getInstance();
+        registry.addAssertion(new NativeHeaderAssertion.Factory());
+        registry.addAssertion(new NativeJsonPathAssertion.Factory());
+        registry.addAssertion(new NativeXPathAssertion.Factory());
+    }
+
+    private LocalAssertions() {
+    }
+
+    /**
+     * @param testSteps the test steps the project was parsed from, in the same order
+     * @param project   the project created by the recipe parser
+     */
+    public static void replaceAssertions(List<TestStep> testSteps, WsdlProject project) {
+        if (testSteps == null || project.getTestSuiteCount() == 0 ||
+                project.getTestSuiteAt(0).getTestCaseCount() == 0) {
+            return;
+        }
+        WsdlTestCase testCase = project.getTestSuiteAt(0).getTestCaseAt(0);
+        for (int i = 0; i < testSteps.size() && i < testCase.getTestStepCount(); i++) {
+            TestStep testStep = testSteps.get(i);
+            Object soapUITestStep = testCase.getTestStepAt(i);
+            if (testStep instanceof RequestTestStepBase && soapUITestStep instanceof Assertable) {
+                replaceAssertions(((RequestTestStepBase) testStep).getAssertions(), (Assertable) soapUITestStep);
+            }
+        }
+    }
+
+    private static void replaceAssertions(List<Assertion> assertions, Assertable assertable) {
+        if (assertions == null) {
+            return;
+        }
+        // each recipe assertion is matched with the SoapUI assertion at the same index, replacements take the index
+        // of the assertion they replace so that the assertions, and their results, keep the order of the recipe
+        for (int i = Math.min(assertions.size(), assertable.getAssertionCount()) - 1; i >= 0; i--) {
+            Assertion assertion = assertions.get(i);
+            TestAssertion soapUIAssertion = assertable.getAssertionAt(i);
+            if (assertion instanceof HeaderAssertion) {
+                HeaderAssertion headerAssertion = (HeaderAssertion) assertion;
+                if (!(soapUIAssertion instanceof GroovyScriptAssertion) ||
+                        !headerAssertion.getScript().equals(((GroovyScriptAssertion) soapUIAssertion).getScriptText())) {
+                    LOG.debug("No matching script assertion for header assertion on {}, running it as a script",
+                            headerAssertion.getHeader());
+                    continue;
+                }
+                NativeHeaderAssertion nativeAssertion = replace(assertable, i, NativeHeaderAssertion.LABEL);
+                nativeAssertion.setHeaderAssertion(headerAssertion);
+            } else if (NativeJsonPathAssertion.supports(assertion) && isSameType(assertion, soapUIAssertion)) {
+                NativeJsonPathAssertion nativeAssertion = replace(assertable, i, NativeJsonPathAssertion.LABEL);
+                nativeAssertion.configure(assertion);
+            } else if (NativeXPathAssertion.supports(assertion) && isSameType(assertion, soapUIAssertion)) {
+                NativeXPathAssertion nativeAssertion = replace(assertable, i, NativeXPathAssertion.LABEL);
+                nativeAssertion.configure(assertion);
+            }
+        }
+    }
+
+    /**
+     * The recipe model classes are named after the SoapUI assertion classes, e.g. XPathContainsAssertion
+     */
+    private static boolean isSameType(Assertion assertion, TestAssertion soapUIAssertion) {
+        return soapUIAssertion.getClass().getSimpleName().equals(assertion.getClass().getSimpleName());
+    }
+
+    /**
+     * Replaces the assertion at the index with a new assertion of the specified type, at the same index
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends NativeResponseAssertion> T replace(Assertable assertable, int index, String label) {
+        TestAssertion soapUIAssertion = assertable.getAssertionAt(index);
+        String name = soapUIAssertion.getName();
+        assertable.removeAssertion(soapUIAssertion);
+        assertable.addAssertion(label);
+        // new assertions are added last
+        int lastIndex = assertable.getAssertionCount() - 1;
+        T nativeAssertion = (T) (lastIndex == index ? assertable.getAssertionAt(index) :
+                assertable.moveAssertion(lastIndex, index - lastIndex));
+        nativeAssertion.setName(name);
+        return nativeAssertion;
+    }
+}
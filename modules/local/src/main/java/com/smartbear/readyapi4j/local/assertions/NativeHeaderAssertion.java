@@ -0,0 +1,65 @@
+package com.smartbear.readyapi4j.local.assertions;
+
+import com.eviware.soapui.config.TestAssertionConfig;
+import com.eviware.soapui.impl.wsdl.panels.assertions.AssertionCategoryMapping;
+import com.eviware.soapui.impl.wsdl.panels.assertions.AssertionListEntry;
+import com.eviware.soapui.impl.wsdl.teststeps.WsdlMessageAssertion;
+import com.eviware.soapui.impl.wsdl.teststeps.assertions.AbstractTestAssertionFactory;
+import com.eviware.soapui.model.iface.MessageExchange;
+import com.eviware.soapui.model.iface.SubmitContext;
+import com.eviware.soapui.model.testsuite.Assertable;
+import com.eviware.soapui.model.testsuite.AssertionException;
+import com.smartbear.readyapi4j.assertions.HeaderAssertion;
+
+/**
+ * SoapUI assertion that evaluates a {@link HeaderAssertion} directly against the response headers, so no Groovy
+ * script has to be compiled for it.
+ */
+public class NativeHeaderAssertion extends NativeResponseAssertion {
+    public static final String ID = "Readyapi4jHeaderAssertion";
+    public static final String LABEL = "Response Header";
+
+    private HeaderAssertion headerAssertion;
+
+    public NativeHeaderAssertion(TestAssertionConfig assertionConfig, Assertable assertable) {
+        super(assertionConfig, assertable);
+    }
+
+    void setHeaderAssertion(HeaderAssertion headerAssertion) {
+        this.headerAssertion = headerAssertion;
+    }
+
+    @Override
+    protected String internalAssertResponse(MessageExchange messageExchange, SubmitContext context)
+            throws AssertionException {
+        if (headerAssertion == null) {
+            throw failure("Header assertion is not configured");
+        }
+        String error = headerAssertion.evaluate(messageExchange.getResponseHeaders());
+        if (error != null) {
+            throw failure(error);
+        }
+        return "Response header assertion passed";
+    }
+
+    public static class Factory extends AbstractTestAssertionFactory {
+        public Factory() {
+            super(ID, LABEL, NativeHeaderAssertion.class);
+        }
+
+        @Override
+        public String getCategory() {
+            return AssertionCategoryMapping.VALIDATE_RESPONSE_CONTENT_CATEGORY;
+        }
+
+        @Override
+        public Class<? extends WsdlMessageAssertion> getAssertionClassType() {
+            return NativeHeaderAssertion.class;
+        }
+
+        @Override
+        public AssertionListEntry getAssertionListEntry() {
+            return new AssertionListEntry(ID, LABEL, "Asserts the presence or value of a response header");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.smartbear.readyapi4j.local.assertions;
+
+import com.eviware.soapui.config.TestAssertionConfig;
+import com.eviware.soapui.impl.wsdl.panels.assertions.AssertionCategoryMapping;
+import com.eviware.soapui.impl.wsdl.panels.assertions.AssertionListEntry;
+import com.eviware.soapui.impl.wsdl.teststeps.WsdlMessageAssertion;
+import com.eviware.soapui.impl.wsdl.teststeps.assertions.AbstractTestAssertionFactory;
+import com.eviware.soapui.model.iface.MessageExchange;
+import com.eviware.soapui.model.iface.SubmitContext;
+import com.eviware.soapui.model.testsuite.Assertable;
+import com.eviware.soapui.model.testsuite.AssertionException;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.smartbear.readyapi4j.client.model.Assertion;
+import com.smartbear.readyapi4j.client.model.JsonPathContentAssertion;
+import com.smartbear.readyapi4j.client.model.JsonPathCountAssertion;
+import com.smartbear.readyapi4j.client.model.JsonPathExistenceAssertion;
+import com.smartbear.readyapi4j.client.model.JsonPathRegExAssertion;
+import com.smartbear.readyapi4j.local.expressions.CompiledExpressions;
+import com.smartbear.readyapi4j.local.expressions.JsonContent;
+import com.smartbear.readyapi4j.local.expressions.ResponseDocuments;
+import com.smartbear.readyapi4j.local.expressions.Wildcards;
+
+import java.util.Collection;
+
+/**
+ * SoapUI assertion that evaluates the JsonPath Match, RegEx Match, Count and Existence Match assertions of a
+ * recipe with a cached compiled JSONPath, against the response body parsed once for all assertions on the
+ * response.
+ */
+public class NativeJsonPathAssertion extends NativeResponseAssertion {
+    public static final String ID = "Readyapi4jJsonPathAssertion";
+    public static final String LABEL = "Native JsonPath";
+
+    private static final Object MISSING = new Object();
+
+    private enum Mode {
+        MATCH, REGEX, COUNT, EXISTENCE
+    }
+
+    private Mode mode;
+    private String jsonPath;
+    private String expected;
+    private boolean allowWildcards;
+
+    public NativeJsonPathAssertion(TestAssertionConfig assertionConfig, Assertable assertable) {
+        super(assertionConfig, assertable);
+    }
+
+    /**
+     * @return true for the JSONPath assertions this assertion can replace
+     */
+    static boolean supports(Assertion assertion) {
+        return assertion instanceof JsonPathContentAssertion || assertion instanceof JsonPathRegExAssertion ||
+                assertion instanceof JsonPathCountAssertion || assertion instanceof JsonPathExistenceAssertion;
+    }
+
+    void configure(Assertion assertion) {
+        if (assertion instanceof JsonPathContentAssertion) {
+            JsonPathContentAssertion contentAssertion = (JsonPathContentAssertion) assertion;
+            configure(Mode.MATCH, contentAssertion.getJsonPath(), contentAssertion.getExpectedContent(),
+                    Boolean.TRUE.equals(contentAssertion.isAllowWildcards()));
+        } else if (assertion instanceof JsonPathRegExAssertion) {
+            JsonPathRegExAssertion regExAssertion = (JsonPathRegExAssertion) assertion;
+            configure(Mode.REGEX, regExAssertion.getJsonPath(), regExAssertion.getRegEx(), false);
+        } else if (assertion instanceof JsonPathCountAssertion) {
+            JsonPathCountAssertion countAssertion = (JsonPathCountAssertion) assertion;
+            configure(Mode.COUNT, countAssertion.getJsonPath(), countAssertion.getExpectedCount(),
+                    Boolean.TRUE.equals(countAssertion.isAllowWildcards()));
+        } else {
+            JsonPathExistenceAssertion existenceAssertion = (JsonPathExistenceAssertion) assertion;
+            configure(Mode.EXISTENCE, existenceAssertion.getJsonPath(), existenceAssertion.getExpectedContent(), false);
+        }
+    }
+
+    private void configure(Mode mode, String jsonPath, String expected, boolean allowWildcards) {
+        this.mode = mode;
+        this.jsonPath = jsonPath;
+        this.expected = expected;
+        this.allowWildcards = allowWildcards;
+    }
+
+    @Override
+    protected String internalAssertResponse(MessageExchange messageExchange, SubmitContext context)
+            throws AssertionException {
+        if (mode == null) {
+            throw failure("JsonPath assertion is not configured");
+        }
+        String path = expand(context, jsonPath);
+        String expectedValue = expand(context, expected);
+        Object value;
+        try {
+            Object document = ResponseDocuments.forResponse(messageExchange).getJson(messageExchange::getResponseContent);
+            value = CompiledExpressions.jsonPath(path).read(document);
+        } catch (PathNotFoundException e) {
+            value = MISSING;
+        } catch (Exception e) {
+            throw failure("Failed to evaluate JsonPath [" + path + "]: " + e.getMessage());
+        }
+
+        switch (mode) {
+            case COUNT:
+                String count = String.valueOf(value == MISSING ? 0 : value instanceof Collection ? ((Collection<?>) value).size() : 1);
+                if (!Wildcards.matches(count, expectedValue.trim(), allowWildcards)) {
+                    throw failure("Count of JsonPath [" + path + "] is " + count + ", expected " + expectedValue);
+                }
+                return "Count matches";
+            case EXISTENCE:
+                boolean exists = value != MISSING && !(value instanceof Collection && ((Collection<?>) value).isEmpty());
+                if (exists != Boolean.parseBoolean(expectedValue.trim())) {
+                    throw failure("JsonPath [" + path + "] " + (exists ? "exists" : "does not exist"));
+                }
+                return "Existence matches";
+            default:
+                if (value == MISSING) {
+                    throw failure("No match for JsonPath [" + path + "]");
+                }
+                String actual = JsonContent.toString(value);
+                boolean matches = mode == Mode.REGEX ? CompiledExpressions.regex(expectedValue).matcher(actual).matches() :
+                        Wildcards.matches(actual, expectedValue, allowWildcards);
+                if (!matches) {
+                    throw failure("JsonPath [" + path + "] is [" + actual + "], expected [" + expectedValue + "]");
+                }
+                return "Content matches";
+        }
+    }
+
+    public static class Factory extends AbstractTestAssertionFactory {
+        public Factory() {
+            super(ID, LABEL, NativeJsonPathAssertion.class);
+        }
+
+        @Override
+        public String getCategory() {
+            return AssertionCategoryMapping.VALIDATE_RESPONSE_CONTENT_CATEGORY;
+        }
+
+        @Override
+        public Class<? extends WsdlMessageAssertion> getAssertionClassType() {
+            return NativeJsonPathAssertion.class;
+        }
+
+        @Override
+        public AssertionListEntry getAssertionListEntry() {
+            return new AssertionListEntry(ID, LABEL, "Asserts a JSONPath of the response");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartbear.readyapi4j.local.assertions;
+
+import com.eviware.soapui.config.TestAssertionConfig;
+import com.eviware.soapui.impl.wsdl.teststeps.WsdlMessageAssertion;
+import com.eviware.soapui.model.TestPropertyHolder;
+import com.eviware.soapui.model.iface.MessageExchange;
+import com.eviware.soapui.model.iface.SubmitContext;
+import com.eviware.soapui.model.propertyexpansion.PropertyExpander;
+import com.eviware.soapui.model.testsuite.Assertable;
+import com.eviware.soapui.model.testsuite.AssertionError;
+import com.eviware.soapui.model.testsuite.AssertionException;
+import com.eviware.soapui.model.testsuite.ResponseAssertion;
+
+/**
+ * Base class of the assertions the local engine evaluates natively instead of with the SoapUI assertion they
+ * replace. They only assert responses and are configured from the recipe, not from the assertion config.
+ */
+abstract class NativeResponseAssertion extends WsdlMessageAssertion implements ResponseAssertion {
+
+    NativeResponseAssertion(TestAssertionConfig assertionConfig, Assertable assertable) {
+        super(assertionConfig, assertable, false, false, false, false);
+    }
+
+    @Override
+    protected String internalAssertRequest(MessageExchange messageExchange, SubmitContext context)
+            throws AssertionException {
+        return null;
+    }
+
+    @Override
+    protected String internalAssertProperty(TestPropertyHolder source, String propertyName,
+                                            MessageExchange messageExchange, SubmitContext context)
+            throws AssertionException {
+        return null;
+    }
+
+    static String expand(SubmitContext context, String value) {
+        return value == null ? null : PropertyExpander.expandProperties(context, value);
+    }
+
+    static AssertionException failure(String message) {
+        return new AssertionException(new AssertionError(message));
+    }
+}
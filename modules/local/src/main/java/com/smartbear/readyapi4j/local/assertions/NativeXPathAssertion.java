@@ -0,0 +1,122 @@
+package com.smartbear.readyapi4j.local.assertions;
+
+import com.eviware.soapui.config.TestAssertionConfig;
+import com.eviware.soapui.impl.wsdl.panels.assertions.AssertionCategoryMapping;
+import com.eviware.soapui.impl.wsdl.panels.assertions.AssertionListEntry;
+import com.eviware.soapui.impl.wsdl.teststeps.WsdlMessageAssertion;
+import com.eviware.soapui.impl.wsdl.teststeps.assertions.AbstractTestAssertionFactory;
+import com.eviware.soapui.model.iface.MessageExchange;
+import com.eviware.soapui.model.iface.SubmitContext;
+import com.eviware.soapui.model.testsuite.Assertable;
+import com.eviware.soapui.model.testsuite.AssertionException;
+import com.smartbear.readyapi4j.client.model.Assertion;
+import com.smartbear.readyapi4j.client.model.XPathContainsAssertion;
+import com.smartbear.readyapi4j.client.model.XQueryContainsAssertion;
+import com.smartbear.readyapi4j.local.expressions.CompiledExpressions;
+import com.smartbear.readyapi4j.local.expressions.ResponseDocuments;
+import com.smartbear.readyapi4j.local.expressions.XmlContent;
+import org.w3c.dom.Node;
+
+import java.util.List;
+
+/**
+ * SoapUI assertion that evaluates the XPath Match and XQuery Match assertions of a recipe with a cached compiled
+ * expression, against the response body parsed once for all assertions on the response. XPath Match compares
+ * the first selected node, XQuery Match the whole result.
+ */
+public class NativeXPathAssertion extends NativeResponseAssertion {
+    public static final String ID = "Readyapi4jXPathAssertion";
+    public static final String LABEL = "Native XPath";
+
+    private boolean xquery;
+    private String expression;
+    private String expectedContent;
+    private boolean allowWildcards;
+    private boolean ignoreComments;
+
+    public NativeXPathAssertion(TestAssertionConfig assertionConfig, Assertable assertable) {
+        super(assertionConfig, assertable);
+    }
+
+    /**
+     * @return true for the XPath and XQuery assertions this assertion can replace, namespaces can only be ignored
+     * by the SoapUI assertions
+     */
+    static boolean supports(Assertion assertion) {
+        return assertion instanceof XQueryContainsAssertion || assertion instanceof XPathContainsAssertion &&
+                !Boolean.TRUE.equals(((XPathContainsAssertion) assertion).isIgnoreNamespaces());
+    }
+
+    void configure(Assertion assertion) {
+        if (assertion instanceof XQueryContainsAssertion) {
+            XQueryContainsAssertion xqueryAssertion = (XQueryContainsAssertion) assertion;
+            xquery = true;
+            expression = xqueryAssertion.getXquery();
+            expectedContent = xqueryAssertion.getExpectedContent();
+            allowWildcards = Boolean.TRUE.equals(xqueryAssertion.isAllowWildcards());
+        } else {
+            XPathContainsAssertion xpathAssertion = (XPathContainsAssertion) assertion;
+            expression = xpathAssertion.getXpath();
+            expectedContent = xpathAssertion.getExpectedContent();
+            allowWildcards = Boolean.TRUE.equals(xpathAssertion.isAllowWildcards());
+            ignoreComments = Boolean.TRUE.equals(xpathAssertion.isIgnoreComments());
+        }
+    }
+
+    @Override
+    protected String internalAssertResponse(MessageExchange messageExchange, SubmitContext context)
+            throws AssertionException {
+        if (expression == null) {
+            throw failure("XPath assertion is not configured");
+        }
+        String path = expand(context, expression);
+        String expected = expand(context, expectedContent);
+        String actual;
+        try {
+            ResponseDocuments documents = ResponseDocuments.forResponse(messageExchange);
+            if (xquery) {
+                List<String> result = CompiledExpressions.xquery(path)
+                        .evaluate(documents.getXdmNode(messageExchange::getResponseContentAsXml));
+                actual = String.join("", result);
+            } else {
+                List<Object> result = CompiledExpressions.xpath(path)
+                        .evaluate(documents.getXml(messageExchange::getResponseContentAsXml));
+                if (result.isEmpty()) {
+                    throw failure("Missing content for xpath [" + path + "]");
+                }
+                Object first = result.get(0);
+                actual = first instanceof Node ? XmlContent.toString((Node) first) : String.valueOf(first);
+            }
+        } catch (AssertionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw failure("Failed to evaluate [" + path + "]: " + e.getMessage());
+        }
+
+        if (!XmlContent.matches(actual, expected, allowWildcards, ignoreComments)) {
+            throw failure("Content of [" + path + "] is [" + actual + "], expected [" + expected + "]");
+        }
+        return (xquery ? "XQuery" : "XPath") + " matches content";
+    }
+
+    public static class Factory extends AbstractTestAssertionFactory {
+        public Factory() {
+            super(ID, LABEL, NativeXPathAssertion.class);
+        }
+
+        @Override
+        public String getCategory() {
+            return AssertionCategoryMapping.VALIDATE_RESPONSE_CONTENT_CATEGORY;
+        }
+
+        @Override
+        public Class<? extends WsdlMessageAssertion> getAssertionClassType() {
+            return NativeXPathAssertion.class;
+        }
+
+        @Override
+        public AssertionListEntry getAssertionListEntry() {
+            return new AssertionListEntry(ID, LABEL, "Asserts an XPath or XQuery of the response");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.smartbear.readyapi4j.local.attachments;
+
+import com.eviware.soapui.impl.support.AbstractHttpRequest;
+import com.eviware.soapui.impl.wsdl.WsdlProject;
+import com.eviware.soapui.impl.wsdl.support.FileAttachment;
+import com.eviware.soapui.impl.wsdl.testcase.WsdlTestCase;
+import com.eviware.soapui.impl.wsdl.teststeps.HttpTestRequestStep;
+import com.eviware.soapui.impl.wsdl.teststeps.RestTestRequestStep;
+import com.eviware.soapui.impl.wsdl.teststeps.WsdlTestRequestStep;
+import com.eviware.soapui.model.iface.Attachment;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smartbear.readyapi4j.attachments.AttachmentContentSerializer;
+import com.smartbear.readyapi4j.attachments.FileAttachmentContent;
+import com.smartbear.readyapi4j.attachments.StreamingRequestAttachment;
+import com.smartbear.readyapi4j.client.model.RequestAttachment;
+import com.smartbear.readyapi4j.client.model.RequestTestStepBase;
+import com.smartbear.readyapi4j.client.model.TestStep;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Attaches the file-backed attachments of a recipe to the requests of the parsed project as files, which SoapUI
+ * reads from disk when the request is sent, instead of passing their content through the recipe parser.
+ * <p>
+ * The test case tree must be serialized with {@link AttachmentContentSerializer#OMIT_FILE_CONTENT}, so that the
+ * files aren't read into the tree.
+ */
+public class LocalAttachments {
+    private final List<FileAttachmentRef> fileAttachments;
+
+    private LocalAttachments(List<FileAttachmentRef> fileAttachments) {
+        this.fileAttachments = fileAttachments;
+    }
+
+    /**
+     * Removes the file-backed attachments from the serialized test steps
+     *
+     * @param testSteps    the test steps the test case node was serialized from, in the same order
+     * @param testCaseNode the serialized test case, with the serialized test steps
+     */
+    public static LocalAttachments detach(List<TestStep> testSteps, ObjectNode testCaseNode) {
+        List<FileAttachmentRef> fileAttachments = new ArrayList<>();
+        JsonNode stepNodes = testCaseNode.get("testSteps");
+        if (testSteps == null || stepNodes == null) {
+            return new LocalAttachments(fileAttachments);
+        }
+        for (int i = 0; i < testSteps.size() && i < stepNodes.size(); i++) {
+            TestStep testStep = testSteps.get(i);
+            List<RequestAttachment> attachments = testStep instanceof RequestTestStepBase ?
+                    ((RequestTestStepBase) testStep).getAttachments() : null;
+            JsonNode attachmentNodes = stepNodes.get(i).get("attachments");
+            if (attachments == null || !(attachmentNodes instanceof ArrayNode)) {
+                continue;
+            }
+            // backwards, so that the indexes of the remaining attachment nodes don't change
+            for (int j = Math.min(attachments.size(), attachmentNodes.size()) - 1; j >= 0; j--) {
+                Path path = getPath(attachments.get(j));
+                if (path != null) {
+                    ((ArrayNode) attachmentNodes).remove(j);
+                    fileAttachments.add(0, new FileAttachmentRef(i, path, attachments.get(j)));
+                }
+            }
+        }
+        return new LocalAttachments(fileAttachments);
+    }
+
+    private static Path getPath(RequestAttachment attachment) {
+        if (attachment instanceof StreamingRequestAttachment &&
+                ((StreamingRequestAttachment) attachment).getContentSource() instanceof FileAttachmentContent) {
+            return ((FileAttachmentContent) ((StreamingRequestAttachment) attachment).getContentSource()).getPath();
+        }
+        return null;
+    }
+
+    /**
+     * Attaches the removed attachments to the requests of the project created by the recipe parser, after the
+     * attachments the parser added
+     */
+    public void attach(WsdlProject project) throws IOException {
+        if (fileAttachments.isEmpty()) {
+            return;
+        }
+        WsdlTestCase testCase = project.getTestSuiteAt(0).getTestCaseAt(0);
+        for (FileAttachmentRef fileAttachment : fileAttachments) {
+            AbstractHttpRequest<?> request = getRequest(testCase.getTestStepAt(fileAttachment.stepIndex));
+            if (request == null) {
+                throw new IOException("No request to attach " + fileAttachment.path + " to in test step " +
+                        fileAttachment.stepIndex);
+            }
+            Attachment attachment = request.attachFile(fileAttachment.path.toFile(), false);
+            if (attachment instanceof FileAttachment) {
+                RequestAttachment requestAttachment = fileAttachment.requestAttachment;
+                if (requestAttachment.getContentType() != null) {
+                    ((FileAttachment) attachment).setContentType(requestAttachment.getContentType());
+                }
+                if (requestAttachment.getContentId() != null) {
+                    ((FileAttachment) attachment).setContentID(requestAttachment.getContentId());
+                }
+            }
+        }
+    }
+
+    private static AbstractHttpRequest<?> getRequest(Object soapUITestStep) {
+        if (soapUITestStep instanceof HttpTestRequestStep) {
+            return ((HttpTestRequestStep) soapUITestStep).getTestRequest();
+        } else if (soapUITestStep instanceof RestTestRequestStep) {
+            return ((RestTestRequestStep) soapUITestStep).getTestRequest();
+        } else if (soapUITestStep instanceof WsdlTestRequestStep) {
+            return ((WsdlTestRequestStep) soapUITestStep).getTestRequest();
+        }
+        return null;
+    }
+
+    private static class FileAttachmentRef {
+        private final int stepIndex;
+        private final Path path;
+        private final RequestAttachment requestAttachment;
+
+        FileAttachmentRef(int stepIndex, Path path, RequestAttachment requestAttachment) {
+            this.stepIndex = stepIndex;
+            this.path = path;
+            this.requestAttachment = requestAttachment;
+        }
+    }
+}
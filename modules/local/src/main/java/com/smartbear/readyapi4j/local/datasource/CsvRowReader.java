@@ -0,0 +1,135 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads separated values one row at a time. Quoted values may contain separators, line breaks and doubled quotes,
+ * and empty lines are skipped.
+ */
+class CsvRowReader implements RowReader {
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final String separator;
+    private final boolean trim;
+    private final boolean quotedValues;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int pushedBack = NONE;
+
+    CsvRowReader(Reader reader, String separator, boolean trim, boolean quotedValues) {
+        if (separator.isEmpty()) {
+            throw new IllegalArgumentException("The separator must not be empty");
+        }
+        this.reader = reader;
+        this.separator = separator;
+        this.trim = trim;
+        this.quotedValues = quotedValues;
+    }
+
+    @Override
+    public List<String> nextRow() throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quoted = false;
+        // quoted characters at the start of the field that can't be part of a separator
+        int quotedLength = 0;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (values.isEmpty() && field.length() == 0 && !quoted) {
+                    return null;
+                }
+                values.add(value(field));
+                return values;
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        unread(next);
+                        inQuotes = false;
+                        quotedLength = field.length();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && quotedValues && !quoted && field.toString().trim().isEmpty()) {
+                field.setLength(0);
+                inQuotes = true;
+                quoted = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (values.isEmpty() && field.length() == 0 && !quoted) {
+                    continue;
+                }
+                values.add(value(field));
+                return values;
+            } else {
+                field.append((char) c);
+                if (endsWithSeparator(field, quotedLength)) {
+                    field.setLength(field.length() - separator.length());
+                    values.add(value(field));
+                    field.setLength(0);
+                    quoted = false;
+                    quotedLength = 0;
+                }
+            }
+        }
+    }
+
+    private boolean endsWithSeparator(StringBuilder field, int quotedLength) {
+        int start = field.length() - separator.length();
+        if (start < quotedLength) {
+            return false;
+        }
+        for (int i = 0; i < separator.length(); i++) {
+            if (field.charAt(start + i) != separator.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String value(StringBuilder field) {
+        return trim ? field.toString().trim() : field.toString();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
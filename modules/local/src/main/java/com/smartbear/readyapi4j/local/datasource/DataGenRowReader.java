@@ -0,0 +1,26 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import com.smartbear.readyapi4j.local.datasource.datagen.DataGenCursor;
+import com.smartbear.readyapi4j.local.datasource.datagen.DataGenRows;
+
+import java.util.List;
+
+/**
+ * Reads the rows of a DataGen data source as they are generated
+ */
+class DataGenRowReader implements RowReader {
+    private final DataGenCursor cursor;
+
+    DataGenRowReader(DataGenRows rows) {
+        this.cursor = rows.newCursor();
+    }
+
+    @Override
+    public List<String> nextRow() {
+        return cursor.next() ? cursor.getRow() : null;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,60 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import com.smartbear.readyapi4j.client.model.DataSource;
+import com.smartbear.readyapi4j.local.datasource.datagen.DataGenRows;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rows of one DataSource test step during an execution. The reader is opened on the first row and closed
+ * after the last one, so a loop nested in another loop starts over on each iteration of the outer loop.
+ */
+class DataSourceLoop implements Closeable {
+    private final DataSource dataSource;
+    private final List<String> propertyNames;
+    private final DataGenRows dataGenRows;
+    private RowReader reader;
+
+    DataSourceLoop(DataSource dataSource) {
+        RowReaders.checkSupported(dataSource);
+        this.dataSource = dataSource;
+        this.propertyNames = RowReaders.getPropertyNames(dataSource);
+        this.dataGenRows = dataSource.getDataGen() == null ? null : RowReaders.compileDataGen(dataSource.getDataGen());
+    }
+
+    List<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    /**
+     * @return the property values of the next row, or null after the last row
+     */
+    synchronized Map<String, String> nextRow() throws IOException {
+        if (reader == null) {
+            reader = dataGenRows == null ? RowReaders.open(dataSource) : new DataGenRowReader(dataGenRows);
+        }
+        List<String> values = reader.nextRow();
+        if (values == null) {
+            close();
+            return null;
+        }
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < propertyNames.size(); i++) {
+            row.put(propertyNames.get(i), i < values.size() ? values.get(i) : "");
+        }
+        return row;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (reader != null) {
+            RowReader openReader = reader;
+            reader = null;
+            openReader.close();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import com.smartbear.readyapi4j.execution.RecipeExecutionException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the data source loops of running executions, the Groovy steps generated by
+ * {@link LocalDataSources} fetch their rows from here
+ */
+public class DataSourceLoops {
+    private static final Map<String, DataSourceLoop> LOOPS = new ConcurrentHashMap<>();
+
+    private DataSourceLoops() {
+    }
+
+    /**
+     * Called by the generated Groovy test steps
+     *
+     * @return the property values of the next row, or null after the last row
+     */
+    public static Map<String, String> nextRow(String loopId) {
+        DataSourceLoop loop = LOOPS.get(loopId);
+        if (loop == null) {
+            throw new RecipeExecutionException("Data source loop " + loopId + " has already been closed");
+        }
+        try {
+            return loop.nextRow();
+        } catch (IOException e) {
+            throw new RecipeExecutionException("Failed to read data source row", e);
+        }
+    }
+
+    static void register(String loopId, DataSourceLoop loop) {
+        LOOPS.put(loopId, loop);
+    }
+
+    static DataSourceLoop unregister(String loopId) {
+        return LOOPS.remove(loopId);
+    }
+}
@@ -0,0 +1,45 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the rows of a grid data source, where each property has a column of values. Shorter columns are padded
+ * with empty values.
+ */
+class GridRowReader implements RowReader {
+    private final List<List<String>> columns = new ArrayList<>();
+    private final int rowCount;
+    private int row;
+
+    GridRowReader(Map<String, List<String>> grid, List<String> properties) {
+        int rows = 0;
+        for (String property : properties) {
+            List<String> column = grid.get(property);
+            column = column == null ? Collections.emptyList() : column;
+            columns.add(column);
+            rows = Math.max(rows, column.size());
+        }
+        this.rowCount = rows;
+    }
+
+    @Override
+    public List<String> nextRow() {
+        if (row >= rowCount) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(columns.size());
+        for (List<String> column : columns) {
+            String value = row < column.size() ? column.get(row) : null;
+            values.add(value == null ? "" : value);
+        }
+        row++;
+        return values;
+    }
+
+    @Override
+    public void close() {
+    }
+}
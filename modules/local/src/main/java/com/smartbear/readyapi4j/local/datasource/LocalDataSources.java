@@ -0,0 +1,140 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import com.smartbear.readyapi4j.client.model.DataSourceTestStep;
+import com.smartbear.readyapi4j.client.model.TestStep;
+import com.smartbear.readyapi4j.teststeps.TestStepTypes;
+import com.smartbear.readyapi4j.teststeps.groovyscript.GroovyScriptTestStepBuilder;
+import com.smartbear.readyapi4j.teststeps.properties.PropertiesTestStepBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rewrites DataSource test steps into test steps the local engine can run. Each DataSource step becomes a
+ * Properties step with the same name, so ${DataSource#property} expansions keep working, surrounded by Groovy
+ * steps that load the next row into it and jump back until the rows run out:
+ * <pre>
+ * [DataSource] (properties) - [DataSource loop id] (properties) - [DataSource next row] - nested steps... -
+ *     [DataSource loop] - [DataSource end]
+ * </pre>
+ * The id of the registered loop is kept in a Properties step rather than in the script, so the generated scripts are
+ * the same for every execution of a recipe and their compiled classes are reused.
+ * Rows are streamed from the data source while the loop runs, so the number of rows isn't limited by memory.
+ * Close the instance once the execution has finished to release open files.
+ */
+public class LocalDataSources implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalDataSources.class);
+    private static final String DEFAULT_NAME = "DataSource";
+    private static final String LOOP_ID_PROPERTY = "id";
+
+    private final List<String> loopIds = new ArrayList<>();
+    private final List<TestStep> testSteps;
+
+    private LocalDataSources(List<TestStep> testSteps) {
+        try {
+            this.testSteps = expandAll(testSteps);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if any of the test steps is a DataSource step
+     */
+    public static boolean containsDataSource(List<TestStep> testSteps) {
+        return testSteps != null && testSteps.stream()
+                .anyMatch(testStep -> TestStepTypes.DATA_SOURCE.getName().equals(testStep.getType()));
+    }
+
+    /**
+     * Rewrites the DataSource steps of the specified test steps, the test steps themselves are not modified
+     *
+     * @throws com.smartbear.readyapi4j.execution.UnsupportedTestStepException if a data source can't be read locally
+     */
+    public static LocalDataSources expand(List<TestStep> testSteps) {
+        return new LocalDataSources(testSteps);
+    }
+
+    /**
+     * @return the test steps with all DataSource steps replaced by loops
+     */
+    public List<TestStep> getTestSteps() {
+        return testSteps;
+    }
+
+    private List<TestStep> expandAll(List<TestStep> steps) {
+        List<TestStep> expanded = new ArrayList<>();
+        for (TestStep testStep : steps) {
+            if (testStep instanceof DataSourceTestStep) {
+                expanded.addAll(expandDataSource((DataSourceTestStep) testStep));
+            } else {
+                expanded.add(testStep);
+            }
+        }
+        return expanded;
+    }
+
+    private List<TestStep> expandDataSource(DataSourceTestStep dataSourceStep) {
+        String name = dataSourceStep.getName() == null ? DEFAULT_NAME + (loopIds.size() + 1) : dataSourceStep.getName();
+        String loopId = UUID.randomUUID().toString();
+        DataSourceLoop loop = new DataSourceLoop(dataSourceStep.getDataSource());
+        DataSourceLoops.register(loopId, loop);
+        loopIds.add(loopId);
+
+        String loopIdStep = name + " loop id";
+        String nextRowStep = name + " next row";
+        String loopStep = name + " loop";
+        String endStep = name + " end";
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        loop.getPropertyNames().forEach(property -> properties.put(property, ""));
+
+        List<TestStep> expanded = new ArrayList<>();
+        expanded.add(new PropertiesTestStepBuilder(properties).named(name).build());
+        expanded.add(new PropertiesTestStepBuilder().addProperty(LOOP_ID_PROPERTY, loopId).named(loopIdStep).build());
+        expanded.add(new GroovyScriptTestStepBuilder(
+                "def loopId = testRunner.testCase.getTestStepByName('" + escape(loopIdStep) + "')" +
+                        ".getPropertyValue('" + LOOP_ID_PROPERTY + "')\n" +
+                        "def row = " + DataSourceLoops.class.getName() + ".nextRow(loopId)\n" +
+                        "if (row == null) {\n" +
+                        "    testRunner.gotoStepByName('" + escape(endStep) + "')\n" +
+                        "} else {\n" +
+                        "    def properties = testRunner.testCase.getTestStepByName('" + escape(name) + "')\n" +
+                        "    row.each { property, value -> properties.setPropertyValue(property, value) }\n" +
+                        "}").named(nextRowStep).build());
+        if (dataSourceStep.getTestSteps() != null) {
+            expanded.addAll(expandAll(dataSourceStep.getTestSteps()));
+        }
+        expanded.add(new GroovyScriptTestStepBuilder("testRunner.gotoStepByName('" + escape(nextRowStep) + "')")
+                .named(loopStep).build());
+        expanded.add(new GroovyScriptTestStepBuilder("// end of the rows of " + escape(name)).named(endStep).build());
+        return expanded;
+    }
+
+    private static String escape(String groovyString) {
+        return groovyString.replace("\\", "\\\\").replace("'", "\\'").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    @Override
+    public void close() {
+        for (String loopId : loopIds) {
+            DataSourceLoop loop = DataSourceLoops.unregister(loopId);
+            if (loop != null) {
+                try {
+                    loop.close();
+                } catch (IOException e) {
+                    LOG.warn("Failed to close data source", e);
+                }
+            }
+        }
+        loopIds.clear();
+    }
+}
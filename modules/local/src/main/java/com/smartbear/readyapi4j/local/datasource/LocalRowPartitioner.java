@@ -0,0 +1,42 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import com.smartbear.readyapi4j.client.model.DataSource;
+import com.smartbear.readyapi4j.execution.RecipeExecutionException;
+import com.smartbear.readyapi4j.partition.GridRowPartitioner;
+import com.smartbear.readyapi4j.partition.RowPartitioner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the rows of any data source that can be read locally - files, .xlsx workbooks, DataGen and grids - by
+ * reading all rows into grids on the client. The partitions can then be executed locally or on TestEngine.
+ * <p>
+ * Unlike a local execution, which streams the rows, splitting materializes every row of the data source on the
+ * heap, and the partitions keep their grids until they have run. Only use it for data sources that fit in memory.
+ */
+public class LocalRowPartitioner implements RowPartitioner {
+
+    @Override
+    public List<DataSource> split(DataSource dataSource, int partitions) {
+        if (dataSource.getGrid() != null) {
+            return new GridRowPartitioner().split(dataSource, partitions);
+        }
+        List<String> properties = RowReaders.getPropertyNames(dataSource);
+        Map<String, List<String>> grid = new LinkedHashMap<>();
+        properties.forEach(property -> grid.put(property, new ArrayList<>()));
+        try (RowReader reader = RowReaders.open(dataSource)) {
+            for (List<String> row = reader.nextRow(); row != null; row = reader.nextRow()) {
+                for (int i = 0; i < properties.size(); i++) {
+                    grid.get(properties.get(i)).add(i < row.size() ? row.get(i) : "");
+                }
+            }
+        } catch (IOException e) {
+            throw new RecipeExecutionException("Failed to read the rows of the data source", e);
+        }
+        return GridRowPartitioner.splitGrid(grid, properties, partitions);
+    }
+}
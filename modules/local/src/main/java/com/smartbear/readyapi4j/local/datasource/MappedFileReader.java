@@ -0,0 +1,106 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader that decodes a file through a sliding memory-mapped window, so files of any size are read without
+ * copying them to the heap. Characters split across two windows are decoded once the next window is mapped.
+ */
+class MappedFileReader extends Reader {
+    private static final long WINDOW_SIZE = 32L * 1024 * 1024;
+    // the longest encoded character of any supported charset fits into a window
+    private static final long MINIMUM_WINDOW_SIZE = 16;
+    private static final int DECODED_BUFFER_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private final CharsetDecoder decoder;
+    // decoding into a buffer of our own leaves room for surrogate pairs when the caller reads a single char
+    private final CharBuffer decoded = CharBuffer.allocate(DECODED_BUFFER_SIZE);
+    private long windowStart;
+    private MappedByteBuffer window;
+    private boolean flushed;
+
+    MappedFileReader(Path file, Charset charset) throws IOException {
+        this(file, charset, WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize the number of bytes mapped at a time, smaller windows are only useful for tests
+     */
+    MappedFileReader(Path file, Charset charset, long windowSize) throws IOException {
+        if (windowSize < MINIMUM_WINDOW_SIZE) {
+            throw new IllegalArgumentException("windowSize must be at least " + MINIMUM_WINDOW_SIZE + ", was " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        decoded.flip();
+        map(0);
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!decoded.hasRemaining() && !decodeNext()) {
+            return -1;
+        }
+        int count = Math.min(length, decoded.remaining());
+        decoded.get(buffer, offset, count);
+        return count;
+    }
+
+    /**
+     * @return false if the end of the file has been reached
+     */
+    private boolean decodeNext() throws IOException {
+        decoded.clear();
+        while (decoded.position() == 0) {
+            boolean lastWindow = windowStart + window.limit() >= size;
+            CoderResult result = decoder.decode(window, decoded, lastWindow);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (decoded.position() > 0) {
+                break;
+            }
+            if (lastWindow) {
+                if (!flushed) {
+                    decoder.flush(decoded);
+                    flushed = true;
+                }
+                break;
+            }
+            // the window is used up, apart from the first bytes of a character that continues in the next one
+            map(windowStart + window.position());
+        }
+        decoded.flip();
+        return decoded.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
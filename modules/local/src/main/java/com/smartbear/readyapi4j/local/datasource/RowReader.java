@@ -0,0 +1,16 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streams the rows of a data source, one row at a time
+ */
+interface RowReader extends Closeable {
+
+    /**
+     * @return the values of the next row in the order of the data source properties, or null after the last row
+     */
+    List<String> nextRow() throws IOException;
+}
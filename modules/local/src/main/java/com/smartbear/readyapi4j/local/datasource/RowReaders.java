@@ -0,0 +1,118 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import com.smartbear.readyapi4j.client.model.DataGenDataSource;
+import com.smartbear.readyapi4j.client.model.DataGenerator;
+import com.smartbear.readyapi4j.client.model.DataSource;
+import com.smartbear.readyapi4j.client.model.ExcelDataSource;
+import com.smartbear.readyapi4j.client.model.FileDataSource;
+import com.smartbear.readyapi4j.execution.UnsupportedTestStepException;
+import com.smartbear.readyapi4j.local.datasource.datagen.DataGenRows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Opens the row reader for the configuration of a data source
+ */
+class RowReaders {
+    static final String DATA_GEN_SEED_PROPERTY = "readyapi4j.datagen.seed";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowReaders.class);
+    private static final String DEFAULT_SEPARATOR = ",";
+
+    private RowReaders() {
+    }
+
+    /**
+     * @return the names of the properties the values of each row are assigned to, in order
+     */
+    static List<String> getPropertyNames(DataSource dataSource) {
+        if (dataSource.getProperties() != null && !dataSource.getProperties().isEmpty()) {
+            return dataSource.getProperties();
+        }
+        if (dataSource.getGrid() != null) {
+            return new ArrayList<>(dataSource.getGrid().keySet());
+        }
+        if (dataSource.getDataGen() != null && dataSource.getDataGen().getDataGenerators() != null) {
+            return dataSource.getDataGen().getDataGenerators().stream()
+                    .map(DataGenerator::getPropertyName)
+                    .collect(Collectors.toList());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Fails before the execution starts rather than on the first row
+     *
+     * @throws UnsupportedTestStepException if the data source can't be read locally
+     */
+    static void checkSupported(DataSource dataSource) {
+        if (dataSource.getExcel() != null) {
+            checkExcelSupported(dataSource.getExcel());
+        } else if (dataSource.getFile() == null && dataSource.getGrid() == null && dataSource.getDataGen() == null) {
+            throw new UnsupportedTestStepException("This type of data source is supported only with Server execution mode.");
+        }
+    }
+
+    /**
+     * Compiles the generators of a DataGen data source once, so a loop can restart without compiling them again.
+     * The seed is random unless the {@value #DATA_GEN_SEED_PROPERTY} system property is set.
+     */
+    static DataGenRows compileDataGen(DataGenDataSource dataGenDataSource) {
+        Long seed = Long.getLong(DATA_GEN_SEED_PROPERTY);
+        DataGenRows rows = seed == null ? DataGenRows.compile(dataGenDataSource) :
+                DataGenRows.compile(dataGenDataSource, seed);
+        LOG.debug("Generating {} rows with seed {}", rows.getNumberOfRows(), rows.getSeed());
+        return rows;
+    }
+
+    static RowReader open(DataSource dataSource) throws IOException {
+        checkSupported(dataSource);
+        List<String> properties = getPropertyNames(dataSource);
+        if (dataSource.getFile() != null) {
+            return openFile(dataSource.getFile());
+        }
+        if (dataSource.getExcel() != null) {
+            return openExcel(dataSource.getExcel(), properties.size());
+        }
+        if (dataSource.getGrid() != null) {
+            return new GridRowReader(dataSource.getGrid(), properties);
+        }
+        return new DataGenRowReader(compileDataGen(dataSource.getDataGen()));
+    }
+
+    private static RowReader openFile(FileDataSource fileDataSource) throws IOException {
+        Charset charset = fileDataSource.getCharset() == null || fileDataSource.getCharset().isEmpty() ?
+                StandardCharsets.UTF_8 : Charset.forName(fileDataSource.getCharset());
+        String separator = fileDataSource.getSeparator() == null || fileDataSource.getSeparator().isEmpty() ?
+                DEFAULT_SEPARATOR : unescape(fileDataSource.getSeparator());
+        return new CsvRowReader(new MappedFileReader(new File(fileDataSource.getFile()).toPath(), charset), separator,
+                Boolean.TRUE.equals(fileDataSource.isTrim()), Boolean.TRUE.equals(fileDataSource.isQuotedValues()));
+    }
+
+    /**
+     * Separators are often configured as escape sequences, e.g. \t for tab separated files
+     */
+    private static String unescape(String separator) {
+        return separator.replace("\\t", "\t");
+    }
+
+    private static void checkExcelSupported(ExcelDataSource excelDataSource) {
+        if (!XlsxRowReader.isSupported(excelDataSource.getFile())) {
+            throw new UnsupportedTestStepException("Only .xlsx workbooks are supported by local Excel data sources, " +
+                    "use Server execution mode for " + excelDataSource.getFile());
+        }
+    }
+
+    private static RowReader openExcel(ExcelDataSource excelDataSource, int columnCount) throws IOException {
+        return new XlsxRowReader(new File(excelDataSource.getFile()), excelDataSource.getWorksheet(),
+                excelDataSource.getStartAtCell(), Boolean.TRUE.equals(excelDataSource.isIgnoreEmpty()), columnCount);
+    }
+}
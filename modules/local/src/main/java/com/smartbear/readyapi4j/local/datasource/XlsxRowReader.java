@@ -0,0 +1,284 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import com.smartbear.readyapi4j.execution.RecipeExecutionException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streams the rows of a worksheet in an Excel (.xlsx) workbook with StAX, without a spreadsheet library and
+ * without loading the worksheet into memory - only the shared strings table of the workbook is kept in memory.
+ * <p>
+ * Values are read from the start cell to the right, one per data source property. An empty row ends the data
+ * source, unless empty rows are ignored.
+ */
+class XlsxRowReader implements RowReader {
+    private static final Pattern CELL_REFERENCE = Pattern.compile("([A-Za-z]+)(\\d+)");
+    private static final String RELATIONSHIPS_NAMESPACE =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipFile workbook;
+    private final XMLStreamReader sheetReader;
+    private final InputStream sheetStream;
+    private final List<String> sharedStrings;
+    private final int columnCount;
+    private final int startColumn;
+    private final int startRow;
+    private final boolean ignoreEmpty;
+    private int expectedRow;
+    private boolean finished;
+
+    XlsxRowReader(File file, String worksheet, String startAtCell, boolean ignoreEmpty, int columnCount)
+            throws IOException {
+        this.columnCount = columnCount;
+        this.ignoreEmpty = ignoreEmpty;
+        int[] start = parseCellReference(startAtCell == null || startAtCell.isEmpty() ? "A1" : startAtCell);
+        this.startColumn = start[0];
+        this.startRow = start[1];
+        this.expectedRow = startRow;
+
+        this.workbook = new ZipFile(file);
+        try {
+            this.sharedStrings = readSharedStrings();
+            this.sheetStream = workbook.getInputStream(getEntry(findWorksheet(worksheet)));
+            this.sheetReader = XMLInputFactory.newInstance().createXMLStreamReader(sheetStream);
+        } catch (XMLStreamException e) {
+            workbook.close();
+            throw new IOException("Failed to read Excel workbook " + file, e);
+        } catch (IOException | RuntimeException e) {
+            workbook.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the zero-based column and the one-based row of a cell reference like B3
+     */
+    static int[] parseCellReference(String reference) {
+        Matcher matcher = CELL_REFERENCE.matcher(reference.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid cell reference: " + reference);
+        }
+        int column = 0;
+        for (char letter : matcher.group(1).toUpperCase(Locale.ROOT).toCharArray()) {
+            column = column * 26 + (letter - 'A' + 1);
+        }
+        return new int[]{column - 1, Integer.parseInt(matcher.group(2))};
+    }
+
+    private ZipEntry getEntry(String name) {
+        ZipEntry entry = workbook.getEntry(name);
+        if (entry == null) {
+            throw new RecipeExecutionException("Missing " + name + " in Excel workbook " + workbook.getName());
+        }
+        return entry;
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = workbook.getEntry("xl/sharedStrings.xml");
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream inputStream = workbook.getInputStream(entry)) {
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(inputStream);
+            StringBuilder text = null;
+            boolean inPhonetic = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (name.equals("si")) {
+                        text = new StringBuilder();
+                    } else if (name.equals("rPh")) {
+                        inPhonetic = true;
+                    } else if (name.equals("t") && text != null && !inPhonetic) {
+                        text.append(reader.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (name.equals("si") && text != null) {
+                        strings.add(text.toString());
+                        text = null;
+                    } else if (name.equals("rPh")) {
+                        inPhonetic = false;
+                    }
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    /**
+     * @return the zip entry name of the specified worksheet, or of the first worksheet if none is specified
+     */
+    private String findWorksheet(String worksheet) throws IOException, XMLStreamException {
+        String relationshipId = null;
+        try (InputStream inputStream = workbook.getInputStream(getEntry("xl/workbook.xml"))) {
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(inputStream);
+            while (reader.hasNext() && relationshipId == null) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("sheet")) {
+                    String name = reader.getAttributeValue(null, "name");
+                    if (worksheet == null || worksheet.isEmpty() || worksheet.equals(name)) {
+                        relationshipId = reader.getAttributeValue(RELATIONSHIPS_NAMESPACE, "id");
+                    }
+                }
+            }
+            reader.close();
+        }
+        if (relationshipId == null) {
+            throw new RecipeExecutionException("Worksheet " + worksheet + " not found in Excel workbook " +
+                    workbook.getName());
+        }
+
+        try (InputStream inputStream = workbook.getInputStream(getEntry("xl/_rels/workbook.xml.rels"))) {
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(inputStream);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("Relationship")
+                        && relationshipId.equals(reader.getAttributeValue(null, "Id"))) {
+                    String target = reader.getAttributeValue(null, "Target");
+                    return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                }
+            }
+        }
+        throw new RecipeExecutionException("Worksheet " + worksheet + " has no part in Excel workbook " +
+                workbook.getName());
+    }
+
+    @Override
+    public List<String> nextRow() throws IOException {
+        try {
+            while (!finished) {
+                Map<Integer, String> cells = nextSheetRow();
+                if (cells == null) {
+                    finished = true;
+                    return null;
+                }
+                int rowNumber = cells.containsKey(-1) ? Integer.parseInt(cells.remove(-1)) : expectedRow;
+                if (rowNumber < startRow) {
+                    continue;
+                }
+                boolean skippedRows = rowNumber > expectedRow;
+                expectedRow = rowNumber + 1;
+
+                List<String> values = new ArrayList<>(columnCount);
+                boolean empty = true;
+                for (int column = startColumn; column < startColumn + columnCount; column++) {
+                    String value = cells.getOrDefault(column, "");
+                    empty &= value.isEmpty();
+                    values.add(value);
+                }
+                if (!ignoreEmpty && (skippedRows || empty)) {
+                    finished = true;
+                    return null;
+                }
+                if (!empty) {
+                    return values;
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to read Excel workbook " + workbook.getName(), e);
+        }
+    }
+
+    /**
+     * @return the cell values of the next row by zero-based column, with the row number under -1 if present, or
+     * null after the last row
+     */
+    private Map<Integer, String> nextSheetRow() throws XMLStreamException {
+        while (sheetReader.hasNext()) {
+            if (sheetReader.next() == XMLStreamConstants.START_ELEMENT && sheetReader.getLocalName().equals("row")) {
+                Map<Integer, String> cells = new HashMap<>();
+                String rowNumber = sheetReader.getAttributeValue(null, "r");
+                if (rowNumber != null) {
+                    cells.put(-1, rowNumber);
+                }
+                readCells(cells);
+                return cells;
+            }
+        }
+        return null;
+    }
+
+    private void readCells(Map<Integer, String> cells) throws XMLStreamException {
+        int nextColumn = 0;
+        while (sheetReader.hasNext()) {
+            int event = sheetReader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && sheetReader.getLocalName().equals("row")) {
+                return;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && sheetReader.getLocalName().equals("c")) {
+                String reference = sheetReader.getAttributeValue(null, "r");
+                int column = reference == null ? nextColumn : parseCellReference(reference)[0];
+                String value = readCellValue(sheetReader.getAttributeValue(null, "t"));
+                if (value != null) {
+                    cells.put(column, value);
+                }
+                nextColumn = column + 1;
+            }
+        }
+    }
+
+    private String readCellValue(String type) throws XMLStreamException {
+        StringBuilder value = null;
+        while (sheetReader.hasNext()) {
+            int event = sheetReader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && sheetReader.getLocalName().equals("c")) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT &&
+                    (sheetReader.getLocalName().equals("v") || sheetReader.getLocalName().equals("t"))) {
+                if (value == null) {
+                    value = new StringBuilder();
+                }
+                value.append(sheetReader.getElementText());
+            }
+        }
+        if (value == null) {
+            return null;
+        }
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(value.toString().trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value.toString().trim()) ? "TRUE" : "FALSE";
+        }
+        return value.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheetReader.close();
+        } catch (XMLStreamException e) {
+            // the stream is closed below
+        }
+        sheetStream.close();
+        workbook.close();
+    }
+
+    static boolean isSupported(String fileName) {
+        if (fileName == null) {
+            return false;
+        }
+        String lowerCase = fileName.toLowerCase(Locale.ROOT);
+        return lowerCase.endsWith(".xlsx") || lowerCase.endsWith(".xlsm");
+    }
+}
@@ -0,0 +1,74 @@
+package com.smartbear.readyapi4j.local.datasource.datagen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves over the rows of {@link DataGenRows}. Values can be appended to a builder of the caller, which generates
+ * them without allocating. Not thread-safe, use one cursor per thread.
+ */
+public final class DataGenCursor {
+    private final DataGenRows rows;
+    private final RowRandom random = new RowRandom();
+    private final StringBuilder value = new StringBuilder(32);
+    private long rowIndex = -1;
+
+    DataGenCursor(DataGenRows rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Positions the cursor before the specified row, so the next call of {@link #next()} moves to it
+     */
+    public DataGenCursor seek(long rowIndex) {
+        if (rowIndex < 0) {
+            throw new IllegalArgumentException("Row index must not be negative, actual: " + rowIndex);
+        }
+        this.rowIndex = rowIndex - 1;
+        return this;
+    }
+
+    /**
+     * @return true if the cursor moved to the next row, false after the last row
+     */
+    public boolean next() {
+        if (rowIndex + 1 >= rows.getNumberOfRows()) {
+            rowIndex = rows.getNumberOfRows();
+            return false;
+        }
+        rowIndex++;
+        return true;
+    }
+
+    public long getRowIndex() {
+        return rowIndex;
+    }
+
+    public void appendValue(int column, StringBuilder out) {
+        checkPosition();
+        rows.appendValue(column, rowIndex, random, out);
+    }
+
+    public String getValue(int column) {
+        value.setLength(0);
+        appendValue(column, value);
+        return value.toString();
+    }
+
+    /**
+     * @return the values of the current row in the order of the property names
+     */
+    public List<String> getRow() {
+        List<String> row = new ArrayList<>(rows.getColumnCount());
+        for (int column = 0; column < rows.getColumnCount(); column++) {
+            row.add(getValue(column));
+        }
+        return row;
+    }
+
+    private void checkPosition() {
+        if (rowIndex < 0 || rowIndex >= rows.getNumberOfRows()) {
+            throw new IllegalStateException("The cursor is not positioned on a row");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.smartbear.readyapi4j.local.datasource.datagen;
+
+import com.smartbear.readyapi4j.client.model.DataGenDataSource;
+import com.smartbear.readyapi4j.client.model.DataGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The rows of a DataGen data source, generated locally. The data generators are compiled once, and every value is
+ * derived from the seed, the column and the row index only, so the same seed always gives the same rows and any
+ * range of rows can be generated on its own, e.g. by several threads in parallel:
+ * <pre>
+ * DataGenRows rows = DataGenRows.compile(dataSource.getDataGen(), 42);
+ * DataGenCursor cursor = rows.newCursor().seek(1000);
+ * while (cursor.next() &amp;&amp; cursor.getRowIndex() &lt; 2000) {
+ *     String value = cursor.getValue(0);
+ * }
+ * </pre>
+ * Instances are immutable and thread-safe, cursors are not.
+ */
+public final class DataGenRows {
+    private final long seed;
+    private final long numberOfRows;
+    private final List<String> propertyNames;
+    private final ValueGenerator[] generators;
+    private final int[] duplicationFactors;
+    private final long[] columnSeeds;
+
+    private DataGenRows(DataGenDataSource dataSource, long seed) {
+        List<DataGenerator> dataGenerators = dataSource.getDataGenerators() == null ?
+                Collections.emptyList() : dataSource.getDataGenerators();
+        List<String> names = new ArrayList<>(dataGenerators.size());
+        this.generators = new ValueGenerator[dataGenerators.size()];
+        this.duplicationFactors = new int[dataGenerators.size()];
+        this.columnSeeds = new long[dataGenerators.size()];
+        for (int i = 0; i < dataGenerators.size(); i++) {
+            DataGenerator dataGenerator = dataGenerators.get(i);
+            names.add(dataGenerator.getPropertyName());
+            generators[i] = ValueGenerators.compile(dataGenerator);
+            Integer duplicationFactor = dataGenerator.getDuplicationFactor();
+            duplicationFactors[i] = duplicationFactor == null || duplicationFactor < 1 ? 1 : duplicationFactor;
+            columnSeeds[i] = RowRandom.mix64(seed + (i + 1) * 0xd1b54a32d192ed03L);
+        }
+        this.seed = seed;
+        this.numberOfRows = parseNumberOfRows(dataSource.getNumberOfRows());
+        this.propertyNames = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Compiles the data generators of a data source with a random seed
+     *
+     * @throws com.smartbear.readyapi4j.execution.UnsupportedTestStepException if a data generator type isn't
+     *                                                                        supported locally
+     */
+    public static DataGenRows compile(DataGenDataSource dataSource) {
+        return compile(dataSource, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Compiles the data generators of a data source, the same seed always generates the same rows
+     *
+     * @throws com.smartbear.readyapi4j.execution.UnsupportedTestStepException if a data generator type isn't
+     *                                                                        supported locally
+     */
+    public static DataGenRows compile(DataGenDataSource dataSource, long seed) {
+        return new DataGenRows(dataSource, seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    public List<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    /**
+     * @return a new cursor positioned before the first row
+     */
+    public DataGenCursor newCursor() {
+        return new DataGenCursor(this);
+    }
+
+    /**
+     * @return the values of the first rows, at most the specified number of rows
+     */
+    public List<List<String>> preview(int maxRows) {
+        List<List<String>> rows = new ArrayList<>();
+        DataGenCursor cursor = newCursor();
+        while (rows.size() < maxRows && cursor.next()) {
+            rows.add(cursor.getRow());
+        }
+        return rows;
+    }
+
+    int getColumnCount() {
+        return generators.length;
+    }
+
+    void appendValue(int column, long rowIndex, RowRandom random, StringBuilder out) {
+        long index = rowIndex / duplicationFactors[column];
+        random.reset(columnSeeds[column], index);
+        generators[column].generate(index, random, out);
+    }
+
+    private static long parseNumberOfRows(String numberOfRows) {
+        if (numberOfRows == null || numberOfRows.trim().isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(numberOfRows.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number of rows for DataGen data source: " + numberOfRows, e);
+        }
+    }
+}
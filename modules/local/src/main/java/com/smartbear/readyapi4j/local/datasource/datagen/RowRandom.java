@@ -0,0 +1,56 @@
+package com.smartbear.readyapi4j.local.datasource.datagen;
+
+/**
+ * SplitMix64 generator that is reset for every generated value from the seed of the column and the index of the
+ * value, so any value can be generated independently of the values before it, on any thread. Not thread-safe, each
+ * cursor has its own instance.
+ */
+final class RowRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    void reset(long seed, long index) {
+        state = mix64(seed + index * GOLDEN_GAMMA);
+    }
+
+    long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * @return a value between 0 (inclusive) and the bound (exclusive)
+     */
+    int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * @return a value between origin and bound, both inclusive
+     */
+    long nextLong(long origin, long bound) {
+        long range = bound - origin + 1;
+        if (range <= 0) {
+            // the range doesn't fit in a long
+            long value;
+            do {
+                value = nextLong();
+            } while (value < origin || value > bound);
+            return value;
+        }
+        return origin + Long.remainderUnsigned(nextLong(), range);
+    }
+
+    /**
+     * @return a value between 0 (inclusive) and 1 (exclusive)
+     */
+    double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
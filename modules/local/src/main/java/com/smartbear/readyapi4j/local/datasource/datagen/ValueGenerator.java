@@ -0,0 +1,15 @@
+package com.smartbear.readyapi4j.local.datasource.datagen;
+
+/**
+ * Generates the values of one data generator. Implementations are compiled once per data source and must be
+ * stateless, so the same instance can be used by cursors on different threads.
+ */
+interface ValueGenerator {
+
+    /**
+     * @param index  the index of the value, the row index divided by the duplication factor
+     * @param random the random source, seeded for this value
+     * @param out    the builder to append the value to
+     */
+    void generate(long index, RowRandom random, StringBuilder out);
+}
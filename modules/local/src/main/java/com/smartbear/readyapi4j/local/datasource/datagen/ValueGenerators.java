@@ -0,0 +1,438 @@
+package com.smartbear.readyapi4j.local.datasource.datagen;
+
+import com.smartbear.readyapi4j.client.model.BooleanDataGenerator;
+import com.smartbear.readyapi4j.client.model.ComputerAddressDataGenerator;
+import com.smartbear.readyapi4j.client.model.CustomStringDataGenerator;
+import com.smartbear.readyapi4j.client.model.DataGenerator;
+import com.smartbear.readyapi4j.client.model.DateAndTimeDataGenerator;
+import com.smartbear.readyapi4j.client.model.IntegerDataGenerator;
+import com.smartbear.readyapi4j.client.model.NameDataGenerator;
+import com.smartbear.readyapi4j.client.model.PhoneNumberDataGenerator;
+import com.smartbear.readyapi4j.client.model.RealNumberDataGenerator;
+import com.smartbear.readyapi4j.client.model.StateNameDataGenerator;
+import com.smartbear.readyapi4j.client.model.StringDataGenerator;
+import com.smartbear.readyapi4j.client.model.UKPostCodeDataGenerator;
+import com.smartbear.readyapi4j.client.model.USZIPCodeDataGenerator;
+import com.smartbear.readyapi4j.client.model.ValuesFromSetDataGenerator;
+import com.smartbear.readyapi4j.execution.UnsupportedTestStepException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiles the configuration of a data generator into a {@link ValueGenerator}, validating and resolving
+ * defaults once instead of for every value
+ */
+final class ValueGenerators {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final char[] UPPER_CASE_HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final char[] LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final char[] DIGITS = "0123456789".toCharArray();
+    private static final char[] PUNCTUATION_MARKS = ".,;:!?-'\"()".toCharArray();
+    private static final char[] POSTCODE_OUTWARD_LETTERS = "ABCDEFGHIJKLMNOPRSTUWYZ".toCharArray();
+    private static final char[] POSTCODE_INWARD_LETTERS = "ABDEFGHJLNPQRSTUWXYZ".toCharArray();
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L, 1_000_000_000L};
+    private static final String[] LOWER_CASE_FIRST_NAMES = Words.toLowerCase(Words.FIRST_NAMES);
+    private static final String[] LOWER_CASE_LAST_NAMES = Words.toLowerCase(Words.LAST_NAMES);
+    private static final long MIN_EPOCH_SECOND = Instant.parse("0001-01-01T00:00:00Z").getEpochSecond();
+    private static final long MAX_EPOCH_SECOND = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+
+    private static final int DEFAULT_MINIMUM_INTEGER = 1;
+    private static final int DEFAULT_MAXIMUM_INTEGER = 100;
+    private static final int DEFAULT_MINIMUM_CHARACTERS = 5;
+    private static final int DEFAULT_MAXIMUM_CHARACTERS = 10;
+    private static final int DEFAULT_DECIMAL_PLACES = 2;
+
+    private ValueGenerators() {
+    }
+
+    static ValueGenerator compile(DataGenerator dataGenerator) {
+        if (dataGenerator instanceof BooleanDataGenerator) {
+            return compileBoolean((BooleanDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof ComputerAddressDataGenerator) {
+            return compileComputerAddress((ComputerAddressDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof CustomStringDataGenerator) {
+            String value = ((CustomStringDataGenerator) dataGenerator).getValue();
+            String constant = value == null ? "" : value;
+            return (index, random, out) -> out.append(constant);
+        }
+        if (dataGenerator instanceof DateAndTimeDataGenerator) {
+            return compileDateAndTime((DateAndTimeDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof IntegerDataGenerator) {
+            return compileInteger((IntegerDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof NameDataGenerator) {
+            return compileName((NameDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof PhoneNumberDataGenerator) {
+            String format = ((PhoneNumberDataGenerator) dataGenerator).getNumberFormat();
+            return compileDigitPattern(format == null ? "XXX-XXX-XXXX" : format);
+        }
+        if (dataGenerator instanceof RealNumberDataGenerator) {
+            return compileRealNumber((RealNumberDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof StateNameDataGenerator) {
+            boolean abbreviated = ((StateNameDataGenerator) dataGenerator).getNameFormat() ==
+                    StateNameDataGenerator.NameFormatEnum.ABBREVIATED;
+            return pick(abbreviated ? Words.STATE_ABBREVIATIONS : Words.STATES);
+        }
+        if (dataGenerator instanceof StringDataGenerator) {
+            return compileString((StringDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof UKPostCodeDataGenerator) {
+            return compileUKPostCode((UKPostCodeDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof USZIPCodeDataGenerator) {
+            return compileUSZipCode((USZIPCodeDataGenerator) dataGenerator);
+        }
+        if (dataGenerator instanceof ValuesFromSetDataGenerator) {
+            return compileValuesFromSet((ValuesFromSetDataGenerator) dataGenerator);
+        }
+        return compileBasic(dataGenerator.getType());
+    }
+
+    private static ValueGenerator compileBasic(String type) {
+        if (type == null) {
+            throw new UnsupportedTestStepException("Data generator without type");
+        }
+        switch (type) {
+            case "City":
+                return pick(Words.CITIES);
+            case "Country":
+                return pick(Words.COUNTRIES);
+            case "Street Address":
+                return (index, random, out) -> out.append(1 + random.nextInt(9999)).append(' ')
+                        .append(Words.STREET_NAMES[random.nextInt(Words.STREET_NAMES.length)]).append(' ')
+                        .append(Words.STREET_SUFFIXES[random.nextInt(Words.STREET_SUFFIXES.length)]);
+            case "E-Mail":
+                return (index, random, out) -> out
+                        .append(LOWER_CASE_FIRST_NAMES[random.nextInt(LOWER_CASE_FIRST_NAMES.length)]).append('.')
+                        .append(LOWER_CASE_LAST_NAMES[random.nextInt(LOWER_CASE_LAST_NAMES.length)]).append('@')
+                        .append(Words.EMAIL_DOMAINS[random.nextInt(Words.EMAIL_DOMAINS.length)]);
+            case "Guid":
+                return ValueGenerators::appendGuid;
+            case "Social Security Number":
+                return (index, random, out) -> {
+                    int area = 1 + random.nextInt(899);
+                    appendPadded(out, area == 666 ? 667 : area, 3);
+                    out.append('-');
+                    appendPadded(out, 1 + random.nextInt(99), 2);
+                    out.append('-');
+                    appendPadded(out, 1 + random.nextInt(9999), 4);
+                };
+            default:
+                throw new UnsupportedTestStepException("Data generator type '" + type +
+                        "' is supported only with Server execution mode.");
+        }
+    }
+
+    private static ValueGenerator compileBoolean(BooleanDataGenerator dataGenerator) {
+        String trueValue = "true";
+        String falseValue = "false";
+        if (dataGenerator.getFormat() == BooleanDataGenerator.FormatEnum.YES_NO) {
+            trueValue = "Yes";
+            falseValue = "No";
+        } else if (dataGenerator.getFormat() == BooleanDataGenerator.FormatEnum._1_0) {
+            trueValue = "1";
+            falseValue = "0";
+        }
+        String[] values = {falseValue, trueValue};
+        return (index, random, out) -> out.append(values[(int) (random.nextLong() >>> 63)]);
+    }
+
+    private static ValueGenerator compileComputerAddress(ComputerAddressDataGenerator dataGenerator) {
+        if (dataGenerator.getAddressType() == ComputerAddressDataGenerator.AddressTypeEnum.MAC48) {
+            return (index, random, out) -> {
+                long bytes = random.nextLong();
+                for (int i = 0; i < 6; i++) {
+                    if (i > 0) {
+                        out.append(':');
+                    }
+                    int octet = (int) (bytes >>> (8 * i)) & 0xff;
+                    out.append(UPPER_CASE_HEX_DIGITS[octet >>> 4]).append(UPPER_CASE_HEX_DIGITS[octet & 0xf]);
+                }
+            };
+        }
+        return (index, random, out) -> {
+            long bytes = random.nextLong();
+            out.append(1 + (int) ((bytes & 0xffffffffL) % 223));
+            for (int i = 1; i < 4; i++) {
+                out.append('.').append((int) (bytes >>> (8 * i + 24)) & 0xff);
+            }
+        };
+    }
+
+    private static ValueGenerator compileDateAndTime(DateAndTimeDataGenerator dataGenerator) {
+        ZoneOffset offset = dataGenerator.getMinimumValue() == null ? ZoneOffset.UTC :
+                dataGenerator.getMinimumValue().getOffset();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(getDatePattern(dataGenerator.getDateTimeFormat()),
+                Locale.US).withZone(offset);
+        long minimum = dataGenerator.getMinimumValue() == null ? 0 :
+                clampEpochSecond(dataGenerator.getMinimumValue().toEpochSecond());
+        long maximum = dataGenerator.getMaximumValue() == null ? MAX_EPOCH_SECOND :
+                clampEpochSecond(dataGenerator.getMaximumValue().toEpochSecond());
+        if (maximum < minimum) {
+            throw new IllegalArgumentException("The maximum date of property " + dataGenerator.getPropertyName() +
+                    " is before its minimum date");
+        }
+
+        if (dataGenerator.getGenerationMode() == DateAndTimeDataGenerator.GenerationModeEnum.SEQUENTIAL) {
+            long increment = valueOf(dataGenerator.getIncrementValueDay()) * 86_400L +
+                    valueOf(dataGenerator.getIncrementValueHour()) * 3_600L +
+                    valueOf(dataGenerator.getIncrementValueMinute()) * 60L +
+                    valueOf(dataGenerator.getIncrementValueSecond());
+            long steps = increment <= 0 ? 1 : (maximum - minimum) / increment + 1;
+            return (index, random, out) ->
+                    formatter.formatTo(Instant.ofEpochSecond(minimum + (index % steps) * increment), out);
+        }
+        return (index, random, out) ->
+                formatter.formatTo(Instant.ofEpochSecond(random.nextLong(minimum, maximum)), out);
+    }
+
+    private static String getDatePattern(DateAndTimeDataGenerator.DateTimeFormatEnum dateTimeFormat) {
+        if (dateTimeFormat == null) {
+            return "hh:mm a";
+        }
+        switch (dateTimeFormat) {
+            case HH_MM_24_HOUR_:
+                return "HH:mm";
+            case HH_MM_SS_AM_PM:
+                return "hh:mm:ss a";
+            case HH_MM_SS_24_HOUR_:
+                return "HH:mm:ss";
+            case M_D_YYYY_HH_MM_SS_AM_PM:
+                return "M/d/yyyy hh:mm:ss a";
+            case M_D_YYYY_HH_MM_SS_24_HOUR_:
+                return "M/d/yyyy HH:mm:ss";
+            case M_D_YYYY:
+                return "M/d/yyyy";
+            case D_MONTH_YYYY:
+                return "d MMMM yyyy";
+            case DAYOFWEEK_D_MONTH_YYYY:
+                return "EEEE d MMMM yyyy";
+            case YYYY_MM_DDTHH_MM_SSZ_ISO_8601_:
+                return "yyyy-MM-dd'T'HH:mm:ssXXX";
+            default:
+                return "hh:mm a";
+        }
+    }
+
+    private static long clampEpochSecond(long epochSecond) {
+        return Math.max(MIN_EPOCH_SECOND, Math.min(MAX_EPOCH_SECOND, epochSecond));
+    }
+
+    private static ValueGenerator compileInteger(IntegerDataGenerator dataGenerator) {
+        long minimum = dataGenerator.getMinimumValue() == null ? DEFAULT_MINIMUM_INTEGER : dataGenerator.getMinimumValue();
+        long maximum = dataGenerator.getMaximumValue() == null ? DEFAULT_MAXIMUM_INTEGER : dataGenerator.getMaximumValue();
+        if (maximum < minimum) {
+            throw new IllegalArgumentException("The maximum value of property " + dataGenerator.getPropertyName() +
+                    " is less than its minimum value");
+        }
+
+        if (dataGenerator.getGenerationMode() == IntegerDataGenerator.GenerationModeEnum.SEQUENTIAL) {
+            long increment = dataGenerator.getIncrementBy() == null ? 1 : dataGenerator.getIncrementBy();
+            if (increment == 0) {
+                return (index, random, out) -> out.append(minimum);
+            }
+            long steps = (maximum - minimum) / Math.abs(increment) + 1;
+            long start = increment > 0 ? minimum : maximum;
+            return (index, random, out) -> out.append(start + (index % steps) * increment);
+        }
+        return (index, random, out) -> out.append(random.nextLong(minimum, maximum));
+    }
+
+    private static ValueGenerator compileName(NameDataGenerator dataGenerator) {
+        String[] firstNames = dataGenerator.getGender() == NameDataGenerator.GenderEnum.MALE ? Words.MALE_FIRST_NAMES :
+                dataGenerator.getGender() == NameDataGenerator.GenderEnum.FEMALE ? Words.FEMALE_FIRST_NAMES :
+                        Words.FIRST_NAMES;
+        if (dataGenerator.getNameType() == NameDataGenerator.NameTypeEnum.FIRSTNAME) {
+            return pick(firstNames);
+        }
+        if (dataGenerator.getNameType() == NameDataGenerator.NameTypeEnum.LASTNAME) {
+            return pick(Words.LAST_NAMES);
+        }
+        return (index, random, out) -> out.append(firstNames[random.nextInt(firstNames.length)]).append(' ')
+                .append(Words.LAST_NAMES[random.nextInt(Words.LAST_NAMES.length)]);
+    }
+
+    private static ValueGenerator compileRealNumber(RealNumberDataGenerator dataGenerator) {
+        double minimum = dataGenerator.getMinimumValue() == null ? DEFAULT_MINIMUM_INTEGER : dataGenerator.getMinimumValue();
+        double maximum = dataGenerator.getMaximumValue() == null ? DEFAULT_MAXIMUM_INTEGER : dataGenerator.getMaximumValue();
+        int decimalPlaces = dataGenerator.getDecimalPlaces() == null ? DEFAULT_DECIMAL_PLACES :
+                dataGenerator.getDecimalPlaces();
+        if (maximum < minimum) {
+            throw new IllegalArgumentException("The maximum value of property " + dataGenerator.getPropertyName() +
+                    " is less than its minimum value");
+        }
+
+        if (dataGenerator.getGenerationMode() == RealNumberDataGenerator.GenerationModeEnum.SEQUENTIAL) {
+            double increment = dataGenerator.getIncrementBy() == null ? 1 : dataGenerator.getIncrementBy();
+            if (increment == 0) {
+                return (index, random, out) -> appendFixed(out, minimum, decimalPlaces);
+            }
+            long steps = (long) Math.floor((maximum - minimum) / Math.abs(increment)) + 1;
+            double start = increment > 0 ? minimum : maximum;
+            return (index, random, out) -> appendFixed(out, start + (index % steps) * increment, decimalPlaces);
+        }
+        double range = maximum - minimum;
+        return (index, random, out) -> appendFixed(out, minimum + random.nextDouble() * range, decimalPlaces);
+    }
+
+    private static ValueGenerator compileString(StringDataGenerator dataGenerator) {
+        int minimum = dataGenerator.getMinimumCharacters() == null ? DEFAULT_MINIMUM_CHARACTERS :
+                dataGenerator.getMinimumCharacters();
+        int maximum = dataGenerator.getMaximumCharacters() == null ? Math.max(minimum, DEFAULT_MAXIMUM_CHARACTERS) :
+                dataGenerator.getMaximumCharacters();
+        if (maximum < minimum) {
+            throw new IllegalArgumentException("The maximum number of characters of property " +
+                    dataGenerator.getPropertyName() + " is less than its minimum number of characters");
+        }
+
+        StringBuilder characters = new StringBuilder();
+        if (!Boolean.FALSE.equals(dataGenerator.isUseLetters())) {
+            characters.append(LETTERS);
+        }
+        if (!Boolean.FALSE.equals(dataGenerator.isUseDigits())) {
+            characters.append(DIGITS);
+        }
+        if (Boolean.TRUE.equals(dataGenerator.isUseSpaces())) {
+            characters.append(' ');
+        }
+        if (Boolean.TRUE.equals(dataGenerator.isUsePunctuationMarks())) {
+            characters.append(PUNCTUATION_MARKS);
+        }
+        char[] alphabet = characters.length() == 0 ? LETTERS : characters.toString().toCharArray();
+        return (index, random, out) -> {
+            int length = (int) random.nextLong(minimum, maximum);
+            for (int i = 0; i < length; i++) {
+                out.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+        };
+    }
+
+    private static ValueGenerator compileUKPostCode(UKPostCodeDataGenerator dataGenerator) {
+        List<char[]> formats = new ArrayList<>();
+        for (UKPostCodeDataGenerator.CodeFormatEnum codeFormat : UKPostCodeDataGenerator.CodeFormatEnum.values()) {
+            if (codeFormat != UKPostCodeDataGenerator.CodeFormatEnum.ALL &&
+                    (dataGenerator.getCodeFormat() == null ||
+                            dataGenerator.getCodeFormat() == UKPostCodeDataGenerator.CodeFormatEnum.ALL ||
+                            dataGenerator.getCodeFormat() == codeFormat)) {
+                formats.add(codeFormat.toString().toCharArray());
+            }
+        }
+        char[][] patterns = formats.toArray(new char[formats.size()][]);
+        return (index, random, out) -> {
+            char[] pattern = patterns[random.nextInt(patterns.length)];
+            boolean inward = false;
+            for (char c : pattern) {
+                if (c == 'A') {
+                    char[] letters = inward ? POSTCODE_INWARD_LETTERS : POSTCODE_OUTWARD_LETTERS;
+                    out.append(letters[random.nextInt(letters.length)]);
+                } else if (c == '9') {
+                    out.append(DIGITS[random.nextInt(DIGITS.length)]);
+                } else {
+                    inward = true;
+                    out.append(c);
+                }
+            }
+        };
+    }
+
+    private static ValueGenerator compileUSZipCode(USZIPCodeDataGenerator dataGenerator) {
+        ValueGenerator shortCode = compileDigitPattern("XXXXX");
+        ValueGenerator longCode = compileDigitPattern("XXXXX-XXXX");
+        if (dataGenerator.getCodeFormat() == USZIPCodeDataGenerator.CodeFormatEnum.XXXXX) {
+            return shortCode;
+        }
+        if (dataGenerator.getCodeFormat() == USZIPCodeDataGenerator.CodeFormatEnum.XXXXX_XXXX) {
+            return longCode;
+        }
+        return (index, random, out) -> (random.nextLong() < 0 ? shortCode : longCode).generate(index, random, out);
+    }
+
+    private static ValueGenerator compileValuesFromSet(ValuesFromSetDataGenerator dataGenerator) {
+        String[] values = dataGenerator.getValues() == null || dataGenerator.getValues().isEmpty() ? new String[]{""} :
+                dataGenerator.getValues().toArray(new String[0]);
+        if (dataGenerator.getGenerationMode() == ValuesFromSetDataGenerator.GenerationModeEnum.SEQUENTIAL) {
+            return (index, random, out) -> out.append(values[(int) (index % values.length)]);
+        }
+        return pick(values);
+    }
+
+    /**
+     * Replaces each X of the pattern with a random digit
+     */
+    private static ValueGenerator compileDigitPattern(String pattern) {
+        char[] characters = pattern.toCharArray();
+        return (index, random, out) -> {
+            for (char c : characters) {
+                out.append(c == 'X' ? DIGITS[random.nextInt(DIGITS.length)] : c);
+            }
+        };
+    }
+
+    private static ValueGenerator pick(String[] values) {
+        return (index, random, out) -> out.append(values[random.nextInt(values.length)]);
+    }
+
+    private static void appendGuid(long index, RowRandom random, StringBuilder out) {
+        long mostSignificant = (random.nextLong() & ~0xf000L) | 0x4000L;
+        long leastSignificant = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        appendHex(out, mostSignificant >>> 32, 8);
+        out.append('-');
+        appendHex(out, mostSignificant >>> 16, 4);
+        out.append('-');
+        appendHex(out, mostSignificant, 4);
+        out.append('-');
+        appendHex(out, leastSignificant >>> 48, 4);
+        out.append('-');
+        appendHex(out, leastSignificant, 12);
+    }
+
+    private static void appendHex(StringBuilder out, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.append(HEX_DIGITS[(int) (value >>> shift) & 0xf]);
+        }
+    }
+
+    private static void appendPadded(StringBuilder out, long value, int width) {
+        for (long limit = POWERS_OF_TEN[width - 1]; limit > 1 && value < limit; limit /= 10) {
+            out.append('0');
+        }
+        out.append(value);
+    }
+
+    /**
+     * Appends the value rounded half up to the decimal places, without the intermediate objects of a formatter
+     */
+    static void appendFixed(StringBuilder out, double value, int decimalPlaces) {
+        if (decimalPlaces < 0 || decimalPlaces >= POWERS_OF_TEN.length || Math.abs(value) >= 1e9 || Double.isNaN(value)) {
+            out.append(BigDecimal.valueOf(value).setScale(decimalPlaces, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long scale = POWERS_OF_TEN[decimalPlaces];
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            out.append('-');
+        }
+        out.append(scaled / scale);
+        if (decimalPlaces > 0) {
+            out.append('.');
+            appendPadded(out, scaled % scale, decimalPlaces);
+        }
+    }
+
+    private static long valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,89 @@
+package com.smartbear.readyapi4j.local.datasource.datagen;
+
+import java.util.Locale;
+
+/**
+ * Word lists for the generators of names, places and addresses
+ */
+final class Words {
+    static final String[] MALE_FIRST_NAMES = {
+            "James", "John", "Robert", "Michael", "William", "David", "Richard", "Joseph", "Thomas", "Charles",
+            "Daniel", "Matthew", "Anthony", "Mark", "Steven", "Paul", "Andrew", "Joshua", "Kevin", "Brian",
+            "George", "Edward", "Ronald", "Timothy", "Jason"
+    };
+
+    static final String[] FEMALE_FIRST_NAMES = {
+            "Mary", "Patricia", "Jennifer", "Linda", "Elizabeth", "Barbara", "Susan", "Jessica", "Sarah", "Karen",
+            "Nancy", "Lisa", "Margaret", "Betty", "Sandra", "Ashley", "Emily", "Donna", "Michelle", "Carol",
+            "Amanda", "Melissa", "Deborah", "Stephanie", "Rebecca"
+    };
+
+    static final String[] FIRST_NAMES = concat(MALE_FIRST_NAMES, FEMALE_FIRST_NAMES);
+
+    static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright"
+    };
+
+    static final String[] CITIES = {
+            "New York", "Los Angeles", "Chicago", "Houston", "Phoenix", "Philadelphia", "San Antonio", "San Diego",
+            "Dallas", "Boston", "London", "Manchester", "Stockholm", "Gothenburg", "Berlin", "Munich", "Paris",
+            "Madrid", "Rome", "Amsterdam", "Oslo", "Dublin", "Toronto", "Sydney", "Tokyo", "Bangalore"
+    };
+
+    static final String[] COUNTRIES = {
+            "United States", "United Kingdom", "Sweden", "Germany", "France", "Spain", "Italy", "Netherlands",
+            "Norway", "Denmark", "Finland", "Ireland", "Canada", "Mexico", "Brazil", "Argentina", "Australia",
+            "New Zealand", "Japan", "China", "India", "South Africa", "Egypt", "Poland", "Portugal", "Switzerland",
+            "Austria", "Belgium", "Greece", "Russia"
+    };
+
+    static final String[] STREET_NAMES = {
+            "Main", "Oak", "Pine", "Maple", "Cedar", "Elm", "Washington", "Lake", "Hill", "Park", "Church", "High",
+            "Station", "Mill", "River", "Spring", "Sunset", "Lincoln", "Jefferson", "Madison"
+    };
+
+    static final String[] STREET_SUFFIXES = {
+            "Street", "Avenue", "Road", "Lane", "Drive", "Court", "Place", "Boulevard", "Way"
+    };
+
+    static final String[] EMAIL_DOMAINS = {
+            "example.com", "example.org", "example.net", "mail.example.com", "test.example.com"
+    };
+
+    static final String[] STATES = {
+            "Alabama", "Alaska", "Arizona", "Arkansas", "California", "Colorado", "Connecticut", "Delaware",
+            "Florida", "Georgia", "Hawaii", "Idaho", "Illinois", "Indiana", "Iowa", "Kansas", "Kentucky", "Louisiana",
+            "Maine", "Maryland", "Massachusetts", "Michigan", "Minnesota", "Mississippi", "Missouri", "Montana",
+            "Nebraska", "Nevada", "New Hampshire", "New Jersey", "New Mexico", "New York", "North Carolina",
+            "North Dakota", "Ohio", "Oklahoma", "Oregon", "Pennsylvania", "Rhode Island", "South Carolina",
+            "South Dakota", "Tennessee", "Texas", "Utah", "Vermont", "Virginia", "Washington", "West Virginia",
+            "Wisconsin", "Wyoming"
+    };
+
+    static final String[] STATE_ABBREVIATIONS = {
+            "AL", "AK", "AZ", "AR", "CA", "CO", "CT", "DE", "FL", "GA", "HI", "ID", "IL", "IN", "IA", "KS", "KY", "LA",
+            "ME", "MD", "MA", "MI", "MN", "MS", "MO", "MT", "NE", "NV", "NH", "NJ", "NM", "NY", "NC", "ND", "OH", "OK",
+            "OR", "PA", "RI", "SC", "SD", "TN", "TX", "UT", "VT", "VA", "WA", "WV", "WI", "WY"
+    };
+
+    private Words() {
+    }
+
+    static String[] toLowerCase(String[] words) {
+        String[] lowerCase = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            lowerCase[i] = words[i].toLowerCase(Locale.ROOT);
+        }
+        return lowerCase;
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        String[] words = new String[first.length + second.length];
+        System.arraycopy(first, 0, words, 0, first.length);
+        System.arraycopy(second, 0, words, first.length, second.length);
+        return words;
+    }
+}
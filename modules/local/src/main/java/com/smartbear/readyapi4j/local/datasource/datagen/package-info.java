@@ -0,0 +1,4 @@
+/**
+ * Local generation of the values of DataGen data sources.
+ */
+package com.smartbear.readyapi4j.local.datasource.datagen;
@@ -0,0 +1,4 @@
+/**
+ * Local execution of DataSource test steps.
+ */
+package com.smartbear.readyapi4j.local.datasource;
@@ -5,14 +5,30 @@ import com.eviware.soapui.model.iface.MessageExchange;
 import com.eviware.soapui.model.iface.Request;
 import com.eviware.soapui.support.types.StringToStringsMap;
 import com.smartbear.readyapi4j.client.model.*;
+import com.smartbear.readyapi4j.local.http.RoutedEndpoints;
 import org.apache.commons.lang3.StringUtils;
 
+import java.net.InetSocketAddress;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 public class HarEntryBuilder {
+    private final InetSocketAddress routingServer;
+
+    public HarEntryBuilder() {
+        this(null);
+    }
+
+    /**
+     * @param routingServer the local server requests were routed to with {@link RoutedEndpoints}, their original
+     *                      URL and Host header are reported instead of the ones on the server
+     */
+    public HarEntryBuilder(InetSocketAddress routingServer) {
+        this.routingServer = routingServer;
+    }
 
     public HarEntry createHarEntry(MessageExchange messageExchange) {
         HarEntry harEntry = new HarEntry()
@@ -28,10 +44,17 @@ public class HarEntryBuilder {
 
     private HarRequest createHarRequest(MessageExchange messageExchange) {
         List<HarHeader> headers = createHarHeaders(messageExchange.getRequestHeaders());
+        String url = RoutedEndpoints.toOriginalEndpoint(routingServer, messageExchange.getEndpoint());
+        if (url != null && !url.equals(messageExchange.getEndpoint())) {
+            String host = URI.create(url).getRawAuthority();
+            headers.stream()
+                    .filter(header -> "Host".equalsIgnoreCase(header.getName()))
+                    .forEach(header -> header.setValue(host));
+        }
         HarRequest harRequest = new HarRequest()
                 .headers(headers)
                 .method(messageExchange.getProperty("Method"))
-                .url(messageExchange.getEndpoint());
+                .url(url);
 
         getStatusValue(messageExchange).ifPresent(harRequest::httpVersion);
         if (shouldCreatePostData(messageExchange)) {
@@ -105,7 +128,9 @@ public class HarEntryBuilder {
         List<HarHeader> headers = new ArrayList<>();
         if (headersMap != null) {
             for (Map.Entry<String, List<String>> entry : headersMap.entrySet()) {
-                headers.add(new HarHeader().name(entry.getKey()).value(entry.toString()));
+                for (String value : entry.getValue()) {
+                    headers.add(new HarHeader().name(entry.getKey()).value(value));
+                }
             }
         }
         return headers;
@@ -0,0 +1,159 @@
+package com.smartbear.readyapi4j.local.execution;
+
+import com.smartbear.readyapi4j.execution.RecipeExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads that run local recipes, instead of the threads managed by SoapUI. Every recipe runs synchronously on
+ * one thread of this pool, and at most maxConcurrency recipes run at the same time - further submitted recipes
+ * wait for a permit without occupying a platform thread when running on virtual threads.
+ * <p>
+ * Virtual threads are used if the runtime supports them (Java 21 or later), otherwise a bounded platform thread
+ * pool is used. Close it once the executor is no longer used.
+ */
+public class LocalExecutionThreads implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalExecutionThreads.class);
+    private static final String TRACE_PINNED_THREADS_PROPERTY = "jdk.tracePinnedThreads";
+
+    /**
+     * Diagnostics for virtual threads that block while pinned to their carrier thread, e.g. inside synchronized
+     * blocks of SoapUI or HTTP client code, which limits the concurrency virtual threads can reach. Only effective
+     * if enabled before the first virtual thread of the JVM is started, and on runtimes that still trace pinning
+     * (Java 21 to 23) - on later runtimes use the jdk.VirtualThreadPinned JFR event instead.
+     */
+    public enum PinnedThreadTracing {
+        OFF,
+        SHORT,
+        FULL
+    }
+
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final boolean virtual;
+
+    private LocalExecutionThreads(ExecutorService executorService, int maxConcurrency, boolean virtual) {
+        this.executorService = executorService;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.virtual = virtual;
+    }
+
+    public static LocalExecutionThreads virtualThreads(int maxConcurrency) {
+        return virtualThreads(maxConcurrency, PinnedThreadTracing.OFF);
+    }
+
+    /**
+     * Runs each recipe on a new virtual thread, or on a pool of at most 4 platform threads per processor if the
+     * runtime doesn't support virtual threads
+     *
+     * @param maxConcurrency the maximum number of recipes running at the same time
+     */
+    public static LocalExecutionThreads virtualThreads(int maxConcurrency, PinnedThreadTracing pinnedThreadTracing) {
+        checkConcurrency(maxConcurrency);
+        if (pinnedThreadTracing != PinnedThreadTracing.OFF) {
+            enablePinnedThreadTracing(pinnedThreadTracing);
+        }
+        try {
+            ExecutorService executorService = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return new LocalExecutionThreads(executorService, maxConcurrency, true);
+        } catch (ReflectiveOperationException e) {
+            int poolSize = Math.min(maxConcurrency, 4 * Runtime.getRuntime().availableProcessors());
+            LOG.info("Virtual threads are not supported by this runtime, running recipes on " + poolSize +
+                    " platform threads");
+            return platformThreads(poolSize);
+        }
+    }
+
+    /**
+     * Runs recipes on a fixed pool of daemon threads
+     *
+     * @param poolSize the number of threads, which is also the maximum number of recipes running at the same time
+     */
+    public static LocalExecutionThreads platformThreads(int poolSize) {
+        checkConcurrency(poolSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "readyapi4j-recipe-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new LocalExecutionThreads(Executors.newFixedThreadPool(poolSize, threadFactory), poolSize, false);
+    }
+
+    private static void checkConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1, was " + maxConcurrency);
+        }
+    }
+
+    private static void enablePinnedThreadTracing(PinnedThreadTracing pinnedThreadTracing) {
+        String current = System.getProperty(TRACE_PINNED_THREADS_PROPERTY);
+        if (current == null) {
+            System.setProperty(TRACE_PINNED_THREADS_PROPERTY, pinnedThreadTracing.name().toLowerCase(Locale.ROOT));
+        } else {
+            LOG.debug(TRACE_PINNED_THREADS_PROPERTY + " is already set to " + current + ", leaving it unchanged");
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Runs the task on a thread of this pool once a permit is available
+     */
+    void execute(Runnable task) {
+        executorService.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Runs the task on the calling thread once a permit is available, so synchronous executions count towards the
+     * same limit
+     */
+    void runOnCallingThread(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecipeExecutionException("Interrupted while waiting to execute recipe", e);
+        }
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+}
@@ -13,6 +13,7 @@ import com.smartbear.readyapi4j.result.AbstractRecipeExecutionResult;
 import com.smartbear.readyapi4j.result.AbstractTestStepResult;
 import com.smartbear.readyapi4j.result.RecipeExecutionResult;
 
+import java.net.InetSocketAddress;
 import java.util.*;
 
 public class SoapUIRecipeExecution implements Execution {
@@ -20,11 +21,16 @@ public class SoapUIRecipeExecution implements Execution {
     private Map<TestStepResultReport, MessageExchange[]> messageExchangeMap = Maps.newConcurrentMap();
     private final String executionId;
     private final WsdlProjectRunner projectRunner;
+    private final InetSocketAddress routingServer;
     private TestJobReport finalReport;
 
-    SoapUIRecipeExecution(String executionId, WsdlProjectRunner projectRunner) {
+    /**
+     * @param routingServer the local server the requests were routed to, e.g. a replay server, or null
+     */
+    SoapUIRecipeExecution(String executionId, WsdlProjectRunner projectRunner, InetSocketAddress routingServer) {
         this.executionId = executionId;
         this.projectRunner = projectRunner;
+        this.routingServer = routingServer;
     }
 
     @Override
@@ -140,6 +146,8 @@ public class SoapUIRecipeExecution implements Execution {
 
     private TestJobReport.StatusEnum convertTestRunnerStatus(TestRunner.Status status) {
         switch (status) {
+            case INITIALIZED:
+                // submitted recipes wait for a free execution thread before they are started
             case RUNNING:
                 return TestJobReport.StatusEnum.RUNNING;
             case CANCELED:
@@ -170,7 +178,8 @@ public class SoapUIRecipeExecution implements Execution {
         @Override
         public HarEntry getHarEntry() {
             if (execution.hasMessageExchange(testStepResultReport)) {
-                return new HarEntryBuilder().createHarEntry(execution.getMessageExchange(testStepResultReport));
+                return new HarEntryBuilder(execution.routingServer)
+                        .createHarEntry(execution.getMessageExchange(testStepResultReport));
             }
 
             return null;
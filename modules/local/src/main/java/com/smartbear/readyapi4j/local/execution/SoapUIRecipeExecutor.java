@@ -5,22 +5,33 @@ import com.eviware.soapui.impl.wsdl.testcase.WsdlProjectRunner;
 import com.eviware.soapui.model.support.ProjectRunListenerAdapter;
 import com.eviware.soapui.model.testsuite.ProjectRunContext;
 import com.eviware.soapui.model.testsuite.ProjectRunner;
+import com.eviware.soapui.model.testsuite.TestRunner;
 import com.eviware.soapui.support.types.StringToObjectMap;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.smartbear.ready.recipe.JsonRecipeParser;
 import com.smartbear.ready.recipe.teststeps.TestCaseStruct;
 import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.attachments.AttachmentContentSerializer;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
 import com.smartbear.readyapi4j.client.model.TestStep;
 import com.smartbear.readyapi4j.execution.*;
 import com.smartbear.readyapi4j.extractor.DataExtractors;
-import com.smartbear.readyapi4j.teststeps.TestStepTypes;
+import com.smartbear.readyapi4j.local.assertions.LocalAssertions;
+import com.smartbear.readyapi4j.local.attachments.LocalAttachments;
+import com.smartbear.readyapi4j.local.datasource.LocalDataSources;
+import com.smartbear.readyapi4j.local.extractor.LocalExtractors;
+import com.smartbear.readyapi4j.local.http.HttpResponseCache;
+import com.smartbear.readyapi4j.local.replay.ReplayServer;
+import com.smartbear.readyapi4j.local.scripting.CachingGroovyScriptEngine;
 
+import java.net.InetSocketAddress;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
 
 /**
  * Class that can execute a Test recipe locally, using the SoapUI core classes.
@@ -28,11 +39,44 @@ import java.util.stream.Collectors;
 public class SoapUIRecipeExecutor implements RecipeExecutor {
     private static final String LOCAL_CLIENT_EXECUTION_ID = "SoapUILocalClient#ExecutionId";
 
-    private final Map<String, SoapUIRecipeExecution> executionsMap = new HashMap<>();
+    static {
+        CachingGroovyScriptEngine.register();
+    }
+
+    private final Map<String, SoapUIRecipeExecution> executionsMap = new ConcurrentHashMap<>();
+    private final Map<String, LocalDataSources> dataSourcesByExecution = new ConcurrentHashMap<>();
+    private final Map<String, LocalExtractors> extractorsByExecution = new ConcurrentHashMap<>();
     private final JsonRecipeParser recipeParser = new JsonRecipeParser();
     private final List<ExecutionListener> executionListeners = new CopyOnWriteArrayList<>();
     private final List<RecipeFilter> recipeFilters = new CopyOnWriteArrayList<>();
-    private ObjectMapper objectMapper;
+    private final ObjectMapper objectMapper = createObjectMapper();
+    private volatile LocalExecutionThreads executionThreads;
+    private volatile ReplayServer replayServer;
+    private volatile HttpResponseCache responseCache;
+
+    /**
+     * Runs recipes on the specified threads instead of the threads managed by SoapUI, e.g. on virtual threads
+     * with {@link LocalExecutionThreads#virtualThreads(int)}. Null restores the default.
+     */
+    public void setExecutionThreads(LocalExecutionThreads executionThreads) {
+        this.executionThreads = executionThreads;
+    }
+
+    /**
+     * Sends the HTTP, REST and SOAP requests of recipes to the replay server instead of their endpoints, to run
+     * them against recorded exchanges. Null restores the default.
+     */
+    public void setReplayServer(ReplayServer replayServer) {
+        this.replayServer = replayServer;
+    }
+
+    /**
+     * Routes the requests of all executions through the response cache, which caches the responses to GET and HEAD
+     * requests. Null restores the default. Ignored while a replay server is set.
+     */
+    public void setResponseCache(HttpResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
 
     @Override
     public Execution submitRecipe(TestRecipe recipe) {
@@ -76,23 +120,58 @@ public class SoapUIRecipeExecutor implements RecipeExecutor {
     }
 
     private Execution postRecipe(TestRecipe testRecipe, boolean async) {
-        List<TestStep> proTestSteps = testRecipe.getTestCase().getTestSteps()
-                .stream()
-                .filter(testStep -> testStep.getType().equals(TestStepTypes.DATA_SOURCE.getName()))
-                .collect(Collectors.toList());
-        if (!proTestSteps.isEmpty()) {
-            throw new UnsupportedTestStepException("DataSource test step is supported only with Server execution mode.");
-        }
-
         String executionId = UUID.randomUUID().toString();
         try {
-            String jsonText = getObjectMapper().writeValueAsString(testRecipe.getTestCase());
-            TestCaseStruct testCaseStruct = getObjectMapper().readValue(jsonText, TestCaseStruct.class);
+            LocalExtractors extractors = LocalExtractors.prepare(testRecipe);
+            List<TestStep> testSteps = extractors.getTestSteps();
+            if (LocalDataSources.containsDataSource(testSteps)) {
+                LocalDataSources dataSources = LocalDataSources.expand(testSteps);
+                dataSourcesByExecution.put(executionId, dataSources);
+                testSteps = dataSources.getTestSteps();
+            }
+            ObjectNode testCaseNode = getObjectMapper().valueToTree(testRecipe.getTestCase());
+            if (testSteps != null) {
+                testCaseNode.set("testSteps", getObjectMapper().valueToTree(testSteps));
+            }
+            if (!extractors.getExtractorIds().isEmpty()) {
+                extractorsByExecution.put(executionId, extractors);
+                JsonNode testCaseProperties = testCaseNode.get("properties");
+                if (testCaseProperties instanceof ObjectNode) {
+                    ((ObjectNode) testCaseProperties).remove(extractors.getExtractorIds());
+                }
+            }
+            LocalAttachments attachments = LocalAttachments.detach(
+                    testSteps != null ? testSteps : testRecipe.getTestCase().getTestSteps(), testCaseNode);
+            TestCaseStruct testCaseStruct = getObjectMapper().treeToValue(testCaseNode, TestCaseStruct.class);
             WsdlProject project = recipeParser.parse(testCaseStruct);
+            attachments.attach(project);
+            ReplayServer replay = replayServer;
+            HttpResponseCache cache = responseCache;
+            InetSocketAddress routingServer = null;
+            if (replay != null) {
+                replay.route(project);
+                routingServer = replay.getAddress();
+            } else if (cache != null) {
+                cache.route(project);
+                routingServer = cache.getAddress();
+            }
+            LocalAssertions.replaceAssertions(testSteps, project);
             StringToObjectMap properties = new StringToObjectMap();
 
             WsdlProjectRunner projectRunner = new WsdlProjectRunner(project, properties);
-            SoapUIRecipeExecution execution = new SoapUIRecipeExecution(executionId, projectRunner);
+            SoapUIRecipeExecution execution = new SoapUIRecipeExecution(executionId, projectRunner, routingServer);
+
+            LocalExecutionThreads threads = executionThreads;
+            if (threads != null) {
+                executionsMap.put(executionId, execution);
+                if (async) {
+                    threads.execute(() -> runOnExecutionThread(testRecipe, execution, projectRunner));
+                } else {
+                    threads.runOnCallingThread(() -> projectRunner.start(false));
+                    notifyExecutionFinished(testRecipe, execution);
+                }
+                return execution;
+            }
 
             if (async) {
                 prepareAsyncExecution(testRecipe, execution, projectRunner);
@@ -104,19 +183,49 @@ public class SoapUIRecipeExecutor implements RecipeExecutor {
                 notifyExecutionFinished(testRecipe, execution);
             }
             return execution;
+        } catch (UnsupportedTestStepException e) {
+            extractorsByExecution.remove(executionId);
+            closeDataSources(executionId);
+            notifyErrorOccurred(e);
+            throw e;
         } catch (Exception e) {
+            extractorsByExecution.remove(executionId);
+            closeDataSources(executionId);
             notifyErrorOccurred(e);
             throw new RecipeExecutionException("Failed to execute Test recipe", e);
         }
     }
 
-    private ObjectMapper getObjectMapper() {
-        if (objectMapper == null) {
-            objectMapper = new ObjectMapper();
-            objectMapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY,
-                    JsonInclude.Include.ALWAYS));
-            objectMapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+    /**
+     * Runs a submitted recipe synchronously on a thread of the configured execution threads, unless it was
+     * canceled while waiting
+     */
+    private void runOnExecutionThread(TestRecipe testRecipe, SoapUIRecipeExecution execution, WsdlProjectRunner projectRunner) {
+        if (projectRunner.getStatus() == TestRunner.Status.CANCELED) {
+            notifyExecutionFinished(testRecipe, execution);
+            return;
         }
+        notifyExecutionStarted(execution);
+        try {
+            projectRunner.start(false);
+        } catch (Exception e) {
+            notifyErrorOccurred(e);
+        }
+        notifyExecutionFinished(testRecipe, execution);
+    }
+
+    private ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY,
+                JsonInclude.Include.ALWAYS));
+        objectMapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+        // file attachments are attached by LocalAttachments, not read into the tree
+        objectMapper.setConfig(objectMapper.getSerializationConfig()
+                .withAttribute(AttachmentContentSerializer.OMIT_FILE_CONTENT, Boolean.TRUE));
         return objectMapper;
     }
 
@@ -155,8 +264,20 @@ public class SoapUIRecipeExecutor implements RecipeExecutor {
         }
     }
 
+    private void closeDataSources(String executionId) {
+        LocalDataSources dataSources = dataSourcesByExecution.remove(executionId);
+        if (dataSources != null) {
+            dataSources.close();
+        }
+    }
+
     private void notifyExecutionFinished(TestRecipe testRecipe, Execution execution) {
+        closeDataSources(execution.getId());
         TestJobReport projectResultReport = execution.getCurrentReport();
+        LocalExtractors extractors = extractorsByExecution.remove(execution.getId());
+        if (extractors != null) {
+            extractors.run(execution.getExecutionResult());
+        }
         if (testRecipe.getExtractorData() != null) {
             DataExtractors.runDataExtractors(projectResultReport, Arrays.asList(testRecipe.getExtractorData()));
         }
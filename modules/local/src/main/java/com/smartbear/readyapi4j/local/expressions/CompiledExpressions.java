@@ -0,0 +1,104 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.jayway.jsonpath.JsonPath;
+import net.sf.saxon.s9api.Processor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide cache of the compiled JSONPath, XPath, XQuery and regular expressions used by the native
+ * assertions of the local engine, so that each distinct expression is only parsed once.
+ * <p>
+ * XPath and XQuery expressions are keyed by their expression and their namespace declarations, see
+ * {@link NamespacedExpression}. The cache holds at most {@value #DEFAULT_MAXIMUM_SIZE} expressions unless the
+ * {@value #MAXIMUM_SIZE_PROPERTY} system property says otherwise; least recently used ones are evicted first.
+ */
+public class CompiledExpressions {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 2000;
+
+    public static final String MAXIMUM_SIZE_PROPERTY = "readyapi4j.expressions.cacheSize";
+
+    private static final Processor processor = new Processor(false);
+
+    private static final Cache<String, Object> cache = CacheBuilder.newBuilder()
+            .maximumSize(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE))
+            .recordStats()
+            .build();
+
+    /**
+     * @throws IllegalArgumentException if the expression is not a valid JSONPath
+     */
+    public static JsonPath jsonPath(String expression) {
+        return get("jsonpath:" + expression, () -> JsonPath.compile(expression));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not a valid regular expression
+     */
+    public static Pattern regex(String expression) {
+        return get("regex:" + expression, () -> Pattern.compile(expression));
+    }
+
+    /**
+     * @param expression the XPath expression, optionally preceded by namespace declarations
+     * @throws IllegalArgumentException if the expression is not a valid XPath
+     */
+    public static CompiledXPath xpath(String expression) {
+        NamespacedExpression namespacedExpression = NamespacedExpression.parse(expression);
+        return get("xpath:" + namespacedExpression.getKey(), () -> new CompiledXPath(namespacedExpression));
+    }
+
+    /**
+     * @param expression the XQuery expression, optionally preceded by namespace declarations
+     * @throws IllegalArgumentException if the expression is not a valid XQuery
+     */
+    public static CompiledXQuery xquery(String expression) {
+        NamespacedExpression namespacedExpression = NamespacedExpression.parse(expression);
+        return get("xquery:" + namespacedExpression.getKey(), () -> new CompiledXQuery(processor, namespacedExpression));
+    }
+
+    static Processor getProcessor() {
+        return processor;
+    }
+
+    /**
+     * @return hits, misses and evictions of the cache, with compilations counted as loads
+     */
+    public static CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Removes all cached expressions
+     */
+    public static void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the number of currently cached expressions
+     */
+    public static long size() {
+        return cache.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T get(String key, Callable<T> compiler) {
+        try {
+            return (T) cache.get(key, compiler);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalArgumentException("Invalid expression [" + key + "]: " + e.getCause().getMessage(),
+                    e.getCause());
+        }
+    }
+
+    private CompiledExpressions() {
+    }
+}
@@ -0,0 +1,98 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled XPath expression that can be shared between threads. JAXP expressions are not thread-safe, so the
+ * expression is compiled once to validate it and then once more for each thread that evaluates it.
+ */
+public class CompiledXPath {
+    private final NamespacedExpression expression;
+    private final ThreadLocal<XPathExpression> compiledExpression;
+
+    CompiledXPath(NamespacedExpression expression) throws XPathExpressionException {
+        this.expression = expression;
+        XPathExpression validated = compile(expression);
+        this.compiledExpression = ThreadLocal.withInitial(() -> {
+            try {
+                return compile(expression);
+            } catch (XPathExpressionException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        this.compiledExpression.set(validated);
+    }
+
+    public NamespacedExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return the selected nodes, or the string value of the result if the expression doesn't select nodes,
+     * e.g. <code>count(//city)</code>
+     */
+    public List<Object> evaluate(Node document) throws XPathExpressionException {
+        XPathExpression xpath = compiledExpression.get();
+        NodeList nodes;
+        try {
+            nodes = (NodeList) xpath.evaluate(document, XPathConstants.NODESET);
+        } catch (XPathExpressionException e) {
+            return Collections.singletonList(xpath.evaluate(document, XPathConstants.STRING));
+        }
+        List<Object> result = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            result.add(nodes.item(i));
+        }
+        return result;
+    }
+
+    private static XPathExpression compile(NamespacedExpression expression) throws XPathExpressionException {
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        xpath.setNamespaceContext(new MapNamespaceContext(expression.getNamespaces()));
+        return xpath.compile(expression.getExpression());
+    }
+
+    private static class MapNamespaceContext implements NamespaceContext {
+        private final Map<String, String> namespaces;
+
+        MapNamespaceContext(Map<String, String> namespaces) {
+            this.namespaces = namespaces;
+        }
+
+        @Override
+        public String getNamespaceURI(String prefix) {
+            String namespaceUri = namespaces.get(prefix);
+            return namespaceUri == null ? XMLConstants.NULL_NS_URI : namespaceUri;
+        }
+
+        @Override
+        public String getPrefix(String namespaceURI) {
+            for (Map.Entry<String, String> entry : namespaces.entrySet()) {
+                if (entry.getValue().equals(namespaceURI)) {
+                    return entry.getKey();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<String> getPrefixes(String namespaceURI) {
+            String prefix = getPrefix(namespaceURI);
+            return prefix == null ? Collections.<String>emptyIterator() : Collections.singletonList(prefix).iterator();
+        }
+    }
+}
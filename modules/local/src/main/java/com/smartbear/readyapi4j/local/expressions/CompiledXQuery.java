@@ -0,0 +1,47 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XQueryCompiler;
+import net.sf.saxon.s9api.XQueryEvaluator;
+import net.sf.saxon.s9api.XQueryExecutable;
+import net.sf.saxon.s9api.XdmItem;
+import net.sf.saxon.s9api.XdmNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled XQuery expression. Saxon executables are thread-safe, each evaluation loads an evaluator of its own.
+ */
+public class CompiledXQuery {
+    private final NamespacedExpression expression;
+    private final XQueryExecutable executable;
+
+    CompiledXQuery(Processor processor, NamespacedExpression expression) throws SaxonApiException {
+        this.expression = expression;
+        XQueryCompiler compiler = processor.newXQueryCompiler();
+        for (Map.Entry<String, String> namespace : expression.getNamespaces().entrySet()) {
+            compiler.declareNamespace(namespace.getKey(), namespace.getValue());
+        }
+        this.executable = compiler.compile(expression.getExpression());
+    }
+
+    public NamespacedExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return the result items, nodes serialized as XML and atomic values as their string value
+     */
+    public List<String> evaluate(XdmNode document) throws SaxonApiException {
+        XQueryEvaluator evaluator = executable.load();
+        evaluator.setContextItem(document);
+        List<String> result = new ArrayList<>();
+        for (XdmItem item : evaluator.evaluate()) {
+            result.add(item.isAtomicValue() ? item.getStringValue() : item.toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,29 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import com.jayway.jsonpath.Configuration;
+
+/**
+ * Parsing of JSON content for JSONPath evaluation, and conversion of the evaluated values back to text.
+ */
+public class JsonContent {
+
+    /**
+     * @return the content parsed by the default JSONPath provider
+     */
+    public static Object parse(String json) {
+        return Configuration.defaultConfiguration().jsonProvider().parse(json);
+    }
+
+    /**
+     * @return the text of strings, numbers and booleans, other values as JSON
+     */
+    public static String toString(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        return Configuration.defaultConfiguration().jsonProvider().toJson(value);
+    }
+
+    private JsonContent() {
+    }
+}
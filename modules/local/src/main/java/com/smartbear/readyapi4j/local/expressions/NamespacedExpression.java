@@ -0,0 +1,53 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An XPath or XQuery expression split into the namespace declarations it starts with and the expression itself,
+ * e.g. <code>declare namespace ns='http://example.com/ns'; //ns:address/ns:city</code>.
+ */
+public class NamespacedExpression {
+    private static final Pattern DECLARATION = Pattern.compile(
+            "\\s*declare\\s+namespace\\s+([\\w.\\-]+)\\s*=\\s*(['\"])(.*?)\\2\\s*;");
+
+    private final String expression;
+    private final Map<String, String> namespaces;
+
+    private NamespacedExpression(String expression, Map<String, String> namespaces) {
+        this.expression = expression;
+        this.namespaces = Collections.unmodifiableMap(namespaces);
+    }
+
+    public static NamespacedExpression parse(String text) {
+        Map<String, String> namespaces = new TreeMap<>();
+        Matcher matcher = DECLARATION.matcher(text);
+        int end = 0;
+        while (matcher.region(end, text.length()).lookingAt()) {
+            namespaces.put(matcher.group(1), matcher.group(3));
+            end = matcher.end();
+        }
+        return new NamespacedExpression(text.substring(end).trim(), namespaces);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return the declared namespace URIs by prefix, sorted by prefix
+     */
+    public Map<String, String> getNamespaces() {
+        return namespaces;
+    }
+
+    /**
+     * @return a key that is the same for expressions that only differ in the order of their declarations
+     */
+    public String getKey() {
+        return namespaces + expression;
+    }
+}
@@ -0,0 +1,78 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmNode;
+import org.w3c.dom.Document;
+
+import javax.xml.transform.dom.DOMSource;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The parsed forms of a response, shared by all native assertions on the response so that its body is parsed
+ * at most once as JSON and once as XML. Documents are kept per response object, usually the MessageExchange of
+ * a test step run, for as long as that object is in use.
+ * <p>
+ * The content passed to the getters is only read if the document hasn't been parsed yet; callers pass the same
+ * content for the same response.
+ */
+public class ResponseDocuments {
+    private static final int MAXIMUM_SIZE = 1000;
+
+    private static final Cache<Object, ResponseDocuments> documentsByResponse = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    private Object json;
+    private Document xml;
+    private XdmNode xdmNode;
+
+    private ResponseDocuments() {
+    }
+
+    /**
+     * @param response the response, compared by identity
+     */
+    public static ResponseDocuments forResponse(Object response) {
+        try {
+            return documentsByResponse.get(response, ResponseDocuments::new);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the JSON content parsed by the default JSONPath provider
+     */
+    public synchronized Object getJson(Callable<String> content) throws Exception {
+        if (json == null) {
+            json = JsonContent.parse(content.call());
+        }
+        return json;
+    }
+
+    public synchronized Document getXml(Callable<String> content) throws Exception {
+        if (xml == null) {
+            xml = XmlContent.parse(content.call());
+        }
+        return xml;
+    }
+
+    /**
+     * @return the XML content as a Saxon node for XQuery, built from {@link #getXml(Callable)}
+     */
+    public synchronized XdmNode getXdmNode(Callable<String> content) throws Exception {
+        if (xdmNode == null) {
+            xdmNode = buildXdmNode(getXml(content));
+        }
+        return xdmNode;
+    }
+
+    private static XdmNode buildXdmNode(Document document) throws SaxonApiException {
+        return CompiledExpressions.getProcessor().newDocumentBuilder().build(new DOMSource(document));
+    }
+}
@@ -0,0 +1,31 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import java.util.regex.Pattern;
+
+/**
+ * Comparison of actual content with expected content in which a * matches any text, as in the XPath, XQuery
+ * and JSONPath assertions of SoapUI.
+ */
+public class Wildcards {
+
+    /**
+     * @param allowWildcards if false, or if the expected content has no *, the content has to be equal
+     */
+    public static boolean matches(String actual, String expected, boolean allowWildcards) {
+        if (!allowWildcards || !expected.contains("*")) {
+            return actual.equals(expected);
+        }
+        StringBuilder regex = new StringBuilder("(?s)");
+        String[] parts = expected.split("\\*", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(parts[i]));
+        }
+        return CompiledExpressions.regex(regex.toString()).matcher(actual).matches();
+    }
+
+    private Wildcards() {
+    }
+}
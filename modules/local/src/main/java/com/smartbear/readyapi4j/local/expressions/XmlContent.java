@@ -0,0 +1,165 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsing, serialization and comparison of the XML content that XPath and XQuery assertions select.
+ */
+public class XmlContent {
+    private static final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(() -> {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            return factory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    public static Document parse(String xml) throws Exception {
+        DocumentBuilder builder = documentBuilder.get();
+        builder.reset();
+        return builder.parse(new InputSource(new StringReader(xml)));
+    }
+
+    /**
+     * @return the value of attributes and text nodes, other nodes serialized as XML without declaration
+     */
+    public static String toString(Node node) throws TransformerException {
+        if (node.getNodeType() != Node.ELEMENT_NODE && node.getNodeType() != Node.DOCUMENT_NODE) {
+            return node.getNodeValue();
+        }
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        StringWriter writer = new StringWriter();
+        transformer.transform(new DOMSource(node), new StreamResult(writer));
+        return writer.toString();
+    }
+
+    /**
+     * Compares actual content with expected content. If both are XML, they are compared structurally, ignoring
+     * whitespace between elements, prefixes and attribute order; otherwise they are compared as trimmed text.
+     *
+     * @param allowWildcards if a * in the expected content matches any text
+     */
+    public static boolean matches(String actual, String expected, boolean allowWildcards, boolean ignoreComments) {
+        if (actual == null || expected == null) {
+            return actual == null && expected == null;
+        }
+        String trimmedActual = actual.trim();
+        String trimmedExpected = expected.trim();
+        if (trimmedActual.startsWith("<") && trimmedExpected.startsWith("<")) {
+            try {
+                return nodesMatch(parse(trimmedActual).getDocumentElement(), parse(trimmedExpected).getDocumentElement(),
+                        allowWildcards, ignoreComments);
+            } catch (Exception e) {
+                // not well-formed, e.g. an expected fragment with undeclared prefixes, compare as text
+            }
+        }
+        return Wildcards.matches(trimmedActual, trimmedExpected, allowWildcards);
+    }
+
+    private static boolean nodesMatch(Node actual, Node expected, boolean allowWildcards, boolean ignoreComments) {
+        if ((actual.getNodeType() == Node.ELEMENT_NODE) != (expected.getNodeType() == Node.ELEMENT_NODE)) {
+            return false;
+        }
+        if (expected.getNodeType() != Node.ELEMENT_NODE) {
+            // text, CDATA or comment
+            return Wildcards.matches(actual.getNodeValue().trim(), expected.getNodeValue().trim(), allowWildcards);
+        }
+        if (!equal(actual.getNamespaceURI(), expected.getNamespaceURI()) ||
+                !equal(actual.getLocalName(), expected.getLocalName()) ||
+                !attributesMatch(actual.getAttributes(), expected.getAttributes(), allowWildcards)) {
+            return false;
+        }
+        List<Node> actualChildren = significantChildren(actual, ignoreComments);
+        List<Node> expectedChildren = significantChildren(expected, ignoreComments);
+        if (actualChildren.size() != expectedChildren.size()) {
+            return false;
+        }
+        for (int i = 0; i < expectedChildren.size(); i++) {
+            if (!nodesMatch(actualChildren.get(i), expectedChildren.get(i), allowWildcards, ignoreComments)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean attributesMatch(NamedNodeMap actual, NamedNodeMap expected, boolean allowWildcards) {
+        int expectedCount = 0;
+        for (int i = 0; i < expected.getLength(); i++) {
+            Attr attribute = (Attr) expected.item(i);
+            if (isNamespaceDeclaration(attribute)) {
+                continue;
+            }
+            expectedCount++;
+            Attr actualAttribute = (Attr) actual.getNamedItemNS(attribute.getNamespaceURI(), attribute.getLocalName());
+            if (actualAttribute == null || !Wildcards.matches(actualAttribute.getValue(), attribute.getValue(), allowWildcards)) {
+                return false;
+            }
+        }
+        int actualCount = 0;
+        for (int i = 0; i < actual.getLength(); i++) {
+            if (!isNamespaceDeclaration((Attr) actual.item(i))) {
+                actualCount++;
+            }
+        }
+        return actualCount == expectedCount;
+    }
+
+    private static boolean isNamespaceDeclaration(Attr attribute) {
+        return XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI());
+    }
+
+    private static List<Node> significantChildren(Node node, boolean ignoreComments) {
+        List<Node> children = new ArrayList<>();
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.TEXT_NODE:
+                case Node.CDATA_SECTION_NODE:
+                    if (!child.getNodeValue().trim().isEmpty()) {
+                        children.add(child);
+                    }
+                    break;
+                case Node.COMMENT_NODE:
+                    if (!ignoreComments) {
+                        children.add(child);
+                    }
+                    break;
+                case Node.ELEMENT_NODE:
+                    children.add(child);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return children;
+    }
+
+    private static boolean equal(String first, String second) {
+        return first == null ? second == null : first.equals(second);
+    }
+
+    private XmlContent() {
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Compiled-expression and parsed-response caching for the native assertions of the local engine.
+ */
+package com.smartbear.readyapi4j.local.expressions;
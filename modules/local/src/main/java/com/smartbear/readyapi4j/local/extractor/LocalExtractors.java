@@ -0,0 +1,193 @@
+package com.smartbear.readyapi4j.local.extractor;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.PropertyTransfer;
+import com.smartbear.readyapi4j.client.model.PropertyTransferTestStep;
+import com.smartbear.readyapi4j.client.model.TestStep;
+import com.smartbear.readyapi4j.extractor.Extractor;
+import com.smartbear.readyapi4j.extractor.ExtractorData;
+import com.smartbear.readyapi4j.local.expressions.CompiledExpressions;
+import com.smartbear.readyapi4j.local.expressions.JsonContent;
+import com.smartbear.readyapi4j.local.expressions.XmlContent;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+import com.smartbear.readyapi4j.teststeps.propertytransfer.PathLanguage;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates the extractors of a recipe on the client, against the responses of the executed test steps, instead
+ * of transferring the extracted values into test case properties during the execution.
+ * <p>
+ * Only the Property Transfer steps that TestRecipeBuilder adds for extractors are removed, and only if all their
+ * extractors are JSONPath or XPath extractors on the Response property; other extractors, e.g. on ResponseAsXml
+ * or on a test step property, keep their transfers and are run by {@link com.smartbear.readyapi4j.extractor.DataExtractors}.
+ * Responses are evaluated in parallel across test steps with compiled expressions, the extractor operators are
+ * called afterwards on the calling thread, in the order the extractors were added.
+ */
+public class LocalExtractors {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalExtractors.class);
+
+    private final ExtractorData extractorData;
+    private final List<TestStep> testSteps;
+    private final Set<String> extractorIds;
+    private final Map<String, List<String>> extractorIdsBySourceStep;
+
+    private LocalExtractors(ExtractorData extractorData, List<TestStep> testSteps, Set<String> extractorIds,
+                            Map<String, List<String>> extractorIdsBySourceStep) {
+        this.extractorData = extractorData;
+        this.testSteps = testSteps;
+        this.extractorIds = Collections.unmodifiableSet(extractorIds);
+        this.extractorIdsBySourceStep = extractorIdsBySourceStep;
+    }
+
+    /**
+     * Finds the extractors of the recipe that can be evaluated on the client, the recipe itself is not modified
+     */
+    public static LocalExtractors prepare(TestRecipe recipe) {
+        List<TestStep> recipeSteps = recipe.getTestCase().getTestSteps();
+        ExtractorData extractorData = recipe.getExtractorData();
+        if (extractorData == null || recipeSteps == null || extractorData.getExtractorIds().isEmpty()) {
+            return new LocalExtractors(extractorData, recipeSteps, Collections.emptySet(), Collections.emptyMap());
+        }
+
+        List<TestStep> testSteps = new ArrayList<>();
+        Set<String> extractorIds = new LinkedHashSet<>();
+        Map<String, List<String>> extractorIdsBySourceStep = new LinkedHashMap<>();
+        for (TestStep testStep : recipeSteps) {
+            if (!isLocalExtractorStep(testStep, extractorData)) {
+                testSteps.add(testStep);
+                continue;
+            }
+            for (PropertyTransfer transfer : ((PropertyTransferTestStep) testStep).getTransfers()) {
+                Extractor extractor = extractorData.getExtractor(transfer.getName());
+                extractorIds.add(transfer.getName());
+                extractorIdsBySourceStep.computeIfAbsent(extractor.getSource(), source -> new ArrayList<>())
+                        .add(transfer.getName());
+            }
+        }
+        return new LocalExtractors(extractorData, testSteps, extractorIds, extractorIdsBySourceStep);
+    }
+
+    private static boolean isLocalExtractorStep(TestStep testStep, ExtractorData extractorData) {
+        if (!(testStep instanceof PropertyTransferTestStep)) {
+            return false;
+        }
+        List<PropertyTransfer> transfers = ((PropertyTransferTestStep) testStep).getTransfers();
+        if (transfers == null || transfers.isEmpty()) {
+            return false;
+        }
+        for (PropertyTransfer transfer : transfers) {
+            Extractor extractor = transfer.getName() == null ? null : extractorData.getExtractor(transfer.getName());
+            if (extractor == null || !isLocal(extractor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocal(Extractor extractor) {
+        return extractor.getSource() != null && "Response".equals(extractor.getProperty()) &&
+                StringUtils.isNotEmpty(extractor.getPath()) &&
+                (extractor.getPathLanguage() == PathLanguage.JSONPath || extractor.getPathLanguage() == PathLanguage.XPath);
+    }
+
+    /**
+     * @return the test steps of the recipe without the Property Transfer steps of client-side extractors
+     */
+    public List<TestStep> getTestSteps() {
+        return testSteps;
+    }
+
+    /**
+     * @return the ExtractorIds evaluated on the client, their test case properties are not needed
+     */
+    public Set<String> getExtractorIds() {
+        return extractorIds;
+    }
+
+    /**
+     * Evaluates the extractors against the last response of their source test steps and calls their operators.
+     * Like a failed property transfer, an extractor whose path can't be evaluated gets an empty value.
+     */
+    public void run(RecipeExecutionResult executionResult) {
+        if (extractorIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> values = new ConcurrentHashMap<>();
+        extractorIdsBySourceStep.entrySet().parallelStream().forEach(entry -> {
+            Optional<TestStepResult> result = executionResult.getLastTestStepResult(entry.getKey());
+            String content = result.isPresent() ? result.get().getResponseContent() : null;
+            if (content != null) {
+                ResponseContent responseContent = new ResponseContent(content);
+                for (String extractorId : entry.getValue()) {
+                    String value = responseContent.evaluate(extractorData.getExtractor(extractorId));
+                    if (value != null) {
+                        values.put(extractorId, value);
+                    }
+                }
+            }
+        });
+
+        for (String extractorId : extractorIds) {
+            extractorData.getExtractorOperator(extractorId).extractValue(values.getOrDefault(extractorId, ""));
+        }
+    }
+
+    /**
+     * A response body, parsed once for all extractors on it
+     */
+    private static class ResponseContent {
+        private final String content;
+        private Object json;
+        private Node xml;
+
+        ResponseContent(String content) {
+            this.content = content;
+        }
+
+        String evaluate(Extractor extractor) {
+            try {
+                if (extractor.getPathLanguage() == PathLanguage.JSONPath) {
+                    if (json == null) {
+                        json = JsonContent.parse(content);
+                    }
+                    return JsonContent.toString(CompiledExpressions.jsonPath(extractor.getPath()).read(json));
+                }
+                if (xml == null) {
+                    xml = XmlContent.parse(content);
+                }
+                List<Object> result = CompiledExpressions.xpath(extractor.getPath()).evaluate(xml);
+                if (result.isEmpty()) {
+                    return null;
+                }
+                Object first = result.get(0);
+                return first instanceof Node ? toString((Node) first) : String.valueOf(first);
+            } catch (Exception e) {
+                LOG.debug("Failed to extract [{}] from the response of {}", extractor.getPath(), extractor.getSource(), e);
+                return null;
+            }
+        }
+
+        private static String toString(Node node) throws Exception {
+            for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (child.getNodeType() == Node.ELEMENT_NODE) {
+                    return XmlContent.toString(node);
+                }
+            }
+            return node.getTextContent();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.smartbear.readyapi4j.local.http;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A response received from an origin server, with the freshness and validators of its headers as defined for
+ * shared caches by RFC 7234.
+ */
+class CachedResponse {
+    private static final Set<Integer> CACHEABLE_STATUSES = ImmutableSet.of(200, 203, 204, 300, 301, 404, 405, 410, 414, 501);
+    private static final long NO_FRESHNESS = -1;
+
+    private final int status;
+    private final List<Map.Entry<String, String>> headers;
+    private final byte[] body;
+    private final long responseTime;
+    private final long initialAge;
+    private final long freshnessLifetime;
+    private final Map<String, String> cacheControl;
+
+    private CachedResponse(int status, List<Map.Entry<String, String>> headers, byte[] body, long responseTime) {
+        this.status = status;
+        this.headers = Collections.unmodifiableList(headers);
+        this.body = body;
+        this.responseTime = responseTime;
+        this.cacheControl = parseCacheControl(getHeaders("Cache-Control"));
+        this.initialAge = TimeUnit.SECONDS.toMillis(Math.max(0, parseSeconds(getHeader("Age"), 0)));
+        this.freshnessLifetime = computeFreshnessLifetime();
+    }
+
+    /**
+     * @param responseTime the time the response was received, in milliseconds since the epoch
+     */
+    static CachedResponse received(int status, List<Map.Entry<String, String>> headers, byte[] body, long responseTime) {
+        return new CachedResponse(status, new ArrayList<>(headers), body, responseTime);
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    List<Map.Entry<String, String>> getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @return the first value of the header, the name is case-insensitive
+     */
+    String getHeader(String name) {
+        for (Map.Entry<String, String> header : headers) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    private List<String> getHeaders(String name) {
+        List<String> values = new ArrayList<>();
+        for (Map.Entry<String, String> header : headers) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                values.add(header.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * A shared cache may store the response if its status is cacheable by default, it doesn't forbid storing, it's
+     * only private if the credentials are part of the cache key, it only varies by headers of the cache key and it
+     * is either fresh for some time or can be revalidated
+     *
+     * @param keyHeaders the lower case names of the request headers of the cache key
+     */
+    boolean isStorable(Collection<String> keyHeaders) {
+        if (!CACHEABLE_STATUSES.contains(status) || cacheControl.containsKey("no-store")) {
+            return false;
+        }
+        if (cacheControl.containsKey("private") && !keyHeaders.contains("authorization")) {
+            return false;
+        }
+        for (String vary : getHeaders("Vary")) {
+            for (String headerName : vary.split(",")) {
+                String name = headerName.trim().toLowerCase(Locale.ROOT);
+                if (name.equals("*") || (!name.isEmpty() && !keyHeaders.contains(name))) {
+                    return false;
+                }
+            }
+        }
+        return freshnessLifetime > 0 || hasValidators();
+    }
+
+    boolean isFresh(long now) {
+        return !cacheControl.containsKey("no-cache") && freshnessLifetime > 0 &&
+                initialAge + (now - responseTime) < freshnessLifetime;
+    }
+
+    boolean hasValidators() {
+        return getHeader("ETag") != null || getHeader("Last-Modified") != null;
+    }
+
+    /**
+     * @return this response with the headers of the 304 response to its revalidation, received at responseTime
+     */
+    CachedResponse revalidated(CachedResponse notModified, long responseTime) {
+        Set<String> updatedNames = new HashSet<>();
+        for (Map.Entry<String, String> header : notModified.headers) {
+            updatedNames.add(header.getKey().toLowerCase(Locale.ROOT));
+        }
+        List<Map.Entry<String, String>> mergedHeaders = new ArrayList<>();
+        for (Map.Entry<String, String> header : headers) {
+            if (!updatedNames.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                mergedHeaders.add(header);
+            }
+        }
+        mergedHeaders.addAll(notModified.headers);
+        return new CachedResponse(status, mergedHeaders, body, responseTime);
+    }
+
+    /**
+     * @return an approximation of the memory used by the response, in bytes
+     */
+    int weight() {
+        long weight = 64 + body.length;
+        for (Map.Entry<String, String> header : headers) {
+            weight += 2 * (header.getKey().length() + header.getValue().length());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private long computeFreshnessLifetime() {
+        long maxAge = parseSeconds(cacheControl.get("s-maxage"), NO_FRESHNESS);
+        if (maxAge == NO_FRESHNESS) {
+            maxAge = parseSeconds(cacheControl.get("max-age"), NO_FRESHNESS);
+        }
+        if (maxAge != NO_FRESHNESS) {
+            return TimeUnit.SECONDS.toMillis(maxAge);
+        }
+        String expires = getHeader("Expires");
+        if (expires != null) {
+            // an invalid date, e.g. 0, means already expired
+            Long expiresTime = parseDate(expires);
+            Long date = parseDate(getHeader("Date"));
+            return expiresTime == null ? 0 : Math.max(0, expiresTime - (date != null ? date : responseTime));
+        }
+        return NO_FRESHNESS;
+    }
+
+    static Map<String, String> parseCacheControl(List<String> values) {
+        Map<String, String> directives = new HashMap<>();
+        for (String value : values) {
+            for (String directive : value.split(",")) {
+                int separator = directive.indexOf('=');
+                String name = (separator < 0 ? directive : directive.substring(0, separator)).trim().toLowerCase(Locale.ROOT);
+                if (!name.isEmpty()) {
+                    directives.put(name, separator < 0 ? "" : directive.substring(separator + 1).trim().replace("\"", ""));
+                }
+            }
+        }
+        return directives;
+    }
+
+    private static long parseSeconds(String value, long defaultValue) {
+        try {
+            return value == null ? defaultValue : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Long parseDate(String value) {
+        try {
+            return value == null ? null : ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,658 @@
+package com.smartbear.readyapi4j.local.http;
+
+import com.eviware.soapui.SoapUI;
+import com.eviware.soapui.impl.wsdl.WsdlProject;
+import com.eviware.soapui.impl.wsdl.support.http.HttpClientSupport;
+import com.eviware.soapui.model.settings.Settings;
+import com.eviware.soapui.settings.ProxySettings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.params.HttpClientParams;
+import org.apache.http.client.protocol.ClientContext;
+import org.apache.http.conn.params.ConnRouteParams;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in HTTP response cache for local runs, shared by all executions of the SoapUIRecipeExecutor it's set on.
+ * <p>
+ * All HTTP, REST and SOAP requests are routed through the cache, with {@link RoutedEndpoints}, but only the
+ * responses to GET and HEAD requests are cached. Requests with any other method are passed through, and once
+ * they succeed the cached responses for their URL, and for the URLs in the Location and Content-Location headers
+ * of their response, are invalidated. Responses are stored and reused as by a shared cache: they're reused while fresh
+ * according to Cache-Control or Expires, and revalidated with If-None-Match or If-Modified-Since once stale or if
+ * the response requires it. Responses without freshness or validators, with Cache-Control: no-store, or varying
+ * by headers that aren't part of the cache key, aren't stored.
+ * <p>
+ * The cache key is the method, the URL and the values of the key headers. The memory used by the cached responses
+ * is bounded by the maximum weight in bytes, least recently used responses are evicted first. Responses with a body
+ * larger than an eighth of the maximum weight aren't stored. Only the bodies of stored responses are held in memory,
+ * request bodies and all other responses are streamed through. Close the cache once it's no longer used.
+ * <p>
+ * Requests are forwarded with SoapUI's HTTP client, so its SSL settings and proxy preferences apply, with the
+ * connect and read timeouts of the cache. Authentication is forwarded as the request headers SoapUI sent, so
+ * authentication that needs a challenge, e.g. NTLM, doesn't work through the cache.
+ */
+public class HttpResponseCache implements Closeable {
+    public static final String CACHE_HEADER = "X-Readyapi4j-Cache";
+    public static final String MAXIMUM_WEIGHT_PROPERTY = "readyapi4j.responseCache.maximumWeight";
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpResponseCache.class);
+    private static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+    private static final int MAXIMUM_ENTRY_FRACTION = 8;
+    private static final int DEFAULT_CONNECT_TIMEOUT = 30_000;
+    private static final int DEFAULT_READ_TIMEOUT = 60_000;
+    private static final List<String> DEFAULT_KEY_HEADERS = Arrays.asList("Accept", "Accept-Encoding",
+            "Accept-Language", "Authorization");
+    private static final Set<String> CACHED_METHODS = ImmutableSet.of("GET", "HEAD");
+    private static final Set<String> UNFORWARDED_HEADERS = ImmutableSet.of("host", "connection", "keep-alive",
+            "proxy-authenticate", "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade",
+            "content-length");
+    private static final Set<String> CONDITIONAL_HEADERS = ImmutableSet.of("if-none-match", "if-modified-since",
+            "if-match", "if-unmodified-since", "if-range");
+
+    private final Cache<String, CachedResponse> responses;
+    private final long maximumEntrySize;
+    private final List<String> keyHeaders;
+    private final Set<String> lowerCaseKeyHeaders;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final HttpServer server;
+    private final ExecutorService executorService;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder revalidationCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder bypassCount = new LongAdder();
+
+    private HttpResponseCache(Builder builder) throws IOException {
+        this.responses = CacheBuilder.newBuilder()
+                .maximumWeight(builder.maximumWeight)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .recordStats()
+                .build();
+        this.maximumEntrySize = builder.maximumWeight / MAXIMUM_ENTRY_FRACTION;
+        this.keyHeaders = Collections.unmodifiableList(new ArrayList<>(builder.keyHeaders));
+        Set<String> lowerCaseNames = new LinkedHashSet<>();
+        for (String keyHeader : keyHeaders) {
+            lowerCaseNames.add(keyHeader.toLowerCase(Locale.ROOT));
+        }
+        this.lowerCaseKeyHeaders = Collections.unmodifiableSet(lowerCaseNames);
+        this.connectTimeout = builder.connectTimeout;
+        this.readTimeout = builder.readTimeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "readyapi4j-response-cache-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executorService);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return true for the methods whose responses are cached, GET and HEAD
+     */
+    public static boolean isCachedMethod(String method) {
+        return method != null && CACHED_METHODS.contains(method.toUpperCase(Locale.ROOT));
+    }
+
+    public List<String> getKeyHeaders() {
+        return keyHeaders;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the address requests are routed to
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * @return the URL of the endpoint on the cache, or the endpoint itself if it can't be routed through the cache
+     */
+    public String toCacheEndpoint(String endpoint) {
+        String cacheEndpoint = RoutedEndpoints.toRoutedEndpoint(server.getAddress(), endpoint);
+        return cacheEndpoint != null ? cacheEndpoint : endpoint;
+    }
+
+    /**
+     * Routes the requests of the project created by the recipe parser through the cache, all of them so that
+     * requests that change a resource invalidate its cached responses
+     */
+    public void route(WsdlProject project) {
+        RoutedEndpoints.route(project, server.getAddress(), method -> true);
+    }
+
+    public ResponseCacheStats stats() {
+        return new ResponseCacheStats(hitCount.sum(), revalidationCount.sum(), missCount.sum(), bypassCount.sum(),
+                responses.stats().evictionCount());
+    }
+
+    public long size() {
+        return responses.size();
+    }
+
+    public void clear() {
+        responses.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executorService.shutdownNow();
+        responses.invalidateAll();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+        String url = RoutedEndpoints.toOriginalUrl(exchange.getRequestURI());
+        try {
+            if (url == null) {
+                sendError(exchange, 404, "Not a request routed through the response cache: " + exchange.getRequestURI());
+                return;
+            }
+            Headers requestHeaders = exchange.getRequestHeaders();
+            List<String> cacheControlValues = requestHeaders.get("Cache-Control");
+            Map<String, String> requestCacheControl = CachedResponse.parseCacheControl(
+                    cacheControlValues != null ? cacheControlValues : Collections.emptyList());
+            if (!isCachedMethod(method) || requestCacheControl.containsKey("no-store")) {
+                bypassCount.increment();
+                bypass(exchange, method, url);
+                return;
+            }
+
+            String key = key(method, url, requestHeaders);
+            CachedResponse cached = responses.getIfPresent(key);
+            boolean noCache = requestCacheControl.containsKey("no-cache") ||
+                    "no-cache".equalsIgnoreCase(requestHeaders.getFirst("Pragma"));
+            if (cached != null && !noCache && cached.isFresh(System.currentTimeMillis())) {
+                hitCount.increment();
+                send(exchange, cached, "HIT");
+                return;
+            }
+
+            CachedResponse validated = cached != null && cached.hasValidators() ? cached : null;
+            fetch(exchange, method, url, key, validated);
+        } catch (IOException e) {
+            LOG.debug("Failed to forward {} {}", method, url, e);
+            sendError(exchange, 502, "Failed to forward the request: " + e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to handle {} {}", method, url, e);
+            sendError(exchange, 500, "Failed to handle the request: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Keys start with the method and the URL, so that the responses for a URL can be invalidated, the values of
+     * the key headers are hashed so that credentials aren't kept in the keys
+     */
+    private String key(String method, String url, Headers requestHeaders) {
+        StringBuilder headerValues = new StringBuilder();
+        for (String keyHeader : keyHeaders) {
+            List<String> values = requestHeaders.get(keyHeader);
+            headerValues.append(keyHeader).append(':').append(values == null ? "" : String.join(",", values)).append('\n');
+        }
+        return method + " " + url + " " + Hashing.sha256().hashString(headerValues, StandardCharsets.UTF_8);
+    }
+
+    private void invalidate(String url) {
+        responses.asMap().keySet().removeIf(key -> key.startsWith("GET " + url + " ") || key.startsWith("HEAD " + url + " "));
+    }
+
+    /**
+     * Invalidates a location of a response, relative to the request URL, if it's on the same host
+     */
+    private void invalidateLocation(String url, String location) {
+        if (location == null) {
+            return;
+        }
+        try {
+            URI requestUri = new URI(url);
+            URI locationUri = requestUri.resolve(location.trim());
+            if (Objects.equals(requestUri.getRawAuthority(), locationUri.getRawAuthority())) {
+                invalidate(locationUri.toString());
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            LOG.debug("Ignoring invalid location {} of {}", location, url);
+        }
+    }
+
+    /**
+     * Forwards a request that isn't cached, streaming its body to the endpoint and the response back, and
+     * invalidates the cached responses of the resource if the request may have changed it
+     */
+    private void bypass(HttpExchange exchange, String method, String url) throws IOException {
+        ForwardedRequest request = forwardedRequest(method, url, exchange.getRequestHeaders(), null);
+        HttpEntity requestBody = requestBody(exchange);
+        if (requestBody != null) {
+            request.setEntity(requestBody);
+        }
+        HttpResponse response = execute(request);
+        try {
+            int status = response.getStatusLine().getStatusCode();
+            if (!isCachedMethod(method) && status < 400) {
+                invalidate(url);
+                invalidateLocation(url, firstHeader(response, "Location"));
+                invalidateLocation(url, firstHeader(response, "Content-Location"));
+            }
+            stream(exchange, status, responseHeaders(response), "BYPASS", response.getEntity());
+        } catch (IOException | RuntimeException e) {
+            request.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches a cacheable response, or revalidates the stale cached one. Only the bodies of responses that are
+     * stored are read into memory, all others are streamed back.
+     *
+     * @param validated the stale cached response to revalidate, or null
+     */
+    private void fetch(HttpExchange exchange, String method, String url, String key, CachedResponse validated)
+            throws IOException {
+        ForwardedRequest request = forwardedRequest(method, url, exchange.getRequestHeaders(), validated);
+        HttpResponse response = execute(request);
+        try {
+            int status = response.getStatusLine().getStatusCode();
+            List<Map.Entry<String, String>> headers = responseHeaders(response);
+            HttpEntity entity = response.getEntity();
+            long responseTime = System.currentTimeMillis();
+            // the headers decide if the response is stored, so the body is read only if it is
+            CachedResponse withoutBody = CachedResponse.received(status, headers, new byte[0], responseTime);
+            if (validated != null && status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                EntityUtils.consume(entity);
+                revalidationCount.increment();
+                CachedResponse revalidated = validated.revalidated(withoutBody, responseTime);
+                responses.put(key, revalidated);
+                send(exchange, revalidated, "REVALIDATED");
+                return;
+            }
+            missCount.increment();
+            boolean storable = withoutBody.isStorable(lowerCaseKeyHeaders);
+            if (entity == null) {
+                store(key, storable, withoutBody);
+                send(exchange, withoutBody, "MISS");
+                return;
+            }
+            InputStream content = entity.getContent();
+            byte[] body = null;
+            if (storable && entity.getContentLength() <= maximumEntrySize) {
+                // reads one more byte than allowed to find out if a response of unknown length is too large
+                body = ByteStreams.toByteArray(ByteStreams.limit(content, maximumEntrySize + 1));
+            }
+            if (body != null && body.length <= maximumEntrySize) {
+                content.close();
+                CachedResponse received = CachedResponse.received(status, headers, body, responseTime);
+                store(key, true, received);
+                send(exchange, received, "MISS");
+            } else {
+                responses.invalidate(key);
+                InputStream remaining = body == null ? content :
+                        new SequenceInputStream(new ByteArrayInputStream(body), content);
+                stream(exchange, status, headers, "MISS", remaining, entity.getContentLength());
+            }
+        } catch (IOException | RuntimeException e) {
+            request.abort();
+            throw e;
+        }
+    }
+
+    private void store(String key, boolean storable, CachedResponse response) {
+        if (storable) {
+            responses.put(key, response);
+        } else {
+            responses.invalidate(key);
+        }
+    }
+
+    /**
+     * Creates the request forwarded with SoapUI's HTTP client, with the request headers SoapUI sent to the cache
+     *
+     * @param validated the stale cached response to revalidate, or null
+     */
+    private ForwardedRequest forwardedRequest(String method, String url, Headers requestHeaders,
+                                              CachedResponse validated) {
+        ForwardedRequest request = new ForwardedRequest(method, URI.create(url));
+        HttpConnectionParams.setConnectionTimeout(request.getParams(), connectTimeout);
+        HttpConnectionParams.setSoTimeout(request.getParams(), readTimeout);
+        HttpClientParams.setRedirecting(request.getParams(), false);
+        for (Map.Entry<String, List<String>> header : requestHeaders.entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (UNFORWARDED_HEADERS.contains(name) || (validated != null && CONDITIONAL_HEADERS.contains(name))) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                request.addHeader(header.getKey(), value);
+            }
+        }
+        if (validated != null) {
+            if (validated.getHeader("ETag") != null) {
+                request.setHeader("If-None-Match", validated.getHeader("ETag"));
+            }
+            if (validated.getHeader("Last-Modified") != null) {
+                request.setHeader("If-Modified-Since", validated.getHeader("Last-Modified"));
+            }
+        }
+        return request;
+    }
+
+    /**
+     * @return the body of the request to the cache, streamed to the endpoint, or null if it has none
+     */
+    private static HttpEntity requestBody(HttpExchange exchange) {
+        Headers requestHeaders = exchange.getRequestHeaders();
+        String contentLength = requestHeaders.getFirst("Content-Length");
+        long length = contentLength == null ? -1 : Long.parseLong(contentLength.trim());
+        if (length == 0 || (length < 0 && requestHeaders.getFirst("Transfer-Encoding") == null)) {
+            return null;
+        }
+        return new InputStreamEntity(exchange.getRequestBody(), length);
+    }
+
+    /**
+     * Executes the request with SoapUI's HTTP client, so the SSL settings of SoapUI apply as they do for requests
+     * that aren't routed through the cache, and through SoapUI's proxy if one is configured. The connection is
+     * released once the response body has been read, or when the request is aborted.
+     */
+    private static HttpResponse execute(ForwardedRequest request) throws IOException {
+        HttpContext context = new BasicHttpContext();
+        configureProxy(request, context);
+        try {
+            return HttpClientSupport.getHttpClient().execute(request, context);
+        } catch (IOException | RuntimeException e) {
+            request.abort();
+            throw e;
+        }
+    }
+
+    private static List<Map.Entry<String, String>> responseHeaders(HttpResponse response) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (Header header : response.getAllHeaders()) {
+            if (!UNFORWARDED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                headers.add(new SimpleImmutableEntry<>(header.getName(), header.getValue()));
+            }
+        }
+        return headers;
+    }
+
+    private static String firstHeader(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    /**
+     * Sends the request through the proxy configured in SoapUI's preferences, unless the proxy is disabled or the
+     * host is excluded. With automatic proxy detection, the default ProxySelector picks the proxy.
+     */
+    private static void configureProxy(ForwardedRequest request, HttpContext context) {
+        Settings settings = SoapUI.getSettings();
+        if (settings == null || !settings.getBoolean(ProxySettings.ENABLE_PROXY)) {
+            return;
+        }
+        URI uri = request.getURI();
+        HttpHost proxy = null;
+        if (settings.getBoolean(ProxySettings.AUTO_PROXY)) {
+            for (Proxy selected : ProxySelector.getDefault().select(uri)) {
+                if (selected.type() == Proxy.Type.HTTP && selected.address() instanceof InetSocketAddress) {
+                    InetSocketAddress address = (InetSocketAddress) selected.address();
+                    proxy = new HttpHost(address.getHostString(), address.getPort());
+                    break;
+                }
+            }
+        } else {
+            String host = settings.getString(ProxySettings.HOST, "");
+            String port = settings.getString(ProxySettings.PORT, "");
+            if (!host.isEmpty() && !port.isEmpty() && !isExcluded(uri.getHost(),
+                    settings.getString(ProxySettings.EXCLUDES, ""))) {
+                proxy = new HttpHost(host, Integer.parseInt(port.trim()));
+            }
+        }
+        if (proxy == null) {
+            return;
+        }
+        ConnRouteParams.setDefaultProxy(request.getParams(), proxy);
+        String username = settings.getString(ProxySettings.USERNAME, "");
+        if (!username.isEmpty()) {
+            BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+            credentialsProvider.setCredentials(new AuthScope(proxy.getHostName(), proxy.getPort()),
+                    new UsernamePasswordCredentials(username, settings.getString(ProxySettings.PASSWORD, "")));
+            context.setAttribute(ClientContext.CREDS_PROVIDER, credentialsProvider);
+        }
+    }
+
+    /**
+     * @param excludes comma separated host names, with an optional leading * or . to match subdomains
+     */
+    static boolean isExcluded(String host, String excludes) {
+        if (host == null) {
+            return false;
+        }
+        for (String exclude : excludes.split(",")) {
+            String pattern = exclude.trim().toLowerCase(Locale.ROOT);
+            if (pattern.startsWith("*")) {
+                pattern = pattern.substring(1);
+            }
+            String lowerCaseHost = host.toLowerCase(Locale.ROOT);
+            if (!pattern.isEmpty() && (lowerCaseHost.equals(pattern) ||
+                    (pattern.startsWith(".") && lowerCaseHost.endsWith(pattern)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, CachedResponse response, String cacheStatus) throws IOException {
+        addHeaders(exchange, response.getHeaders(), cacheStatus);
+        send(exchange, response.getStatus(), response.getBody());
+    }
+
+    private static void stream(HttpExchange exchange, int status, List<Map.Entry<String, String>> headers,
+                               String cacheStatus, HttpEntity entity) throws IOException {
+        if (entity == null) {
+            stream(exchange, status, headers, cacheStatus, null, -1);
+        } else {
+            stream(exchange, status, headers, cacheStatus, entity.getContent(), entity.getContentLength());
+        }
+    }
+
+    /**
+     * Copies the response body from the endpoint without holding it in memory, and closes it
+     *
+     * @param body   the response body, or null if there is none
+     * @param length the length of the body, or a negative value if it's unknown
+     */
+    private static void stream(HttpExchange exchange, int status, List<Map.Entry<String, String>> headers,
+                               String cacheStatus, InputStream body, long length) throws IOException {
+        addHeaders(exchange, headers, cacheStatus);
+        try (InputStream content = body) {
+            if (content == null || length == 0 || hasNoBody(exchange, status)) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            // a length of 0 sends the body chunked
+            exchange.sendResponseHeaders(status, length > 0 ? length : 0);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                ByteStreams.copy(content, responseBody);
+            }
+        }
+    }
+
+    private static void addHeaders(HttpExchange exchange, List<Map.Entry<String, String>> headers, String cacheStatus) {
+        Headers responseHeaders = exchange.getResponseHeaders();
+        for (Map.Entry<String, String> header : headers) {
+            responseHeaders.add(header.getKey(), header.getValue());
+        }
+        responseHeaders.set(CACHE_HEADER, cacheStatus);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            // a streamed response was cut off, closing the exchange tells the client
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        send(exchange, status, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        boolean noBody = body.length == 0 || hasNoBody(exchange, status);
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        }
+    }
+
+    private static boolean hasNoBody(HttpExchange exchange, int status) {
+        return "HEAD".equalsIgnoreCase(exchange.getRequestMethod()) || status == 204 || status == 304;
+    }
+
+    /**
+     * A request with any method, with a body if one is set
+     */
+    private static class ForwardedRequest extends HttpEntityEnclosingRequestBase {
+        private final String method;
+
+        ForwardedRequest(String method, URI uri) {
+            this.method = method;
+            setURI(uri);
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+    }
+
+    public static class Builder {
+        private long maximumWeight = Long.getLong(MAXIMUM_WEIGHT_PROPERTY, DEFAULT_MAXIMUM_WEIGHT);
+        private List<String> keyHeaders = DEFAULT_KEY_HEADERS;
+        private int port;
+        private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private int readTimeout = DEFAULT_READ_TIMEOUT;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maximumWeight the maximum memory used by cached responses in bytes, 64 MB by default. Responses
+         *                      with a body larger than an eighth of it aren't stored.
+         */
+        public Builder withMaximumWeight(long maximumWeight) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * @param keyHeaders the request headers whose values are part of the cache key, instead of Accept,
+         *                   Accept-Encoding, Accept-Language and Authorization
+         */
+        public Builder withKeyHeaders(String... keyHeaders) {
+            this.keyHeaders = Arrays.asList(keyHeaders);
+            return this;
+        }
+
+        /**
+         * @param connectTimeout the timeout for connecting to the endpoint in milliseconds, 30 seconds by default
+         */
+        public Builder withConnectTimeout(int connectTimeout) {
+            if (connectTimeout <= 0) {
+                throw new IllegalArgumentException("Connect timeout must be positive: " + connectTimeout);
+            }
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * @param readTimeout the timeout for waiting for data from the endpoint in milliseconds, 60 seconds by
+         *                    default
+         */
+        public Builder withReadTimeout(int readTimeout) {
+            if (readTimeout <= 0) {
+                throw new IllegalArgumentException("Read timeout must be positive: " + readTimeout);
+            }
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * @param port the port of the cache on the loopback interface, a free port by default
+         */
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Starts the cache, close it once it's no longer used
+         */
+        public HttpResponseCache start() throws IOException {
+            return new HttpResponseCache(this);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.smartbear.readyapi4j.local.http;
+
+/**
+ * Statistics of a {@link HttpResponseCache}. Requests with a method that isn't cached, or that forbid storing the
+ * response, are counted as bypasses and not as cache requests.
+ */
+public class ResponseCacheStats {
+    private final long hitCount;
+    private final long revalidationCount;
+    private final long missCount;
+    private final long bypassCount;
+    private final long evictionCount;
+
+    ResponseCacheStats(long hitCount, long revalidationCount, long missCount, long bypassCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.revalidationCount = revalidationCount;
+        this.missCount = missCount;
+        this.bypassCount = bypassCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * @return the number of requests answered with a fresh cached response, without a request to the origin
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of requests answered with a cached response after the origin confirmed it's unchanged
+     */
+    public long revalidationCount() {
+        return revalidationCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long bypassCount() {
+        return bypassCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long requestCount() {
+        return hitCount + revalidationCount + missCount;
+    }
+
+    /**
+     * @return the ratio of cache requests answered from the cache, including revalidated responses, or 1.0 if
+     * there were no cache requests
+     */
+    public double hitRatio() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) (hitCount + revalidationCount) / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCacheStats{hitCount=" + hitCount + ", revalidationCount=" + revalidationCount +
+                ", missCount=" + missCount + ", bypassCount=" + bypassCount + ", evictionCount=" + evictionCount +
+                ", hitRatio=" + hitRatio() + "}";
+    }
+}
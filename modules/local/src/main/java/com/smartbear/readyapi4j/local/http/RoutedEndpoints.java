@@ -0,0 +1,131 @@
+package com.smartbear.readyapi4j.local.http;
+
+import com.eviware.soapui.impl.rest.HttpRequestInterface;
+import com.eviware.soapui.impl.support.AbstractHttpRequest;
+import com.eviware.soapui.impl.wsdl.WsdlProject;
+import com.eviware.soapui.impl.wsdl.testcase.WsdlTestCase;
+import com.eviware.soapui.impl.wsdl.teststeps.HttpTestRequestStep;
+import com.eviware.soapui.impl.wsdl.teststeps.RestTestRequestStep;
+import com.eviware.soapui.impl.wsdl.teststeps.WsdlTestRequestStep;
+import com.eviware.soapui.model.testsuite.TestStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routes the requests of a project created by the recipe parser to a local server, by prefixing their path with
+ * the scheme and authority of their original endpoint, e.g. http://127.0.0.1:port/https/api.example.com/v1/items.
+ * The server maps the request URI back to the original URL with {@link #toOriginalUrl(URI)}, and results map the
+ * routed endpoint back with {@link #toOriginalEndpoint(InetSocketAddress, String)}.
+ */
+public class RoutedEndpoints {
+    private static final Logger LOG = LoggerFactory.getLogger(RoutedEndpoints.class);
+    private static final Pattern ENDPOINT_PATTERN = Pattern.compile("(?i)(https?)://([^/?#]+)(.*)");
+
+    private RoutedEndpoints() {
+    }
+
+    /**
+     * @return the endpoint on the server, or null if the endpoint isn't an absolute HTTP URL, e.g. if its host is
+     * a property expansion
+     */
+    public static String toRoutedEndpoint(InetSocketAddress server, String endpoint) {
+        Matcher matcher = endpoint == null ? null : ENDPOINT_PATTERN.matcher(endpoint);
+        if (matcher == null || !matcher.matches() || matcher.group(2).contains("${")) {
+            return null;
+        }
+        return serverUrl(server) + matcher.group(1).toLowerCase(Locale.ROOT) + "/" + matcher.group(2) +
+                matcher.group(3);
+    }
+
+    /**
+     * Maps an endpoint routed to the server back to the original endpoint, e.g. for the URLs in results
+     *
+     * @return the original endpoint, or the endpoint itself if it isn't routed to the server
+     */
+    public static String toOriginalEndpoint(InetSocketAddress server, String endpoint) {
+        if (server == null || endpoint == null || !endpoint.startsWith(serverUrl(server))) {
+            return endpoint;
+        }
+        try {
+            String originalUrl = toOriginalUrl(new URI(endpoint));
+            return originalUrl != null ? originalUrl : endpoint;
+        } catch (URISyntaxException e) {
+            return endpoint;
+        }
+    }
+
+    private static String serverUrl(InetSocketAddress server) {
+        String host = server.getAddress().getHostAddress();
+        return "http://" + (host.contains(":") ? "[" + host + "]" : host) + ":" + server.getPort() + "/";
+    }
+
+    /**
+     * Maps /scheme/authority/path?query back to scheme://authority/path?query
+     *
+     * @return the original URL, or null if the request URI wasn't routed
+     */
+    public static String toOriginalUrl(URI requestUri) {
+        String path = requestUri.getRawPath();
+        String[] segments = path == null || path.isEmpty() ? new String[0] : path.substring(1).split("/", 3);
+        if (segments.length < 2 || segments[0].isEmpty() || segments[1].isEmpty()) {
+            return null;
+        }
+        return segments[0] + "://" + segments[1] + "/" + (segments.length == 3 ? segments[2] : "") +
+                (requestUri.getRawQuery() == null ? "" : "?" + requestUri.getRawQuery());
+    }
+
+    /**
+     * Routes the HTTP, REST and SOAP requests of the project with a method accepted by the filter to the server
+     *
+     * @param methodFilter the HTTP methods to route, SOAP requests are POST requests
+     */
+    public static void route(WsdlProject project, InetSocketAddress server, Predicate<String> methodFilter) {
+        for (int i = 0; i < project.getTestSuiteCount(); i++) {
+            for (int j = 0; j < project.getTestSuiteAt(i).getTestCaseCount(); j++) {
+                WsdlTestCase testCase = project.getTestSuiteAt(i).getTestCaseAt(j);
+                for (int k = 0; k < testCase.getTestStepCount(); k++) {
+                    route(testCase.getTestStepAt(k), server, methodFilter);
+                }
+            }
+        }
+    }
+
+    private static void route(TestStep testStep, InetSocketAddress server, Predicate<String> methodFilter) {
+        AbstractHttpRequest<?> request = getRequest(testStep);
+        if (request == null || !methodFilter.test(getMethod(request))) {
+            return;
+        }
+        String routedEndpoint = toRoutedEndpoint(server, request.getEndpoint());
+        if (routedEndpoint == null) {
+            LOG.warn("Can't route the requests of test step {} to endpoint {}", testStep.getName(), request.getEndpoint());
+            return;
+        }
+        request.setEndpoint(routedEndpoint);
+    }
+
+    private static AbstractHttpRequest<?> getRequest(TestStep testStep) {
+        if (testStep instanceof HttpTestRequestStep) {
+            return ((HttpTestRequestStep) testStep).getTestRequest();
+        } else if (testStep instanceof RestTestRequestStep) {
+            return ((RestTestRequestStep) testStep).getTestRequest();
+        } else if (testStep instanceof WsdlTestRequestStep) {
+            return ((WsdlTestRequestStep) testStep).getTestRequest();
+        }
+        return null;
+    }
+
+    private static String getMethod(AbstractHttpRequest<?> request) {
+        if (request instanceof HttpRequestInterface && ((HttpRequestInterface<?>) request).getMethod() != null) {
+            return ((HttpRequestInterface<?>) request).getMethod().name();
+        }
+        return "POST";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Local HTTP servers that the requests of local runs are routed through, and the response cache.
+ */
+package com.smartbear.readyapi4j.local.http;
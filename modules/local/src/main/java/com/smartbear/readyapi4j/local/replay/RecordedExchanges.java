@@ -0,0 +1,130 @@
+package com.smartbear.readyapi4j.local.replay;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.client.model.HarRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * An archive of recorded HTTP exchanges, indexed by request method, URL without fragment, query parameters in
+ * any order and a hash of the request body.
+ * <p>
+ * Exchanges recorded more than once for the same request are replayed in the order they were recorded, the last
+ * one is repeated once all have been replayed. The archive is saved as a JSON file with the recorded HarEntries
+ * and indexed when it's loaded.
+ */
+public class RecordedExchanges {
+    private static final String ENTRIES = "entries";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final List<HarEntry> entries = new ArrayList<>();
+    private final Map<String, List<HarEntry>> entriesByKey = new HashMap<>();
+    private final Map<String, Integer> replayCounts = new HashMap<>();
+
+    public static RecordedExchanges load(Path archive) throws IOException {
+        RecordedExchanges recordedExchanges = new RecordedExchanges();
+        JsonNode entryNodes = OBJECT_MAPPER.readTree(archive.toFile()).get(ENTRIES);
+        if (entryNodes != null) {
+            for (JsonNode entryNode : entryNodes) {
+                recordedExchanges.add(OBJECT_MAPPER.treeToValue(entryNode, HarEntry.class));
+            }
+        }
+        return recordedExchanges;
+    }
+
+    /**
+     * Writes the archive to a temporary file that then replaces the archive, so that a failed save doesn't leave
+     * a truncated archive
+     */
+    public synchronized void save(Path archive) throws IOException {
+        Path absoluteArchive = archive.toAbsolutePath();
+        Files.createDirectories(absoluteArchive.getParent());
+        Path temporaryFile = Files.createTempFile(absoluteArchive.getParent(), "recorded-exchanges", ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(temporaryFile.toFile(), Collections.singletonMap(ENTRIES, entries));
+            Files.move(temporaryFile, absoluteArchive, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Adds an exchange, exchanges without a request URL or a response can't be replayed and are ignored
+     *
+     * @return true if the exchange was added
+     */
+    public synchronized boolean add(HarEntry harEntry) {
+        HarRequest request = harEntry.getRequest();
+        if (request == null || request.getUrl() == null || harEntry.getResponse() == null) {
+            return false;
+        }
+        entries.add(harEntry);
+        String body = request.getPostData() != null ? request.getPostData().getText() : null;
+        entriesByKey.computeIfAbsent(key(request.getMethod(), request.getUrl(), body), key -> new ArrayList<>())
+                .add(harEntry);
+        return true;
+    }
+
+    /**
+     * @return the next recorded exchange for the request
+     */
+    public synchronized Optional<HarEntry> find(String method, String url, String body) {
+        String key = key(method, url, body);
+        List<HarEntry> recordedEntries = entriesByKey.get(key);
+        if (recordedEntries == null) {
+            return Optional.empty();
+        }
+        int replayCount = replayCounts.merge(key, 1, Integer::sum) - 1;
+        return Optional.of(recordedEntries.get(Math.min(replayCount, recordedEntries.size() - 1)));
+    }
+
+    /**
+     * Replays all exchanges from the first recorded one again
+     */
+    public synchronized void rewind() {
+        replayCounts.clear();
+    }
+
+    public synchronized List<HarEntry> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    static String key(String method, String url, String body) {
+        URI uri = URI.create(url);
+        String query = uri.getRawQuery() == null ? "" : Arrays.stream(uri.getRawQuery().split("&"))
+                .filter(parameter -> !parameter.isEmpty())
+                .sorted()
+                .collect(Collectors.joining("&"));
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        String bodyHash = body == null || body.isEmpty() ? "-" :
+                Hashing.sha256().hashString(body, StandardCharsets.UTF_8).toString();
+        return String.valueOf(method).toUpperCase(Locale.ROOT) + " " +
+                (uri.getScheme() + "://" + uri.getRawAuthority()).toLowerCase(Locale.ROOT) + path + "?" + query + " " +
+                bodyHash;
+    }
+}
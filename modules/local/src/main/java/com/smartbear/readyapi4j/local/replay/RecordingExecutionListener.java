@@ -0,0 +1,84 @@
+package com.smartbear.readyapi4j.local.replay;
+
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.ExecutionListener;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the HTTP exchanges of all finished executions into {@link RecordedExchanges}, for replaying them with a
+ * {@link ReplayServer}. The recorded exchanges are saved to the archive by {@link #save()}, or when the listener is
+ * closed once all executions have finished, so the archive is written once instead of after every execution.
+ */
+public class RecordingExecutionListener implements ExecutionListener, Closeable {
+    private final RecordedExchanges recordedExchanges;
+    private final Path archive;
+    private final AtomicBoolean unsaved = new AtomicBoolean();
+
+    /**
+     * @param archive the archive file, replaced by the recorded exchanges of this listener
+     */
+    public RecordingExecutionListener(Path archive) {
+        this(new RecordedExchanges(), archive);
+    }
+
+    /**
+     * @param recordedExchanges the exchanges to add the recorded exchanges to
+     * @param archive           the archive file, or null to only record into recordedExchanges
+     */
+    public RecordingExecutionListener(RecordedExchanges recordedExchanges, Path archive) {
+        this.recordedExchanges = recordedExchanges;
+        this.archive = archive;
+    }
+
+    public RecordedExchanges getRecordedExchanges() {
+        return recordedExchanges;
+    }
+
+    @Override
+    public void executionFinished(Execution execution) {
+        RecipeExecutionResult executionResult = execution.getExecutionResult();
+        if (executionResult == null) {
+            return;
+        }
+        int recordedCount = 0;
+        for (TestStepResult testStepResult : executionResult.getTestStepResults()) {
+            HarEntry harEntry = testStepResult.getHarEntry();
+            if (harEntry != null && recordedExchanges.add(harEntry)) {
+                recordedCount++;
+            }
+        }
+        if (recordedCount > 0) {
+            unsaved.set(true);
+        }
+    }
+
+    /**
+     * Saves the exchanges recorded so far to the archive, if any were recorded since the last save
+     */
+    public void save() throws IOException {
+        if (archive == null || !unsaved.getAndSet(false)) {
+            return;
+        }
+        try {
+            recordedExchanges.save(archive);
+        } catch (IOException | RuntimeException e) {
+            unsaved.set(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Saves the recorded exchanges, see {@link #save()}
+     */
+    @Override
+    public void close() throws IOException {
+        save();
+    }
+}
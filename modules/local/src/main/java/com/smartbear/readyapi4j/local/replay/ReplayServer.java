@@ -0,0 +1,187 @@
+package com.smartbear.readyapi4j.local.replay;
+
+import com.eviware.soapui.impl.wsdl.WsdlProject;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import com.smartbear.readyapi4j.client.model.HarContent;
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.client.model.HarHeader;
+import com.smartbear.readyapi4j.client.model.HarResponse;
+import com.smartbear.readyapi4j.local.http.RoutedEndpoints;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded HTTP server that answers requests from {@link RecordedExchanges}, so that recipes can be run without
+ * the services they call.
+ * <p>
+ * Requests are routed to the server with {@link RoutedEndpoints}, which keeps the scheme and authority of their
+ * original endpoint in the path, so that they're matched with the recorded URL. Requests without a recorded
+ * exchange get a 404 response with the {@link #REPLAY_HEADER} header set to "miss". Close the server once it's no
+ * longer used.
+ */
+public class ReplayServer implements Closeable {
+    public static final String REPLAY_HEADER = "X-Readyapi4j-Replay";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplayServer.class);
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("(?i);\\s*charset=\"?([^\";]+)\"?");
+    private static final Set<String> SKIPPED_HEADERS = ImmutableSet.of("content-length", "transfer-encoding",
+            "connection", "keep-alive", "content-encoding");
+
+    private final RecordedExchanges recordedExchanges;
+    private final HttpServer server;
+    private final ExecutorService executorService;
+
+    private ReplayServer(RecordedExchanges recordedExchanges, HttpServer server, ExecutorService executorService) {
+        this.recordedExchanges = recordedExchanges;
+        this.server = server;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Starts a server on a free port of the loopback interface
+     */
+    public static ReplayServer start(RecordedExchanges recordedExchanges) throws IOException {
+        return start(recordedExchanges, 0);
+    }
+
+    public static ReplayServer start(RecordedExchanges recordedExchanges, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "readyapi4j-replay-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ReplayServer replayServer = new ReplayServer(recordedExchanges, server, executorService);
+        server.createContext("/", replayServer::handle);
+        server.setExecutor(executorService);
+        server.start();
+        return replayServer;
+    }
+
+    public RecordedExchanges getRecordedExchanges() {
+        return recordedExchanges;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the address requests are routed to
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * @return the URL of the endpoint on this server, or the endpoint itself if it isn't an absolute HTTP URL, e.g.
+     * if its host is a property expansion
+     */
+    public String toReplayEndpoint(String endpoint) {
+        String replayEndpoint = RoutedEndpoints.toRoutedEndpoint(server.getAddress(), endpoint);
+        return replayEndpoint != null ? replayEndpoint : endpoint;
+    }
+
+    /**
+     * Routes the HTTP, REST and SOAP requests of the project created by the recipe parser to this server
+     */
+    public void route(WsdlProject project) {
+        RoutedEndpoints.route(project, server.getAddress(), method -> true);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String url = RoutedEndpoints.toOriginalUrl(exchange.getRequestURI());
+            byte[] requestBody = ByteStreams.toByteArray(exchange.getRequestBody());
+            String body = requestBody.length == 0 ? null :
+                    new String(requestBody, charsetOf(exchange.getRequestHeaders().getFirst("Content-Type")));
+            Optional<HarEntry> harEntry = url == null ? Optional.empty() : recordedExchanges.find(method, url, body);
+            if (harEntry.isPresent()) {
+                sendResponse(exchange, harEntry.get().getResponse());
+            } else {
+                LOG.debug("No recorded exchange for {} {}", method, url);
+                sendMiss(exchange, "No recorded exchange for " + method + " " + url);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to replay {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            sendMiss(exchange, "Failed to replay the exchange: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void sendResponse(HttpExchange exchange, HarResponse response) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        if (response.getHeaders() != null) {
+            for (HarHeader header : response.getHeaders()) {
+                String name = header.getName();
+                if (name != null && !name.startsWith("#") && !SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.add(name, header.getValue() == null ? "" : header.getValue());
+                }
+            }
+        }
+        headers.set(REPLAY_HEADER, "hit");
+        HarContent content = response.getContent();
+        byte[] body = content == null || content.getText() == null ? new byte[0] :
+                content.getText().getBytes(charsetOf(content.getMimeType()));
+        int status = response.getStatus() == null ? 200 : response.getStatus();
+        send(exchange, status, body);
+    }
+
+    private static void sendMiss(HttpExchange exchange, String message) throws IOException {
+        exchange.getResponseHeaders().set(REPLAY_HEADER, "miss");
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        send(exchange, 404, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        boolean noBody = body.length == 0 || "HEAD".equalsIgnoreCase(exchange.getRequestMethod()) ||
+                status == 204 || status == 304;
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        }
+    }
+
+    private static Charset charsetOf(String contentType) {
+        Matcher matcher = contentType == null ? null : CHARSET_PATTERN.matcher(contentType);
+        if (matcher != null && matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1).trim());
+            } catch (IllegalArgumentException e) {
+                LOG.debug("Unsupported charset in {}", contentType);
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Recording of the HTTP exchanges of local and remote runs, and replaying them from an embedded server.
+ */
+package com.smartbear.readyapi4j.local.replay;
@@ -0,0 +1,92 @@
+package com.smartbear.readyapi4j.local.scripting;
+
+import com.eviware.soapui.SoapUI;
+import com.eviware.soapui.model.ModelItem;
+import com.eviware.soapui.support.scripting.SoapUIScriptEngine;
+import com.eviware.soapui.support.scripting.SoapUIScriptEngineRegistry;
+import com.eviware.soapui.support.scripting.groovy.SoapUIGroovyScriptEngine;
+import com.eviware.soapui.support.scripting.groovy.SoapUIGroovyScriptEngineFactory;
+import groovy.lang.Binding;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SoapUI Groovy script engine that takes its compiled scripts from the {@link GroovyScriptCache} and runs each of
+ * them with a fresh binding holding the variables set by SoapUI, e.g. context, log and messageExchange. Scripts are
+ * compiled against the extension class loader SoapUI gives its own Groovy engine, so classes from script libraries
+ * and extensions resolve as they do without the cache.
+ */
+public class CachingGroovyScriptEngine extends SoapUIGroovyScriptEngine {
+    private static boolean registered;
+
+    private final ClassLoader parentClassLoader;
+    private final Map<String, Object> variables = new HashMap<>();
+    private String scriptText;
+    private boolean compiled;
+
+    public CachingGroovyScriptEngine(ClassLoader parentClassLoader) {
+        super(parentClassLoader);
+        this.parentClassLoader = parentClassLoader;
+    }
+
+    /**
+     * Makes SoapUI use this engine for all Groovy scripts, unless the cache is disabled by setting the
+     * {@value GroovyScriptCache#MAXIMUM_SIZE_PROPERTY} system property to 0
+     */
+    public static synchronized void register() {
+        if (registered || Integer.getInteger(GroovyScriptCache.MAXIMUM_SIZE_PROPERTY, 1) <= 0) {
+            return;
+        }
+        SoapUIScriptEngineRegistry.registerScriptEngine(SoapUIGroovyScriptEngineFactory.ID, new Factory());
+        registered = true;
+    }
+
+    @Override
+    public synchronized Object run() throws Exception {
+        if (StringUtils.isBlank(scriptText)) {
+            return null;
+        }
+        return GroovyScriptCache.createScript(parentClassLoader, scriptText, new Binding(new HashMap<>(variables))).run();
+    }
+
+    @Override
+    public synchronized void setScript(String scriptText) {
+        if (!StringUtils.equals(scriptText, this.scriptText)) {
+            this.scriptText = scriptText;
+            compiled = false;
+        }
+    }
+
+    @Override
+    public synchronized void compile() throws Exception {
+        if (!compiled && StringUtils.isNotBlank(scriptText)) {
+            GroovyScriptCache.getScriptClass(parentClassLoader, scriptText);
+            compiled = true;
+        }
+    }
+
+    @Override
+    public synchronized void setVariable(String name, Object value) {
+        variables.put(name, value);
+    }
+
+    @Override
+    public synchronized void clearVariables() {
+        variables.clear();
+    }
+
+    @Override
+    public synchronized void release() {
+        variables.clear();
+        super.release();
+    }
+
+    private static class Factory extends SoapUIGroovyScriptEngineFactory {
+        @Override
+        public SoapUIScriptEngine createScriptEngine(ModelItem modelItem) {
+            return new CachingGroovyScriptEngine(SoapUI.getSoapUICore().getExtensionClassLoader());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.smartbear.readyapi4j.local.scripting;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Process-wide cache of compiled Groovy scripts, used by the local executor to avoid compiling the same script
+ * text again for every Groovy Script step and Script Assertion it runs.
+ * <p>
+ * Scripts are keyed by their parent class loader and a hash of their text, so the same text compiled against
+ * different class loaders, e.g. with different script libraries or extensions, gets a class of its own. Each run
+ * gets a new script instance with a binding of its own,
+ * so a cached script can be used by several executions at once. The cache holds at most
+ * {@value #DEFAULT_MAXIMUM_SIZE} scripts unless the {@value #MAXIMUM_SIZE_PROPERTY} system property says
+ * otherwise; least recently used ones are evicted first. Each script is compiled in a class loader of its own,
+ * so the classes of evicted scripts can be unloaded.
+ * <p>
+ * {@link #stats()} reports hits, misses, evictions and, as load statistics, the number of compilations and the
+ * time spent compiling.
+ */
+public class GroovyScriptCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    public static final String MAXIMUM_SIZE_PROPERTY = "readyapi4j.scripts.cacheSize";
+
+    private static final Cache<ScriptKey, Class<?>> cache = CacheBuilder.newBuilder()
+            .maximumSize(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE))
+            .recordStats()
+            .build();
+
+    /**
+     * Returns the compiled class of the specified script, compiling it with the class loader of this class as parent
+     * only if identical script text has not been compiled with it before.
+     *
+     * @param scriptText the Groovy source of the script
+     * @throws Exception the compilation failure, e.g. a CompilationFailedException
+     */
+    public static Class<?> getScriptClass(String scriptText) throws Exception {
+        return getScriptClass(GroovyScriptCache.class.getClassLoader(), scriptText);
+    }
+
+    /**
+     * Returns the compiled class of the specified script, compiling it only if identical script text has not been
+     * compiled with the same parent class loader before.
+     *
+     * @param parentClassLoader the class loader the classes used by the script are resolved with
+     * @param scriptText        the Groovy source of the script
+     * @throws Exception the compilation failure, e.g. a CompilationFailedException
+     */
+    public static Class<?> getScriptClass(ClassLoader parentClassLoader, String scriptText) throws Exception {
+        String hash = Hashing.sha256().hashString(scriptText, StandardCharsets.UTF_8).toString();
+        try {
+            return cache.get(new ScriptKey(parentClassLoader, hash),
+                    () -> compile(parentClassLoader, scriptText, hash));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a new instance of the specified script, bound to the specified binding
+     */
+    public static Script createScript(String scriptText, Binding binding) throws Exception {
+        return InvokerHelper.createScript(getScriptClass(scriptText), binding);
+    }
+
+    /**
+     * Creates a new instance of the specified script, compiled with the specified parent class loader and bound to
+     * the specified binding
+     */
+    public static Script createScript(ClassLoader parentClassLoader, String scriptText, Binding binding)
+            throws Exception {
+        return InvokerHelper.createScript(getScriptClass(parentClassLoader, scriptText), binding);
+    }
+
+    /**
+     * @return hits, misses and evictions of the cache, with compilations counted as loads
+     */
+    public static CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Removes all cached scripts
+     */
+    public static void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the number of currently cached scripts
+     */
+    public static long size() {
+        return cache.size();
+    }
+
+    private static Class<?> compile(ClassLoader parentClassLoader, String scriptText, String hash) {
+        GroovyClassLoader classLoader = new GroovyClassLoader(parentClassLoader);
+        return classLoader.parseClass(scriptText, "Script_" + hash.substring(0, 16) + ".groovy");
+    }
+
+    /**
+     * Compares parent class loaders by identity, as the JVM does when it resolves classes
+     */
+    private static class ScriptKey {
+        private final ClassLoader parentClassLoader;
+        private final String hash;
+
+        ScriptKey(ClassLoader parentClassLoader, String hash) {
+            this.parentClassLoader = parentClassLoader;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ScriptKey)) {
+                return false;
+            }
+            ScriptKey other = (ScriptKey) o;
+            return parentClassLoader == other.parentClassLoader && hash.equals(other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(parentClassLoader) + hash.hashCode();
+        }
+    }
+
+    private GroovyScriptCache() {
+    }
+}
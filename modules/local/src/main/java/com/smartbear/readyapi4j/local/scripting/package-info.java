@@ -0,0 +1,4 @@
+/**
+ * Compiled-script caching for the Groovy scripts run by the local engine.
+ */
+package com.smartbear.readyapi4j.local.scripting;
@@ -0,0 +1,51 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CsvRowReaderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void readsOneRowAtATimeAndSkipsEmptyLines() throws Exception {
+        CsvRowReader reader = new CsvRowReader(new StringReader("a,b\r\n\nc, d \n"), ",", true, false);
+
+        assertThat(reader.nextRow(), is(Arrays.asList("a", "b")));
+        assertThat(reader.nextRow(), is(Arrays.asList("c", "d")));
+        assertThat(reader.nextRow(), is(nullValue()));
+    }
+
+    @Test
+    public void keepsSeparatorsLineBreaksAndQuotesInQuotedValues() throws Exception {
+        CsvRowReader reader = new CsvRowReader(new StringReader("\"a;;b\";;\"line\nbreak\";;\"say \"\"hi\"\"\""),
+                ";;", false, true);
+
+        assertThat(reader.nextRow(), is(Arrays.asList("a;;b", "line\nbreak", "say \"hi\"")));
+        assertThat(reader.nextRow(), is(nullValue()));
+    }
+
+    @Test
+    public void readsMappedFileInCharset() throws Exception {
+        File file = temporaryFolder.newFile("data.csv");
+        Files.write(file.toPath(), "city\tcountry\nTromsø\tNorge\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        try (CsvRowReader reader = new CsvRowReader(new MappedFileReader(file.toPath(), StandardCharsets.ISO_8859_1),
+                "\t", false, false)) {
+            assertThat(reader.nextRow(), is(Arrays.asList("city", "country")));
+            assertThat(reader.nextRow(), is(Arrays.asList("Tromsø", "Norge")));
+            assertThat(reader.nextRow(), is(nullValue()));
+        }
+    }
+}
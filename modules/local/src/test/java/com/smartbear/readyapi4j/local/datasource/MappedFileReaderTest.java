@@ -0,0 +1,90 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MappedFileReaderTest {
+    // one, two, three and four byte characters in UTF-8
+    private static final String TEXT = "a\u00e9\u20ac\ud83d\ude00b,caf\u00e9\n\u00f8\u00e6\u00e5\u20ac\ud83d\ude00\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void decodesCharactersSplitAcrossWindows() throws Exception {
+        File file = write(repeat(TEXT, 20), StandardCharsets.UTF_8);
+
+        for (int windowSize = 16; windowSize <= 24; windowSize++) {
+            try (Reader reader = new MappedFileReader(file.toPath(), StandardCharsets.UTF_8, windowSize)) {
+                assertThat("window size " + windowSize, readFully(reader, 7), is(repeat(TEXT, 20)));
+            }
+        }
+    }
+
+    @Test
+    public void readsSurrogatePairsOneCharAtATime() throws Exception {
+        File file = write(TEXT, StandardCharsets.UTF_8);
+
+        try (Reader reader = new MappedFileReader(file.toPath(), StandardCharsets.UTF_8, 16)) {
+            StringBuilder text = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1) {
+                text.append((char) c);
+            }
+            assertThat(text.toString(), is(TEXT));
+        }
+    }
+
+    @Test
+    public void readsEmptyFile() throws Exception {
+        File file = write("", StandardCharsets.UTF_8);
+
+        try (Reader reader = new MappedFileReader(file.toPath(), StandardCharsets.UTF_8)) {
+            assertThat(reader.read(new char[16], 0, 16), is(-1));
+            assertThat(reader.read(), is(-1));
+        }
+    }
+
+    @Test
+    public void readsUtf16WithWindowsEndingInsideCharacters() throws Exception {
+        File file = write(repeat(TEXT, 5), StandardCharsets.UTF_16LE);
+
+        try (Reader reader = new MappedFileReader(file.toPath(), StandardCharsets.UTF_16LE, 17)) {
+            assertThat(readFully(reader, 1024), is(repeat(TEXT, 5)));
+        }
+    }
+
+    private File write(String text, Charset charset) throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), text.getBytes(charset));
+        return file;
+    }
+
+    private static String readFully(Reader reader, int bufferSize) throws Exception {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[bufferSize];
+        int count;
+        while ((count = reader.read(buffer, 0, buffer.length)) != -1) {
+            text.append(buffer, 0, count);
+        }
+        return text.toString();
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder repeated = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            repeated.append(text);
+        }
+        return repeated.toString();
+    }
+}
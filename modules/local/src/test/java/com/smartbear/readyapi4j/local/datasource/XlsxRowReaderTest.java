@@ -0,0 +1,139 @@
+package com.smartbear.readyapi4j.local.datasource;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class XlsxRowReaderTest {
+    private static final String WORKBOOK = "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" " +
+            "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>" +
+            "<sheet name=\"Summary\" sheetId=\"1\" r:id=\"rId1\"/>" +
+            "<sheet name=\"Users\" sheetId=\"2\" r:id=\"rId2\"/>" +
+            "</sheets></workbook>";
+    private static final String RELATIONSHIPS = "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            "<Relationship Id=\"rId1\" Target=\"worksheets/sheet1.xml\"/>" +
+            "<Relationship Id=\"rId2\" Target=\"/xl/worksheets/sheet2.xml\"/>" +
+            "</Relationships>";
+    private static final String SHARED_STRINGS = "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+            "<si><t>name</t></si>" +
+            "<si><r><t>rich </t></r><r><t>text</t></r><rPh><t>phonetic</t></rPh></si>" +
+            "<si><t>Alice</t></si>" +
+            "</sst>";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void readsSharedInlineNumberAndBooleanCellsFromStartCell() throws Exception {
+        File file = workbook(sheet(
+                row(1, cell("A1", "s", "<v>0</v>")),
+                row(2, cell("A2", null, "<v>ignored</v>"), cell("B2", "s", "<v>1</v>"),
+                        cell("C2", "inlineStr", "<is><t>inline</t></is>"), cell("D2", null, "<v>42.5</v>"),
+                        cell("E2", "b", "<v>1</v>")),
+                row(3, cell("B3", "s", "<v>2</v>"), cell("D3", null, "<v>7</v>"), cell("E3", "b", "<v>0</v>"))));
+
+        try (XlsxRowReader reader = new XlsxRowReader(file, null, "B2", false, 4)) {
+            assertThat(reader.nextRow(), is(Arrays.asList("rich text", "inline", "42.5", "TRUE")));
+            assertThat(reader.nextRow(), is(Arrays.asList("Alice", "", "7", "FALSE")));
+            assertThat(reader.nextRow(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void emptyRowEndsDataSourceUnlessEmptyRowsAreIgnored() throws Exception {
+        File file = workbook(sheet(
+                row(1, cell("A1", null, "<v>1</v>")),
+                row(2, cell("A2", "inlineStr", "<is><t></t></is>")),
+                row(3, cell("A3", null, "<v>3</v>")),
+                row(5, cell("A5", null, "<v>5</v>"))));
+
+        try (XlsxRowReader reader = new XlsxRowReader(file, "", "A1", false, 1)) {
+            assertThat(reader.nextRow(), is(Arrays.asList("1")));
+            assertThat(reader.nextRow(), is(nullValue()));
+            assertThat(reader.nextRow(), is(nullValue()));
+        }
+        try (XlsxRowReader reader = new XlsxRowReader(file, "", "A1", true, 1)) {
+            assertThat(reader.nextRow(), is(Arrays.asList("1")));
+            assertThat(reader.nextRow(), is(Arrays.asList("3")));
+            assertThat(reader.nextRow(), is(Arrays.asList("5")));
+            assertThat(reader.nextRow(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void skippedRowEndsDataSource() throws Exception {
+        File file = workbook(sheet(
+                row(2, cell("A2", null, "<v>2</v>")),
+                row(4, cell("A4", null, "<v>4</v>"))));
+
+        try (XlsxRowReader reader = new XlsxRowReader(file, null, "A2", false, 1)) {
+            assertThat(reader.nextRow(), is(Arrays.asList("2")));
+            assertThat(reader.nextRow(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void readsWorksheetByNameWithoutSharedStrings() throws Exception {
+        File file = temporaryFolder.newFile("users.xlsx");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+            write(zip, "xl/workbook.xml", WORKBOOK);
+            write(zip, "xl/_rels/workbook.xml.rels", RELATIONSHIPS);
+            write(zip, "xl/worksheets/sheet1.xml", sheet(row(1, cell("A1", null, "<v>summary</v>"))));
+            write(zip, "xl/worksheets/sheet2.xml", sheet(
+                    "<row><c t=\"inlineStr\"><is><t>bob</t></is></c><c><v>30</v></c></row>"));
+        }
+
+        try (XlsxRowReader reader = new XlsxRowReader(file, "Users", null, false, 2)) {
+            assertThat(reader.nextRow(), is(Arrays.asList("bob", "30")));
+            assertThat(reader.nextRow(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void parsesCellReferences() {
+        assertThat(XlsxRowReader.parseCellReference("A1"), is(new int[]{0, 1}));
+        assertThat(XlsxRowReader.parseCellReference("b12"), is(new int[]{1, 12}));
+        assertThat(XlsxRowReader.parseCellReference("AA3"), is(new int[]{26, 3}));
+    }
+
+    private File workbook(String sheet) throws Exception {
+        File file = temporaryFolder.newFile("data.xlsx");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+            write(zip, "xl/workbook.xml", WORKBOOK);
+            write(zip, "xl/_rels/workbook.xml.rels", RELATIONSHIPS);
+            write(zip, "xl/sharedStrings.xml", SHARED_STRINGS);
+            write(zip, "xl/worksheets/sheet1.xml", sheet);
+        }
+        return file;
+    }
+
+    private static void write(ZipOutputStream zip, String name, String content) throws Exception {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String sheet(String... rows) {
+        return "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>" +
+                String.join("", rows) + "</sheetData></worksheet>";
+    }
+
+    private static String row(int number, String... cells) {
+        return "<row r=\"" + number + "\">" + String.join("", cells) + "</row>";
+    }
+
+    private static String cell(String reference, String type, String content) {
+        return "<c r=\"" + reference + "\"" + (type == null ? "" : " t=\"" + type + "\"") + ">" + content + "</c>";
+    }
+}
@@ -0,0 +1,107 @@
+package com.smartbear.readyapi4j.local.datasource.datagen;
+
+import com.smartbear.readyapi4j.client.model.DataGenDataSource;
+import com.smartbear.readyapi4j.client.model.DataGenerator;
+import com.smartbear.readyapi4j.client.model.IntegerDataGenerator;
+import com.smartbear.readyapi4j.client.model.RealNumberDataGenerator;
+import com.smartbear.readyapi4j.execution.UnsupportedTestStepException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DataGenRowsTest {
+
+    @Test
+    public void generatesSameRowsForSameSeed() throws Exception {
+        DataGenDataSource dataSource = dataSource(100, basic("Guid", "id"), basic("E-Mail", "email"),
+                randomInteger("count", 1, 1000));
+
+        List<List<String>> rows = DataGenRows.compile(dataSource, 42).preview(100);
+
+        assertThat(rows.size(), is(100));
+        assertThat(DataGenRows.compile(dataSource, 42).preview(100), is(rows));
+        assertThat(DataGenRows.compile(dataSource, 43).preview(100), is(not(rows)));
+        assertTrue(rows.get(0).get(0).matches("[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}"));
+    }
+
+    @Test
+    public void generatesAnyRangeOfRowsIndependently() throws Exception {
+        DataGenRows rows = DataGenRows.compile(dataSource(1000, basic("City", "city"), randomInteger("count", 1, 9)), 7);
+        List<List<String>> allRows = rows.preview(1000);
+
+        DataGenCursor cursor = rows.newCursor().seek(500);
+        while (cursor.next()) {
+            assertThat(cursor.getRow(), is(allRows.get((int) cursor.getRowIndex())));
+        }
+    }
+
+    @Test
+    public void generatesSequentialValuesWithinRange() throws Exception {
+        IntegerDataGenerator integerGenerator = new IntegerDataGenerator();
+        integerGenerator.setType("Integer");
+        integerGenerator.setPropertyName("sequence");
+        integerGenerator.setGenerationMode(IntegerDataGenerator.GenerationModeEnum.SEQUENTIAL);
+        integerGenerator.setMinimumValue(1);
+        integerGenerator.setMaximumValue(5);
+        integerGenerator.setIncrementBy(2);
+        integerGenerator.setDuplicationFactor(2);
+
+        DataGenRows rows = DataGenRows.compile(dataSource(8, integerGenerator), 1);
+
+        assertThat(rows.preview(8), is(Arrays.asList(row("1"), row("1"), row("3"), row("3"), row("5"), row("5"),
+                row("1"), row("1"))));
+    }
+
+    @Test
+    public void formatsRealNumbersWithDecimalPlaces() throws Exception {
+        RealNumberDataGenerator realNumberGenerator = new RealNumberDataGenerator();
+        realNumberGenerator.setType("Real");
+        realNumberGenerator.setPropertyName("price");
+        realNumberGenerator.setMinimumValue(-5f);
+        realNumberGenerator.setMaximumValue(5f);
+        realNumberGenerator.setDecimalPlaces(3);
+
+        for (List<String> row : DataGenRows.compile(dataSource(200, realNumberGenerator), 3).preview(200)) {
+            assertTrue(row.get(0), row.get(0).matches("-?[0-5]\\.\\d{3}"));
+        }
+    }
+
+    @Test(expected = UnsupportedTestStepException.class)
+    public void rejectsUnknownGeneratorTypes() throws Exception {
+        DataGenRows.compile(dataSource(1, basic("Horoscope", "sign")));
+    }
+
+    private static DataGenDataSource dataSource(int numberOfRows, DataGenerator... dataGenerators) {
+        DataGenDataSource dataSource = new DataGenDataSource();
+        dataSource.setNumberOfRows(String.valueOf(numberOfRows));
+        dataSource.setDataGenerators(Arrays.asList(dataGenerators));
+        return dataSource;
+    }
+
+    private static DataGenerator basic(String type, String propertyName) {
+        DataGenerator dataGenerator = new DataGenerator();
+        dataGenerator.setType(type);
+        dataGenerator.setPropertyName(propertyName);
+        return dataGenerator;
+    }
+
+    private static IntegerDataGenerator randomInteger(String propertyName, int minimum, int maximum) {
+        IntegerDataGenerator dataGenerator = new IntegerDataGenerator();
+        dataGenerator.setType("Integer");
+        dataGenerator.setPropertyName(propertyName);
+        dataGenerator.setGenerationMode(IntegerDataGenerator.GenerationModeEnum.RANDOM);
+        dataGenerator.setMinimumValue(minimum);
+        dataGenerator.setMaximumValue(maximum);
+        return dataGenerator;
+    }
+
+    private static List<String> row(String value) {
+        return Arrays.asList(value);
+    }
+}
@@ -2,11 +2,14 @@ package com.smartbear.readyapi4j.local.execution;
 
 import com.google.gson.Gson;
 import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.DataSource;
+import com.smartbear.readyapi4j.client.model.DataSourceTestStep;
 import com.smartbear.readyapi4j.client.model.HarResponse;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
 import com.smartbear.readyapi4j.execution.Execution;
 import com.smartbear.readyapi4j.execution.ExecutionListener;
 import com.smartbear.readyapi4j.extractor.ExtractorData;
+import com.smartbear.readyapi4j.teststeps.TestStepTypes;
 import com.smartbear.readyapi4j.teststeps.propertytransfer.PathLanguage;
 import com.smartbear.readyapi4j.util.rest.JsonTestObject;
 import com.smartbear.readyapi4j.util.rest.Pair;
@@ -14,8 +17,12 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
 import static com.smartbear.readyapi4j.extractor.Extractors.fromProperty;
+import static com.smartbear.readyapi4j.extractor.Extractors.fromResponse;
 import static com.smartbear.readyapi4j.teststeps.TestSteps.*;
 import static com.smartbear.readyapi4j.teststeps.propertytransfer.PropertyTransferBuilder.from;
 import static com.smartbear.readyapi4j.teststeps.propertytransfer.PropertyTransferSourceBuilder.aSource;
@@ -143,6 +150,25 @@ public class SoapUIRecipeExecutorTest {
         verify(listenerMock, timeout(20000).times(1)).executionFinished(any());
     }
 
+    @Test
+    public void runsSubmittedRecipesOnExecutionThreads() {
+        try (LocalExecutionThreads executionThreads = LocalExecutionThreads.virtualThreads(2)) {
+            SoapUIRecipeExecutor threadedExecutor = new SoapUIRecipeExecutor();
+            threadedExecutor.setExecutionThreads(executionThreads);
+            ExecutionListener listenerMock = mock(ExecutionListener.class);
+            threadedExecutor.addExecutionListener(listenerMock);
+
+            for (int i = 0; i < 4; i++) {
+                threadedExecutor.submitRecipe(newTestRecipe(groovyScriptStep("println 'Hello Earth'")).buildTestRecipe());
+            }
+
+            verify(listenerMock, timeout(20000).times(4)).executionFinished(any());
+            Execution execution = threadedExecutor.executeRecipe(
+                    newTestRecipe(groovyScriptStep("println 'Hello Earth'")).buildTestRecipe());
+            assertThat(execution.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+        }
+    }
+
     @Test
     public void extractsDataAfterRecipeExecution() {
         final String[] extractedProperty = {""};
@@ -162,6 +188,48 @@ public class SoapUIRecipeExecutorTest {
         assertThat(extractedProperty[0], is(GOOGLE_ENDPOINT)); //Make sure property value is extracted after execution
     }
 
+    @Test
+    public void extractsResponseValuesWithoutPropertyTransfer() {
+        final String[] extractedValue = {null};
+        TestRecipe recipe = newTestRecipe(
+                GET(jsonURL)
+                        .named("JsonRequest")
+                        .withExtractors(fromResponse(JSON_PATH_MESSAGE, value -> extractedValue[0] = value)))
+                .buildTestRecipe();
+
+        Execution execution = executor.executeRecipe(recipe);
+
+        assertThat(execution.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+        assertThat(execution.getExecutionResult().getTestStepResults().size(), is(1));
+        assertThat(extractedValue[0], is(ASSERTION_JSON_VALUE));
+    }
+
+    @Test
+    public void runsTestStepsOnceForEachRowOfGridDataSource() throws Exception {
+        DataSource dataSource = new DataSource();
+        dataSource.setGrid(Collections.singletonMap("city", Arrays.asList("Oslo", "Rome", "Lima")));
+        DataSourceTestStep dataSourceStep = new DataSourceTestStep();
+        dataSourceStep.setType(TestStepTypes.DATA_SOURCE.getName());
+        dataSourceStep.setName("Cities");
+        dataSourceStep.setDataSource(dataSource);
+        dataSourceStep.setTestSteps(Collections.singletonList(
+                groovyScriptStep("assert context.expand('${Cities#city}') in ['Oslo', 'Rome', 'Lima']")
+                        .named("Check city")
+                        .build()));
+        TestRecipe testRecipe = newTestRecipe(() -> dataSourceStep).buildTestRecipe();
+
+        Execution execution = executor.executeRecipe(testRecipe);
+
+        assertThat(execution.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+        long checkedCities = execution.getCurrentReport().getTestSuiteResultReports().get(0)
+                .getTestCaseResultReports().get(0)
+                .getTestStepResultReports().stream()
+                .filter(testStepResult -> "Check city".equals(testStepResult.getTestStepName()))
+                .count();
+        assertThat(checkedCities, is(3L));
+        assertThat(testRecipe.getTestCase().getTestSteps().get(0), is(sameInstance(dataSourceStep)));
+    }
+
     private TestRecipe buildPropertyTransferWithJsonPathExtractionTestRecipe() {
         return newTestRecipe(
                 GET(jsonURL)
@@ -0,0 +1,67 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import com.jayway.jsonpath.Configuration;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CompiledExpressionsTest {
+    private static final String NS = "declare namespace a='http://example.com/a'; declare namespace b='http://example.com/b';";
+
+    @Before
+    public void setUp() {
+        CompiledExpressions.clear();
+    }
+
+    @Test
+    public void compilesEachExpressionOnce() throws Exception {
+        long compilations = CompiledExpressions.stats().loadCount();
+
+        assertThat(CompiledExpressions.jsonPath("$.cities[0]"), is(sameInstance(CompiledExpressions.jsonPath("$.cities[0]"))));
+        assertThat(CompiledExpressions.xpath("//city"), is(sameInstance(CompiledExpressions.xpath("//city"))));
+        assertThat(CompiledExpressions.stats().loadCount() - compilations, is(2L));
+    }
+
+    @Test
+    public void keysXPathsByNamespaces() throws Exception {
+        CompiledXPath xpath = CompiledExpressions.xpath(NS + " //a:city");
+        String reordered = "declare namespace b='http://example.com/b';\ndeclare namespace a=\"http://example.com/a\"; //a:city";
+
+        assertThat(CompiledExpressions.xpath(reordered), is(sameInstance(xpath)));
+        assertThat(CompiledExpressions.xpath("declare namespace a='http://example.com/other'; //a:city"),
+                is(not(sameInstance(xpath))));
+    }
+
+    @Test
+    public void evaluatesNamespacedXPath() throws Exception {
+        Document document = XmlContent.parse("<a:cities xmlns:a='http://example.com/a'><a:city>Oslo</a:city>" +
+                "<a:city>Rome</a:city></a:cities>");
+
+        List<Object> cities = CompiledExpressions.xpath(NS + " //a:city").evaluate(document);
+        List<Object> count = CompiledExpressions.xpath(NS + " count(//a:city)").evaluate(document);
+
+        assertThat(((Node) cities.get(1)).getTextContent(), is("Rome"));
+        assertThat(count, is(Collections.singletonList((Object) "2")));
+    }
+
+    @Test
+    public void evaluatesJsonPathOnParsedDocument() throws Exception {
+        Object document = Configuration.defaultConfiguration().jsonProvider().parse("{\"cities\":[\"Oslo\",\"Rome\"]}");
+
+        assertThat(CompiledExpressions.jsonPath("$.cities[1]").read(document), is((Object) "Rome"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidXPath() throws Exception {
+        CompiledExpressions.xpath("//city[");
+    }
+}
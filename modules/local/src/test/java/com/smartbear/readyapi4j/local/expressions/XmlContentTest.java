@@ -0,0 +1,37 @@
+package com.smartbear.readyapi4j.local.expressions;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class XmlContentTest {
+
+    @Test
+    public void comparesXmlStructurally() throws Exception {
+        String actual = "<a:city xmlns:a='http://example.com/a' size='big' name='Oslo'>\n  <a:country>Norway</a:country>\n</a:city>";
+
+        assertThat(XmlContent.matches(actual,
+                "<b:city xmlns:b='http://example.com/a' name='Oslo' size='big'><b:country>Norway</b:country></b:city>",
+                false, false), is(true));
+        assertThat(XmlContent.matches(actual,
+                "<city name='Oslo' size='big'><country>Norway</country></city>", false, false), is(false));
+    }
+
+    @Test
+    public void matchesWildcardsOnlyIfAllowed() throws Exception {
+        assertThat(XmlContent.matches("<city name='Oslo'>Oslo, Norway</city>", "<city name='*'>Oslo, *</city>", true, false),
+                is(true));
+        assertThat(XmlContent.matches("<city name='Oslo'>Oslo, Norway</city>", "<city name='*'>Oslo, *</city>", false, false),
+                is(false));
+        assertThat(XmlContent.matches("Oslo", "O*o", true, false), is(true));
+    }
+
+    @Test
+    public void ignoresCommentsIfRequested() throws Exception {
+        String actual = "<city><!-- capital -->Oslo</city>";
+
+        assertThat(XmlContent.matches(actual, "<city>Oslo</city>", false, true), is(true));
+        assertThat(XmlContent.matches(actual, "<city>Oslo</city>", false, false), is(false));
+    }
+}
@@ -0,0 +1,284 @@
+package com.smartbear.readyapi4j.local.http;
+
+import com.google.common.io.ByteStreams;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.local.execution.SoapUIRecipeExecutor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.POST;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class HttpResponseCacheTest {
+    private static final String ETAG = "\"v1\"";
+    private static final byte[] LARGE_BODY = new byte[1024 * 1024];
+
+    static {
+        new Random(1).nextBytes(LARGE_BODY);
+    }
+
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private HttpServer origin;
+    private String originURL;
+    private HttpResponseCache responseCache;
+
+    @Before
+    public void setUp() throws IOException {
+        origin = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        origin.createContext("/fresh", exchange -> respond(exchange, 200, "Cache-Control", "max-age=60"));
+        origin.createContext("/etag", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                respond(exchange, 304, "ETag", ETAG);
+            } else {
+                respond(exchange, 200, "ETag", ETAG);
+            }
+        });
+        origin.createContext("/no-store", exchange -> respond(exchange, 200, "Cache-Control", "no-store, max-age=60"));
+        origin.createContext("/json", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            respond(exchange, 200, "Cache-Control", "public, max-age=60");
+        });
+        origin.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "Cache-Control", "max-age=60");
+        });
+        origin.createContext("/large", exchange -> {
+            requestCounts.computeIfAbsent("/large", p -> new AtomicInteger()).incrementAndGet();
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            // echoes the request body, or sends a large body of its own
+            byte[] body = ByteStreams.toByteArray(exchange.getRequestBody());
+            if (body.length == 0) {
+                body = LARGE_BODY;
+            }
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        origin.start();
+        originURL = "http://localhost:" + origin.getAddress().getPort();
+        responseCache = HttpResponseCache.builder().start();
+    }
+
+    @After
+    public void tearDown() {
+        responseCache.close();
+        origin.stop(0);
+    }
+
+    @Test
+    public void reusesFreshResponses() throws Exception {
+        assertThat(get("/fresh", "MISS"), is("/fresh 1"));
+        assertThat(get("/fresh", "HIT"), is("/fresh 1"));
+
+        assertThat(requestCount("/fresh"), is(1));
+        ResponseCacheStats stats = responseCache.stats();
+        assertThat(stats.hitCount(), is(1L));
+        assertThat(stats.missCount(), is(1L));
+        assertThat(stats.hitRatio(), is(0.5));
+    }
+
+    @Test
+    public void revalidatesResponsesWithETag() throws Exception {
+        assertThat(get("/etag", "MISS"), is("/etag 1"));
+        assertThat(get("/etag", "REVALIDATED"), is("/etag 1"));
+
+        assertThat(requestCount("/etag"), is(2));
+        assertThat(responseCache.stats().revalidationCount(), is(1L));
+    }
+
+    @Test
+    public void doesNotStoreNoStoreResponses() throws Exception {
+        assertThat(get("/no-store", "MISS"), is("/no-store 1"));
+        assertThat(get("/no-store", "MISS"), is("/no-store 2"));
+        assertThat(responseCache.size(), is(0L));
+    }
+
+    @Test
+    public void keysResponsesByKeyHeaders() throws Exception {
+        HttpURLConnection xmlConnection = open("/fresh");
+        xmlConnection.setRequestProperty("Accept", "application/xml");
+        assertThat(read(xmlConnection), is("/fresh 1"));
+
+        assertThat(get("/fresh", "MISS"), is("/fresh 2"));
+        assertThat(responseCache.size(), is(2L));
+    }
+
+    @Test
+    public void bypassesCacheForNonIdempotentMethods() throws Exception {
+        assertThat(get("/fresh", "MISS"), is("/fresh 1"));
+        HttpURLConnection connection = open("/fresh");
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write("{}".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(connection.getHeaderField(HttpResponseCache.CACHE_HEADER), is("BYPASS"));
+        assertThat(read(connection), is("/fresh 2"));
+
+        assertThat(get("/fresh", "MISS"), is("/fresh 3"));
+        assertThat(responseCache.stats().bypassCount(), is(1L));
+        assertThat(HttpResponseCache.isCachedMethod("POST"), is(false));
+        assertThat(HttpResponseCache.isCachedMethod("get"), is(true));
+    }
+
+    @Test
+    public void failsRequestsThatExceedTheReadTimeout() throws Exception {
+        responseCache.close();
+        responseCache = HttpResponseCache.builder().withReadTimeout(200).start();
+
+        HttpURLConnection connection = open("/slow");
+
+        assertThat(connection.getResponseCode(), is(502));
+    }
+
+    @Test
+    public void matchesProxyExcludes() {
+        assertThat(HttpResponseCache.isExcluded("localhost", "localhost, 127.0.0.1"), is(true));
+        assertThat(HttpResponseCache.isExcluded("api.example.com", "*.example.com"), is(true));
+        assertThat(HttpResponseCache.isExcluded("api.example.com", ".example.com"), is(true));
+        assertThat(HttpResponseCache.isExcluded("example.com", "*.example.com"), is(false));
+        assertThat(HttpResponseCache.isExcluded("api.example.com", ""), is(false));
+    }
+
+    @Test
+    public void evictsResponsesBeyondMaximumWeight() throws Exception {
+        responseCache.close();
+        responseCache = HttpResponseCache.builder().withMaximumWeight(1).start();
+
+        get("/fresh", "MISS");
+        get("/fresh", "MISS");
+
+        assertThat(requestCount("/fresh"), is(2));
+        assertThat(responseCache.size(), is(0L));
+    }
+
+    @Test
+    public void streamsBodiesLargerThanTheEntryLimit() throws Exception {
+        responseCache.close();
+        responseCache = HttpResponseCache.builder().withMaximumWeight(64 * 1024).start();
+
+        for (int i = 0; i < 2; i++) {
+            HttpURLConnection connection = open("/large");
+            assertThat(connection.getHeaderField(HttpResponseCache.CACHE_HEADER), is("MISS"));
+            assertThat(readBytes(connection), is(LARGE_BODY));
+        }
+        assertThat(responseCache.size(), is(0L));
+
+        byte[] requestBody = Arrays.copyOf(LARGE_BODY, LARGE_BODY.length / 2);
+        HttpURLConnection connection = open("/large");
+        connection.setRequestMethod("PUT");
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(8192);
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(requestBody);
+        }
+        assertThat(connection.getHeaderField(HttpResponseCache.CACHE_HEADER), is("BYPASS"));
+        assertThat(readBytes(connection), is(requestBody));
+        assertThat(requestCount("/large"), is(3));
+    }
+
+    @Test
+    public void sharesCacheAcrossExecutions() throws Exception {
+        SoapUIRecipeExecutor executor = new SoapUIRecipeExecutor();
+        executor.setResponseCache(responseCache);
+
+        for (int i = 0; i < 2; i++) {
+            Execution execution = executor.executeRecipe(newTestRecipe(
+                    GET(originURL + "/json")
+                            .acceptsJson()
+                            .assertJsonContent("message", "/json 1")
+            ).buildTestRecipe());
+            assertThat(execution.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+        }
+        assertThat(requestCount("/json"), is(1));
+        assertThat(responseCache.stats().hitCount(), is(1L));
+    }
+
+    @Test
+    public void invalidatesCachedResponsesWhenRecipeChangesResource() throws Exception {
+        SoapUIRecipeExecutor executor = new SoapUIRecipeExecutor();
+        executor.setResponseCache(responseCache);
+
+        Execution execution = executor.executeRecipe(newTestRecipe(
+                GET(originURL + "/json")
+                        .acceptsJson()
+                        .assertJsonContent("message", "/json 1"),
+                POST(originURL + "/json")
+                        .withRequestBody("{}"),
+                GET(originURL + "/json")
+                        .acceptsJson()
+                        .assertJsonContent("message", "/json 3")
+        ).buildTestRecipe());
+
+        assertThat(execution.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+        assertThat(requestCount("/json"), is(3));
+        assertThat(responseCache.stats().bypassCount(), is(1L));
+    }
+
+    private String get(String path, String expectedCacheStatus) throws IOException {
+        HttpURLConnection connection = open(path);
+        assertThat(connection.getHeaderField(HttpResponseCache.CACHE_HEADER), is(expectedCacheStatus));
+        return read(connection);
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL(responseCache.toCacheEndpoint(originURL + path)).openConnection();
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        return new String(readBytes(connection), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(HttpURLConnection connection) throws IOException {
+        try (InputStream inputStream = connection.getInputStream()) {
+            return ByteStreams.toByteArray(inputStream);
+        }
+    }
+
+    private int requestCount(String path) {
+        return requestCounts.getOrDefault(path, new AtomicInteger()).get();
+    }
+
+    private void respond(HttpExchange exchange, int status, String headerName, String headerValue) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        int count = requestCounts.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+        exchange.getResponseHeaders().set(headerName, headerValue);
+        if (status == 304) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = (path.equals("/json") ? "{\"message\":\"" + path + " " + count + "\"}" : path + " " + count)
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
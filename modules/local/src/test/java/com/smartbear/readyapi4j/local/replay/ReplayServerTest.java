@@ -0,0 +1,169 @@
+package com.smartbear.readyapi4j.local.replay;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.HarContent;
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.client.model.HarHeader;
+import com.smartbear.readyapi4j.client.model.HarPostData;
+import com.smartbear.readyapi4j.client.model.HarRequest;
+import com.smartbear.readyapi4j.client.model.HarResponse;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.local.execution.SoapUIRecipeExecutor;
+import com.smartbear.readyapi4j.local.http.RoutedEndpoints;
+import com.smartbear.readyapi4j.util.rest.Pair;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static com.smartbear.readyapi4j.TestRecipeBuilder.newTestRecipe;
+import static com.smartbear.readyapi4j.teststeps.TestSteps.GET;
+import static com.smartbear.readyapi4j.util.rest.local.LocalServerUtil.startLocalServer;
+import static com.smartbear.readyapi4j.util.rest.local.LocalServerUtil.stopLocalServer;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ReplayServerTest {
+    private static final String MESSAGE = "Recorded World";
+    private static final String BOGUS_URL = "http://bogus.doesnotexist/items";
+
+    private static String serverURL;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() {
+        int port = startLocalServer(8080, new Pair<>("/recorded", MESSAGE));
+        serverURL = "http://localhost:" + port + "/recorded";
+    }
+
+    @AfterClass
+    public static void cleanUp() {
+        stopLocalServer();
+    }
+
+    @Test
+    public void findsExchangesByMethodUrlQueryAndBody() {
+        RecordedExchanges recordedExchanges = new RecordedExchanges();
+        recordedExchanges.add(harEntry("GET", BOGUS_URL + "?b=2&a=1", null, "first"));
+        recordedExchanges.add(harEntry("POST", BOGUS_URL, "{\"id\":1}", "created"));
+
+        assertThat(responseText(recordedExchanges, "get", "HTTP://BOGUS.doesnotexist/items?a=1&b=2", null), is("first"));
+        assertThat(responseText(recordedExchanges, "POST", BOGUS_URL, "{\"id\":1}"), is("created"));
+        assertThat(recordedExchanges.find("POST", BOGUS_URL, "{\"id\":2}").isPresent(), is(false));
+        assertThat(recordedExchanges.find("GET", BOGUS_URL, null).isPresent(), is(false));
+    }
+
+    @Test
+    public void replaysExchangesInRecordedOrder() {
+        RecordedExchanges recordedExchanges = new RecordedExchanges();
+        recordedExchanges.add(harEntry("GET", BOGUS_URL, null, "first"));
+        recordedExchanges.add(harEntry("GET", BOGUS_URL, null, "second"));
+
+        assertThat(responseText(recordedExchanges, "GET", BOGUS_URL, null), is("first"));
+        assertThat(responseText(recordedExchanges, "GET", BOGUS_URL, null), is("second"));
+        assertThat(responseText(recordedExchanges, "GET", BOGUS_URL, null), is("second"));
+        recordedExchanges.rewind();
+        assertThat(responseText(recordedExchanges, "GET", BOGUS_URL, null), is("first"));
+    }
+
+    @Test
+    public void replaysRecipeWithoutBackend() throws Exception {
+        RecordedExchanges recordedExchanges = new RecordedExchanges();
+        recordedExchanges.add(harEntry("GET", BOGUS_URL, null, "{\"message\":\"" + MESSAGE + "\"}"));
+        SoapUIRecipeExecutor executor = new SoapUIRecipeExecutor();
+
+        try (ReplayServer replayServer = ReplayServer.start(recordedExchanges)) {
+            executor.setReplayServer(replayServer);
+            Execution execution = executor.executeRecipe(newTestRecipe(
+                    GET(BOGUS_URL)
+                            .acceptsJson()
+                            .assertJsonContent("message", MESSAGE)
+            ).buildTestRecipe());
+
+            assertThat(execution.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+            HarRequest request = execution.getExecutionResult().getTestStepResult(0).getHarEntry().getRequest();
+            assertThat(request.getUrl(), is(BOGUS_URL));
+            assertThat(request.getHeaders().stream()
+                    .filter(header -> "Host".equalsIgnoreCase(header.getName()))
+                    .allMatch(header -> "bogus.doesnotexist".equals(header.getValue())), is(true));
+        }
+    }
+
+    @Test
+    public void mapsRoutedEndpointsBackToOriginalEndpoints() throws Exception {
+        try (ReplayServer replayServer = ReplayServer.start(new RecordedExchanges())) {
+            String replayEndpoint = replayServer.toReplayEndpoint(BOGUS_URL + "?id=1");
+
+            assertThat(RoutedEndpoints.toOriginalEndpoint(replayServer.getAddress(), replayEndpoint),
+                    is(BOGUS_URL + "?id=1"));
+            assertThat(RoutedEndpoints.toOriginalEndpoint(replayServer.getAddress(), serverURL), is(serverURL));
+            assertThat(RoutedEndpoints.toOriginalEndpoint(null, replayEndpoint), is(replayEndpoint));
+        }
+    }
+
+    @Test
+    public void recordsAndReplaysExecution() throws Exception {
+        Path archive = temporaryFolder.getRoot().toPath().resolve("exchanges.json");
+        SoapUIRecipeExecutor recordingExecutor = new SoapUIRecipeExecutor();
+        TestRecipe recipe = newTestRecipe(
+                GET(serverURL)
+                        .acceptsJson()
+                        .assertJsonContent("message", MESSAGE)
+        ).buildTestRecipe();
+
+        try (RecordingExecutionListener recordingListener = new RecordingExecutionListener(archive)) {
+            recordingExecutor.addExecutionListener(recordingListener);
+            assertThat(recordingExecutor.executeRecipe(recipe).getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+            assertThat(Files.exists(archive), is(false));
+        }
+
+        RecordedExchanges recordedExchanges = RecordedExchanges.load(archive);
+        assertThat(recordedExchanges.size(), is(1));
+        SoapUIRecipeExecutor replayingExecutor = new SoapUIRecipeExecutor();
+        try (ReplayServer replayServer = ReplayServer.start(recordedExchanges)) {
+            replayingExecutor.setReplayServer(replayServer);
+            Execution execution = replayingExecutor.executeRecipe(recipe);
+
+            assertThat(execution.getCurrentStatus(), is(TestJobReport.StatusEnum.FINISHED));
+            assertThat(execution.getExecutionResult().getTestStepResult(0).getHarEntry().getResponse().getHeaders().stream()
+                    .anyMatch(header -> ReplayServer.REPLAY_HEADER.equals(header.getName()) && "hit".equals(header.getValue())), is(true));
+        }
+    }
+
+    @Test
+    public void answersUnrecordedRequestsWithNotFound() throws Exception {
+        try (ReplayServer replayServer = ReplayServer.start(new RecordedExchanges())) {
+            HttpURLConnection connection = (HttpURLConnection) new URL(replayServer.toReplayEndpoint(BOGUS_URL)).openConnection();
+
+            assertThat(connection.getResponseCode(), is(404));
+            assertThat(connection.getHeaderField(ReplayServer.REPLAY_HEADER), is("miss"));
+        }
+    }
+
+    private static String responseText(RecordedExchanges recordedExchanges, String method, String url, String body) {
+        return recordedExchanges.find(method, url, body).get().getResponse().getContent().getText();
+    }
+
+    private static HarEntry harEntry(String method, String url, String body, String responseText) {
+        HarRequest request = new HarRequest().method(method).url(url);
+        if (body != null) {
+            request.postData(new HarPostData().mimeType("application/json").text(body));
+        }
+        return new HarEntry()
+                .request(request)
+                .response(new HarResponse()
+                        .status(200)
+                        .headers(Collections.singletonList(new HarHeader().name("Content-Type").value("application/json")))
+                        .content(new HarContent().mimeType("application/json").text(responseText)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.smartbear.readyapi4j.local.scripting;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class GroovyScriptCacheTest {
+
+    @Before
+    public void setUp() {
+        GroovyScriptCache.clear();
+    }
+
+    @Test
+    public void compilesIdenticalScriptTextOnce() throws Exception {
+        long compilations = GroovyScriptCache.stats().loadCount();
+
+        Class<?> scriptClass = GroovyScriptCache.getScriptClass("return 1 + 1");
+
+        assertThat(GroovyScriptCache.getScriptClass("return 1 + 1"), is(sameInstance(scriptClass)));
+        assertThat(GroovyScriptCache.getScriptClass("return 1 + 2"), is(not(sameInstance(scriptClass))));
+        assertThat(GroovyScriptCache.stats().loadCount() - compilations, is(2L));
+        assertThat(GroovyScriptCache.size(), is(2L));
+    }
+
+    @Test
+    public void runsCachedScriptWithFreshBindings() throws Exception {
+        String script = "counter = (binding.hasVariable('counter') ? counter : 0) + 1; return value * counter";
+
+        Object first = GroovyScriptCache.createScript(script, bindingWithValue(2)).run();
+        Object second = GroovyScriptCache.createScript(script, bindingWithValue(3)).run();
+
+        assertThat(first, is(2));
+        assertThat(second, is(3));
+    }
+
+    @Test
+    public void compilesScriptsAgainstTheirParentClassLoader() throws Exception {
+        GroovyClassLoader libraryLoader = new GroovyClassLoader(getClass().getClassLoader());
+        libraryLoader.parseClass("class Greeter { String greet() { 'hello' } }", "Greeter.groovy");
+        String script = "return new Greeter().greet()";
+
+        Class<?> scriptClass = GroovyScriptCache.getScriptClass(libraryLoader, script);
+
+        assertThat(GroovyScriptCache.getScriptClass(libraryLoader, script), is(sameInstance(scriptClass)));
+        assertThat(GroovyScriptCache.getScriptClass(new GroovyClassLoader(libraryLoader), script),
+                is(not(sameInstance(scriptClass))));
+        assertThat(GroovyScriptCache.createScript(libraryLoader, script, new Binding()).run(), is("hello"));
+    }
+
+    @Test(expected = org.codehaus.groovy.control.CompilationFailedException.class)
+    public void throwsCompilationFailures() throws Exception {
+        GroovyScriptCache.getScriptClass("return (");
+    }
+
+    private static Binding bindingWithValue(int value) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("value", value);
+        return new Binding(variables);
+    }
+}
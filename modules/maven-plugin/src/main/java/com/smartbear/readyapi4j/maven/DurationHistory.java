@@ -0,0 +1,90 @@
+package com.smartbear.readyapi4j.maven;
+
+/*
+ * Copyright 2004-2015 SmartBear Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durations of recipe and project runs from previous builds, in milliseconds, keyed by file. Used to balance
+ * shards, so files that didn't run in this build keep their previous duration when the history is saved.
+ */
+
+class DurationHistory {
+    private final File historyFile;
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    private DurationHistory(File historyFile) {
+        this.historyFile = historyFile;
+    }
+
+    /**
+     * Loads the history from the specified file, a missing or unreadable file results in an empty history
+     */
+    static DurationHistory load(File historyFile) {
+        DurationHistory history = new DurationHistory(historyFile);
+        if (historyFile.exists()) {
+            Properties entries = new Properties();
+            try (InputStream inputStream = new FileInputStream(historyFile)) {
+                entries.load(inputStream);
+            } catch (IOException e) {
+                return history;
+            }
+            for (String key : entries.stringPropertyNames()) {
+                try {
+                    history.durations.put(key, Long.parseLong(entries.getProperty(key)));
+                } catch (NumberFormatException e) {
+                    // ignore corrupt entries, the file will be estimated until it has run again
+                }
+            }
+        }
+        return history;
+    }
+
+    /**
+     * @return the duration of the last run of the specified file or null if it hasn't run before
+     */
+    Long getDuration(String key) {
+        return durations.get(key);
+    }
+
+    void record(String key, long duration) {
+        durations.put(key, duration);
+    }
+
+    void save() throws IOException {
+        File parent = historyFile.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent);
+        }
+
+        Properties entries = new Properties();
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            entries.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        try (OutputStream outputStream = new FileOutputStream(historyFile)) {
+            entries.store(outputStream, "ReadyAPI recipe and project durations in milliseconds, used for sharding");
+        }
+    }
+}
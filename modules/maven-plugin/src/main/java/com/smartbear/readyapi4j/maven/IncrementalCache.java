@@ -0,0 +1,164 @@
+package com.smartbear.readyapi4j.maven;
+
+/*
+ * Copyright 2004-2015 SmartBear Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fingerprints of the recipes that passed in previous builds, persisted between builds so that unchanged
+ * recipes don't have to be run again. A fingerprint covers the filtered recipe content, the filter properties,
+ * the environment and the target endpoint.
+ */
+
+class IncrementalCache {
+    private static final String SEPARATOR = ",";
+
+    private final File cacheFile;
+    private final Map<String, Entry> passedRecipes = new ConcurrentHashMap<>();
+    private final Map<String, String> currentFingerprints = new ConcurrentHashMap<>();
+
+    private IncrementalCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Loads the cache from the specified file, a missing or unreadable file results in an empty cache
+     */
+    static IncrementalCache load(File cacheFile) {
+        IncrementalCache cache = new IncrementalCache(cacheFile);
+        if (cacheFile.exists()) {
+            Properties entries = new Properties();
+            try (InputStream inputStream = new FileInputStream(cacheFile)) {
+                entries.load(inputStream);
+            } catch (IOException e) {
+                return cache;
+            }
+            for (String fileName : entries.stringPropertyNames()) {
+                Entry entry = Entry.parse(entries.getProperty(fileName));
+                if (entry != null) {
+                    cache.passedRecipes.put(fileName, entry);
+                }
+            }
+        }
+        return cache;
+    }
+
+    static String fingerprint(String recipeText, Map<?, ?> properties, String environment, String endpoint) {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(recipeText, StandardCharsets.UTF_8)
+                .putChar('\0')
+                .putString(String.valueOf(environment), StandardCharsets.UTF_8)
+                .putChar('\0')
+                .putString(String.valueOf(endpoint), StandardCharsets.UTF_8);
+        if (properties != null) {
+            // sort so that the fingerprint doesn't depend on map iteration order
+            for (Map.Entry<String, String> property : toSortedMap(properties).entrySet()) {
+                hasher.putChar('\0')
+                        .putString(property.getKey(), StandardCharsets.UTF_8)
+                        .putChar('=')
+                        .putString(property.getValue(), StandardCharsets.UTF_8);
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Remembers the fingerprint of the current run of a recipe and checks it against the previous build
+     *
+     * @return true if the recipe passed in a previous build with the same fingerprint
+     */
+    boolean isUnchanged(String fileName, String fingerprint) {
+        currentFingerprints.put(fileName, fingerprint);
+        Entry entry = passedRecipes.get(fileName);
+        return entry != null && entry.fingerprint.equals(fingerprint);
+    }
+
+    /**
+     * @return the duration of the previous passing run, in milliseconds
+     */
+    long getPreviousDuration(String fileName) {
+        Entry entry = passedRecipes.get(fileName);
+        return entry == null ? 0 : entry.duration;
+    }
+
+    void recordResult(String fileName, boolean passed, long duration) {
+        String fingerprint = currentFingerprints.get(fileName);
+        if (passed && fingerprint != null) {
+            passedRecipes.put(fileName, new Entry(fingerprint, duration));
+        } else {
+            passedRecipes.remove(fileName);
+        }
+    }
+
+    void save() throws IOException {
+        File parent = cacheFile.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent);
+        }
+
+        Properties entries = new Properties();
+        for (Map.Entry<String, Entry> entry : passedRecipes.entrySet()) {
+            entries.setProperty(entry.getKey(), entry.getValue().fingerprint + SEPARATOR + entry.getValue().duration);
+        }
+        try (OutputStream outputStream = new FileOutputStream(cacheFile)) {
+            entries.store(outputStream, "ReadyAPI recipe fingerprints, delete to force all recipes to run");
+        }
+    }
+
+    private static Map<String, String> toSortedMap(Map<?, ?> properties) {
+        Map<String, String> result = new TreeMap<>();
+        for (Map.Entry<?, ?> property : properties.entrySet()) {
+            result.put(String.valueOf(property.getKey()), String.valueOf(property.getValue()));
+        }
+        return result;
+    }
+
+    private static class Entry {
+        private final String fingerprint;
+        private final long duration;
+
+        Entry(String fingerprint, long duration) {
+            this.fingerprint = fingerprint;
+            this.duration = duration;
+        }
+
+        static Entry parse(String value) {
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return null;
+            }
+            try {
+                return new Entry(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
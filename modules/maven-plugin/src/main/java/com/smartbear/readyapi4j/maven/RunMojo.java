@@ -16,25 +16,26 @@ package com.smartbear.readyapi4j.maven;
  * limitations under the License.
  */
 
-import com.google.common.collect.Lists;
 import com.smartbear.readyapi4j.TestRecipe;
 import com.smartbear.readyapi4j.TestRecipeBuilder;
-import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.baseline.LatencyBaseline;
+import com.smartbear.readyapi4j.baseline.LatencyComparison;
+import com.smartbear.readyapi4j.baseline.LatencyRecorder;
+import com.smartbear.readyapi4j.baseline.LatencyTolerance;
 import com.smartbear.readyapi4j.client.model.TestJobReport;
-import com.smartbear.readyapi4j.client.model.TestStepResultReport;
-import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
 import com.smartbear.readyapi4j.execution.Execution;
 import com.smartbear.readyapi4j.execution.RecipeExecutor;
 import com.smartbear.readyapi4j.facade.execution.RecipeExecutorBuilder;
 import com.smartbear.readyapi4j.junitreport.JUnitReport;
+import com.smartbear.readyapi4j.junitreport.JUnitReportWriter;
 import com.smartbear.readyapi4j.junitreport.TestFailureException;
 import com.smartbear.readyapi4j.testengine.execution.ProjectExecutionRequest;
 import com.smartbear.readyapi4j.testengine.execution.ProjectExecutor;
 import com.smartbear.readyapi4j.testengine.execution.TestEngineClient;
+import com.smartbear.readyapi4j.testengine.execution.TestEngineExecution;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.execution.MavenSession;
-import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -42,25 +43,43 @@ import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.filtering.MavenFileFilter;
 import org.apache.maven.shared.filtering.MavenFilteringException;
 import org.apache.maven.shared.filtering.MavenResourcesExecution;
-import org.apache.maven.shared.filtering.MavenResourcesFiltering;
 import org.apache.maven.shared.model.fileset.FileSet;
 import org.apache.maven.shared.model.fileset.util.FileSetManager;
+import org.apache.maven.shared.utils.io.FileUtils;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.MalformedURLException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import static com.smartbear.readyapi4j.client.model.TestStepResultReport.AssertionStatusEnum.FAIL;
 import static com.smartbear.readyapi4j.testengine.execution.ProjectExecutionRequest.Builder.forProjectFile;
 
 @Mojo(name = "run")
 public class RunMojo extends AbstractMojo {
+    /**
+     * Returned instead of a report for recipes that are skipped in incremental mode
+     */
+    private static final TestJobReport UNCHANGED_RECIPE = new TestJobReport();
+
+    private static final String RECIPE_KEY_PREFIX = "recipes/";
+    private static final String PROJECT_KEY_PREFIX = "projects/";
+    private static final long PROJECT_STATUS_POLL_INTERVAL = 1000;
+    private static final int MAX_FAILED_STATUS_POLLS = 10;
+
     @Component
-    private MavenResourcesFiltering resourcesFiltering;
+    private MavenFileFilter mavenFileFilter;
 
     @Component
     private MavenProject mavenProject;
@@ -104,6 +123,12 @@ public class RunMojo extends AbstractMojo {
     @Parameter(defaultValue = "${project.basedir}/target/test-recipes", required = true)
     private File targetDirectory;
 
+    /**
+     * Writes the filtered recipes to targetDirectory, for debugging - recipes are otherwise filtered in memory
+     */
+    @Parameter(defaultValue = "false", property = "testengine.writeFilteredRecipes")
+    private boolean writeFilteredRecipes;
+
     @Parameter(required = true, defaultValue = "false")
     private boolean ignoreRecipes;
 
@@ -113,7 +138,131 @@ public class RunMojo extends AbstractMojo {
     @Parameter(defaultValue = "${basedir}/target/surefire-reports")
     private File reportTarget;
 
+    /**
+     * Writes test cases to the report as they finish instead of keeping the whole report in memory until the end,
+     * for runs with many recipes
+     */
+    @Parameter(defaultValue = "false", property = "testengine.streamReport")
+    private boolean streamReport;
+
+    /**
+     * Reports one test case per test step instead of one per recipe or project, grouped by their test case
+     */
+    @Parameter(defaultValue = "false", property = "testengine.testStepGranularity")
+    private boolean testStepGranularity;
+
+    /**
+     * Number of recipes/projects executed concurrently, 1 runs them one after another on the build thread
+     */
+    @Parameter(defaultValue = "1", property = "testengine.threadCount")
+    private int threadCount;
+
+    /**
+     * Maximum number of recipes/projects that are started but not yet added to the report, defaults to twice the
+     * threadCount. Results are always reported in file order, so this bounds how far execution can run ahead of a
+     * slow recipe.
+     */
+    @Parameter(defaultValue = "0", property = "testengine.maxInFlight")
+    private int maxInFlight;
+
+    /**
+     * Skips recipes that passed in a previous build and whose filtered content, properties, environment and
+     * endpoint are unchanged. Skipped recipes are reported as skipped test cases with a "cached" message, so they
+     * can't be mistaken for recipes that actually ran.
+     */
+    @Parameter(defaultValue = "false", property = "testengine.incremental")
+    private boolean incremental;
+
+    @Parameter(defaultValue = "${project.build.directory}/readyapi-incremental.properties")
+    private File incrementalCacheFile;
+
+    /**
+     * Zero-based index of the shard to run when the recipes and projects are split across several builds
+     */
+    @Parameter(defaultValue = "0", property = "testengine.shardIndex")
+    private int shardIndex;
+
+    /**
+     * Number of shards to split the recipes and projects into. The files are dealt out by name, or balanced by the
+     * durations in durationsFile if it is set.
+     */
+    @Parameter(defaultValue = "1", property = "testengine.shardCount")
+    private int shardCount;
+
+    /**
+     * Durations of previous runs, used to balance shards and updated with the durations of this build. Not set by
+     * default, since every shard has to read the same file to end up with disjoint shards - e.g. a file restored
+     * from a CI cache, not one in the target directory of each node.
+     */
+    @Parameter(property = "testengine.durationsFile")
+    private File durationsFile;
+
+    /**
+     * Submits all XML projects to TestEngine before waiting for any of them, instead of running them one by one
+     */
+    @Parameter(defaultValue = "false", property = "testengine.submitAllProjects")
+    private boolean submitAllProjects;
+
+    /**
+     * Maximum time to wait for a submitted project in seconds, 0 waits indefinitely
+     */
+    @Parameter(defaultValue = "3600", property = "testengine.projectTimeout")
+    private int projectTimeout;
+
+    /**
+     * Compares the test step latencies of this build against the latency baseline, adds a latency-baseline
+     * section to the report and appends this build to the baseline if it passed
+     */
+    @Parameter(defaultValue = "false", property = "testengine.latencyBaseline")
+    private boolean latencyBaseline;
+
+    /**
+     * Append-only latency history, should be kept across builds, e.g. by restoring it from a CI cache. Defaults to
+     * the build directory so that builds don't write into the source tree.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/readyapi-latency-baseline.txt", property = "testengine.latencyBaselineFile")
+    private File latencyBaselineFile;
+
+    /**
+     * Number of most recent passing builds the baseline of a test step is computed from
+     */
+    @Parameter(defaultValue = "10", property = "testengine.latencyBaselineWindow")
+    private int latencyBaselineWindow;
+
+    /**
+     * Number of passing builds a test step needs in the baseline before it is compared
+     */
+    @Parameter(defaultValue = "3", property = "testengine.latencyBaselineMinimumRuns")
+    private int latencyBaselineMinimumRuns;
+
+    /**
+     * Allowed slowdown of the p50 and p95 latencies in percent
+     */
+    @Parameter(defaultValue = "20", property = "testengine.latencyTolerance")
+    private int latencyTolerance;
+
+    /**
+     * Allowed slowdown of the p99 latency in percent
+     */
+    @Parameter(defaultValue = "50", property = "testengine.latencyP99Tolerance")
+    private int latencyP99Tolerance;
+
+    /**
+     * Slowdown in milliseconds below which a latency never counts as a regression
+     */
+    @Parameter(defaultValue = "50", property = "testengine.latencyMinimumDelta")
+    private long latencyMinimumDelta;
+
+    @Parameter(defaultValue = "true", property = "testengine.failOnLatencyRegression")
+    private boolean failOnLatencyRegression;
+
     private RecipeExecutor recipeExecutor;
+    private ProjectExecutor projectExecutor;
+    private IncrementalCache incrementalCache;
+    private DurationHistory durationHistory;
+    private ExecutorService executorService;
+    private List<FileUtils.FilterWrapper> filterWrappers;
+    private LatencyRecorder latencyRecorder;
 
     public void execute()
             throws MojoExecutionException, MojoFailureException {
@@ -133,6 +282,17 @@ public class RunMojo extends AbstractMojo {
                 xmlProjectFiles = getIncludedFiles(xmlProjectDirectory, "**/*.xml");
             }
 
+            durationHistory = durationsFile == null ? null : DurationHistory.load(durationsFile);
+            if (shardCount > 1) {
+                if (shardIndex < 0 || shardIndex >= shardCount) {
+                    throw new MojoExecutionException("shardIndex must be between 0 and " + (shardCount - 1) + ", was " + shardIndex);
+                }
+                Map<String, Integer> shards = ShardPlanner.plan(shardKeys(recipeFiles, xmlProjectFiles), durationHistory, shardCount);
+                recipeFiles = filterShard(recipeFiles, RECIPE_KEY_PREFIX, shards);
+                xmlProjectFiles = filterShard(xmlProjectFiles, PROJECT_KEY_PREFIX, shards);
+                getLog().info("Running shard " + (shardIndex + 1) + " of " + shardCount);
+            }
+
             if (shouldRunRecipes() && notPresent(recipeFiles)) {
                 getLog().warn("No recipe present to be executed in recipe directory: " + recipeDirectory);
             }
@@ -146,34 +306,71 @@ public class RunMojo extends AbstractMojo {
             }
 
             readRecipeProperties();
-            initRecipeExecutor();
+            initExecutors();
+            if (!disableFiltering && !notPresent(recipeFiles)) {
+                initRecipeFiltering();
+            }
 
-            JUnitReport report = async ? null : new JUnitReport(properties, new MavenErrorLog());
+            TestReport report = async ? null : createReport();
+            if (incremental) {
+                if (async) {
+                    getLog().warn("Incremental mode is not supported for asynchronous execution, running all recipes");
+                } else {
+                    incrementalCache = IncrementalCache.load(incrementalCacheFile);
+                }
+            }
+            if (latencyBaseline) {
+                if (async) {
+                    getLog().warn("The latency baseline is not supported for asynchronous execution");
+                } else {
+                    latencyRecorder = new LatencyRecorder();
+                }
+            }
 
-            Result recipeExecutionResult = runRecipes(recipeFiles, report);
-            Result projectExecutionResult = runProjects(xmlProjectFiles, report);
+            Result recipeExecutionResult;
+            Result projectExecutionResult;
+            try {
+                if (threadCount > 1) {
+                    executorService = Executors.newFixedThreadPool(threadCount);
+                }
+                recipeExecutionResult = runRecipes(recipeFiles, report);
+                projectExecutionResult = runProjects(xmlProjectFiles, report);
+                if (incrementalCache != null) {
+                    incrementalCache.save();
+                }
+                if (report != null && durationHistory != null) {
+                    durationHistory.save();
+                }
+            } finally {
+                if (executorService != null) {
+                    executorService.shutdownNow();
+                    executorService = null;
+                }
+            }
 
 
             getLog().info("ReadyAPI TestEngine Maven Plugin");
             getLog().info("--------------------------------------");
             getLog().info("Recipes run: " + recipeExecutionResult.executionCount);
+            if (incrementalCache != null) {
+                getLog().info("Recipes skipped, unchanged since last passing run: " + recipeExecutionResult.cachedCount);
+            }
             getLog().info("Projects run: " + projectExecutionResult.executionCount);
             int totalFailures = recipeExecutionResult.failureCount + projectExecutionResult.failureCount;
             getLog().info("Failures: " + totalFailures);
+            int latencyRegressions = latencyRecorder == null ? 0 : checkLatencyBaseline(report, totalFailures);
 
             if (report != null) {
                 report.setTestSuiteName(mavenProject.getName());
-                report.setNoofFailuresInTestSuite(totalFailures);
-
-                if (!reportTarget.exists() && !reportTarget.mkdirs()) {
-                    throw new MojoExecutionException("Failed to create report directory: " + reportTarget);
-                }
-                report.save(new File(reportTarget, "recipe-report.xml"));
+                report.finish();
             }
 
             if (totalFailures > 0 && failOnFailures) {
                 throw new MojoFailureException(totalFailures + " failures during test execution");
             }
+            if (latencyRegressions > 0 && failOnLatencyRegression) {
+                throw new MojoFailureException(latencyRegressions + " test steps are slower than their latency baseline");
+            }
         } catch (MojoFailureException e) {
             throw e;
         } catch (Exception e) {
@@ -194,59 +391,229 @@ public class RunMojo extends AbstractMojo {
         return property;
     }
 
-    private Result runProjects(List<String> xmlProjectFiles, JUnitReport report) throws MojoFailureException, IOException, MavenFilteringException {
+    private Result runProjects(List<String> xmlProjectFiles, TestReport report) throws MojoFailureException, MojoExecutionException, IOException, MavenFilteringException {
         Result result = new Result();
-        TestJobReport response;
         if (shouldRunProjects() && xmlProjectFiles != null) {
-            for (String file : xmlProjectFiles) {
-                String fileName = file.toLowerCase();
-                File projectFile = new File(xmlProjectDirectory, file);
-                if (fileName.endsWith(".xml")) {
-                    result.incrementExecution();
-                    response = runXmlProject(projectFile);
-                } else {
-                    getLog().warn("Unexpected filename: " + fileName);
-                    continue;
-                }
+            ResponseHandler handler = (file, response) -> {
+                result.incrementExecution();
+                recordDuration(PROJECT_KEY_PREFIX, file, response);
+                recordLatencies(PROJECT_KEY_PREFIX, file, response);
                 try {
                     handleResponse(response, report, file);
                 } catch (MojoFailureException exception) {
                     getLog().error(exception);
                     result.incrementFailure();
                 }
+            };
+            if (submitAllProjects && !async) {
+                submitAndAwaitProjects(xmlProjectFiles, handler);
+            } else {
+                runInFileOrder(xmlProjectFiles, xmlProjectDirectory, ".xml", this::runXmlProject, handler);
             }
         }
         return result;
     }
 
-    private Result runRecipes(List<String> recipeFiles, JUnitReport report) throws MojoFailureException, IOException, MavenFilteringException {
+    private Result runRecipes(List<String> recipeFiles, TestReport report) throws MojoFailureException, MojoExecutionException, IOException, MavenFilteringException {
         Result result = new Result();
-        TestJobReport response;
         if (shouldRunRecipes() && recipeFiles != null) {
-            for (String file : recipeFiles) {
-                String fileName = file.toLowerCase();
-                File recipeFile = new File(recipeDirectory, file);
-                if (fileName.endsWith(".json")) {
-                    result.incrementExecution();
-                    response = runJsonRecipe(recipeFile);
-                } else {
-                    getLog().warn("Unexpected filename: " + fileName);
-                    continue;
+            runInFileOrder(recipeFiles, recipeDirectory, ".json", this::runJsonRecipe, (file, response) -> {
+                if (response == UNCHANGED_RECIPE) {
+                    getLog().info("Skipped unchanged recipe " + file + ", passed in previous build");
+                    result.incrementCached();
+                    if (report != null) {
+                        report.addSkippedTestCase(file, 0, "cached: unchanged since the last passing build, which took " +
+                                incrementalCache.getPreviousDuration(file) + " ms", new HashMap<String, String>(properties));
+                    }
+                    return;
                 }
+                result.incrementExecution();
+                recordDuration(RECIPE_KEY_PREFIX, file, response);
+                recordLatencies(RECIPE_KEY_PREFIX, file, response);
                 try {
-                    getLog().debug("Response body:" + result.toString());
+                    getLog().debug("Response body:" + response);
                     if (report != null) {
                         report.handleResponse(response, file);
                     }
+                    recordIncrementalResult(file, response, true);
                 } catch (TestFailureException e) {
                     getLog().error(e);
                     result.incrementFailure();
+                    recordIncrementalResult(file, response, false);
                 }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Runs the files on the worker pool (or on this thread if threadCount is 1) and hands each response to the
+     * handler on this thread, in the order of the files - so the report and the failure log are the same for
+     * every run regardless of which executions finish first.
+     */
+    private void runInFileOrder(List<String> files, File directory, String extension, FileRunner runner,
+                                ResponseHandler handler) throws MojoFailureException, MojoExecutionException, IOException, MavenFilteringException {
+        List<String> includedFiles = includedFiles(files, extension);
+        if (executorService == null) {
+            for (String file : includedFiles) {
+                handler.handle(file, runner.run(new File(directory, file)));
+            }
+            return;
+        }
+
+        int windowSize = maxInFlight > 0 ? maxInFlight : threadCount * 2;
+        Deque<PendingRun> pendingRuns = new ArrayDeque<>();
+        try {
+            for (String file : includedFiles) {
+                if (pendingRuns.size() >= windowSize) {
+                    handleNext(pendingRuns, handler);
+                }
+                File fileToRun = new File(directory, file);
+                pendingRuns.add(new PendingRun(file, executorService.submit(() -> runner.run(fileToRun))));
+            }
+            while (!pendingRuns.isEmpty()) {
+                handleNext(pendingRuns, handler);
+            }
+        } finally {
+            pendingRuns.forEach(pendingRun -> pendingRun.future.cancel(true));
+        }
+    }
+
+    private List<String> includedFiles(List<String> files, String extension) {
+        List<String> includedFiles = new ArrayList<>();
+        for (String file : files) {
+            if (file.toLowerCase().endsWith(extension)) {
+                includedFiles.add(file);
+            } else {
+                getLog().warn("Unexpected filename: " + file.toLowerCase());
+            }
+        }
+        return includedFiles;
+    }
+
+    private void handleNext(Deque<PendingRun> pendingRuns, ResponseHandler handler) throws MojoFailureException, MojoExecutionException, IOException, MavenFilteringException {
+        PendingRun pendingRun = pendingRuns.peek();
+        TestJobReport response;
+        try {
+            response = pendingRun.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while waiting for " + pendingRun.file, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MojoFailureException) {
+                throw (MojoFailureException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof MavenFilteringException) {
+                throw (MavenFilteringException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MojoExecutionException("Failed to run " + pendingRun.file, cause);
+        }
+        pendingRuns.remove();
+        handler.handle(pendingRun.file, response);
+    }
+
+    private void recordDuration(String keyPrefix, String file, TestJobReport response) {
+        Number totalTime = response.getTotalTime();
+        if (durationHistory != null && totalTime != null) {
+            durationHistory.record(shardKey(keyPrefix, file), totalTime.longValue());
+        }
+    }
+
+    private List<String> shardKeys(List<String> recipeFiles, List<String> xmlProjectFiles) {
+        List<String> keys = new ArrayList<>();
+        if (recipeFiles != null) {
+            recipeFiles.forEach(file -> keys.add(shardKey(RECIPE_KEY_PREFIX, file)));
+        }
+        if (xmlProjectFiles != null) {
+            xmlProjectFiles.forEach(file -> keys.add(shardKey(PROJECT_KEY_PREFIX, file)));
+        }
+        return keys;
+    }
+
+    private List<String> filterShard(List<String> files, String keyPrefix, Map<String, Integer> shards) {
+        if (files == null) {
+            return null;
+        }
+        List<String> result = new ArrayList<>();
+        for (String file : files) {
+            if (shards.get(shardKey(keyPrefix, file)) == shardIndex) {
+                result.add(file);
             }
         }
         return result;
     }
 
+    /**
+     * Keys are independent of the platform's path separator so that the history can be shared between agents
+     */
+    private static String shardKey(String keyPrefix, String file) {
+        return keyPrefix + file.replace('\\', '/');
+    }
+
+    /**
+     * Latencies are keyed by file as well, since recipes often reuse test case and test step names
+     */
+    private void recordLatencies(String keyPrefix, String file, TestJobReport response) {
+        if (latencyRecorder != null) {
+            latencyRecorder.record(response, shardKey(keyPrefix, file));
+        }
+    }
+
+    /**
+     * Compares this build against the latency baseline and adds it to the baseline if there were no failures or
+     * regressions, so a slow build doesn't become the new normal
+     *
+     * @return the number of regressed test steps
+     */
+    private int checkLatencyBaseline(TestReport report, int totalFailures) throws IOException {
+        LatencyBaseline baseline = LatencyBaseline.load(latencyBaselineFile, latencyBaselineWindow);
+        LatencyTolerance tolerance = new LatencyTolerance()
+                .withP50Tolerance(latencyTolerance / 100.0)
+                .withP95Tolerance(latencyTolerance / 100.0)
+                .withP99Tolerance(latencyP99Tolerance / 100.0)
+                .withMinimumDelta(latencyMinimumDelta);
+        List<LatencyComparison> comparisons = latencyRecorder.compareWith(baseline, tolerance, latencyBaselineMinimumRuns);
+        report.addLatencyComparisons(comparisons, failOnLatencyRegression);
+
+        int regressions = 0;
+        for (LatencyComparison comparison : comparisons) {
+            if (comparison.isRegression()) {
+                regressions++;
+                getLog().error("Latency regression in " + comparison.getKey() + ": " +
+                        String.join(", ", comparison.getRegressions()));
+            }
+        }
+        getLog().info("Test steps compared to latency baseline: " + comparisons.size() + ", regressions: " + regressions);
+
+        if (totalFailures == 0 && regressions == 0) {
+            baseline.append(latencyRecorder.getPercentiles());
+        }
+        return regressions;
+    }
+
+    private void recordIncrementalResult(String file, TestJobReport response, boolean passed) {
+        if (incrementalCache != null) {
+            Number totalTime = response.getTotalTime();
+            incrementalCache.recordResult(file, passed, totalTime == null ? 0 : totalTime.longValue());
+        }
+    }
+
+    /**
+     * The report file is created right away when streaming, so a failure to create it doesn't waste a whole run
+     */
+    private TestReport createReport() throws IOException {
+        File reportFile = new File(reportTarget, "recipe-report.xml");
+        TestReport report = streamReport ?
+                TestReport.streaming(new JUnitReportWriter(reportFile, properties, new MavenErrorLog())) :
+                TestReport.inMemory(new JUnitReport(properties, new MavenErrorLog()), reportFile);
+        report.setTestStepGranularity(testStepGranularity);
+        return report;
+    }
+
     private boolean shouldRunProjects() {
         return !ignoreProjectFiles;
     }
@@ -259,14 +626,22 @@ public class RunMojo extends AbstractMojo {
         return files == null || files.isEmpty();
     }
 
-    private void initRecipeExecutor() {
+    /**
+     * Creates the executors once per execution, recipes and projects share the same TestEngine client
+     */
+    private void initExecutors() throws MalformedURLException {
         RecipeExecutorBuilder recipeExecutorBuilder = new RecipeExecutorBuilder();
         if (StringUtils.isNotEmpty(server)) {
-            recipeExecutorBuilder.withEndpoint(server);
-            recipeExecutorBuilder.withUser(username);
-            recipeExecutorBuilder.withPassword(password);
+            // falls back to the testengine.user/testengine.password env and system properties like buildRemote
+            TestEngineClient testEngineClient = recipeExecutorBuilder
+                    .withUser(username)
+                    .withPassword(password)
+                    .buildClient(server);
+            recipeExecutor = recipeExecutorBuilder.buildRemote(testEngineClient);
+            projectExecutor = testEngineClient.createProjectExecutor();
+        } else {
+            recipeExecutor = recipeExecutorBuilder.build();
         }
-        recipeExecutor = recipeExecutorBuilder.build();
         getLog().info("Execution mode: " + recipeExecutor.getExecutionMode());
     }
 
@@ -300,70 +675,128 @@ public class RunMojo extends AbstractMojo {
         return Arrays.asList(fileSetManager.getIncludedFiles(fileSet));
     }
 
-    private void handleResponse(TestJobReport result, JUnitReport report, String recipeFileName) throws IOException, MojoFailureException {
+    private void handleResponse(TestJobReport result, TestReport report, String projectFileName) throws IOException, MojoFailureException {
         getLog().debug("Response body:" + result.toString());
 
         if (report != null) {
-            if (result.getStatus() == TestJobReport.StatusEnum.FAILED) {
-
-                String message = logErrorsToConsole(result);
-                report.addTestCaseWithFailure(recipeFileName, result.getTotalTime(),
-                        message, "<missing stacktrace>", new HashMap<String, String>(properties));
-
-                throw new MojoFailureException("Recipe failed, recipe file: " + recipeFileName);
-            } else {
-                report.addTestCase(recipeFileName, result.getTotalTime(), new HashMap<String, String>(properties));
+            try {
+                report.handleResponse(result, projectFileName);
+            } catch (TestFailureException e) {
+                throw new MojoFailureException(e.getMessage(), e);
             }
         }
     }
 
-    private String logErrorsToConsole(TestJobReport result) {
+    private TestJobReport runXmlProject(File file) throws IOException, MavenFilteringException, MojoFailureException {
+        Execution execution = async ? submitXmlProject(file) : executeXmlProject(file);
+        return execution.getCurrentReport();
+    }
+
+    private Execution executeXmlProject(File file) throws MojoFailureException {
+        getLog().info("Executing project " + file.getName());
+        return getProjectExecutor().executeProject(createProjectExecutionRequest(file));
+    }
 
-        List<String> messages = new ArrayList<>();
+    private Execution submitXmlProject(File file) throws MojoFailureException {
+        getLog().info("Submitting project " + file.getName());
+        return getProjectExecutor().submitProject(createProjectExecutionRequest(file));
+    }
 
-        result.getTestSuiteResultReports().stream()
-                .map(TestSuiteResultReport::getTestCaseResultReports) // creates List<List<TestCaseResultReport>>
-                .flatMap(Collection::stream) //converts List<List<TestCaseResultReport>> to List<TestCaseResultReport>
-                .map(TestCaseResultReport::getTestStepResultReports) // List<List<TestStepResultReport>>
-                .flatMap(Collection::stream) // flattens List<List<TestStepResultReport>> to List<TestStepResultReport>
-                .filter(testStepResult -> testStepResult.getAssertionStatus() == FAIL) //keep only failed tests
-                .map(TestStepResultReport::getMessages) // creates List<List<String>>
-                .flatMap(Collection::stream) // flattens List<List<String>> to List<String>
-                .forEach(message -> { //process each message from List<String>
-                    messages.add(message);
-                    getLog().error("- " + message);
-                });
-        return Arrays.toString(messages.toArray());
+    private ProjectExecutionRequest createProjectExecutionRequest(File file) {
+        return forProjectFile(file)
+                .forEnvironment(environment)
+                .build();
     }
 
-    private TestJobReport runXmlProject(File file) throws IOException, MavenFilteringException, MojoFailureException {
-        if (StringUtils.isEmpty(server)) {
+    private ProjectExecutor getProjectExecutor() throws MojoFailureException {
+        if (projectExecutor == null) {
             throw new MojoFailureException("Project execution is supported only with TestEngine, not locally.");
         }
-        getLog().info("Executing project " + file.getName());
+        return projectExecutor;
+    }
 
-        ProjectExecutionRequest executionRequest = forProjectFile(file)
-                .forEnvironment(environment)
-                .build();
-        TestEngineClient testServerClient = TestEngineClient.fromUrl(server);
-        testServerClient.setCredentials(username, password);
-        ProjectExecutor projectExecutor = testServerClient.createProjectExecutor();
-        Execution execution = async ? projectExecutor.submitProject(executionRequest) :
-                projectExecutor.executeProject(executionRequest);
-        return execution.getCurrentReport();
+    /**
+     * Submits all projects before waiting for the first one, then handles the results in file order
+     */
+    private void submitAndAwaitProjects(List<String> files, ResponseHandler handler) throws MojoFailureException, MojoExecutionException, IOException {
+        List<String> includedFiles = includedFiles(files, ".xml");
+        List<Execution> executions = new ArrayList<>();
+        try {
+            for (String file : includedFiles) {
+                executions.add(submitXmlProject(new File(xmlProjectDirectory, file)));
+            }
+            for (int i = 0; i < includedFiles.size(); i++) {
+                handler.handle(includedFiles.get(i), awaitCompletion(executions.get(i), includedFiles.get(i)));
+            }
+        } catch (MojoFailureException | MojoExecutionException | IOException | RuntimeException e) {
+            executions.forEach(this::cancelQuietly);
+            throw e;
+        }
     }
 
-    private TestJobReport runJsonRecipe(File file) throws IOException, MavenFilteringException, MojoFailureException {
+    private TestJobReport awaitCompletion(Execution execution, String file) throws MojoExecutionException {
+        long deadline = projectTimeout > 0 ? System.currentTimeMillis() + projectTimeout * 1000L : Long.MAX_VALUE;
+        int failedPolls = 0;
+        try {
+            while (execution.getCurrentStatus() == TestJobReport.StatusEnum.RUNNING) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new MojoExecutionException("Project " + file + " did not finish within " + projectTimeout + " seconds");
+                }
+                Thread.sleep(PROJECT_STATUS_POLL_INTERVAL);
+                // the executor stops updating the status in the background after a few failed requests, after which
+                // the status would stay RUNNING forever - so poll it here as well
+                if (execution instanceof TestEngineExecution) {
+                    try {
+                        ((TestEngineExecution) execution).refreshStatus();
+                        failedPolls = 0;
+                    } catch (RuntimeException e) {
+                        if (++failedPolls >= MAX_FAILED_STATUS_POLLS) {
+                            throw new MojoExecutionException("Failed to get the status of project " + file +
+                                    " from TestEngine " + failedPolls + " times in a row", e);
+                        }
+                        getLog().debug("Failed to get the status of project " + file, e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while waiting for project " + file, e);
+        }
+        return execution.getCurrentReport();
+    }
 
-        if (!disableFiltering) {
-            file = filterRecipe(file);
+    private void cancelQuietly(Execution execution) {
+        if (execution.getCurrentStatus() == TestJobReport.StatusEnum.RUNNING) {
+            try {
+                execution.cancelExecution();
+            } catch (RuntimeException e) {
+                getLog().debug("Failed to cancel execution " + execution.getId(), e);
+            }
         }
+    }
+
+    private TestJobReport runJsonRecipe(File file) throws IOException, MavenFilteringException, MojoFailureException {
+        String relativePath = recipeDirectory.toPath().relativize(file.toPath()).toString();
 
-        getLog().info("Running recipe " + file.getName());
         TestRecipe testRecipe;
-        try (FileInputStream fileInputStream = new FileInputStream(file)) {
-            String recipeText = IOUtils.toString(fileInputStream);
-            testRecipe = TestRecipeBuilder.createFrom(recipeText);
+        try (Reader reader = openRecipe(file)) {
+            if (incrementalCache == null && !writeFilteredRecipes) {
+                getLog().info("Running recipe " + file.getName());
+                testRecipe = TestRecipeBuilder.createFrom(reader);
+            } else {
+                String recipeText = IOUtils.toString(reader);
+                if (writeFilteredRecipes) {
+                    writeFilteredRecipe(relativePath, recipeText);
+                }
+                if (incrementalCache != null) {
+                    String fingerprint = IncrementalCache.fingerprint(recipeText, properties, environment, server);
+                    if (incrementalCache.isUnchanged(relativePath, fingerprint)) {
+                        return UNCHANGED_RECIPE;
+                    }
+                }
+                getLog().info("Running recipe " + file.getName());
+                testRecipe = TestRecipeBuilder.createFrom(recipeText);
+            }
         }
         if (testRecipe == null) {
             throw new MojoFailureException(String.format("Couldn't read test recipe from file: %s, please make sure it contains a valid test recipe.", file.getName()));
@@ -373,47 +806,71 @@ public class RunMojo extends AbstractMojo {
         return execution.getCurrentReport();
     }
 
-    private File filterRecipe(File file) throws MavenFilteringException, MojoFailureException {
-        if (!targetDirectory.exists()) {
-            if (!targetDirectory.mkdirs()) {
-                throw new MojoFailureException("Couldn't create target directory: " + targetDirectory);
+    /**
+     * Opens the recipe file, interpolating properties while it is read unless filtering is disabled
+     */
+    private Reader openRecipe(File file) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(file), Charset.defaultCharset());
+        if (filterWrappers != null) {
+            for (FileUtils.FilterWrapper filterWrapper : filterWrappers) {
+                reader = filterWrapper.getReader(reader);
             }
         }
+        return reader;
+    }
 
-        Resource fileResource = new Resource();
-        fileResource.setDirectory(recipeDirectory.getAbsolutePath());
-
-        String filename = file.getAbsolutePath().substring(recipeDirectory.getAbsolutePath().length());
-
-        fileResource.addInclude(filename);
-        fileResource.setFiltering(true);
-
-        MavenResourcesExecution resourcesExecution = new MavenResourcesExecution();
-        resourcesExecution.setOutputDirectory(targetDirectory);
-        resourcesExecution.setResources(Lists.newArrayList(fileResource));
-        resourcesExecution.setOverwrite(true);
-        resourcesExecution.setSupportMultiLineFiltering(true);
-        resourcesExecution.setEncoding(Charset.defaultCharset().toString());
+    /**
+     * Sets up the filter chain once for all recipes, same as resource filtering with the default filter wrappers
+     */
+    private void initRecipeFiltering() throws MavenFilteringException {
+        MavenResourcesExecution filteringRequest = new MavenResourcesExecution();
+        filteringRequest.setSupportMultiLineFiltering(true);
+        filteringRequest.setEncoding(Charset.defaultCharset().toString());
 
         if (properties != null && !properties.isEmpty()) {
             Properties props = new Properties();
             props.putAll(properties);
             getLog().debug("Adding additional properties: " + properties.toString());
-            resourcesExecution.setAdditionalProperties(props);
+            filteringRequest.setAdditionalProperties(props);
         }
 
-        resourcesExecution.setMavenProject(mavenProject);
-        resourcesExecution.setMavenSession(mavenSession);
-        resourcesExecution.setUseDefaultFilterWrappers(true);
+        filteringRequest.setMavenProject(mavenProject);
+        filteringRequest.setMavenSession(mavenSession);
 
-        resourcesFiltering.filterResources(resourcesExecution);
+        filterWrappers = mavenFileFilter.getDefaultFilterWrappers(filteringRequest);
+    }
+
+    private void writeFilteredRecipe(String relativePath, String recipeText) throws IOException {
+        File filteredFile = new File(targetDirectory, relativePath);
+        File parent = filteredFile.getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.exists()) {
+            throw new IOException("Couldn't create target directory: " + parent);
+        }
+        Files.write(filteredFile.toPath(), recipeText.getBytes(Charset.defaultCharset()));
+    }
 
-        return new File(targetDirectory, filename);
+    private interface FileRunner {
+        TestJobReport run(File file) throws IOException, MavenFilteringException, MojoFailureException;
+    }
+
+    private interface ResponseHandler {
+        void handle(String file, TestJobReport response) throws IOException, MojoFailureException;
+    }
+
+    private static class PendingRun {
+        private final String file;
+        private final Future<TestJobReport> future;
+
+        PendingRun(String file, Future<TestJobReport> future) {
+            this.file = file;
+            this.future = future;
+        }
     }
 
     private static class Result {
         private int executionCount;
         private int failureCount;
+        private int cachedCount;
 
         void incrementExecution() {
             executionCount++;
@@ -422,6 +879,10 @@ public class RunMojo extends AbstractMojo {
         void incrementFailure() {
             failureCount++;
         }
+
+        void incrementCached() {
+            cachedCount++;
+        }
     }
 
     private class MavenErrorLog implements JUnitReport.ErrorLog {
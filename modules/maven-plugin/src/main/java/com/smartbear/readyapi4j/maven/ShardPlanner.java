@@ -0,0 +1,100 @@
+package com.smartbear.readyapi4j.maven;
+
+/*
+ * Copyright 2004-2015 SmartBear Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Assigns files to shards. Without a duration history the files are sorted by name and dealt out round robin,
+ * which only depends on the file list, so every node that sees the same checkout computes the same plan.
+ * <p>
+ * With a duration history, shards are balanced by total duration using the longest processing time first
+ * heuristic. Files without a recorded duration are spread by hashing their name and estimated with the average
+ * known duration. Since the plan then also depends on the history, it must be a shared input that is the same on
+ * every node, e.g. a file restored from a CI cache - a history one node recorded on its own would give overlapping
+ * or incomplete shards.
+ */
+
+class ShardPlanner {
+    private static final long DEFAULT_DURATION = 1000;
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * @param keys       the files to distribute, keyed the same way as in the duration history
+     * @param history    the durations from previous builds, shared by all nodes, or null to only use the file list
+     * @param shardCount the number of shards
+     * @return the shard index for each key
+     */
+    static Map<String, Integer> plan(List<String> keys, DurationHistory history, int shardCount) {
+        List<String> sortedKeys = new ArrayList<>(new TreeSet<>(keys));
+        if (history == null) {
+            return planByName(sortedKeys, shardCount);
+        }
+
+        Map<String, Integer> assignment = new HashMap<>();
+        long[] loads = new long[shardCount];
+
+        List<String> knownKeys = new ArrayList<>();
+        List<String> unknownKeys = new ArrayList<>();
+        long knownTotal = 0;
+        for (String key : sortedKeys) {
+            Long duration = history.getDuration(key);
+            if (duration == null) {
+                unknownKeys.add(key);
+            } else {
+                knownKeys.add(key);
+                knownTotal += duration;
+            }
+        }
+
+        long estimatedDuration = knownKeys.isEmpty() ? DEFAULT_DURATION : knownTotal / knownKeys.size();
+        for (String key : unknownKeys) {
+            int shard = Math.floorMod(key.hashCode(), shardCount);
+            assignment.put(key, shard);
+            loads[shard] += estimatedDuration;
+        }
+
+        knownKeys.sort(Comparator.comparing((String key) -> history.getDuration(key)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        for (String key : knownKeys) {
+            int shard = 0;
+            for (int candidate = 1; candidate < shardCount; candidate++) {
+                if (loads[candidate] < loads[shard]) {
+                    shard = candidate;
+                }
+            }
+            assignment.put(key, shard);
+            loads[shard] += history.getDuration(key);
+        }
+        return assignment;
+    }
+
+    private static Map<String, Integer> planByName(List<String> sortedKeys, int shardCount) {
+        Map<String, Integer> assignment = new HashMap<>();
+        for (int i = 0; i < sortedKeys.size(); i++) {
+            assignment.put(sortedKeys.get(i), i % shardCount);
+        }
+        return assignment;
+    }
+}
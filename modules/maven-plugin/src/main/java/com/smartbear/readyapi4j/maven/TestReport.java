@@ -0,0 +1,174 @@
+package com.smartbear.readyapi4j.maven;
+
+/*
+ * Copyright 2004-2015 SmartBear Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.smartbear.readyapi4j.baseline.LatencyComparison;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.junitreport.JUnitReport;
+import com.smartbear.readyapi4j.junitreport.JUnitReportWriter;
+import com.smartbear.readyapi4j.junitreport.TestFailureException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The report of a run, either kept in memory by a {@link JUnitReport} and saved at the end, or streamed to disk by
+ * a {@link JUnitReportWriter} as the test cases are added
+ */
+
+interface TestReport {
+
+    static TestReport inMemory(JUnitReport report, File reportFile) {
+        return new InMemoryReport(report, reportFile);
+    }
+
+    static TestReport streaming(JUnitReportWriter writer) {
+        return new StreamingReport(writer);
+    }
+
+    void setTestStepGranularity(boolean testStepGranularity);
+
+    void setTestSuiteName(String name);
+
+    void addTestCase(String name, double time, Map<String, String> testProperties) throws IOException;
+
+    void addTestCaseWithFailure(String name, double time, String failure, String stacktrace,
+                                Map<String, String> testProperties) throws IOException;
+
+    void addSkippedTestCase(String name, double time, String message, Map<String, String> testProperties)
+            throws IOException;
+
+    void handleResponse(TestJobReport result, String fileName) throws IOException, TestFailureException;
+
+    /**
+     * @param failOnRegression false to report regressed test steps without failing them
+     */
+    void addLatencyComparisons(List<LatencyComparison> comparisons, boolean failOnRegression) throws IOException;
+
+    /**
+     * Writes the complete report, no test cases can be added afterwards
+     */
+    void finish() throws IOException;
+
+    class InMemoryReport implements TestReport {
+        private final JUnitReport report;
+        private final File reportFile;
+
+        InMemoryReport(JUnitReport report, File reportFile) {
+            this.report = report;
+            this.reportFile = reportFile;
+        }
+
+        @Override
+        public void setTestStepGranularity(boolean testStepGranularity) {
+            report.setTestStepGranularity(testStepGranularity);
+        }
+
+        @Override
+        public void setTestSuiteName(String name) {
+            report.setTestSuiteName(name);
+        }
+
+        @Override
+        public void addTestCase(String name, double time, Map<String, String> testProperties) {
+            report.addTestCase(name, time, testProperties);
+        }
+
+        @Override
+        public void addTestCaseWithFailure(String name, double time, String failure, String stacktrace,
+                                           Map<String, String> testProperties) {
+            report.addTestCaseWithFailure(name, time, failure, stacktrace, testProperties);
+        }
+
+        @Override
+        public void addSkippedTestCase(String name, double time, String message, Map<String, String> testProperties) {
+            report.addSkippedTestCase(name, time, message, testProperties);
+        }
+
+        @Override
+        public void handleResponse(TestJobReport result, String fileName) {
+            report.handleResponse(result, fileName);
+        }
+
+        @Override
+        public void addLatencyComparisons(List<LatencyComparison> comparisons, boolean failOnRegression) {
+            report.recordLatencyComparisons(comparisons, failOnRegression);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            File directory = reportFile.getAbsoluteFile().getParentFile();
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Failed to create report directory: " + directory);
+            }
+            report.save(reportFile);
+        }
+    }
+
+    class StreamingReport implements TestReport {
+        private final JUnitReportWriter writer;
+
+        StreamingReport(JUnitReportWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void setTestStepGranularity(boolean testStepGranularity) {
+            writer.setTestStepGranularity(testStepGranularity);
+        }
+
+        @Override
+        public void setTestSuiteName(String name) {
+            writer.setTestSuiteName(name);
+        }
+
+        @Override
+        public void addTestCase(String name, double time, Map<String, String> testProperties) throws IOException {
+            writer.addTestCase(name, time, testProperties);
+        }
+
+        @Override
+        public void addTestCaseWithFailure(String name, double time, String failure, String stacktrace,
+                                           Map<String, String> testProperties) throws IOException {
+            writer.addTestCaseWithFailure(name, time, failure, stacktrace, testProperties);
+        }
+
+        @Override
+        public void addSkippedTestCase(String name, double time, String message, Map<String, String> testProperties)
+                throws IOException {
+            writer.addSkippedTestCase(name, time, message, testProperties);
+        }
+
+        @Override
+        public void handleResponse(TestJobReport result, String fileName) throws IOException {
+            writer.handleResponse(result, fileName);
+        }
+
+        @Override
+        public void addLatencyComparisons(List<LatencyComparison> comparisons, boolean failOnRegression)
+                throws IOException {
+            writer.addLatencyComparisons(comparisons, failOnRegression);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.smartbear.readyapi4j.maven;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ShardPlannerTest {
+    private static final List<String> KEYS = Arrays.asList("recipes/a.json", "recipes/b.json", "recipes/c.json",
+            "recipes/d.json", "recipes/e.json", "projects/f.xml", "projects/g.xml");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void assignsEveryFileToExactlyOneShard() {
+        Map<String, Integer> plan = ShardPlanner.plan(KEYS, null, 3);
+
+        assertThat(plan.keySet(), is(new HashSet<>(KEYS)));
+        int[] sizes = new int[3];
+        plan.values().forEach(shard -> sizes[shard]++);
+        assertThat(sizes, is(new int[]{3, 2, 2}));
+    }
+
+    @Test
+    public void planWithoutHistoryDoesNotDependOnFileOrder() {
+        List<String> shuffledKeys = new ArrayList<>(KEYS);
+        Collections.reverse(shuffledKeys);
+
+        assertThat(ShardPlanner.plan(shuffledKeys, null, 3), is(ShardPlanner.plan(KEYS, null, 3)));
+    }
+
+    @Test
+    public void balancesShardsByDuration() throws Exception {
+        DurationHistory history = DurationHistory.load(new File(temporaryFolder.getRoot(), "durations.properties"));
+        history.record("recipes/a.json", 9000);
+        history.record("recipes/b.json", 4000);
+        history.record("recipes/c.json", 3000);
+        history.record("recipes/d.json", 2000);
+
+        Map<String, Integer> plan = ShardPlanner.plan(Arrays.asList("recipes/d.json", "recipes/c.json",
+                "recipes/b.json", "recipes/a.json"), history, 2);
+
+        assertThat(plan.get("recipes/a.json"), is(0));
+        assertThat(plan.get("recipes/b.json"), is(1));
+        assertThat(plan.get("recipes/c.json"), is(1));
+        assertThat(plan.get("recipes/d.json"), is(1));
+    }
+
+    @Test
+    public void nodesSharingTheHistoryFileComputeTheSamePlan() throws Exception {
+        File historyFile = temporaryFolder.newFile("durations.properties");
+        DurationHistory recorded = DurationHistory.load(historyFile);
+        recorded.record("recipes/a.json", 5000);
+        recorded.record("recipes/b.json", 100);
+        recorded.save();
+
+        List<String> shuffledKeys = new ArrayList<>(KEYS);
+        Collections.reverse(shuffledKeys);
+
+        assertThat(ShardPlanner.plan(shuffledKeys, DurationHistory.load(historyFile), 2),
+                is(ShardPlanner.plan(KEYS, DurationHistory.load(historyFile), 2)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.smartbear.readyapi4j.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-memory registry that records latencies into HdrHistograms with three significant digits, for exporting
+ * snapshots to a file when no monitoring system is available, e.g. in CI builds
+ */
+public class HdrMetricsRegistry implements MetricsRegistry {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<MetricId, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<MetricId, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<MetricId, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordLatency(String name, Map<String, String> tags, long millis) {
+        histograms.computeIfAbsent(new MetricId(name, tags), id -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(Math.max(millis, 0));
+    }
+
+    @Override
+    public void incrementCounter(String name, Map<String, String> tags) {
+        counters.computeIfAbsent(new MetricId(name, tags), id -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void registerGauge(String name, Map<String, String> tags, Supplier<Number> value) {
+        gauges.put(new MetricId(name, tags), value);
+    }
+
+    /**
+     * @return a copy of the histogram of the specified latency, or null if nothing was recorded for it
+     */
+    public Histogram getHistogram(String name, Map<String, String> tags) {
+        Histogram histogram = histograms.get(new MetricId(name, tags));
+        return histogram == null ? null : histogram.copy();
+    }
+
+    /**
+     * @return the value of the specified counter, 0 if it was never incremented
+     */
+    public long getCount(String name, Map<String, String> tags) {
+        LongAdder counter = counters.get(new MetricId(name, tags));
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public MetricsSnapshot snapshot() {
+        MetricsSnapshot snapshot = new MetricsSnapshot(System.currentTimeMillis());
+        histograms.forEach((id, histogram) -> snapshot.getLatencies().add(summarize(id, histogram.copy())));
+        counters.forEach((id, counter) -> snapshot.getCounters().add(new MetricsSnapshot.Value(id, counter.sum())));
+        gauges.forEach((id, gauge) -> {
+            Number value = gauge.get();
+            if (value != null) {
+                snapshot.getGauges().add(new MetricsSnapshot.Value(id, value.doubleValue()));
+            }
+        });
+        return snapshot;
+    }
+
+    private static MetricsSnapshot.Latency summarize(MetricId id, Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        String encoded = Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+        return new MetricsSnapshot.Latency(id, histogram.getTotalCount(), histogram.getMinValue(),
+                histogram.getMaxValue(), histogram.getMean(), histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(95),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), encoded);
+    }
+
+    /**
+     * Writes a snapshot of all metrics to the specified file as JSON
+     */
+    public void writeSnapshot(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, snapshot());
+    }
+}
@@ -0,0 +1,49 @@
+package com.smartbear.readyapi4j.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Name and tags of a metric, tags are sorted so that equal tags in any order identify the same metric
+ */
+class MetricId {
+    private final String name;
+    private final Map<String, String> tags;
+
+    MetricId(String name, Map<String, String> tags) {
+        this.name = name;
+        this.tags = Collections.unmodifiableMap(new TreeMap<>(tags));
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MetricId metricId = (MetricId) o;
+        return name.equals(metricId.name) && tags.equals(metricId.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, tags);
+    }
+
+    @Override
+    public String toString() {
+        return name + tags;
+    }
+}
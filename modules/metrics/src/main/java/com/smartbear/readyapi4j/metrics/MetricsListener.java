@@ -0,0 +1,241 @@
+package com.smartbear.readyapi4j.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.client.model.HarRequest;
+import com.smartbear.readyapi4j.client.model.HarResponse;
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.ExecutionListener;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * ExecutionListener that records recipe, test step and endpoint latencies, execution outcomes and throttled
+ * (429) responses into one or more {@link MetricsRegistry} instances.
+ * <p>
+ * Endpoint latencies and 429 responses are read from the HAR entries of the execution result, which for
+ * TestEngine executions fetches the transaction log of every step - disable them with
+ * {@link #setRecordEndpoints(boolean)} if that is too expensive. Endpoint latencies are tagged with the HTTP
+ * method, recipe and test step, since request URLs often contain IDs and would create a metric per ID - set an
+ * endpoint normalizer like {@link #templateIds(String)} to tag them with the URL instead.
+ */
+public class MetricsListener implements ExecutionListener {
+
+    public static final String RECIPE_LATENCY = "readyapi.recipe.latency";
+    public static final String STEP_LATENCY = "readyapi.step.latency";
+    public static final String ENDPOINT_LATENCY = "readyapi.endpoint.latency";
+    public static final String POLLING_LATENCY = "readyapi.polling.latency";
+    public static final String EXECUTIONS = "readyapi.executions";
+    public static final String THROTTLED_RESPONSES = "readyapi.responses.throttled";
+    public static final String ERRORS = "readyapi.errors";
+    public static final String IN_FLIGHT = "readyapi.executions.inflight";
+    public static final String QUEUE_DEPTH = "readyapi.executor.queue";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsListener.class);
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/(\\d+|\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}|\\p{XDigit}{16,})(?=/|$)");
+
+    private final List<MetricsRegistry> registries;
+    private final Set<String> runningExecutions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean recordEndpoints = true;
+    private volatile Function<String, String> endpointNormalizer;
+
+    public MetricsListener(MetricsRegistry... registries) {
+        this.registries = new CopyOnWriteArrayList<>(Arrays.asList(registries));
+        registerGauge(IN_FLIGHT, Collections.emptyMap(), inFlight::get);
+    }
+
+    public void setRecordEndpoints(boolean recordEndpoints) {
+        this.recordEndpoints = recordEndpoints;
+    }
+
+    /**
+     * Tags endpoint latencies with the request URL mapped by the normalizer instead of the test step. The
+     * normalizer has to map the URLs to a bounded set of values, e.g. by replacing IDs with placeholders.
+     *
+     * @param endpointNormalizer maps a request URL to the endpoint tag, or null to tag by test step
+     * @see #templateIds(String)
+     */
+    public void setEndpointNormalizer(Function<String, String> endpointNormalizer) {
+        this.endpointNormalizer = endpointNormalizer;
+    }
+
+    /**
+     * Endpoint normalizer that removes the query and fragment and replaces numeric, UUID and long hexadecimal
+     * path segments with {id}, e.g. http://host/users/123/orders?page=2 becomes http://host/users/{id}/orders
+     */
+    public static String templateIds(String url) {
+        return ID_SEGMENT.matcher(stripQuery(url)).replaceAll("/{id}");
+    }
+
+    /**
+     * Tracks the number of queued tasks of an executor, e.g. {@code () -> threadPool.getQueue().size()}
+     */
+    public void trackQueueDepth(String executorName, Supplier<Number> queueDepth) {
+        registerGauge(QUEUE_DEPTH, ImmutableMap.of("executor", executorName), queueDepth);
+    }
+
+    /**
+     * Records the duration of a status request for an asynchronous execution
+     */
+    public void recordPollingLatency(long millis) {
+        for (MetricsRegistry registry : registries) {
+            registry.recordLatency(POLLING_LATENCY, Collections.emptyMap(), millis);
+        }
+    }
+
+    @Override
+    public void executionStarted(Execution execution) {
+        if (runningExecutions.add(execution.getId())) {
+            inFlight.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void executionFinished(Execution execution) {
+        if (runningExecutions.remove(execution.getId())) {
+            inFlight.decrementAndGet();
+        }
+
+        TestJobReport report = execution.getCurrentReport();
+        String recipe = report.getProjectName() == null ? "" : report.getProjectName();
+        incrementCounter(EXECUTIONS, ImmutableMap.of("recipe", recipe, "outcome", getOutcome(report.getStatus())));
+        if (report.getTotalTime() != null) {
+            recordLatency(RECIPE_LATENCY, ImmutableMap.of("recipe", recipe), report.getTotalTime().longValue());
+        }
+        recordStepLatencies(report, recipe);
+
+        if (recordEndpoints) {
+            try {
+                recordEndpoints(execution.getExecutionResult(), recipe);
+            } catch (Exception e) {
+                LOG.debug("Failed to read HAR entries of execution " + execution.getId(), e);
+            }
+        }
+    }
+
+    @Override
+    public void errorOccurred(Exception exception) {
+        incrementCounter(ERRORS, ImmutableMap.of("exception", exception.getClass().getSimpleName()));
+    }
+
+    private static String getOutcome(TestJobReport.StatusEnum status) {
+        if (status == null) {
+            return "unknown";
+        }
+        switch (status) {
+            case FINISHED:
+                return "success";
+            case FAILED:
+                return "failure";
+            case CANCELED:
+                return "cancelled";
+            default:
+                return status.toString().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private void recordStepLatencies(TestJobReport report, String recipe) {
+        if (report.getTestSuiteResultReports() == null) {
+            return;
+        }
+        for (TestSuiteResultReport testSuite : report.getTestSuiteResultReports()) {
+            for (TestCaseResultReport testCase : testSuite.getTestCaseResultReports()) {
+                for (TestStepResultReport testStep : testCase.getTestStepResultReports()) {
+                    if (testStep.getTotalTestStepTime() != null && testStep.getTestStepName() != null) {
+                        recordLatency(STEP_LATENCY, ImmutableMap.of("recipe", recipe, "step", testStep.getTestStepName()),
+                                testStep.getTotalTestStepTime());
+                    }
+                }
+            }
+        }
+    }
+
+    private void recordEndpoints(RecipeExecutionResult executionResult, String recipe) {
+        if (executionResult == null) {
+            return;
+        }
+        for (TestStepResult testStepResult : executionResult.getTestStepResults()) {
+            HarEntry harEntry = testStepResult.getHarEntry();
+            if (harEntry == null) {
+                continue;
+            }
+            HarRequest request = harEntry.getRequest();
+            if (request != null && request.getUrl() != null && testStepResult.getTimeTaken() != null) {
+                recordLatency(ENDPOINT_LATENCY, getEndpointTags(request, recipe, testStepResult.getTestStepName()),
+                        testStepResult.getTimeTaken());
+            }
+            HarResponse response = harEntry.getResponse();
+            if (response != null && Integer.valueOf(TOO_MANY_REQUESTS).equals(response.getStatus())) {
+                incrementCounter(THROTTLED_RESPONSES, Collections.emptyMap());
+            }
+        }
+    }
+
+    private Map<String, String> getEndpointTags(HarRequest request, String recipe, String testStepName) {
+        String method = String.valueOf(request.getMethod());
+        Function<String, String> normalizer = endpointNormalizer;
+        if (normalizer != null) {
+            String endpoint = normalizer.apply(request.getUrl());
+            if (endpoint != null) {
+                return ImmutableMap.of("method", method, "endpoint", endpoint);
+            }
+        }
+        return ImmutableMap.of("method", method, "recipe", recipe, "step", String.valueOf(testStepName));
+    }
+
+    /**
+     * Removes the query and fragment, which would otherwise create a metric per request
+     */
+    private static String stripQuery(String url) {
+        int end = url.length();
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            end = query;
+        }
+        int fragment = url.indexOf('#');
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        return url.substring(0, end);
+    }
+
+    private void recordLatency(String name, Map<String, String> tags, long millis) {
+        for (MetricsRegistry registry : registries) {
+            registry.recordLatency(name, tags, millis);
+        }
+    }
+
+    private void incrementCounter(String name, Map<String, String> tags) {
+        for (MetricsRegistry registry : registries) {
+            registry.incrementCounter(name, tags);
+        }
+    }
+
+    private void registerGauge(String name, Map<String, String> tags, Supplier<Number> value) {
+        for (MetricsRegistry registry : registries) {
+            registry.registerGauge(name, tags, value);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.smartbear.readyapi4j.metrics;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Destination for the metrics recorded by a {@link MetricsListener}. Implementations must be safe to call from
+ * any number of threads, since listeners are notified on the threads that run or poll executions.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Records a latency in milliseconds
+     */
+    void recordLatency(String name, Map<String, String> tags, long millis);
+
+    void incrementCounter(String name, Map<String, String> tags);
+
+    /**
+     * Registers a value that is read whenever the registry is exported
+     */
+    void registerGauge(String name, Map<String, String> tags, Supplier<Number> value);
+}
@@ -0,0 +1,144 @@
+package com.smartbear.readyapi4j.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of the metrics of a {@link HdrMetricsRegistry}, serialized as JSON by
+ * {@link HdrMetricsRegistry#writeSnapshot(java.io.File)}
+ */
+public class MetricsSnapshot {
+
+    private final long timestamp;
+    private final List<Latency> latencies = new ArrayList<>();
+    private final List<Value> counters = new ArrayList<>();
+    private final List<Value> gauges = new ArrayList<>();
+
+    MetricsSnapshot(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public List<Latency> getLatencies() {
+        return latencies;
+    }
+
+    public List<Value> getCounters() {
+        return counters;
+    }
+
+    public List<Value> getGauges() {
+        return gauges;
+    }
+
+    public static class Value {
+        private final String name;
+        private final Map<String, String> tags;
+        private final double value;
+
+        Value(MetricId id, double value) {
+            this.name = id.getName();
+            this.tags = id.getTags();
+            this.value = value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Map<String, String> getTags() {
+            return tags;
+        }
+
+        public double getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Summary of a latency histogram in milliseconds. The full histogram is included in the compressed, base64
+     * encoded HdrHistogram format, so snapshots from several builds or shards can be merged afterwards.
+     */
+    public static class Latency {
+        private final String name;
+        private final Map<String, String> tags;
+        private final long count;
+        private final long min;
+        private final long max;
+        private final double mean;
+        private final long p50;
+        private final long p90;
+        private final long p95;
+        private final long p99;
+        private final long p999;
+        private final String histogram;
+
+        Latency(MetricId id, long count, long min, long max, double mean, long p50, long p90, long p95, long p99,
+                long p999, String histogram) {
+            this.name = id.getName();
+            this.tags = id.getTags();
+            this.count = count;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.histogram = histogram;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Map<String, String> getTags() {
+            return tags;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP90() {
+            return p90;
+        }
+
+        public long getP95() {
+            return p95;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+
+        public String getHistogram() {
+            return histogram;
+        }
+    }
+}
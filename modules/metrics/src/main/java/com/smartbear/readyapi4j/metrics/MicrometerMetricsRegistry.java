@@ -0,0 +1,66 @@
+package com.smartbear.readyapi4j.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the metrics to a Micrometer MeterRegistry, latencies become timers with percentile histograms.
+ * Micrometer is an optional dependency of this module and has to be added by the application.
+ */
+public class MicrometerMetricsRegistry implements MetricsRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MetricId, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MetricId, Counter> counters = new ConcurrentHashMap<>();
+
+    public MicrometerMetricsRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void recordLatency(String name, Map<String, String> tags, long millis) {
+        timers.computeIfAbsent(new MetricId(name, tags), id -> Timer.builder(name)
+                .tags(toTags(id))
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(Math.max(millis, 0), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void incrementCounter(String name, Map<String, String> tags) {
+        counters.computeIfAbsent(new MetricId(name, tags), id -> Counter.builder(name)
+                .tags(toTags(id))
+                .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * The registry keeps a strong reference to the supplier - gauges are weakly referenced by default in Micrometer,
+     * and callers usually pass a lambda nothing else refers to
+     */
+    @Override
+    public void registerGauge(String name, Map<String, String> tags, Supplier<Number> value) {
+        Gauge.builder(name, value, supplier -> {
+            Number number = supplier.get();
+            return number == null ? Double.NaN : number.doubleValue();
+        }).tags(toTags(new MetricId(name, tags)))
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    private static Tags toTags(MetricId id) {
+        Tags tags = Tags.empty();
+        for (Map.Entry<String, String> tag : id.getTags().entrySet()) {
+            tags = tags.and(tag.getKey(), tag.getValue());
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,319 @@
+package com.smartbear.readyapi4j.metrics.load;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.RecipeExecutor;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.smartbear.readyapi4j.client.model.TestStepResultReport.AssertionStatusEnum.FAIL;
+
+/**
+ * Runs a recipe repeatedly with a number of virtual users, using any RecipeExecutor - so the same recipe can be
+ * run as a functional test and as a load test, locally or on TestEngine.
+ * <p>
+ * With a target rate, iterations are started on a fixed schedule (an open model) regardless of how long earlier
+ * iterations take, and the virtual users only bound how many run at the same time. Iteration latencies are
+ * measured from the scheduled start, which corrects for coordinated omission. Without a target rate every virtual
+ * user runs the recipe back-to-back (a closed model). In both models the load is ramped up linearly.
+ * <p>
+ * Virtual users run on a fixed thread pool by default. On newer JVMs a virtual thread executor can be passed to
+ * {@link #withExecutorService(ExecutorService)}, concurrency is then still limited to the number of virtual users.
+ */
+public class LoadRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadRunner.class);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final RecipeExecutor recipeExecutor;
+    private int virtualUsers = 1;
+    private Duration rampUp = Duration.ZERO;
+    private Duration duration = Duration.ofMinutes(1);
+    private double targetRate;
+    private int maxQueuedIterations = 10_000;
+    private Duration shutdownTimeout = Duration.ofMinutes(1);
+    private ExecutorService executorService;
+
+    public LoadRunner(RecipeExecutor recipeExecutor) {
+        this.recipeExecutor = recipeExecutor;
+    }
+
+    public LoadRunner withVirtualUsers(int virtualUsers) {
+        if (virtualUsers < 1) {
+            throw new IllegalArgumentException("virtualUsers must be at least 1, was " + virtualUsers);
+        }
+        this.virtualUsers = virtualUsers;
+        return this;
+    }
+
+    /**
+     * @param rampUp the time over which the rate (or the number of active virtual users) grows to its target
+     */
+    public LoadRunner withRampUp(Duration rampUp) {
+        this.rampUp = rampUp;
+        return this;
+    }
+
+    /**
+     * @param duration the total run time including the ramp-up
+     */
+    public LoadRunner withDuration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * @param iterationsPerSecond recipe executions started per second, 0 lets every virtual user run the recipe
+     *                            back-to-back instead
+     */
+    public LoadRunner withTargetRate(double iterationsPerSecond) {
+        if (iterationsPerSecond < 0) {
+            throw new IllegalArgumentException("iterationsPerSecond must not be negative, was " + iterationsPerSecond);
+        }
+        this.targetRate = iterationsPerSecond;
+        return this;
+    }
+
+    /**
+     * @param maxQueuedIterations scheduled iterations that may wait for a free virtual user before further ones
+     *                            are dropped, only used with a target rate
+     */
+    public LoadRunner withMaxQueuedIterations(int maxQueuedIterations) {
+        if (maxQueuedIterations < 1) {
+            throw new IllegalArgumentException("maxQueuedIterations must be at least 1, was " + maxQueuedIterations);
+        }
+        this.maxQueuedIterations = maxQueuedIterations;
+        return this;
+    }
+
+    /**
+     * @param shutdownTimeout how long to wait for running iterations once the duration has passed
+     */
+    public LoadRunner withShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+        return this;
+    }
+
+    /**
+     * @param executorService runs the iterations, it is not shut down by the load runner
+     */
+    public LoadRunner withExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    public LoadTestResult run(TestRecipe recipe) throws InterruptedException {
+        Run run = new Run(recipe);
+        ExecutorService executor = executorService == null ? Executors.newFixedThreadPool(virtualUsers) : executorService;
+        try {
+            if (targetRate > 0) {
+                run.scheduleOpen(executor);
+            } else {
+                run.scheduleClosed(executor);
+            }
+            run.awaitIterations();
+        } finally {
+            if (executorService == null) {
+                executor.shutdownNow();
+            }
+        }
+        return run.toResult();
+    }
+
+    private class Run {
+        private final TestRecipe recipe;
+        private final long startNanos = System.nanoTime();
+        private final long endNanos = startNanos + duration.toNanos();
+        private final Semaphore virtualUserPermits = new Semaphore(virtualUsers);
+        // queued and running tasks, a plain counter since there can be more than a Phaser's 65535 parties
+        private final AtomicInteger pendingTasks = new AtomicInteger();
+        private final Object pendingTasksLock = new Object();
+        private final AtomicInteger queuedIterations = new AtomicInteger();
+        private final Histogram iterationLatencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Map<String, Histogram> stepLatencies = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> stepFailures = new ConcurrentHashMap<>();
+        private final LongAdder iterations = new LongAdder();
+        private final LongAdder failedIterations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder droppedIterations = new LongAdder();
+
+        Run(TestRecipe recipe) {
+            this.recipe = recipe;
+        }
+
+        /**
+         * Starts iterations on the schedule of a linearly ramped rate: n(t) = rate * t^2 / (2 * rampUp) during the
+         * ramp-up, rate * t after it
+         */
+        void scheduleOpen(ExecutorService executor) throws InterruptedException {
+            double rampUpSeconds = rampUp.toNanos() / 1e9;
+            double rampUpIterations = targetRate * rampUpSeconds / 2;
+            for (long iteration = 0; ; iteration++) {
+                double offsetSeconds = iteration < rampUpIterations
+                        ? Math.sqrt(2 * iteration * rampUpSeconds / targetRate)
+                        : rampUpSeconds + (iteration - rampUpIterations) / targetRate;
+                long scheduledNanos = startNanos + (long) (offsetSeconds * 1e9);
+                if (scheduledNanos >= endNanos) {
+                    return;
+                }
+                waitUntil(scheduledNanos);
+                if (queuedIterations.get() >= maxQueuedIterations) {
+                    droppedIterations.increment();
+                    continue;
+                }
+                queuedIterations.incrementAndGet();
+                submit(executor, () -> runIteration(scheduledNanos, true));
+            }
+        }
+
+        /**
+         * Starts the virtual users spread over the ramp-up, each runs the recipe until the duration has passed
+         */
+        void scheduleClosed(ExecutorService executor) {
+            for (int user = 0; user < virtualUsers; user++) {
+                long userStartNanos = startNanos + rampUp.toNanos() * user / virtualUsers;
+                submit(executor, () -> {
+                    try {
+                        waitUntil(userStartNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    while (System.nanoTime() < endNanos && !Thread.currentThread().isInterrupted()) {
+                        runIteration(System.nanoTime(), false);
+                    }
+                });
+            }
+        }
+
+        private void submit(ExecutorService executor, Runnable task) {
+            pendingTasks.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        taskDone();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                taskDone();
+                throw e;
+            }
+        }
+
+        private void taskDone() {
+            if (pendingTasks.decrementAndGet() == 0) {
+                synchronized (pendingTasksLock) {
+                    pendingTasksLock.notifyAll();
+                }
+            }
+        }
+
+        private void waitUntil(long nanos) throws InterruptedException {
+            long remaining;
+            while ((remaining = nanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        /**
+         * @param queued if the iteration was counted as queued, until a virtual user is free to run it
+         */
+        private void runIteration(long scheduledNanos, boolean queued) {
+            try {
+                virtualUserPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                if (queued) {
+                    queuedIterations.decrementAndGet();
+                }
+            }
+            try {
+                Execution execution = recipeExecutor.executeRecipe(recipe);
+                iterationLatencies.recordValue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduledNanos));
+                iterations.increment();
+                TestJobReport report = execution.getCurrentReport();
+                if (report == null || report.getStatus() != TestJobReport.StatusEnum.FINISHED) {
+                    failedIterations.increment();
+                }
+                if (report != null) {
+                    recordSteps(report);
+                }
+            } catch (Exception e) {
+                LOG.debug("Load test iteration failed", e);
+                errors.increment();
+            } finally {
+                virtualUserPermits.release();
+            }
+        }
+
+        private void recordSteps(TestJobReport report) {
+            if (report.getTestSuiteResultReports() == null) {
+                return;
+            }
+            for (TestSuiteResultReport testSuite : report.getTestSuiteResultReports()) {
+                for (TestCaseResultReport testCase : testSuite.getTestCaseResultReports()) {
+                    for (TestStepResultReport testStep : testCase.getTestStepResultReports()) {
+                        String name = String.valueOf(testStep.getTestStepName());
+                        if (testStep.getTotalTestStepTime() != null) {
+                            stepLatencies.computeIfAbsent(name, key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                                    .recordValue(Math.max(testStep.getTotalTestStepTime(), 0));
+                        }
+                        if (testStep.getAssertionStatus() == FAIL) {
+                            stepFailures.computeIfAbsent(name, key -> new LongAdder()).increment();
+                        }
+                    }
+                }
+            }
+        }
+
+        void awaitIterations() throws InterruptedException {
+            long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+            synchronized (pendingTasksLock) {
+                while (pendingTasks.get() > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        LOG.warn("Load test iterations still running after " + shutdownTimeout + ", not waiting for them");
+                        return;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(pendingTasksLock, remaining);
+                }
+            }
+        }
+
+        LoadTestResult toResult() {
+            Map<String, Histogram> steps = new HashMap<>();
+            stepLatencies.forEach((name, histogram) -> steps.put(name, histogram.copy()));
+            Map<String, Long> failures = new HashMap<>();
+            stepFailures.forEach((name, count) -> failures.put(name, count.sum()));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return new LoadTestResult(elapsedMillis, iterations.sum(), failedIterations.sum(), errors.sum(),
+                    droppedIterations.sum(), iterationLatencies.copy(), steps, failures);
+        }
+    }
+}
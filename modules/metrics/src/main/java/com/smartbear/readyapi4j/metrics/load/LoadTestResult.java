@@ -0,0 +1,100 @@
+package com.smartbear.readyapi4j.metrics.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Aggregated outcome of a load test. Latencies are in milliseconds. With a target rate, iteration latencies are
+ * measured from the time an iteration was scheduled to start rather than from when it actually started, so time
+ * spent waiting for a free virtual user counts toward latency.
+ */
+public class LoadTestResult {
+
+    private final long elapsedMillis;
+    private final long iterations;
+    private final long failedIterations;
+    private final long errors;
+    private final long droppedIterations;
+    private final Histogram iterationLatencies;
+    private final Map<String, Histogram> stepLatencies;
+    private final Map<String, Long> stepFailures;
+
+    LoadTestResult(long elapsedMillis, long iterations, long failedIterations, long errors, long droppedIterations,
+                   Histogram iterationLatencies, Map<String, Histogram> stepLatencies, Map<String, Long> stepFailures) {
+        this.elapsedMillis = elapsedMillis;
+        this.iterations = iterations;
+        this.failedIterations = failedIterations;
+        this.errors = errors;
+        this.droppedIterations = droppedIterations;
+        this.iterationLatencies = iterationLatencies;
+        this.stepLatencies = Collections.unmodifiableMap(stepLatencies);
+        this.stepFailures = Collections.unmodifiableMap(stepFailures);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the number of completed recipe executions, including failed ones
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return the number of executions that finished with a status other than FINISHED
+     */
+    public long getFailedIterations() {
+        return failedIterations;
+    }
+
+    /**
+     * @return the number of executions that threw an exception
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the number of scheduled executions that were never started because too many were queued
+     */
+    public long getDroppedIterations() {
+        return droppedIterations;
+    }
+
+    /**
+     * @return the share of iterations that failed or threw an exception, 0 if nothing ran
+     */
+    public double getErrorRate() {
+        long attempts = iterations + errors;
+        return attempts == 0 ? 0 : (double) (failedIterations + errors) / attempts;
+    }
+
+    /**
+     * @return completed iterations per second
+     */
+    public double getThroughput() {
+        return elapsedMillis == 0 ? 0 : iterations * 1000.0 / elapsedMillis;
+    }
+
+    public Histogram getIterationLatencies() {
+        return iterationLatencies;
+    }
+
+    /**
+     * @return the latency histogram of each test step, keyed by test step name
+     */
+    public Map<String, Histogram> getStepLatencies() {
+        return stepLatencies;
+    }
+
+    /**
+     * @return the number of failed assertions of each test step, keyed by test step name
+     */
+    public Map<String, Long> getStepFailures() {
+        return stepFailures;
+    }
+}
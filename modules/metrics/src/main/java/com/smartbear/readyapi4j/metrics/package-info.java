@@ -0,0 +1,4 @@
+/**
+ * Latency histograms and execution metrics for recipe executions.
+ */
+package com.smartbear.readyapi4j.metrics;
@@ -0,0 +1,158 @@
+package com.smartbear.readyapi4j.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.smartbear.readyapi4j.client.model.HarEntry;
+import com.smartbear.readyapi4j.client.model.HarRequest;
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.result.RecipeExecutionResult;
+import com.smartbear.readyapi4j.result.TestStepResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsListenerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HdrMetricsRegistry registry;
+    private MetricsListener listener;
+
+    @Before
+    public void setUp() {
+        registry = new HdrMetricsRegistry();
+        listener = new MetricsListener(registry);
+        listener.setRecordEndpoints(false);
+    }
+
+    @Test
+    public void recordsStepLatenciesAndOutcomes() {
+        listener.executionFinished(mockExecution("1", TestJobReport.StatusEnum.FINISHED, 120L));
+        listener.executionFinished(mockExecution("2", TestJobReport.StatusEnum.FAILED, 80L));
+        listener.executionFinished(mockExecution("3", TestJobReport.StatusEnum.CANCELED, 100L));
+
+        assertEquals(3, registry.getHistogram(MetricsListener.STEP_LATENCY,
+                ImmutableMap.of("recipe", "Recipe", "step", "Get")).getTotalCount());
+        assertEquals(1, registry.getCount(MetricsListener.EXECUTIONS, ImmutableMap.of("recipe", "Recipe", "outcome", "success")));
+        assertEquals(1, registry.getCount(MetricsListener.EXECUTIONS, ImmutableMap.of("recipe", "Recipe", "outcome", "failure")));
+        assertEquals(1, registry.getCount(MetricsListener.EXECUTIONS, ImmutableMap.of("recipe", "Recipe", "outcome", "cancelled")));
+    }
+
+    @Test
+    public void tracksExecutionsInFlight() {
+        Execution execution = mockExecution("1", TestJobReport.StatusEnum.FINISHED, 10L);
+
+        listener.executionStarted(execution);
+        assertEquals(1.0, inFlight(), 0);
+
+        listener.executionFinished(execution);
+        assertEquals(0.0, inFlight(), 0);
+    }
+
+    @Test
+    public void tagsEndpointLatenciesByStepUnlessNormalizerIsSet() {
+        listener.setRecordEndpoints(true);
+        listener.executionFinished(mockExecution("1", "http://localhost/users/123?page=2", 50L));
+        listener.setEndpointNormalizer(MetricsListener::templateIds);
+        listener.executionFinished(mockExecution("2", "http://localhost/users/456", 60L));
+
+        assertEquals(1, registry.getHistogram(MetricsListener.ENDPOINT_LATENCY,
+                ImmutableMap.of("method", "GET", "recipe", "Recipe", "step", "Get")).getTotalCount());
+        assertEquals(1, registry.getHistogram(MetricsListener.ENDPOINT_LATENCY,
+                ImmutableMap.of("method", "GET", "endpoint", "http://localhost/users/{id}")).getTotalCount());
+    }
+
+    @Test
+    public void templatesIdsInPaths() {
+        assertEquals("http://localhost:8080/users/{id}/orders/{id}",
+                MetricsListener.templateIds("http://localhost:8080/users/42/orders/3f2504e0-4f89-11d3-9a0c-0305e82c3301?x=1"));
+        assertEquals("http://10.0.0.1/objects/{id}",
+                MetricsListener.templateIds("http://10.0.0.1/objects/507f1f77bcf86cd799439011#top"));
+        assertEquals("http://localhost/v2/users", MetricsListener.templateIds("http://localhost/v2/users"));
+    }
+
+    @Test
+    public void micrometerGaugesSurviveGarbageCollection() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MetricsListener micrometerListener = new MetricsListener(new MicrometerMetricsRegistry(meterRegistry));
+        micrometerListener.trackQueueDepth("workers", () -> 7);
+        micrometerListener.executionStarted(mockExecution("1", TestJobReport.StatusEnum.FINISHED, 10L));
+
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+
+        assertEquals(1.0, meterRegistry.get(MetricsListener.IN_FLIGHT).gauge().value(), 0);
+        assertEquals(7.0, meterRegistry.get(MetricsListener.QUEUE_DEPTH).tag("executor", "workers").gauge().value(), 0);
+    }
+
+    @Test
+    public void writesSnapshotToFile() throws Exception {
+        listener.executionFinished(mockExecution("1", TestJobReport.StatusEnum.FINISHED, 120L));
+        File snapshotFile = new File(temporaryFolder.getRoot(), "metrics/snapshot.json");
+
+        registry.writeSnapshot(snapshotFile);
+
+        JsonNode snapshot = new ObjectMapper().readTree(snapshotFile);
+        assertEquals(1, snapshot.get("latencies").size());
+        assertEquals(120, snapshot.get("latencies").get(0).get("p99").asLong(), 1);
+    }
+
+    private double inFlight() {
+        return registry.snapshot().getGauges().stream()
+                .filter(gauge -> gauge.getName().equals(MetricsListener.IN_FLIGHT))
+                .findFirst().get().getValue();
+    }
+
+    private static Execution mockExecution(String id, String url, Long timeTaken) {
+        HarRequest request = mock(HarRequest.class);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getUrl()).thenReturn(url);
+        HarEntry harEntry = mock(HarEntry.class);
+        when(harEntry.getRequest()).thenReturn(request);
+        TestStepResult testStepResult = mock(TestStepResult.class);
+        when(testStepResult.getTestStepName()).thenReturn("Get");
+        when(testStepResult.getTimeTaken()).thenReturn(timeTaken);
+        when(testStepResult.getHarEntry()).thenReturn(harEntry);
+        RecipeExecutionResult executionResult = mock(RecipeExecutionResult.class);
+        when(executionResult.getTestStepResults()).thenReturn(Collections.singletonList(testStepResult));
+
+        Execution execution = mockExecution(id, TestJobReport.StatusEnum.FINISHED, timeTaken);
+        when(execution.getExecutionResult()).thenReturn(executionResult);
+        return execution;
+    }
+
+    private static Execution mockExecution(String id, TestJobReport.StatusEnum status, Long stepTime) {
+        TestStepResultReport testStep = mock(TestStepResultReport.class);
+        when(testStep.getTestStepName()).thenReturn("Get");
+        when(testStep.getTotalTestStepTime()).thenReturn(stepTime);
+        TestCaseResultReport testCase = mock(TestCaseResultReport.class);
+        when(testCase.getTestStepResultReports()).thenReturn(Collections.singletonList(testStep));
+        TestSuiteResultReport testSuite = mock(TestSuiteResultReport.class);
+        when(testSuite.getTestCaseResultReports()).thenReturn(Collections.singletonList(testCase));
+        TestJobReport report = mock(TestJobReport.class);
+        when(report.getProjectName()).thenReturn("Recipe");
+        when(report.getStatus()).thenReturn(status);
+        when(report.getTestSuiteResultReports()).thenReturn(Collections.singletonList(testSuite));
+
+        Execution execution = mock(Execution.class);
+        when(execution.getId()).thenReturn(id);
+        when(execution.getCurrentReport()).thenReturn(report);
+        return execution;
+    }
+}
@@ -0,0 +1,92 @@
+package com.smartbear.readyapi4j.metrics.load;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.client.model.TestCaseResultReport;
+import com.smartbear.readyapi4j.client.model.TestJobReport;
+import com.smartbear.readyapi4j.client.model.TestStepResultReport;
+import com.smartbear.readyapi4j.client.model.TestSuiteResultReport;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.RecipeExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LoadRunnerTest {
+
+    private RecipeExecutor recipeExecutor;
+
+    @Before
+    public void setUp() {
+        TestStepResultReport testStep = mock(TestStepResultReport.class);
+        when(testStep.getTestStepName()).thenReturn("Get");
+        when(testStep.getTotalTestStepTime()).thenReturn(5L);
+        TestCaseResultReport testCase = mock(TestCaseResultReport.class);
+        when(testCase.getTestStepResultReports()).thenReturn(Collections.singletonList(testStep));
+        TestSuiteResultReport testSuite = mock(TestSuiteResultReport.class);
+        when(testSuite.getTestCaseResultReports()).thenReturn(Collections.singletonList(testCase));
+        TestJobReport report = mock(TestJobReport.class);
+        when(report.getStatus()).thenReturn(TestJobReport.StatusEnum.FINISHED);
+        when(report.getTestSuiteResultReports()).thenReturn(Collections.singletonList(testSuite));
+        Execution execution = mock(Execution.class);
+        when(execution.getCurrentReport()).thenReturn(report);
+
+        recipeExecutor = mock(RecipeExecutor.class);
+        when(recipeExecutor.executeRecipe(any(TestRecipe.class))).thenReturn(execution);
+    }
+
+    @Test
+    public void runsRecipeAtTargetRate() throws Exception {
+        LoadTestResult result = new LoadRunner(recipeExecutor)
+                .withVirtualUsers(4)
+                .withTargetRate(40)
+                .withDuration(Duration.ofMillis(500))
+                .run(mock(TestRecipe.class));
+
+        assertTrue("Expected about 20 iterations, was " + result.getIterations(),
+                result.getIterations() >= 15 && result.getIterations() <= 21);
+        assertEquals(result.getIterations(), result.getStepLatencies().get("Get").getTotalCount());
+        assertEquals(0.0, result.getErrorRate(), 0);
+    }
+
+    @Test
+    public void queuesMoreIterationsThanAPhaserCanTrack() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        when(recipeExecutor.executeRecipe(any(TestRecipe.class))).thenAnswer(invocation -> {
+            blocked.await();
+            return null;
+        });
+
+        LoadTestResult result = new LoadRunner(recipeExecutor)
+                .withVirtualUsers(1)
+                .withTargetRate(10_000_000)
+                .withMaxQueuedIterations(70_000)
+                .withDuration(Duration.ofSeconds(1))
+                .withShutdownTimeout(Duration.ofMillis(100))
+                .run(mock(TestRecipe.class));
+
+        assertTrue("Expected iterations beyond the queue limit to be dropped", result.getDroppedIterations() > 0);
+    }
+
+    @Test
+    public void countsExceptionsAsErrors() throws Exception {
+        when(recipeExecutor.executeRecipe(any(TestRecipe.class))).thenThrow(new IllegalStateException("down"));
+
+        LoadTestResult result = new LoadRunner(recipeExecutor)
+                .withVirtualUsers(2)
+                .withDuration(Duration.ofMillis(100))
+                .run(mock(TestRecipe.class));
+
+        assertEquals(0, result.getIterations());
+        assertTrue(result.getErrors() > 0);
+        assertEquals(1.0, result.getErrorRate(), 0);
+    }
+}
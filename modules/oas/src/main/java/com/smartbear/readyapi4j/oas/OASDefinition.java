@@ -0,0 +1,139 @@
+package com.smartbear.readyapi4j.oas;
+
+import com.google.common.collect.Lists;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A parsed OAS definition together with an index of its operations by operationId. Instances can be shared
+ * between any number of OASTestStepBuilders, see {@link OASDefinitionCache}. The operation index is immutable, but
+ * the parsed swagger model is not - it's shared by all users of a cached definition, so callers must not modify
+ * it or any of its operations.
+ */
+
+public class OASDefinition {
+    private final OpenAPI openAPI;
+    private final Map<String, OperationEntry> operationIndex;
+
+    public OASDefinition(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+        this.operationIndex = Collections.unmodifiableMap(buildOperationIndex(openAPI));
+    }
+
+    /**
+     * Parses the OAS definition at the specified location
+     *
+     * @param oasUrl URL or file path of the definition
+     * @return the parsed definition
+     * @throws IllegalArgumentException if the definition can not be parsed
+     */
+    public static OASDefinition parse(String oasUrl) throws IllegalArgumentException {
+        SwaggerParseResult result = new OpenAPIParser().readLocation(oasUrl, Lists.newArrayList(), new ParseOptions());
+        if (result.getOpenAPI() == null) {
+            throw new IllegalArgumentException("Failed to parse Swagger definition at [" + oasUrl + "]; " +
+                    Arrays.toString(result.getMessages().toArray()));
+        }
+        return new OASDefinition(result.getOpenAPI());
+    }
+
+    /**
+     * Parses an OAS definition from its textual content
+     *
+     * @param oasContent the JSON or YAML definition
+     * @return the parsed definition
+     * @throws IllegalArgumentException if the definition can not be parsed
+     */
+    public static OASDefinition parseContents(String oasContent) throws IllegalArgumentException {
+        SwaggerParseResult result = new OpenAPIParser().readContents(oasContent, Lists.newArrayList(), new ParseOptions());
+        if (result.getOpenAPI() == null) {
+            throw new IllegalArgumentException("Failed to parse Swagger definition; " +
+                    Arrays.toString(result.getMessages().toArray()));
+        }
+        return new OASDefinition(result.getOpenAPI());
+    }
+
+    private static Map<String, OperationEntry> buildOperationIndex(OpenAPI openAPI) {
+        Map<String, OperationEntry> index = new LinkedHashMap<>();
+        if (openAPI.getPaths() == null) {
+            return index;
+        }
+
+        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> method : path.getValue().readOperationsMap().entrySet()) {
+                String operationId = method.getValue().getOperationId();
+                if (operationId != null) {
+                    // first match wins, same as the previous linear lookup
+                    index.putIfAbsent(toKey(operationId),
+                            new OperationEntry(path.getKey(), method.getKey(), method.getValue()));
+                }
+            }
+        }
+        return index;
+    }
+
+    private static String toKey(String operationId) {
+        return operationId.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the parsed OAS definition object, shared with all other users of this definition - it must not be
+     * modified
+     */
+    public OpenAPI getOpenAPI() {
+        return openAPI;
+    }
+
+    /**
+     * @param operationId the operationId to look up - case insensitive
+     * @return the matching operation, null if none was found
+     */
+    public OperationEntry getOperation(String operationId) {
+        return operationId == null ? null : operationIndex.get(toKey(operationId));
+    }
+
+    /**
+     * @return all operations that have an operationId, in definition order
+     */
+    public Collection<OperationEntry> getOperations() {
+        return operationIndex.values();
+    }
+
+    /**
+     * An operation in the definition together with the path and method it is defined for
+     */
+
+    public static class OperationEntry {
+        private final String path;
+        private final PathItem.HttpMethod method;
+        private final Operation operation;
+
+        OperationEntry(String path, PathItem.HttpMethod method, Operation operation) {
+            this.path = path;
+            this.method = method;
+            this.operation = operation;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public PathItem.HttpMethod getMethod() {
+            return method;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+    }
+}
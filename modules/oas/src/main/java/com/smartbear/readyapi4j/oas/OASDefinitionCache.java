@@ -0,0 +1,225 @@
+package com.smartbear.readyapi4j.oas;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+/**
+ * Process-wide cache of parsed OAS definitions, used to avoid re-parsing the same definition for every
+ * OASTestStepBuilder that is created during a test run.
+ * <p>
+ * Definitions read from a location are keyed by that location and revalidated before being reused: local files
+ * by their modification time and size, HTTP(S) resources with a conditional request using the ETag and
+ * Last-Modified values of the previous response. Definitions read from content are keyed by a hash of that
+ * content. The cache holds at most {@link #MAXIMUM_SIZE} definitions, least recently used ones are evicted first,
+ * and entries are softly referenced so that they can be reclaimed when memory runs low.
+ */
+
+public class OASDefinitionCache {
+
+    public static final int MAXIMUM_SIZE = 32;
+
+    /**
+     * Minimum time between two revalidations of an HTTP resource
+     */
+    public static final long HTTP_REVALIDATION_INTERVAL = 5000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(OASDefinitionCache.class);
+
+    private static final Cache<String, CachedDefinition> cache = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .softValues()
+            .build();
+
+    /**
+     * Returns the definition at the specified location, parsing it only if it is not cached or has changed since
+     * it was last parsed.
+     *
+     * @param oasUrl URL or file path of the definition
+     * @return the parsed definition
+     * @throws IllegalArgumentException if the definition can not be parsed
+     */
+    public static OASDefinition forLocation(String oasUrl) throws IllegalArgumentException {
+        String key = "location:" + oasUrl;
+        CachedDefinition cached = cache.getIfPresent(key);
+        if (cached != null && cached.validator.isUpToDate()) {
+            return cached.definition;
+        }
+
+        Validator validator = createValidator(oasUrl);
+        CachedDefinition loaded = new CachedDefinition(OASDefinition.parse(oasUrl), validator);
+        cache.put(key, loaded);
+        return loaded.definition;
+    }
+
+    /**
+     * Returns the definition for the specified content, parsing it only if identical content has not been
+     * parsed before.
+     *
+     * @param oasContent the JSON or YAML definition
+     * @return the parsed definition
+     * @throws IllegalArgumentException if the definition can not be parsed
+     */
+    public static OASDefinition forContent(String oasContent) throws IllegalArgumentException {
+        String key = "content:" + Hashing.sha256().hashString(oasContent, StandardCharsets.UTF_8);
+        CachedDefinition cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.definition;
+        }
+
+        CachedDefinition loaded = new CachedDefinition(OASDefinition.parseContents(oasContent), () -> true);
+        cache.put(key, loaded);
+        return loaded.definition;
+    }
+
+    /**
+     * Removes all cached definitions
+     */
+    public static void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the number of currently cached definitions
+     */
+    public static long size() {
+        return cache.size();
+    }
+
+    private static Validator createValidator(String oasUrl) {
+        File file = toFile(oasUrl);
+        if (file != null) {
+            return new FileValidator(file);
+        }
+
+        if (oasUrl.startsWith("http://") || oasUrl.startsWith("https://")) {
+            return HttpValidator.create(oasUrl);
+        }
+
+        // classpath resources and other locations are not expected to change during a run
+        return () -> true;
+    }
+
+    private static File toFile(String oasUrl) {
+        try {
+            if (oasUrl.startsWith("file:")) {
+                return Paths.get(URI.create(oasUrl)).toFile();
+            }
+            File file = new File(oasUrl);
+            return file.isFile() ? file : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static class CachedDefinition {
+        private final OASDefinition definition;
+        private final Validator validator;
+
+        CachedDefinition(OASDefinition definition, Validator validator) {
+            this.definition = definition;
+            this.validator = validator;
+        }
+    }
+
+    private interface Validator {
+        boolean isUpToDate();
+    }
+
+    private static class FileValidator implements Validator {
+        private final File file;
+        private final long lastModified;
+        private final long length;
+
+        FileValidator(File file) {
+            this.file = file;
+            this.lastModified = file.lastModified();
+            this.length = file.length();
+        }
+
+        @Override
+        public boolean isUpToDate() {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+
+    private static class HttpValidator implements Validator {
+        private final String url;
+        private final String eTag;
+        private final String lastModified;
+        private volatile long lastChecked;
+
+        private HttpValidator(String url, String eTag, String lastModified) {
+            this.url = url;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.lastChecked = System.currentTimeMillis();
+        }
+
+        static HttpValidator create(String url) {
+            String eTag = null;
+            String lastModified = null;
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+                try {
+                    connection.setRequestMethod("HEAD");
+                    connection.getResponseCode();
+                    eTag = connection.getHeaderField("ETag");
+                    lastModified = connection.getHeaderField("Last-Modified");
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (IOException e) {
+                LOG.debug("Failed to read validators for [" + url + "]", e);
+            }
+            return new HttpValidator(url, eTag, lastModified);
+        }
+
+        @Override
+        public boolean isUpToDate() {
+            // without validators there is no cheap way of telling if the definition changed
+            if (eTag == null && lastModified == null) {
+                return true;
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastChecked < HTTP_REVALIDATION_INTERVAL) {
+                return true;
+            }
+
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+                try {
+                    if (eTag != null) {
+                        connection.setRequestProperty("If-None-Match", eTag);
+                    }
+                    if (lastModified != null) {
+                        connection.setRequestProperty("If-Modified-Since", lastModified);
+                    }
+                    boolean notModified = connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED;
+                    lastChecked = now;
+                    return notModified;
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (IOException e) {
+                // keep using the cached definition if the server can not be reached
+                LOG.debug("Failed to revalidate [" + url + "]", e);
+                return true;
+            }
+        }
+    }
+
+    private OASDefinitionCache() {
+    }
+}
@@ -0,0 +1,340 @@
+package com.smartbear.readyapi4j.oas;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.smartbear.readyapi4j.teststeps.restrequest.RestRequestStepWithBodyBuilder;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Generates JSON request bodies for the operations in an OAS definition. The request body schema of each operation
+ * is compiled once into a {@link PayloadPlan}, which can then produce any number of distinct, schema-valid payloads
+ * without parsing or walking the schema again.
+ * <p>
+ * Example:
+ * <pre>
+ * OASPayloadGenerator payloads = new OASPayloadGenerator(OASDefinitionCache.forLocation(url));
+ * for (int c = 0; c &lt; 1000; c++) {
+ *     recipe.addStep(payloads.getPlan("addPet").applyTo(oasTestStepBuilder.operationWithBody("addPet"), c));
+ * }
+ * </pre>
+ */
+
+public class OASPayloadGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(OASPayloadGenerator.class);
+    private static final int MAX_DEPTH = 8;
+    private static final int DEFAULT_MAX_STRING_LENGTH = 16;
+    private static final int DEFAULT_MAX_ITEMS = 3;
+    private static final long DEFAULT_INTEGER_RANGE = 1000000;
+    private static final double DEFAULT_NUMBER_RANGE = 1000;
+
+    private final OASDefinition definition;
+    private final SchemaSamples schemas;
+    private final ConcurrentMap<String, PayloadPlan> plans = new ConcurrentHashMap<>();
+
+    public OASPayloadGenerator(OASDefinition definition) {
+        this.definition = definition;
+        this.schemas = new SchemaSamples(definition.getOpenAPI());
+    }
+
+    /**
+     * Returns the compiled plan for the JSON request body of the specified operation, compiling it on first use
+     *
+     * @param operationId the operationId of an operation in the definition
+     * @return the compiled plan
+     * @throws IllegalArgumentException if the operation does not exist or has no JSON request body
+     */
+    public PayloadPlan getPlan(String operationId) {
+        OASDefinition.OperationEntry entry = definition.getOperation(operationId);
+        if (entry == null) {
+            throw new IllegalArgumentException("operationId [" + operationId + "] not found in Swagger definition");
+        }
+        return plans.computeIfAbsent(operationId.toLowerCase(Locale.ROOT), key -> compileRequestBody(entry));
+    }
+
+    /**
+     * Shortcut for setting a generated payload on a request builder
+     *
+     * @param operationId    the operation whose request body should be generated
+     * @param requestBuilder the builder to set the payload on
+     * @param sequence       the sequence number that the payload is derived from
+     * @return the specified request builder
+     */
+    public RestRequestStepWithBodyBuilder withPayload(String operationId, RestRequestStepWithBodyBuilder requestBuilder,
+                                                      long sequence) {
+        return getPlan(operationId).applyTo(requestBuilder, sequence);
+    }
+
+    /**
+     * Compiles an arbitrary schema into a plan, for example a component schema
+     */
+    public PayloadPlan compile(Schema schema) {
+        return new PayloadPlan("application/json", new Compilation().compile(schema, "", 0));
+    }
+
+    private PayloadPlan compileRequestBody(OASDefinition.OperationEntry entry) {
+        RequestBody requestBody = schemas.resolve(entry.getOperation().getRequestBody());
+        if (requestBody == null || requestBody.getContent() == null) {
+            throw new IllegalArgumentException(
+                    "RequestBody is not defined for the [" + entry.getOperation().getOperationId() + "] operation");
+        }
+
+        for (Map.Entry<String, MediaType> mediaType : requestBody.getContent().entrySet()) {
+            if (mediaType.getKey().toLowerCase(Locale.ROOT).contains("json") && mediaType.getValue().getSchema() != null) {
+                return new PayloadPlan(mediaType.getKey(),
+                        new Compilation().compile(mediaType.getValue().getSchema(), "", 0));
+            }
+        }
+
+        throw new IllegalArgumentException(
+                "No JSON request body schema defined for the [" + entry.getOperation().getOperationId() + "] operation");
+    }
+
+    /**
+     * State for compiling a single plan - hands out a distinct salt to each value so that sibling values
+     * of the same type do not generate identical content
+     */
+    private class Compilation {
+        private long nextSalt = 1;
+
+        PayloadPlan.ValueWriter compile(Schema schema, String name, int depth) {
+            // required properties may still recurse past MAX_DEPTH, so stop them at a hard limit
+            if (schema == null || depth > 2 * MAX_DEPTH) {
+                return new PayloadPlan.RawValue("null");
+            }
+            schema = schemas.resolve(schema);
+            long salt = nextSalt++;
+
+            if (schema.getEnum() != null && !schema.getEnum().isEmpty()) {
+                List<String> rawValues = new ArrayList<>();
+                for (Object value : schema.getEnum()) {
+                    rawValues.add(toRawJson(value));
+                }
+                return new PayloadPlan.EnumValue(rawValues, salt);
+            }
+
+            if (schema instanceof ComposedSchema) {
+                return compileComposed((ComposedSchema) schema, name, depth, salt);
+            }
+            if (schema instanceof ArraySchema) {
+                if (depth >= MAX_DEPTH) {
+                    return new PayloadPlan.RawValue("[]");
+                }
+                int minItems = schema.getMinItems() == null ? 1 : schema.getMinItems();
+                int maxItems = schema.getMaxItems() == null ? Math.max(minItems, DEFAULT_MAX_ITEMS) : schema.getMaxItems();
+                return new PayloadPlan.ArrayValue(compile(((ArraySchema) schema).getItems(), name, depth + 1),
+                        minItems, Math.max(minItems, maxItems), Boolean.TRUE.equals(schema.getUniqueItems()), salt);
+            }
+            if (schema.getProperties() != null || "object".equals(schema.getType())) {
+                List<String> names = new ArrayList<>();
+                List<PayloadPlan.ValueWriter> values = new ArrayList<>();
+                collectProperties(schema, depth, names, values);
+                return new PayloadPlan.ObjectValue(names, values);
+            }
+            if (schema.getType() == null && schema.getExample() != null) {
+                return new PayloadPlan.RawValue(toRawJson(schema.getExample()));
+            }
+
+            return compilePrimitive(schema, name, salt);
+        }
+
+        private PayloadPlan.ValueWriter compileComposed(ComposedSchema schema, String name, int depth, long salt) {
+            if (schema.getAllOf() != null && !schema.getAllOf().isEmpty()) {
+                List<String> names = new ArrayList<>();
+                List<PayloadPlan.ValueWriter> values = new ArrayList<>();
+                for (Schema part : schema.getAllOf()) {
+                    collectProperties(schemas.resolve(part), depth, names, values);
+                }
+                collectProperties(schema, depth, names, values);
+                return new PayloadPlan.ObjectValue(names, values);
+            }
+
+            List<Schema> alternatives = schema.getOneOf() != null && !schema.getOneOf().isEmpty() ?
+                    schema.getOneOf() : schema.getAnyOf();
+            if (alternatives == null || alternatives.isEmpty()) {
+                return new PayloadPlan.RawValue("{}");
+            }
+
+            List<PayloadPlan.ValueWriter> choices = new ArrayList<>();
+            for (Schema alternative : alternatives) {
+                choices.add(compile(alternative, name, depth + 1));
+            }
+            return new PayloadPlan.ChoiceValue(choices, salt);
+        }
+
+        private void collectProperties(Schema schema, int depth, List<String> names, List<PayloadPlan.ValueWriter> values) {
+            if (schema.getProperties() == null) {
+                return;
+            }
+
+            List<String> required = schema.getRequired();
+            Map<String, Schema> properties = schema.getProperties();
+            for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                Schema propertySchema = schemas.resolve(property.getValue());
+                boolean isRequired = required != null && required.contains(property.getKey());
+                if (names.contains(property.getKey()) || (Boolean.TRUE.equals(propertySchema.getReadOnly()) && !isRequired)) {
+                    continue;
+                }
+                // cut off recursive structures at optional properties
+                if (depth >= MAX_DEPTH && !isRequired) {
+                    continue;
+                }
+                if (!isRequired && hasUnsatisfiablePattern(propertySchema)) {
+                    LOG.warn("Skipping optional property [{}], no example matches its pattern [{}]",
+                            property.getKey(), propertySchema.getPattern());
+                    continue;
+                }
+                names.add(property.getKey());
+                values.add(compile(propertySchema, property.getKey(), depth + 1));
+            }
+        }
+
+        private PayloadPlan.ValueWriter compilePrimitive(Schema schema, String name, long salt) {
+            String type = schema.getType() == null ? "string" : schema.getType();
+            switch (type) {
+                case "integer": {
+                    // a missing bound is derived from the other one, so that e.g. only maximum: -5 stays valid
+                    long minimum;
+                    long maximum;
+                    if (schema.getMinimum() != null) {
+                        minimum = integerMinimum(schema);
+                        maximum = schema.getMaximum() != null ? integerMaximum(schema) : minimum + DEFAULT_INTEGER_RANGE;
+                    } else if (schema.getMaximum() != null) {
+                        maximum = integerMaximum(schema);
+                        minimum = Math.min(0, maximum - DEFAULT_INTEGER_RANGE);
+                    } else {
+                        minimum = 0;
+                        maximum = DEFAULT_INTEGER_RANGE;
+                    }
+                    return new PayloadPlan.IntegerValue(minimum, Math.max(minimum, maximum), salt);
+                }
+                case "number": {
+                    double minimum;
+                    double maximum;
+                    if (schema.getMinimum() != null) {
+                        minimum = schema.getMinimum().doubleValue();
+                        maximum = toDouble(schema.getMaximum(), minimum + DEFAULT_NUMBER_RANGE);
+                    } else if (schema.getMaximum() != null) {
+                        maximum = schema.getMaximum().doubleValue();
+                        minimum = Math.min(0, maximum - DEFAULT_NUMBER_RANGE);
+                    } else {
+                        minimum = 0;
+                        maximum = DEFAULT_NUMBER_RANGE;
+                    }
+                    if (Boolean.TRUE.equals(schema.getExclusiveMinimum()) && schema.getMinimum() != null) {
+                        minimum = Math.nextUp(minimum);
+                    }
+                    if (Boolean.TRUE.equals(schema.getExclusiveMaximum()) && schema.getMaximum() != null) {
+                        maximum = Math.nextDown(maximum);
+                    }
+                    return new PayloadPlan.NumberValue(minimum, Math.max(minimum, maximum), salt);
+                }
+                case "boolean":
+                    return new PayloadPlan.BooleanValue(salt);
+                default:
+                    if (schema.getPattern() != null) {
+                        Object sample = getPatternSample(schema);
+                        if (sample != null) {
+                            return new PayloadPlan.RawValue(toRawJson(sample));
+                        }
+                        LOG.warn("No example matching pattern [{}] of {}, the generated value may not match it",
+                                schema.getPattern(), name.isEmpty() ? "the request body" : "[" + name + "]");
+                    }
+                    if (schema.getFormat() != null && isSupportedFormat(schema.getFormat())) {
+                        return new PayloadPlan.FormattedStringValue(schema.getFormat(), salt);
+                    }
+                    // an empty string is only generated if the schema allows nothing else
+                    int minLength = schema.getMinLength() != null ? schema.getMinLength() :
+                            schema.getMaxLength() != null ? Math.min(1, schema.getMaxLength()) : 1;
+                    int maxLength = schema.getMaxLength() == null ?
+                            Math.max(minLength, DEFAULT_MAX_STRING_LENGTH) : schema.getMaxLength();
+                    return new PayloadPlan.StringValue(name, minLength, Math.max(minLength, maxLength), salt);
+            }
+        }
+    }
+
+    /**
+     * @return the smallest integer above or at the minimum, depending on exclusiveMinimum
+     */
+    private static long integerMinimum(Schema schema) {
+        BigDecimal minimum = schema.getMinimum();
+        return Boolean.TRUE.equals(schema.getExclusiveMinimum()) ?
+                minimum.setScale(0, RoundingMode.FLOOR).longValue() + 1 :
+                minimum.setScale(0, RoundingMode.CEILING).longValue();
+    }
+
+    /**
+     * @return the largest integer below or at the maximum, depending on exclusiveMaximum
+     */
+    private static long integerMaximum(Schema schema) {
+        BigDecimal maximum = schema.getMaximum();
+        return Boolean.TRUE.equals(schema.getExclusiveMaximum()) ?
+                maximum.setScale(0, RoundingMode.CEILING).longValue() - 1 :
+                maximum.setScale(0, RoundingMode.FLOOR).longValue();
+    }
+
+    /**
+     * Patterns aren't generated from, a string with a pattern can only be generated from its example or default
+     */
+    private static boolean hasUnsatisfiablePattern(Schema schema) {
+        return schema.getPattern() != null && (schema.getEnum() == null || schema.getEnum().isEmpty()) &&
+                getPatternSample(schema) == null;
+    }
+
+    private static Object getPatternSample(Schema schema) {
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(schema.getPattern());
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+        for (Object sample : new Object[]{schema.getExample(), schema.getDefault()}) {
+            if (sample instanceof String && pattern.matcher((String) sample).find()) {
+                return sample;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSupportedFormat(String format) {
+        switch (format) {
+            case "uuid":
+            case "email":
+            case "date":
+            case "date-time":
+            case "uri":
+            case "url":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static double toDouble(BigDecimal value, double defaultValue) {
+        return value == null ? defaultValue : value.doubleValue();
+    }
+
+    private static String toRawJson(Object value) {
+        try {
+            return Json.mapper().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize schema value [" + value + "]", e);
+        }
+    }
+}
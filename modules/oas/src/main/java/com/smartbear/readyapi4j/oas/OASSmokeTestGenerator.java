@@ -0,0 +1,256 @@
+package com.smartbear.readyapi4j.oas;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.TestRecipeBuilder;
+import com.smartbear.readyapi4j.assertions.Assertions;
+import com.smartbear.readyapi4j.execution.Execution;
+import com.smartbear.readyapi4j.execution.RecipeExecutionException;
+import com.smartbear.readyapi4j.execution.RecipeExecutor;
+import com.smartbear.readyapi4j.teststeps.TestSteps;
+import com.smartbear.readyapi4j.teststeps.restrequest.RestRequestStepBuilder;
+import com.smartbear.readyapi4j.teststeps.restrequest.RestRequestStepWithBodyBuilder;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a smoke test suite for an OAS definition - one recipe per operation, each containing a single request
+ * with sample values for required parameters and the request body, taken from examples, defaults or the schema,
+ * and assertions for the documented success status codes and schema compliance.
+ * <p>
+ * Recipes for large definitions are created in parallel, on the common ForkJoinPool or on an executor supplied by
+ * the caller; the resulting list is always in definition order.
+ */
+
+public class OASSmokeTestGenerator {
+    /**
+     * Below this number of operations recipes are generated on the calling thread
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+
+    private static final Collection<TestSteps.HttpMethod> HTTP_METHODS_WITH_BODY =
+            EnumSet.of(TestSteps.HttpMethod.POST, TestSteps.HttpMethod.PUT, TestSteps.HttpMethod.PATCH);
+    private static final String PREFERRED_MEDIA_TYPE = "application/json";
+
+    private final OASDefinition definition;
+    private final String targetBasePath;
+    private final SchemaSamples samples;
+    private ExecutorService executor = ForkJoinPool.commonPool();
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private boolean assertSchemaCompliance = true;
+
+    /**
+     * Creates a generator for the definition and target endpoint of an existing OASTestStepBuilder
+     */
+    public OASSmokeTestGenerator(OASTestStepBuilder testStepBuilder) {
+        this(testStepBuilder.getDefinition(), testStepBuilder.getTargetEndpoint());
+    }
+
+    /**
+     * @param definition     the parsed definition to generate recipes for
+     * @param targetEndpoint where the target API under test running
+     */
+    public OASSmokeTestGenerator(OASDefinition definition, String targetEndpoint) {
+        this.definition = definition;
+        this.targetBasePath = targetEndpoint == null ? "" : targetEndpoint;
+        this.samples = new SchemaSamples(definition.getOpenAPI());
+    }
+
+    /**
+     * Generates recipes on the specified executor instead of the common ForkJoinPool. The executor is owned by the
+     * caller and is not shut down by the generator.
+     */
+    public OASSmokeTestGenerator withExecutor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    OASSmokeTestGenerator withParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        return this;
+    }
+
+    /**
+     * Toggles the schema compliance assertion added to each request, enabled by default
+     */
+    public OASSmokeTestGenerator withSchemaCompliance(boolean assertSchemaCompliance) {
+        this.assertSchemaCompliance = assertSchemaCompliance;
+        return this;
+    }
+
+    /**
+     * @return one recipe for each operation in the definition, in definition order
+     */
+    public List<TestRecipe> generateRecipes() {
+        List<OASDefinition.OperationEntry> operations = collectOperations();
+        if (operations.size() < parallelThreshold) {
+            return operations.stream().map(this::generateRecipe).collect(Collectors.toList());
+        }
+
+        List<Future<TestRecipe>> futures = new ArrayList<>();
+        for (OASDefinition.OperationEntry operation : operations) {
+            futures.add(executor.submit(() -> generateRecipe(operation)));
+        }
+        try {
+            List<TestRecipe> recipes = new ArrayList<>();
+            for (Future<TestRecipe> future : futures) {
+                recipes.add(future.get());
+            }
+            return recipes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecipeExecutionException("Interrupted while generating smoke test recipes", e);
+        } catch (ExecutionException e) {
+            throw new RecipeExecutionException("Failed to generate smoke test recipes", e.getCause());
+        }
+    }
+
+    /**
+     * Generates all recipes and submits them for asynchronous execution
+     *
+     * @param recipeExecutor the executor to submit the recipes to
+     * @return the started executions, in definition order
+     */
+    public List<Execution> submitRecipes(RecipeExecutor recipeExecutor) {
+        List<Execution> executions = new ArrayList<>();
+        for (TestRecipe recipe : generateRecipes()) {
+            executions.add(recipeExecutor.submitRecipe(recipe));
+        }
+        return executions;
+    }
+
+    /**
+     * @return a recipe containing a single request for the specified operation
+     */
+    public TestRecipe generateRecipe(OASDefinition.OperationEntry entry) {
+        Operation operation = entry.getOperation();
+        TestSteps.HttpMethod method = TestSteps.HttpMethod.valueOf(entry.getMethod().name());
+        String name = operation.getOperationId() != null ? operation.getOperationId() : method + " " + entry.getPath();
+
+        RestRequestStepBuilder<?> request;
+        if (HTTP_METHODS_WITH_BODY.contains(method)) {
+            request = createRequestWithBody(entry, method);
+        } else {
+            request = new RestRequestStepBuilder<RestRequestStepBuilder>(targetBasePath + entry.getPath(), method);
+        }
+        request.named(name);
+
+        for (Parameter parameter : collectParameters(entry)) {
+            addParameter(request, parameter);
+        }
+
+        List<String> successCodes = getSuccessStatusCodes(operation);
+        if (!successCodes.isEmpty()) {
+            request.addAssertion(Assertions.statusCodes(successCodes.toArray(new String[0])));
+        }
+        if (assertSchemaCompliance) {
+            request.addAssertion(Assertions.schemaCompliance());
+        }
+
+        return TestRecipeBuilder.buildRecipe(name, request);
+    }
+
+    private RestRequestStepWithBodyBuilder createRequestWithBody(OASDefinition.OperationEntry entry, TestSteps.HttpMethod method) {
+        RestRequestStepWithBodyBuilder request = new RestRequestStepWithBodyBuilder(targetBasePath + entry.getPath(), method);
+        RequestBody requestBody = samples.resolve(entry.getOperation().getRequestBody());
+        if (requestBody == null || requestBody.getContent() == null || requestBody.getContent().isEmpty()) {
+            return request;
+        }
+
+        String mediaTypeName = requestBody.getContent().containsKey(PREFERRED_MEDIA_TYPE) ?
+                PREFERRED_MEDIA_TYPE : requestBody.getContent().keySet().iterator().next();
+        MediaType mediaType = requestBody.getContent().get(mediaTypeName);
+        request.withMediaType(mediaTypeName);
+        if (mediaType != null) {
+            Object body = samples.sampleBody(mediaType);
+            if (body != null) {
+                request.withRequestBody(body);
+            }
+        }
+        return request;
+    }
+
+    private void addParameter(RestRequestStepBuilder<?> request, Parameter parameter) {
+        String value = samples.sampleParameterValue(parameter);
+        switch (parameter.getIn()) {
+            case "path":
+                request.addPathParameter(parameter.getName(), value);
+                break;
+            case "query":
+                request.addQueryParameter(parameter.getName(), value);
+                break;
+            case "header":
+                request.addHeaderParameter(parameter.getName(), value);
+                break;
+            default:
+                // cookie parameters are not supported by REST request steps
+                break;
+        }
+    }
+
+    /**
+     * Path parameters and required parameters, with operation-level parameters overriding path-level ones
+     */
+    private Collection<Parameter> collectParameters(OASDefinition.OperationEntry entry) {
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        PathItem pathItem = definition.getOpenAPI().getPaths().get(entry.getPath());
+        List<Parameter> candidates = new ArrayList<>();
+        if (pathItem != null && pathItem.getParameters() != null) {
+            candidates.addAll(pathItem.getParameters());
+        }
+        if (entry.getOperation().getParameters() != null) {
+            candidates.addAll(entry.getOperation().getParameters());
+        }
+
+        for (Parameter candidate : candidates) {
+            Parameter parameter = samples.resolve(candidate);
+            if (parameter.getIn() == null || parameter.getName() == null) {
+                continue;
+            }
+            if ("path".equals(parameter.getIn()) || Boolean.TRUE.equals(parameter.getRequired())) {
+                parameters.put(parameter.getIn() + ":" + parameter.getName(), parameter);
+            }
+        }
+        return parameters.values();
+    }
+
+    private List<String> getSuccessStatusCodes(Operation operation) {
+        List<String> result = new ArrayList<>();
+        if (operation.getResponses() != null) {
+            for (String statusCode : operation.getResponses().keySet()) {
+                if (statusCode.length() == 3 && statusCode.startsWith("2") && Character.isDigit(statusCode.charAt(2))) {
+                    result.add(statusCode);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<OASDefinition.OperationEntry> collectOperations() {
+        List<OASDefinition.OperationEntry> result = new ArrayList<>();
+        if (definition.getOpenAPI().getPaths() == null) {
+            return result;
+        }
+
+        for (Map.Entry<String, PathItem> path : definition.getOpenAPI().getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> method : path.getValue().readOperationsMap().entrySet()) {
+                result.add(new OASDefinition.OperationEntry(path.getKey(), method.getKey(), method.getValue()));
+            }
+        }
+        return result;
+    }
+}
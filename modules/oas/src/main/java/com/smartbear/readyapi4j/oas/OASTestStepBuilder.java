@@ -1,25 +1,19 @@
 package com.smartbear.readyapi4j.oas;
 
-import com.google.common.collect.Lists;
 import com.smartbear.readyapi4j.teststeps.TestSteps;
 import com.smartbear.readyapi4j.teststeps.restrequest.RestRequestStepBuilder;
 import com.smartbear.readyapi4j.teststeps.restrequest.RestRequestStepWithBodyBuilder;
-import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.parameters.RequestBody;
-import io.swagger.v3.parser.core.models.ParseOptions;
-import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.Map;
 
 /**
  * Utility class for building RestRequestStepBuilders for operations in a Swagger/OAS 2.0 definition
@@ -29,7 +23,8 @@ public class OASTestStepBuilder {
 
     private static final Collection<TestSteps.HttpMethod> HTTP_METHODS_WITH_BODY =
             EnumSet.of(TestSteps.HttpMethod.POST, TestSteps.HttpMethod.PUT, TestSteps.HttpMethod.PATCH);
-    private OpenAPI openAPI;
+    private final OASDefinition definition;
+    private final OpenAPI openAPI;
     private String targetEndpoint;
     private String targetBasePath;
 
@@ -41,8 +36,7 @@ public class OASTestStepBuilder {
      * @throws IllegalArgumentException if the specified Swagger definition can not be parsed
      */
     public OASTestStepBuilder(String swaggerUrl, String targetEndpoint) throws IllegalArgumentException {
-        this.openAPI = parseOAS(swaggerUrl);
-        setTargetEndpoint(targetEndpoint);
+        this(OASDefinition.parse(swaggerUrl), targetEndpoint);
     }
 
     /**
@@ -65,8 +59,7 @@ public class OASTestStepBuilder {
      * @throws IOException              if the Swagger definition can not be read
      */
     public OASTestStepBuilder(InputStream swaggerInputStream, String targetEndpoint) throws IllegalArgumentException, IOException {
-        this.openAPI = parseOAS(swaggerInputStream);
-        setTargetEndpoint(targetEndpoint);
+        this(OASDefinition.parseContents(IOUtils.toString(swaggerInputStream, StandardCharsets.UTF_8)), targetEndpoint);
     }
 
     /**
@@ -81,28 +74,43 @@ public class OASTestStepBuilder {
         this(swaggerInputStream, null);
     }
 
-    private OpenAPI parseOAS(String oasUrl) throws IllegalArgumentException {
-        SwaggerParseResult result = new OpenAPIParser().readLocation(oasUrl, Lists.newArrayList(), new ParseOptions());
-        openAPI = result.getOpenAPI();
-
-        if (openAPI == null) {
-            throw new IllegalArgumentException("Failed to parse Swagger definition at [" + oasUrl + "]; " +
-                    Arrays.toString(result.getMessages().toArray()));
-        }
-        return openAPI;
+    /**
+     * Creates an OASTestStepBuilder for an already parsed definition, for example one obtained from the
+     * {@link OASDefinitionCache}
+     *
+     * @param definition     the parsed definition to use
+     * @param targetEndpoint where the target API under test running, null to use the first server in the definition
+     */
+    public OASTestStepBuilder(OASDefinition definition, String targetEndpoint) {
+        this.definition = definition;
+        this.openAPI = definition.getOpenAPI();
+        setTargetEndpoint(targetEndpoint);
     }
 
-    private OpenAPI parseOAS(InputStream swaggerInputStream) throws IllegalArgumentException, IOException {
-        String swaggerAsString = IOUtils.toString(swaggerInputStream, StandardCharsets.UTF_8);
-        SwaggerParseResult result = new OpenAPIParser().readContents(swaggerAsString, Lists.newArrayList(), new ParseOptions());
-        openAPI = result.getOpenAPI();
-
-        if (openAPI == null) {
-            throw new IllegalArgumentException("Failed to parse Swagger definition; " +
-                    Arrays.toString(result.getMessages().toArray()));
-        }
+    /**
+     * Creates an OASTestStepBuilder that reuses a previously parsed definition from the {@link OASDefinitionCache}
+     * if the definition at the specified location has not changed since it was parsed.
+     *
+     * @param oasUrl         endpoint to the OAS definition to use
+     * @param targetEndpoint where the target API under test running, null to use the first server in the definition
+     * @return the created OASTestStepBuilder
+     * @throws IllegalArgumentException if the specified definition can not be parsed
+     */
+    public static OASTestStepBuilder cached(String oasUrl, String targetEndpoint) throws IllegalArgumentException {
+        return new OASTestStepBuilder(OASDefinitionCache.forLocation(oasUrl), targetEndpoint);
+    }
 
-        return openAPI;
+    /**
+     * Creates an OASTestStepBuilder that reuses a previously parsed definition from the {@link OASDefinitionCache}
+     * if the definition at the specified location has not changed since it was parsed, uses the first server in
+     * the definition for the target endpoint.
+     *
+     * @param oasUrl endpoint to the OAS definition to use
+     * @return the created OASTestStepBuilder
+     * @throws IllegalArgumentException if the specified definition can not be parsed
+     */
+    public static OASTestStepBuilder cached(String oasUrl) throws IllegalArgumentException {
+        return cached(oasUrl, null);
     }
 
     /**
@@ -113,18 +121,8 @@ public class OASTestStepBuilder {
      * @throws IllegalArgumentException if the operationId is not found in the Swagger definition
      */
     public RestRequestStepBuilder<RestRequestStepBuilder> operation(String operationId) {
-        for (String path : openAPI.getPaths().keySet()) {
-            PathItem swaggerPath = openAPI.getPaths().get(path);
-
-            for (PathItem.HttpMethod method : swaggerPath.readOperationsMap().keySet()) {
-                Operation swaggerOperation = swaggerPath.readOperationsMap().get(method);
-                if (operationId.equalsIgnoreCase(swaggerOperation.getOperationId())) {
-                    return new RestRequestStepBuilder<>(targetBasePath + path, toHttpMethod(method));
-                }
-            }
-        }
-
-        throw new IllegalArgumentException("operationId [" + operationId + "] not found in Swagger definition");
+        OASDefinition.OperationEntry entry = findOperation(operationId);
+        return new RestRequestStepBuilder<>(targetBasePath + entry.getPath(), toHttpMethod(entry.getMethod()));
     }
 
     /**
@@ -135,22 +133,20 @@ public class OASTestStepBuilder {
      * @throws IllegalArgumentException if the operationId is not found in the Swagger definition
      */
     public RestRequestStepWithBodyBuilder operationWithBody(String operationId) {
-        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
-
-            for (Map.Entry<PathItem.HttpMethod, io.swagger.v3.oas.models.Operation> method : path.getValue().readOperationsMap().entrySet()) {
-                io.swagger.v3.oas.models.Operation swaggerOperation = method.getValue();
-                if (!operationId.equalsIgnoreCase(swaggerOperation.getOperationId())) {
-                    continue;
-                }
-                final TestSteps.HttpMethod verb = toHttpMethod(method.getKey());
-                ensureHttpMethodWithBody(verb);
-                ensureBodyParameter(swaggerOperation);
-
-                return new RestRequestStepWithBodyBuilder(targetBasePath + path.getKey(), verb);
-            }
-        }
+        OASDefinition.OperationEntry entry = findOperation(operationId);
+        final TestSteps.HttpMethod verb = toHttpMethod(entry.getMethod());
+        ensureHttpMethodWithBody(verb);
+        ensureBodyParameter(entry.getOperation());
 
-        throw new IllegalArgumentException("operationId [" + operationId + "] not found in Swagger definition");
+        return new RestRequestStepWithBodyBuilder(targetBasePath + entry.getPath(), verb);
+    }
+
+    private OASDefinition.OperationEntry findOperation(String operationId) {
+        OASDefinition.OperationEntry entry = definition.getOperation(operationId);
+        if (entry == null) {
+            throw new IllegalArgumentException("operationId [" + operationId + "] not found in Swagger definition");
+        }
+        return entry;
     }
 
     /**
@@ -203,6 +199,13 @@ public class OASTestStepBuilder {
         return openAPI;
     }
 
+    /**
+     * @return the parsed definition together with its operation index
+     */
+    public OASDefinition getDefinition() {
+        return definition;
+    }
+
     /**
      * @return the target endpoint of the API under test
      */
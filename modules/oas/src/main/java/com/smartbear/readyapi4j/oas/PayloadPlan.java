@@ -0,0 +1,372 @@
+package com.smartbear.readyapi4j.oas;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.smartbear.readyapi4j.teststeps.restrequest.RestRequestStepWithBodyBuilder;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A request body schema compiled into a tree of value writers. Each call to {@link #generate(long)} writes a valid
+ * JSON document for the schema straight to a JsonGenerator - no intermediate object tree is built. Values are
+ * derived from the specified sequence number, so the same number always produces the same payload and different
+ * numbers produce different payloads. Plans are immutable and can be used from any number of threads.
+ * <p>
+ * Supported constraints are type, format, enum, minimum/maximum including exclusive bounds, minLength/maxLength,
+ * minItems/maxItems and uniqueItems. A pattern is only satisfied by a matching example or default, multipleOf isn't
+ * supported.
+ */
+
+public class PayloadPlan {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final ThreadLocal<ReusableGenerator> GENERATORS = ThreadLocal.withInitial(ReusableGenerator::new);
+
+    private final String mediaType;
+    private final ValueWriter root;
+
+    PayloadPlan(String mediaType, ValueWriter root) {
+        this.mediaType = mediaType;
+        this.root = root;
+    }
+
+    /**
+     * @return the media type of the generated payloads
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Writes the payload for the specified sequence number to an existing generator
+     */
+    public void write(JsonGenerator generator, long sequence) throws IOException {
+        root.write(generator, sequence);
+    }
+
+    /**
+     * @return the payload for the specified sequence number, written through a reusable per-thread generator
+     */
+    public String generate(long sequence) {
+        ReusableGenerator reusable = GENERATORS.get();
+        try {
+            root.write(reusable.generator, sequence);
+            return reusable.drain();
+        } catch (IOException e) {
+            // only the in-memory writer is involved, so this should never happen
+            GENERATORS.remove();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes payloads for the sequence numbers [firstSequence, firstSequence + count) to the specified stream as
+     * newline-delimited JSON. The stream is not closed.
+     */
+    public void writePayloads(OutputStream outputStream, long firstSequence, long count) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (long sequence = firstSequence; sequence < firstSequence + count; sequence++) {
+                root.write(generator, sequence);
+            }
+        }
+    }
+
+    /**
+     * Sets the media type and the payload for the specified sequence number on the request builder
+     */
+    public RestRequestStepWithBodyBuilder applyTo(RestRequestStepWithBodyBuilder requestBuilder, long sequence) {
+        return requestBuilder.withMediaType(mediaType).withRequestBody(generate(sequence));
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads the sequence number and a per-value salt into a well-mixed 64 bit value
+     */
+    static long mix(long sequence, long salt) {
+        long z = sequence * GOLDEN_GAMMA + salt;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static class ReusableGenerator {
+        private final CharArrayWriter writer = new CharArrayWriter(512);
+        private final JsonGenerator generator;
+
+        ReusableGenerator() {
+            try {
+                generator = JSON_FACTORY.createGenerator(writer);
+                generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        String drain() throws IOException {
+            generator.flush();
+            String result = writer.toString();
+            writer.reset();
+            return result;
+        }
+    }
+
+    interface ValueWriter {
+        void write(JsonGenerator generator, long sequence) throws IOException;
+    }
+
+    static class ObjectValue implements ValueWriter {
+        private final SerializedString[] names;
+        private final ValueWriter[] values;
+
+        ObjectValue(List<String> names, List<ValueWriter> values) {
+            this.names = names.stream().map(SerializedString::new).toArray(SerializedString[]::new);
+            this.values = values.toArray(new ValueWriter[0]);
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < names.length; i++) {
+                generator.writeFieldName(names[i]);
+                values[i].write(generator, sequence);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * With uniqueItems, the elements are written to a string first to skip duplicates. Items with fewer distinct
+     * values than minItems, e.g. a small enum, result in a shorter array.
+     */
+    static class ArrayValue implements ValueWriter {
+        private static final int ATTEMPTS_PER_UNIQUE_ITEM = 16;
+
+        private final ValueWriter items;
+        private final int minItems;
+        private final int itemRange;
+        private final boolean uniqueItems;
+        private final long salt;
+
+        ArrayValue(ValueWriter items, int minItems, int maxItems, boolean uniqueItems, long salt) {
+            this.items = items;
+            this.minItems = minItems;
+            this.itemRange = maxItems - minItems + 1;
+            this.uniqueItems = uniqueItems;
+            this.salt = salt;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            int size = minItems + (int) Long.remainderUnsigned(mix(sequence, salt), itemRange);
+            generator.writeStartArray();
+            if (uniqueItems) {
+                writeUniqueItems(generator, sequence, size);
+            } else {
+                for (int i = 0; i < size; i++) {
+                    // vary elements within the same payload
+                    items.write(generator, sequence * 31 + i);
+                }
+            }
+            generator.writeEndArray();
+        }
+
+        private void writeUniqueItems(JsonGenerator generator, long sequence, int size) throws IOException {
+            Set<String> written = new HashSet<>();
+            CharArrayWriter itemWriter = new CharArrayWriter(64);
+            try (JsonGenerator itemGenerator = JSON_FACTORY.createGenerator(itemWriter)) {
+                itemGenerator.setRootValueSeparator(null);
+                for (int i = 0; written.size() < size && i < size * ATTEMPTS_PER_UNIQUE_ITEM; i++) {
+                    items.write(itemGenerator, sequence * 31 + i);
+                    itemGenerator.flush();
+                    String item = itemWriter.toString();
+                    itemWriter.reset();
+                    if (written.add(item)) {
+                        generator.writeRawValue(item);
+                    }
+                }
+            }
+        }
+    }
+
+    static class ChoiceValue implements ValueWriter {
+        private final ValueWriter[] choices;
+        private final long salt;
+
+        ChoiceValue(List<ValueWriter> choices, long salt) {
+            this.choices = choices.toArray(new ValueWriter[0]);
+            this.salt = salt;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            choices[(int) Long.remainderUnsigned(mix(sequence, salt), choices.length)].write(generator, sequence);
+        }
+    }
+
+    static class EnumValue implements ValueWriter {
+        private final String[] rawValues;
+        private final long salt;
+
+        EnumValue(List<String> rawValues, long salt) {
+            this.rawValues = rawValues.toArray(new String[0]);
+            this.salt = salt;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            generator.writeRawValue(rawValues[(int) Long.remainderUnsigned(mix(sequence, salt), rawValues.length)]);
+        }
+    }
+
+    static class IntegerValue implements ValueWriter {
+        private final long minimum;
+        private final long range;
+        private final long salt;
+
+        IntegerValue(long minimum, long maximum, long salt) {
+            this.minimum = minimum;
+            this.range = maximum - minimum + 1;
+            this.salt = salt;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            long random = mix(sequence, salt);
+            generator.writeNumber(range <= 0 ? minimum + (random >>> 1) : minimum + Long.remainderUnsigned(random, range));
+        }
+    }
+
+    static class NumberValue implements ValueWriter {
+        private final double minimum;
+        private final double maximum;
+        private final double range;
+        private final long salt;
+
+        NumberValue(double minimum, double maximum, long salt) {
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.range = maximum - minimum;
+            this.salt = salt;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            double fraction = (mix(sequence, salt) >>> 11) * 0x1.0p-53;
+            // rounding may reach the maximum, which may be the largest value below an exclusive maximum
+            generator.writeNumber(Math.min(maximum, minimum + fraction * range));
+        }
+    }
+
+    static class BooleanValue implements ValueWriter {
+        private final long salt;
+
+        BooleanValue(long salt) {
+            this.salt = salt;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            generator.writeBoolean((mix(sequence, salt) & 1) == 0);
+        }
+    }
+
+    /**
+     * A string of the property name followed by random characters. The name is shortened or left out so that up to
+     * {@link #RANDOM_LENGTH} random characters fit within the maximum length, values only differ in those.
+     */
+    static class StringValue implements ValueWriter {
+        static final int RANDOM_LENGTH = 8;
+        private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+        private static final ThreadLocal<char[]> BUFFERS = ThreadLocal.withInitial(() -> new char[64]);
+
+        private final char[] prefix;
+        private final int minLength;
+        private final int maxLength;
+        private final long salt;
+
+        StringValue(String prefix, int minLength, int maxLength, long salt) {
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            int prefixLength = Math.max(0, Math.min(prefix.length(), maxLength - RANDOM_LENGTH));
+            this.prefix = prefix.substring(0, prefixLength).toCharArray();
+            this.salt = salt;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            long random = mix(sequence, salt);
+            int length = Math.max(minLength, Math.min(maxLength, prefix.length + RANDOM_LENGTH));
+            char[] buffer = BUFFERS.get();
+            if (buffer.length < length) {
+                buffer = new char[length];
+                BUFFERS.set(buffer);
+            }
+
+            int position = Math.min(prefix.length, length);
+            System.arraycopy(prefix, 0, buffer, 0, position);
+            for (; position < length; position++) {
+                buffer[position] = ALPHABET[(int) Long.remainderUnsigned(random, ALPHABET.length)];
+                random = Long.divideUnsigned(random, ALPHABET.length);
+                if (random == 0) {
+                    random = mix(sequence, salt + position);
+                }
+            }
+            generator.writeString(buffer, 0, length);
+        }
+    }
+
+    static class FormattedStringValue implements ValueWriter {
+        private final String format;
+        private final long salt;
+
+        FormattedStringValue(String format, long salt) {
+            this.format = format;
+            this.salt = salt;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            long random = mix(sequence, salt);
+            switch (format) {
+                case "uuid":
+                    generator.writeString(new UUID(random, mix(sequence, ~salt)).toString());
+                    break;
+                case "email":
+                    generator.writeString("user" + Long.remainderUnsigned(random, 1000000000L) + "@example.com");
+                    break;
+                case "date":
+                    generator.writeString(java.time.LocalDate.ofEpochDay(Long.remainderUnsigned(random, 20000)).toString());
+                    break;
+                case "date-time":
+                    generator.writeString(java.time.Instant.ofEpochSecond(Long.remainderUnsigned(random, 2000000000L)).toString());
+                    break;
+                default:
+                    generator.writeString("http://example.com/" + Long.toHexString(random));
+                    break;
+            }
+        }
+    }
+
+    static class RawValue implements ValueWriter {
+        private final String rawValue;
+
+        RawValue(String rawValue) {
+            this.rawValue = rawValue;
+        }
+
+        @Override
+        public void write(JsonGenerator generator, long sequence) throws IOException {
+            generator.writeRawValue(rawValue);
+        }
+    }
+}
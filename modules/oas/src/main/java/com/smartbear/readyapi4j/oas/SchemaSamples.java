@@ -0,0 +1,220 @@
+package com.smartbear.readyapi4j.oas;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates sample values for parameters, request bodies and schemas of an OAS definition, preferring
+ * explicit examples, then defaults and enums, and finally a type-based placeholder.
+ */
+
+class SchemaSamples {
+    private static final int MAX_DEPTH = 8;
+
+    private final OpenAPI openAPI;
+
+    SchemaSamples(OpenAPI openAPI) {
+        this.openAPI = openAPI;
+    }
+
+    Parameter resolve(Parameter parameter) {
+        if (parameter.get$ref() != null && openAPI.getComponents() != null && openAPI.getComponents().getParameters() != null) {
+            Parameter resolved = openAPI.getComponents().getParameters().get(simpleRef(parameter.get$ref()));
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        return parameter;
+    }
+
+    RequestBody resolve(RequestBody requestBody) {
+        if (requestBody != null && requestBody.get$ref() != null && openAPI.getComponents() != null &&
+                openAPI.getComponents().getRequestBodies() != null) {
+            RequestBody resolved = openAPI.getComponents().getRequestBodies().get(simpleRef(requestBody.get$ref()));
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        return requestBody;
+    }
+
+    Schema resolve(Schema schema) {
+        if (schema != null && schema.get$ref() != null && openAPI.getComponents() != null &&
+                openAPI.getComponents().getSchemas() != null) {
+            Schema resolved = openAPI.getComponents().getSchemas().get(simpleRef(schema.get$ref()));
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * @return a sample value for the specified parameter, converted to the string form used in requests
+     */
+    String sampleParameterValue(Parameter parameter) {
+        Object value = parameter.getExample();
+        if (value == null && parameter.getExamples() != null) {
+            value = firstExampleValue(parameter.getExamples());
+        }
+        if (value == null) {
+            value = sample(parameter.getSchema());
+        }
+        if (value instanceof List) {
+            List<?> values = (List<?>) value;
+            value = values.isEmpty() ? "" : values.get(0);
+        }
+        return value == null ? "" : String.valueOf(value);
+    }
+
+    /**
+     * @return a sample body for the specified media type
+     */
+    Object sampleBody(MediaType mediaType) {
+        if (mediaType.getExample() != null) {
+            return mediaType.getExample();
+        }
+        if (mediaType.getExamples() != null) {
+            Object value = firstExampleValue(mediaType.getExamples());
+            if (value != null) {
+                return value;
+            }
+        }
+        return sample(mediaType.getSchema());
+    }
+
+    Object sample(Schema schema) {
+        return sample(schema, 0);
+    }
+
+    private Object sample(Schema schema, int depth) {
+        if (schema == null || depth > MAX_DEPTH) {
+            return null;
+        }
+
+        schema = resolve(schema);
+        if (schema.getExample() != null) {
+            return schema.getExample();
+        }
+        if (schema.getDefault() != null) {
+            return schema.getDefault();
+        }
+        if (schema.getEnum() != null && !schema.getEnum().isEmpty()) {
+            return schema.getEnum().get(0);
+        }
+
+        if (schema instanceof ComposedSchema) {
+            return sampleComposed((ComposedSchema) schema, depth);
+        }
+        if (schema instanceof ArraySchema) {
+            Object item = sample(((ArraySchema) schema).getItems(), depth + 1);
+            return item == null ? Collections.emptyList() : Collections.singletonList(item);
+        }
+        if (schema.getProperties() != null || "object".equals(schema.getType())) {
+            return sampleObject(schema, depth);
+        }
+
+        return samplePrimitive(schema);
+    }
+
+    private Object sampleComposed(ComposedSchema schema, int depth) {
+        if (schema.getAllOf() != null && !schema.getAllOf().isEmpty()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Schema part : schema.getAllOf()) {
+                Object partSample = sample(part, depth + 1);
+                if (partSample instanceof Map) {
+                    result.putAll((Map<String, Object>) partSample);
+                }
+            }
+            if (schema.getProperties() != null) {
+                result.putAll(sampleObject(schema, depth));
+            }
+            return result;
+        }
+        if (schema.getOneOf() != null && !schema.getOneOf().isEmpty()) {
+            return sample(schema.getOneOf().get(0), depth + 1);
+        }
+        if (schema.getAnyOf() != null && !schema.getAnyOf().isEmpty()) {
+            return sample(schema.getAnyOf().get(0), depth + 1);
+        }
+        return sampleObject(schema, depth);
+    }
+
+    private Map<String, Object> sampleObject(Schema schema, int depth) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (schema.getProperties() != null) {
+            Map<String, Schema> properties = schema.getProperties();
+            for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                Object value = sample(property.getValue(), depth + 1);
+                if (value != null) {
+                    result.put(property.getKey(), value);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Object samplePrimitive(Schema schema) {
+        String type = schema.getType() == null ? "string" : schema.getType();
+        String format = schema.getFormat();
+        switch (type) {
+            case "integer":
+                return schema.getMinimum() != null ? schema.getMinimum().longValue() : 1L;
+            case "number":
+                return schema.getMinimum() != null ? schema.getMinimum() : BigDecimal.ONE;
+            case "boolean":
+                return Boolean.TRUE;
+            default:
+                return sampleString(format, schema.getMinLength());
+        }
+    }
+
+    private String sampleString(String format, Integer minLength) {
+        if ("date".equals(format)) {
+            return "2020-01-01";
+        }
+        if ("date-time".equals(format)) {
+            return "2020-01-01T00:00:00Z";
+        }
+        if ("uuid".equals(format)) {
+            return "00000000-0000-0000-0000-000000000000";
+        }
+        if ("email".equals(format)) {
+            return "user@example.com";
+        }
+        if ("uri".equals(format) || "url".equals(format)) {
+            return "http://example.com";
+        }
+
+        StringBuilder result = new StringBuilder("string");
+        while (minLength != null && result.length() < minLength) {
+            result.append('x');
+        }
+        return result.toString();
+    }
+
+    private static Object firstExampleValue(Map<String, Example> examples) {
+        for (Example example : examples.values()) {
+            if (example != null && example.getValue() != null) {
+                return example.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String simpleRef(String ref) {
+        return ref.substring(ref.lastIndexOf('/') + 1);
+    }
+}
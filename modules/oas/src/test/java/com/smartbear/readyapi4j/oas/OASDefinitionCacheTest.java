@@ -0,0 +1,66 @@
+package com.smartbear.readyapi4j.oas;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OASDefinitionCacheTest {
+
+    private static final String PETSTORE = "src/test/resources/petstore-swagger.json";
+
+    @Before
+    public void setup() {
+        OASDefinitionCache.clear();
+    }
+
+    @Test
+    public void reusesDefinitionForSameLocation() {
+        OASTestStepBuilder first = OASTestStepBuilder.cached(PETSTORE);
+        OASTestStepBuilder second = OASTestStepBuilder.cached(PETSTORE, "http://api.myhost.com");
+
+        assertSame(first.getDefinition(), second.getDefinition());
+        assertEquals("http://petstore.swagger.io/v2/pet", first.operation("addPet").build().getURI());
+        assertEquals("http://api.myhost.com/pet", second.operation("addPet").build().getURI());
+        assertEquals(1, OASDefinitionCache.size());
+    }
+
+    @Test
+    public void reparsesModifiedFile() throws Exception {
+        File file = File.createTempFile("petstore", ".json");
+        file.deleteOnExit();
+        FileUtils.copyFile(new File(PETSTORE), file);
+
+        OASDefinition first = OASDefinitionCache.forLocation(file.getAbsolutePath());
+        assertSame(first, OASDefinitionCache.forLocation(file.getAbsolutePath()));
+
+        assertTrue(file.setLastModified(file.lastModified() - 10000));
+        OASDefinition second = OASDefinitionCache.forLocation(file.getAbsolutePath());
+        assertNotSame(first, second);
+        assertSame(second, OASDefinitionCache.forLocation(file.getAbsolutePath()));
+    }
+
+    @Test
+    public void reusesDefinitionForSameContent() throws Exception {
+        String content = IOUtils.toString(getClass().getResourceAsStream("/petstore-swagger.json"), StandardCharsets.UTF_8);
+
+        assertSame(OASDefinitionCache.forContent(content), OASDefinitionCache.forContent(content));
+    }
+
+    @Test
+    public void indexesOperationsCaseInsensitively() {
+        OASDefinition definition = OASDefinitionCache.forLocation(PETSTORE);
+
+        assertEquals("/pet", definition.getOperation("ADDPET").getPath());
+        assertNull(definition.getOperation("tjoho"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.smartbear.readyapi4j.oas;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OASPayloadGeneratorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static OASPayloadGenerator generator;
+
+    @BeforeClass
+    public static void setup() {
+        generator = new OASPayloadGenerator(OASDefinitionCache.forLocation("src/test/resources/petstore-swagger.json"));
+    }
+
+    @Test
+    public void generatesPayloadsMatchingTheSchema() throws IOException {
+        PayloadPlan plan = generator.getPlan("addPet");
+        assertEquals("application/json", plan.getMediaType());
+
+        JsonNode pet = MAPPER.readTree(plan.generate(0));
+        assertTrue(pet.get("id").isIntegralNumber());
+        assertTrue(pet.get("name").isTextual());
+        assertTrue(pet.get("photoUrls").isArray());
+        assertTrue(pet.get("photoUrls").size() >= 1);
+        assertTrue(pet.get("category").isObject());
+        String status = pet.get("status").asText();
+        assertTrue(status.equals("available") || status.equals("pending") || status.equals("sold"));
+    }
+
+    @Test
+    public void payloadsAreDeterministicPerSequenceNumber() {
+        PayloadPlan plan = generator.getPlan("addPet");
+
+        assertEquals(plan.generate(42), plan.generate(42));
+        assertNotEquals(plan.generate(42), plan.generate(43));
+    }
+
+    @Test
+    public void cachesCompiledPlans() {
+        assertSame(generator.getPlan("addPet"), generator.getPlan("ADDPET"));
+    }
+
+    @Test
+    public void writesNewlineDelimitedPayloads() throws IOException {
+        PayloadPlan plan = generator.getPlan("placeOrder");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        plan.writePayloads(outputStream, 10, 3);
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(plan.generate(11), lines[1]);
+        assertTrue(MAPPER.readTree(lines[2]).get("quantity").isIntegralNumber());
+    }
+
+    @Test
+    public void derivesMissingLowerBoundFromMaximum() throws IOException {
+        PayloadPlan integerPlan = generator.compile(new IntegerSchema().maximum(new BigDecimal(-5)));
+        PayloadPlan numberPlan = generator.compile(new NumberSchema().maximum(new BigDecimal(-5)));
+
+        for (long sequence = 0; sequence < 100; sequence++) {
+            assertTrue(MAPPER.readTree(integerPlan.generate(sequence)).asLong() <= -5);
+            assertTrue(MAPPER.readTree(numberPlan.generate(sequence)).asDouble() <= -5);
+        }
+    }
+
+    @Test
+    public void usesExamplesMatchingPatternsAndSkipsOptionalPropertiesWithout() throws IOException {
+        ObjectSchema schema = new ObjectSchema();
+        schema.addProperties("code", new StringSchema().pattern("^[A-Z]{3}$").example("ABC"));
+        schema.addProperties("optional", new StringSchema().pattern("^[0-9]{4}$"));
+
+        JsonNode payload = MAPPER.readTree(generator.compile(schema).generate(0));
+
+        assertEquals("ABC", payload.get("code").asText());
+        assertFalse(payload.has("optional"));
+    }
+
+    @Test
+    public void shortensPropertyNamePrefixToFitMaxLength() throws IOException {
+        ObjectSchema schema = new ObjectSchema();
+        schema.addProperties("aVeryLongPropertyName", new StringSchema().maxLength(10));
+        schema.addProperties("empty", new StringSchema().maxLength(0));
+        PayloadPlan plan = generator.compile(schema);
+
+        Set<String> values = new HashSet<>();
+        for (long sequence = 0; sequence < 20; sequence++) {
+            JsonNode payload = MAPPER.readTree(plan.generate(sequence));
+            String value = payload.get("aVeryLongPropertyName").asText();
+            assertTrue(value.length() <= 10);
+            values.add(value);
+            assertEquals("", payload.get("empty").asText());
+        }
+        assertEquals(20, values.size());
+    }
+
+    @Test
+    public void excludesExclusiveBounds() throws IOException {
+        IntegerSchema integerSchema = new IntegerSchema();
+        integerSchema.minimum(new BigDecimal(1)).maximum(new BigDecimal(3)).exclusiveMinimum(true).exclusiveMaximum(true);
+        NumberSchema numberSchema = new NumberSchema();
+        numberSchema.minimum(BigDecimal.ZERO).maximum(new BigDecimal("1E-300")).exclusiveMinimum(true).exclusiveMaximum(true);
+        PayloadPlan integerPlan = generator.compile(integerSchema);
+        PayloadPlan numberPlan = generator.compile(numberSchema);
+
+        for (long sequence = 0; sequence < 100; sequence++) {
+            assertEquals(2, MAPPER.readTree(integerPlan.generate(sequence)).asLong());
+            double number = MAPPER.readTree(numberPlan.generate(sequence)).asDouble();
+            assertTrue(number > 0 && number < 1E-300);
+        }
+    }
+
+    @Test
+    public void generatesUniqueItems() throws IOException {
+        ArraySchema schema = new ArraySchema().items(new BooleanSchema());
+        schema.minItems(2).maxItems(2).uniqueItems(true);
+        PayloadPlan plan = generator.compile(schema);
+
+        for (long sequence = 0; sequence < 20; sequence++) {
+            JsonNode items = MAPPER.readTree(plan.generate(sequence));
+            assertEquals(2, items.size());
+            assertNotEquals(items.get(0), items.get(1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsForOperationsWithoutRequestBody() {
+        generator.getPlan("getPetById");
+    }
+}
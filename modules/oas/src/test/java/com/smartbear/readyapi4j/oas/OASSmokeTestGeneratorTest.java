@@ -0,0 +1,90 @@
+package com.smartbear.readyapi4j.oas;
+
+import com.smartbear.readyapi4j.TestRecipe;
+import com.smartbear.readyapi4j.assertions.AssertionNames;
+import com.smartbear.readyapi4j.client.model.RestParameter;
+import com.smartbear.readyapi4j.client.model.RestTestRequestStep;
+import com.smartbear.readyapi4j.client.model.ValidHttpStatusCodesAssertion;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class OASSmokeTestGeneratorTest {
+
+    private static OASTestStepBuilder petstore;
+    private static List<TestRecipe> recipes;
+
+    @BeforeClass
+    public static void setup() {
+        petstore = OASTestStepBuilder.cached("src/test/resources/petstore-swagger.json");
+        recipes = new OASSmokeTestGenerator(petstore).generateRecipes();
+    }
+
+    @Test
+    public void generatesRecipesInParallelInDefinitionOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<TestRecipe> parallelRecipes = new OASSmokeTestGenerator(petstore)
+                    .withExecutor(executor)
+                    .withParallelThreshold(1)
+                    .generateRecipes();
+
+            assertEquals(recipes.size(), parallelRecipes.size());
+            for (int i = 0; i < recipes.size(); i++) {
+                assertEquals(recipes.get(i).toString(), parallelRecipes.get(i).toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void generatesOneRecipePerOperation() {
+        assertEquals(20, recipes.size());
+        assertEquals("updatePet", recipes.get(0).getName());
+        assertEquals("deleteUser", recipes.get(19).getName());
+    }
+
+    @Test
+    public void addsSampleValuesForRequiredParameters() {
+        RestTestRequestStep step = getStep("getPetById");
+
+        assertEquals("http://petstore.swagger.io/v2/pet/{petId}", step.getURI());
+        RestParameter petId = step.getParameters().get(0);
+        assertEquals(RestParameter.TypeEnum.PATH, petId.getType());
+        assertEquals("1", petId.getValue());
+    }
+
+    @Test
+    public void addsSampleRequestBody() {
+        RestTestRequestStep step = getStep("addPet");
+
+        assertEquals("POST", step.getMethod());
+        assertEquals("application/json", step.getMediaType());
+        assertNotNull(step.getRequestBody());
+        assertTrue(step.getRequestBody().contains("\"name\""));
+    }
+
+    @Test
+    public void assertsSuccessStatusCodesAndSchemaCompliance() {
+        RestTestRequestStep step = getStep("getOrderById");
+
+        ValidHttpStatusCodesAssertion statusAssertion = (ValidHttpStatusCodesAssertion) step.getAssertions().get(0);
+        assertEquals("200", statusAssertion.getValidStatusCodes().get(0));
+        assertEquals(AssertionNames.SCHEMA_COMPLIANCE, step.getAssertions().get(1).getType());
+    }
+
+    private static RestTestRequestStep getStep(String operationId) {
+        Optional<TestRecipe> recipe = recipes.stream().filter(r -> operationId.equals(r.getName())).findFirst();
+        assertTrue(recipe.isPresent());
+        return (RestTestRequestStep) recipe.get().getTestCase().getTestSteps().get(0);
+    }
+}
@@ -2,6 +2,7 @@ package com.smartbear.readyapi4j.testengine.execution;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
@@ -12,6 +13,7 @@ import com.smartbear.readyapi4j.ApiClient;
 import com.smartbear.readyapi4j.Authentication;
 import com.smartbear.readyapi4j.Pair;
 import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandlerException;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.GenericType;
 import com.sun.jersey.api.client.WebResource;
@@ -29,8 +31,10 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -46,6 +50,7 @@ import java.util.Map;
 public class ApiClientWrapper extends ApiClient {
 
     private static final Logger logger = LoggerFactory.getLogger(ApiClientWrapper.class);
+    private static final int STREAMING_CHUNK_SIZE = 64 * 1024;
 
     private Client client;
 
@@ -60,18 +65,25 @@ public class ApiClientWrapper extends ApiClient {
 
         String queryString = createQueryString(queryParams);
 
+        Object requestBody = body;
+        boolean streamRequestBody = "POST".equals(method) && requestBody != null && isStreamedAsJson(requestBody, contentType);
+
+        WebResource resource = client.resource(getBasePath() + path + queryString);
+        if (streamRequestBody) {
+            // without chunked encoding the connection buffers the whole body to compute its length
+            resource.setProperty(ClientConfig.PROPERTY_CHUNKED_ENCODING_SIZE, STREAMING_CHUNK_SIZE);
+        }
         WebResource.Builder builder;
         if (accept == null) {
-            builder = client.resource(getBasePath() + path + queryString).getRequestBuilder();
+            builder = resource.getRequestBuilder();
         } else {
-            builder = client.resource(getBasePath() + path + queryString).accept(accept);
+            builder = resource.accept(accept);
         }
 
         for (Map.Entry<String, String> headerParam : headerParams.entrySet()) {
             builder = builder.header(headerParam.getKey(), headerParam.getValue());
         }
 
-        Object requestBody = body;
         if (contentType.startsWith("multipart/form-data")) {
             try (FormDataMultiPart mp = new FormDataMultiPart()) {
                 for (Map.Entry<String, File> param : formParams.entrySet()) {
@@ -93,6 +105,8 @@ public class ApiClientWrapper extends ApiClient {
                 response = builder.post(ClientResponse.class, null);
             } else if (requestBody instanceof FormDataMultiPart) {
                 response = builder.type(contentType).post(ClientResponse.class, requestBody);
+            } else if (streamRequestBody) {
+                response = postStreamed(builder.type(contentType), requestBody, contentType);
             } else {
                 Object content = serialize(requestBody, contentType);
                 response = builder.type(contentType).post(ClientResponse.class, content);
@@ -169,16 +183,8 @@ public class ApiClientWrapper extends ApiClient {
 
     public Object serialize(Object obj, String contentType) throws ApiException {
         try {
-            if (contentType.startsWith("application/json") && !(obj instanceof byte[])) {
-                ObjectMapper mapper = getObjectMapper();
-                mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-                mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-                mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
-                        .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
-                        .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
-                        .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
-                        .withCreatorVisibility(JsonAutoDetect.Visibility.NONE));
-                return mapper.writeValueAsString(obj);
+            if (isStreamedAsJson(obj, contentType)) {
+                return getSerializationMapper().writeValueAsString(obj);
             } else {
                 return obj;
             }
@@ -187,6 +193,46 @@ public class ApiClientWrapper extends ApiClient {
         }
     }
 
+    private static boolean isStreamedAsJson(Object obj, String contentType) {
+        return contentType.startsWith("application/json") && !(obj instanceof byte[]);
+    }
+
+    /**
+     * Posts the body serialized the same way as by {@link #serialize(Object, String)}, but written to the connection
+     * while it's serialized, so that large recipes, e.g. with file attachments, are never held in memory as a whole
+     */
+    private ClientResponse postStreamed(WebResource.Builder builder, Object body, String contentType) throws ApiException {
+        try {
+            return builder.post(ClientResponse.class, (StreamingOutput) outputStream -> writeJson(body, outputStream));
+        } catch (ClientHandlerException e) {
+            if (e.getCause() instanceof JsonProcessingException) {
+                throw new ApiException(400, "can not serialize object into Content-Type: " + contentType);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the object as JSON like {@link #serialize(Object, String)}, the output stream is left open
+     */
+    void writeJson(Object obj, OutputStream outputStream) throws IOException {
+        ObjectMapper mapper = getSerializationMapper();
+        mapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        mapper.writeValue(outputStream, obj);
+    }
+
+    private ObjectMapper getSerializationMapper() {
+        ObjectMapper mapper = getObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withCreatorVisibility(JsonAutoDetect.Visibility.NONE));
+        return mapper;
+    }
+
     @Override
     public ObjectMapper getObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -61,6 +61,19 @@ public class TestEngineExecution implements Execution {
         executionStatusReports.add(newReport);
     }
 
+    /**
+     * Fetches the current status from TestEngine right away, independent of the status checker of the executor,
+     * which gives up after a few failed requests
+     *
+     * @return the current report
+     * @throws ApiException if the status couldn't be fetched
+     */
+    public TestJobReport refreshStatus() {
+        TestJobReport report = testEngineApi.getExecutionStatus(id, auth);
+        addResultReport(report);
+        return report;
+    }
+
     @Override
     public RecipeExecutionResult getExecutionResult() {
         TestJobReport lastReport = executionStatusReports.getLast();
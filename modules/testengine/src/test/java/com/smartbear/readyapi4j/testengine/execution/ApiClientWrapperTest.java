@@ -0,0 +1,55 @@
+package com.smartbear.readyapi4j.testengine.execution;
+
+import com.smartbear.readyapi4j.attachments.Attachments;
+import com.smartbear.readyapi4j.client.model.RequestAttachment;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ApiClientWrapperTest {
+    private static final String APPLICATION_JSON = "application/json";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ApiClientWrapper apiClientWrapper = new ApiClientWrapper();
+
+    @Test
+    public void serializesFileAttachmentLikeContentInMemory() throws Exception {
+        byte[] content = new byte[50_000];
+        new Random(1).nextBytes(content);
+        File file = temporaryFolder.newFile("content.bin");
+        Files.write(file.toPath(), content);
+
+        RequestAttachment fileAttachment = Attachments.file(file, "application/octet-stream").build();
+        RequestAttachment inMemoryAttachment = Attachments.byteArray(content, "application/octet-stream")
+                .withName("content.bin")
+                .withContentId("content.bin")
+                .build();
+
+        assertThat(apiClientWrapper.serialize(fileAttachment, APPLICATION_JSON),
+                is(apiClientWrapper.serialize(inMemoryAttachment, APPLICATION_JSON)));
+    }
+
+    @Test
+    public void streamsSameJsonAsSerialize() throws Exception {
+        File file = temporaryFolder.newFile("content.txt");
+        Files.write(file.toPath(), "attached".getBytes(StandardCharsets.UTF_8));
+        RequestAttachment attachment = Attachments.file(file, "text/plain").build();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        apiClientWrapper.writeJson(attachment, outputStream);
+
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8),
+                is(apiClientWrapper.serialize(attachment, APPLICATION_JSON)));
+    }
+}